@@ -617,6 +617,20 @@ public final class ScmConfigKeys {
   public static final long
           OZONE_SCM_HA_RATIS_REQUEST_TIMEOUT_DEFAULT = 30 * 1000L;
 
+  /**
+   * Coalesce concurrent SCM Ratis requests into a single log entry. Takes
+   * effect once the SCM_RATIS_REQUEST_BATCHING layout feature is finalized.
+   */
+  public static final String OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED =
+          "ozone.scm.ha.ratis.request.batching.enabled";
+  public static final boolean
+          OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED_DEFAULT = false;
+
+  public static final String OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE =
+          "ozone.scm.ha.ratis.request.batch.max.size";
+  public static final int
+          OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE_DEFAULT = 128;
+
   public static final String OZONE_SCM_HA_RATIS_SERVER_ELECTION_PRE_VOTE =
       "ozone.scm.ha.ratis.server.leaderelection.pre-vote";
   public static final boolean
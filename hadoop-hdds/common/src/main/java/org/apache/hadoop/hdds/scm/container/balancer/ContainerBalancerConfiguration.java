@@ -152,6 +152,15 @@ public final class ContainerBalancerConfiguration {
           "OVER_REPLICATED CLOSED/QUASI_CLOSED and HEALTHY QUASI_CLOSED containers.")
   private boolean includeNonStandardContainers = false;
 
+  @Config(key = "hdds.container.balancer.datanode.transfer.rate", type = ConfigType.SIZE,
+      defaultValue = "50MB", tags = {ConfigTag.BALANCER},
+      description = "The amount of container data per second that a datanode " +
+          "is expected to send and receive in total while balancing. Container " +
+          "Balancer uses it to project how long the moves scheduled in an " +
+          "iteration take to complete, and reports the projection along with " +
+          "the actual time taken.")
+  private long datanodeTransferRate = 50 * OzoneConsts.MB;
+
   /**
    * Gets the threshold value for Container Balancer.
    *
@@ -467,6 +476,30 @@ public void setIncludeNonStandardContainers(boolean enable) {
     includeNonStandardContainers = enable;
   }
 
+  /**
+   * Gets the amount of container data per second that a datanode is expected
+   * to transfer while balancing.
+   *
+   * @return rate in bytes per second
+   */
+  public long getDatanodeTransferRate() {
+    return datanodeTransferRate;
+  }
+
+  /**
+   * Sets the amount of container data per second that a datanode is expected
+   * to transfer while balancing.
+   *
+   * @param bytesPerSecond rate in bytes per second, must be greater than 0
+   */
+  public void setDatanodeTransferRate(long bytesPerSecond) {
+    if (bytesPerSecond <= 0) {
+      throw new IllegalArgumentException(
+          "Datanode transfer rate must be greater than 0.");
+    }
+    this.datanodeTransferRate = bytesPerSecond;
+  }
+
   @Override
   public String toString() {
     return String.format("Container Balancer Configuration values:%n" +
@@ -485,7 +518,8 @@ public String toString() {
             "%-50s %s%n" +
             "%-50s %s%n" +
             "%-50s %s%n" +
-            "%-50s %s%n", "Key", "Value", "Threshold",
+            "%-50s %s%n" +
+            "%-50s %d bytes%n", "Key", "Value", "Threshold",
         threshold, "Max Datanodes to Involve per Iteration(percent)",
         maxDatanodesPercentageToInvolvePerIteration,
         "Max Size to Move per Iteration",
@@ -515,7 +549,9 @@ public String toString() {
         "Datanodes Excluded from Balancing",
         excludeNodes.equals("") ? "None" : excludeNodes,
         "Whether to include non-standard containers for balancing",
-        includeNonStandardContainers);
+        includeNonStandardContainers,
+        "Datanode Transfer Rate per Second",
+        datanodeTransferRate);
   }
 
   public ContainerBalancerConfigurationProto.Builder toProtobufBuilder() {
@@ -538,7 +574,8 @@ public ContainerBalancerConfigurationProto.Builder toProtobufBuilder() {
         .setMoveNetworkTopologyEnable(networkTopologyEnable)
         .setTriggerDuBeforeMoveEnable(triggerDuEnable)
         .setMoveReplicationTimeout(moveReplicationTimeout)
-        .setIncludeNonStandardContainers(includeNonStandardContainers);
+        .setIncludeNonStandardContainers(includeNonStandardContainers)
+        .setDatanodeTransferRate(datanodeTransferRate);
     return builder;
   }
 
@@ -596,6 +633,9 @@ static ContainerBalancerConfiguration fromProtobuf(
     if (proto.hasIncludeNonStandardContainers()) {
       config.setIncludeNonStandardContainers(proto.getIncludeNonStandardContainers());
     }
+    if (proto.hasDatanodeTransferRate()) {
+      config.setDatanodeTransferRate(proto.getDatanodeTransferRate());
+    }
     return config;
   }
 }
@@ -48,6 +48,7 @@ public enum Timing {
   }
 
   private long[] timings = new long[Timing.values().length];
+  private String requestType;
 
   ProcessingDetails(TimeUnit timeUnit) {
     this.valueTimeUnit = timeUnit;
@@ -77,6 +78,22 @@ public void add(Timing type, long value, TimeUnit timeUnit) {
     timings[type.ordinal()] += valueTimeUnit.convert(value, timeUnit);
   }
 
+  /**
+   * @return type of the request set by the server implementation, or null
+   */
+  public String getRequestType() {
+    return requestType;
+  }
+
+  /**
+   * Set the type of the request, for protocols that serve different kinds of
+   * requests through the same RPC method, so that a {@link CostProvider} can
+   * tell them apart.
+   */
+  public void setRequestType(String requestType) {
+    this.requestType = requestType;
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder(256);
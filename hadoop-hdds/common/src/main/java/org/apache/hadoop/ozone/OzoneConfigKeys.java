@@ -156,6 +156,11 @@ public final class OzoneConfigKeys {
   public static final String OZONE_METADATA_STORE_ROCKSDB_STATISTICS_OFF =
       "OFF";
 
+  public static final String OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED =
+      "ozone.metastore.rocksdb.latency.metrics.enabled";
+  public static final boolean
+      OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED_DEFAULT = false;
+
   public static final String OZONE_METADATA_STORE_ROCKSDB_CF_WRITE_BUFFER_SIZE =
       "ozone.metastore.rocksdb.cf.write.buffer.size";
   public static final String
@@ -662,6 +667,17 @@ public final class OzoneConfigKeys {
   public static final String
       OZONE_FS_LISTING_PAGE_SIZE_MAX = "ozone.fs.listing.page.size.max";
 
+  // Client side cache of file statuses and directory listings
+  public static final String OZONE_FS_METADATA_CACHE_ENABLED =
+      "ozone.fs.metadata.cache.enabled";
+  public static final boolean OZONE_FS_METADATA_CACHE_ENABLED_DEFAULT = false;
+  public static final String OZONE_FS_METADATA_CACHE_TTL =
+      "ozone.fs.metadata.cache.ttl";
+  public static final String OZONE_FS_METADATA_CACHE_TTL_DEFAULT = "3s";
+  public static final String OZONE_FS_METADATA_CACHE_MAX_ENTRIES =
+      "ozone.fs.metadata.cache.max.entries";
+  public static final int OZONE_FS_METADATA_CACHE_MAX_ENTRIES_DEFAULT = 10000;
+
   public static final String FS_TRASH_CLASSNAME = "fs.trash.classname";
   public static final String FS_TRASH_CLASSNAME_DEFAULT =
       "org.apache.hadoop.fs.ozone.OzoneTrashPolicy";
@@ -126,6 +126,7 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   // one hour
   static final long ROCKSDB_DELETE_OBSOLETE_FILES_PERIOD_MICRO_SECONDS_DEFAULT = 1L * 60 * 60 * 1000 * 1000;
   static final int ROCKSDB_MAX_OPEN_FILES_DEFAULT = 1024;
+  static final long ROCKSDB_WRITE_BUFFER_MANAGER_SIZE_DEFAULT = 0;
   public static final String ROCKSDB_LOG_MAX_FILE_SIZE_BYTES_KEY = "hdds.datanode.rocksdb.log.max-file-size";
   public static final String ROCKSDB_LOG_MAX_FILE_NUM_KEY = "hdds.datanode.rocksdb.log.max-file-num";
   public static final String ROCKSDB_DELETE_OBSOLETE_FILES_PERIOD_MICRO_SECONDS_KEY =
@@ -596,6 +597,20 @@ public class DatanodeConfiguration extends ReconfigurableConfig {
   )
   private int rocksdbMaxOpenFiles = ROCKSDB_MAX_OPEN_FILES_DEFAULT;
 
+  @Config(key = "hdds.datanode.rocksdb.write-buffer-manager.size",
+      defaultValue = "0",
+      type = ConfigType.SIZE,
+      tags = { DATANODE },
+      description = "The total size of the memtables of all RocksDB instances " +
+          "of the datanode, e.g. one per volume with container schema v3. " +
+          "Memtables are flushed when it is exceeded. The memtables are " +
+          "charged to the block cache shared by the instances " +
+          "(hdds.datanode.metadata.rocksdb.cache.size), which should be " +
+          "increased accordingly. 0, the default, means no limit."
+  )
+  private long rocksdbWriteBufferManagerSize =
+      ROCKSDB_WRITE_BUFFER_MANAGER_SIZE_DEFAULT;
+
   @Config(key = "hdds.datanode.rocksdb.auto-compaction-small-sst-file",
       defaultValue = "true",
       type = ConfigType.BOOLEAN,
@@ -1244,6 +1259,14 @@ public int getRocksdbMaxOpenFiles() {
     return this.rocksdbMaxOpenFiles;
   }
 
+  public long getRocksdbWriteBufferManagerSize() {
+    return rocksdbWriteBufferManagerSize;
+  }
+
+  public void setRocksdbWriteBufferManagerSize(long size) {
+    this.rocksdbWriteBufferManagerSize = size;
+  }
+
   public boolean autoCompactionSmallSstFile() {
     return autoCompactionSmallSstFile;
   }
@@ -29,6 +29,8 @@
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedLRUCache;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteBufferManager;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
 import org.apache.ratis.util.MemoizedSupplier;
 
 /**
@@ -49,6 +51,13 @@ public abstract class DatanodeDBProfile {
   public abstract ManagedColumnFamilyOptions getColumnFamilyOptions(
       ConfigurationSource config);
 
+  /**
+   * Returns the WriteBufferManager shared by all rocksDB instances in
+   * datanodes, or null if their memtable size is not limited.
+   */
+  public abstract ManagedWriteBufferManager getWriteBufferManager(
+      ConfigurationSource config);
+
   /**
    * Returns DatanodeDBProfile for corresponding storage type.
    */
@@ -82,6 +91,12 @@ public ManagedColumnFamilyOptions getColumnFamilyOptions(
         ConfigurationSource config) {
       return SSD_STORAGE_BASED_PROFILE.getColumnFamilyOptions(config);
     }
+
+    @Override
+    public ManagedWriteBufferManager getWriteBufferManager(
+        ConfigurationSource config) {
+      return SSD_STORAGE_BASED_PROFILE.getWriteBufferManager(config);
+    }
   }
 
   /**
@@ -101,6 +116,12 @@ public ManagedColumnFamilyOptions getColumnFamilyOptions(
         ConfigurationSource config) {
       return DISK_STORAGE_BASED_PROFILE.getColumnFamilyOptions(config);
     }
+
+    @Override
+    public ManagedWriteBufferManager getWriteBufferManager(
+        ConfigurationSource config) {
+      return DISK_STORAGE_BASED_PROFILE.getWriteBufferManager(config);
+    }
   }
 
   /**
@@ -109,6 +130,10 @@ public ManagedColumnFamilyOptions getColumnFamilyOptions(
   private static final class StorageBasedProfile {
     private final AtomicReference<Supplier<ManagedColumnFamilyOptions>> cfOpts =
         new AtomicReference<>();
+    private final AtomicReference<Supplier<ManagedLRUCache>> blockCache =
+        new AtomicReference<>();
+    private final AtomicReference<Supplier<ManagedWriteBufferManager>>
+        writeBufferManager = new AtomicReference<>();
     private final DBProfile baseProfile;
 
     private StorageBasedProfile(DBProfile profile) {
@@ -127,6 +152,35 @@ private ManagedColumnFamilyOptions getColumnFamilyOptions(
       return cfOpts.get().get();
     }
 
+    private ManagedWriteBufferManager getWriteBufferManager(
+        ConfigurationSource config) {
+      if (config == null) {
+        return null;
+      }
+      long size = config.getObject(DatanodeConfiguration.class)
+          .getRocksdbWriteBufferManagerSize();
+      if (size <= 0) {
+        return null;
+      }
+      // Charge the memtables to the block cache, so that both share a
+      // single memory budget across all DB instances.
+      final MemoizedSupplier<ManagedWriteBufferManager> supplier =
+          MemoizedSupplier.valueOf(() ->
+              new ManagedWriteBufferManager(size, getBlockCache(config)));
+      writeBufferManager.compareAndSet(null, supplier);
+      return writeBufferManager.get().get();
+    }
+
+    private ManagedLRUCache getBlockCache(ConfigurationSource config) {
+      final MemoizedSupplier<ManagedLRUCache> supplier =
+          MemoizedSupplier.valueOf(() -> new ManagedLRUCache((long) config
+              .getStorageSize(HDDS_DATANODE_METADATA_ROCKSDB_CACHE_SIZE,
+                  HDDS_DATANODE_METADATA_ROCKSDB_CACHE_SIZE_DEFAULT,
+                  StorageUnit.BYTES)));
+      blockCache.compareAndSet(null, supplier);
+      return blockCache.get().get();
+    }
+
     private ManagedColumnFamilyOptions createColumnFamilyOptions(
         ConfigurationSource config) {
       ManagedColumnFamilyOptions options =
@@ -144,12 +198,7 @@ private ManagedBlockBasedTableConfig getBlockBasedTableConfig(
         return blockBasedTableConfig;
       }
 
-      long cacheSize = (long) config
-          .getStorageSize(HDDS_DATANODE_METADATA_ROCKSDB_CACHE_SIZE,
-              HDDS_DATANODE_METADATA_ROCKSDB_CACHE_SIZE_DEFAULT,
-              StorageUnit.BYTES);
-      blockBasedTableConfig.closeAndSetBlockCache(
-          new ManagedLRUCache(cacheSize));
+      blockBasedTableConfig.closeAndSetSharedBlockCache(getBlockCache(config));
       return blockBasedTableConfig;
     }
   }
@@ -39,6 +39,7 @@
 import org.apache.hadoop.ozone.container.common.utils.db.DatanodeDBProfile;
 import org.rocksdb.InfoLogLevel;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.WriteBufferManager;
 
 /**
  * Abstract Interface defining the way to interact with any rocksDB in the datanode.
@@ -76,6 +77,11 @@ protected AbstractRDBStore(DEF dbDef, ConfigurationSource config, boolean openRe
       options.setInfoLogLevel(level);
       options.setMaxLogFileSize(dc.getRocksdbLogMaxFileSize());
       options.setKeepLogFileNum(dc.getRocksdbLogMaxFileNum());
+      // Limit the memtables of all DB instances on the datanode together.
+      WriteBufferManager writeBufferManager = dbProfile.getWriteBufferManager(config);
+      if (writeBufferManager != null) {
+        options.setWriteBufferManager(writeBufferManager);
+      }
       this.store = initDBStore(DBStoreBuilder.newBuilder(config, dbDef, null, null)
           .setDBOptions(options)
           .setDefaultCFOptions(cfOptions)
@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.container.common.utils.db;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksObjectUtils;
+import org.apache.hadoop.ozone.container.common.statemachine.DatanodeConfiguration;
+import org.junit.jupiter.api.Test;
+import org.rocksdb.WriteBufferManager;
+
+/**
+ * Tests {@link DatanodeDBProfile}.
+ */
+public class TestDatanodeDBProfile {
+
+  private static final List<Supplier<DatanodeDBProfile>> PROFILES =
+      Arrays.asList(DatanodeDBProfile.Disk::new, DatanodeDBProfile.SSD::new);
+
+  static {
+    ManagedRocksObjectUtils.loadRocksDBLibrary();
+  }
+
+  @Test
+  public void testWriteBufferManagerIsDisabledByDefault() {
+    for (Supplier<DatanodeDBProfile> profile : PROFILES) {
+      assertNull(profile.get().getWriteBufferManager(new OzoneConfiguration()));
+      assertNull(profile.get().getWriteBufferManager(null));
+    }
+  }
+
+  @Test
+  public void testDBsShareWriteBufferManager() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    DatanodeConfiguration dnConf = conf.getObject(DatanodeConfiguration.class);
+    dnConf.setRocksdbWriteBufferManagerSize(64 * 1024 * 1024);
+    conf.setFromObject(dnConf);
+
+    // A single WriteBufferManager limits the memtables of all DBs
+    for (Supplier<DatanodeDBProfile> profile : PROFILES) {
+      WriteBufferManager writeBufferManager =
+          profile.get().getWriteBufferManager(conf);
+      assertNotNull(writeBufferManager);
+      assertSame(writeBufferManager, profile.get().getWriteBufferManager(conf));
+    }
+  }
+}
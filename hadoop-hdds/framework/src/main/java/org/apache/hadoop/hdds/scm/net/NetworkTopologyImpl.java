@@ -25,9 +25,9 @@
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.NavigableMap;
 import java.util.Objects;
@@ -50,6 +50,8 @@
 public class NetworkTopologyImpl implements NetworkTopology {
   private static final Logger LOG =
       LoggerFactory.getLogger(NetworkTopologyImpl.class);
+  /** Random probes before falling back to scanning for an available leaf. */
+  private static final int MAX_RANDOM_PROBES = 8;
 
   /** The Inner node crate factory. */
   private final InnerNode.Factory factory;
@@ -63,6 +65,13 @@ public class NetworkTopologyImpl implements NetworkTopology {
   private final Consumer<List<? extends Node>> shuffleOperation;
   /** Lock to coordinate cluster tree access. */
   private final ReadWriteLock netlock = new ReentrantReadWriteLock(true);
+  /** Topology version, incremented on every change, guarded by netlock. */
+  private long version;
+  /**
+   * Flattened leaves of the current cluster tree, replaced on every change.
+   * Node selection reads it without taking netlock.
+   */
+  private volatile TopologyLeafIndex leaves;
 
   public NetworkTopologyImpl(ConfigurationSource conf) {
     schemaManager = NodeSchemaManager.getInstance();
@@ -73,6 +82,7 @@ public NetworkTopologyImpl(ConfigurationSource conf) {
     clusterTree = factory.newInnerNode(ROOT, null, null,
         NetConstants.ROOT_LEVEL,
         schemaManager.getCost(NetConstants.ROOT_LEVEL));
+    rebuildLeafIndex();
   }
 
   public NetworkTopologyImpl(String schemaFile, InnerNode clusterTree) {
@@ -82,6 +92,7 @@ public NetworkTopologyImpl(String schemaFile, InnerNode clusterTree) {
     shuffleOperation = Collections::shuffle;
     factory = InnerNodeImpl.FACTORY;
     this.clusterTree = clusterTree;
+    rebuildLeafIndex();
   }
 
   @VisibleForTesting
@@ -94,6 +105,7 @@ public NetworkTopologyImpl(NodeSchemaManager manager,
     clusterTree = factory.newInnerNode(ROOT, null, null,
         NetConstants.ROOT_LEVEL,
         schemaManager.getCost(NetConstants.ROOT_LEVEL));
+    rebuildLeafIndex();
   }
 
   @VisibleForTesting
@@ -125,6 +137,9 @@ public void add(Node node) {
     boolean add;
     try {
       add = clusterTree.add(node);
+      if (add) {
+        rebuildLeafIndex();
+      }
     } finally {
       netlock.writeLock().unlock();
     }
@@ -179,6 +194,9 @@ public void update(Node oldNode, Node newNode) {
       }
 
       add = clusterTree.add(newNode);
+      if (exist || add) {
+        rebuildLeafIndex();
+      }
     } finally {
       netlock.writeLock().unlock();
     }
@@ -205,6 +223,7 @@ public void remove(Node node) {
     netlock.writeLock().lock();
     try {
       clusterTree.remove(node);
+      rebuildLeafIndex();
     } finally {
       netlock.writeLock().unlock();
     }
@@ -214,6 +233,23 @@ public void remove(Node node) {
     }
   }
 
+  /**
+   * Publish a new leaf index of the cluster tree. Must be called with the
+   * write lock held, or before the topology is shared.
+   */
+  private void rebuildLeafIndex() {
+    leaves = TopologyLeafIndex.build(clusterTree, ++version);
+  }
+
+  /**
+   * @return the version of the topology, which changes whenever a node is
+   * added, updated or removed
+   */
+  @VisibleForTesting
+  long getVersion() {
+    return leaves.getVersion();
+  }
+
   /**
    * Check if the tree already contains node <i>node</i>.
    * @param node a node
@@ -509,13 +545,8 @@ public Node chooseRandom(String scope, List<String> excludedScopes,
     checkAffinityNode(affinityNode);
     checkAncestorGen(ancestorGen);
 
-    netlock.readLock().lock();
-    try {
-      return chooseNodeInternal(scope, -1, excludedScopes,
-          excludedNodes, affinityNode, ancestorGen);
-    } finally {
-      netlock.readLock().unlock();
-    }
+    return chooseNodeInternal(scope, -1, excludedScopes,
+        excludedNodes, affinityNode, ancestorGen);
   }
 
   /**
@@ -579,13 +610,8 @@ public Node getNode(int leafIndex, String scope, List<String> excludedScopes,
     checkAffinityNode(affinityNode);
     checkAncestorGen(ancestorGen);
 
-    netlock.readLock().lock();
-    try {
-      return chooseNodeInternal(scope, leafIndex, excludedScopes,
-          excludedNodes, affinityNode, ancestorGen);
-    } finally {
-      netlock.readLock().unlock();
-    }
+    return chooseNodeInternal(scope, leafIndex, excludedScopes,
+        excludedNodes, affinityNode, ancestorGen);
   }
 
   @SuppressWarnings("java:S2245") // no need for secure random
@@ -619,90 +645,130 @@ private Node chooseNodeInternal(String scope, int leafIndex,
       // reset ancestor generation since the new scope is identified now
       ancestorGen = 0;
     }
-    Node scopeNode = getNode(finalScope);
-    if (scopeNode == null) {
+    // the leaf index is immutable, so all decisions below are made against
+    // one consistent view of the topology without holding netlock
+    TopologyLeafIndex index = leaves;
+    int[] scopeRange = index.getRange(finalScope);
+    if (scopeRange == null) {
       throw new IllegalArgumentException(String.format("No nodes with Scope: " +
               "%s exists", finalScope));
     }
+    int start = scopeRange[0];
+    int end = scopeRange[1];
 
-    // check overlap of excludedScopes and finalScope
-    List<String> mutableExcludedScopes = null;
-    if (excludedScopes != null && !excludedScopes.isEmpty()) {
-      mutableExcludedScopes = new ArrayList<>();
-      for (String s: excludedScopes) {
-        // excludeScope covers finalScope
-        if (scopeNode.isDescendant(s)) {
-          return null;
-        }
-        // excludeScope and finalScope share nothing case
-        if (scopeNode.isAncestor(s)) {
-          Node node = getNode(s);
-          if (node != null &&
-              mutableExcludedScopes.stream().noneMatch(node::isDescendant)) {
-            mutableExcludedScopes.add(s);
-          }
-        }
+    // mark the leaves in scope which are covered by excludedScopes,
+    // excludedNodes and the affinity node
+    BitSet excluded = null;
+    if (excludedScopes != null) {
+      for (String excludedScope : excludedScopes) {
+        excluded = exclude(excluded, start, end,
+            index.getRange(excludedScope));
       }
     }
-
-    // clone excludedNodes before remove duplicate in it
-    Collection<Node> mutableExNodes = new LinkedHashSet<>();
-
-    // add affinity node to mutableExNodes
     if (affinityNode != null) {
-      mutableExNodes.add(affinityNode);
+      excluded = excludeNode(index, excluded, start, end, affinityNode,
+          ancestorGen);
     }
-
-    // Remove duplicate in excludedNodes
     if (excludedNodes != null) {
-      mutableExNodes.addAll(excludedNodes);
+      for (Node node : excludedNodes) {
+        excluded = excludeNode(index, excluded, start, end, node, ancestorGen);
+      }
     }
 
-    // remove duplicate in mutableExNodes and mutableExcludedScopes
-    NetUtils.removeDuplicate(this, mutableExNodes, mutableExcludedScopes,
-        ancestorGen);
-
     // calculate available node count
-    int availableNodes = getAvailableNodesCount(
-        scopeNode.getNetworkFullPath(), mutableExcludedScopes, mutableExNodes,
-        ancestorGen);
-
+    int availableNodes = (end - start) -
+        (excluded == null ? 0 : excluded.cardinality());
     if (availableNodes <= 0) {
       LOG.info("No available node in (scope=\"{}\" excludedScope=\"{}\" " +
               "excludedNodes=\"{}\"  ancestorGen=\"{}\").",
-          scopeNode.getNetworkFullPath(), excludedScopes, excludedNodes,
-          ancestorGen);
+          finalScope, excludedScopes, excludedNodes, ancestorGen);
       return null;
     }
 
-    // scope is a Leaf node
-    if (!(scopeNode instanceof InnerNode)) {
-      return scopeNode;
-    }
-
     Node ret;
     int nodeIndex;
     if (leafIndex >= 0) {
       nodeIndex = leafIndex % availableNodes;
-      ret = ((InnerNode)scopeNode).getLeaf(nodeIndex, mutableExcludedScopes,
-          mutableExNodes, ancestorGen);
+      ret = index.getAvailableLeaf(start, end, excluded, nodeIndex);
     } else {
       nodeIndex = ThreadLocalRandom.current().nextInt(availableNodes);
-      ret = ((InnerNode)scopeNode).getLeaf(nodeIndex, mutableExcludedScopes,
-          mutableExNodes, ancestorGen);
+      ret = chooseRandomLeaf(index, start, end, excluded, nodeIndex);
     }
     if (LOG.isDebugEnabled()) {
       LOG.debug("Finish choosing node[index = {}, random = {}] from {} " +
               "available nodes, scope = {}, excludedScope = {}," +
               "excludeNodes = {}.",
           nodeIndex, (leafIndex == -1 ? "true" : "false"), availableNodes,
-          scopeNode.getNetworkFullPath(), excludedScopes, excludedNodes);
+          finalScope, excludedScopes, excludedNodes);
       LOG.debug("Chosen node = {}", (ret == null ? "not found" :
           ret.toString()));
     }
     return ret;
   }
 
+  /**
+   * Pick a random available leaf in [start, end). Probing random positions
+   * finds one in a few tries unless most of the range is excluded, so the
+   * linear scan for the <i>fallbackIndex</i>th available leaf is only a
+   * fallback. Both ways pick uniformly among the available leaves.
+   */
+  @SuppressWarnings("java:S2245") // no need for secure random
+  private static Node chooseRandomLeaf(TopologyLeafIndex index, int start,
+      int end, BitSet excluded, int fallbackIndex) {
+    if (excluded == null) {
+      return index.getLeaf(start + fallbackIndex);
+    }
+    for (int i = 0; i < MAX_RANDOM_PROBES; i++) {
+      int probe = ThreadLocalRandom.current().nextInt(start, end);
+      if (!excluded.get(probe)) {
+        return index.getLeaf(probe);
+      }
+    }
+    return index.getAvailableLeaf(start, end, excluded, fallbackIndex);
+  }
+
+  /**
+   * Mark the leaves of <i>node</i> as excluded. If ancestorGen is greater
+   * than 0, all the leaves under its ancestor of that generation are marked.
+   */
+  private static BitSet excludeNode(TopologyLeafIndex index, BitSet excluded,
+      int start, int end, Node node, int ancestorGen) {
+    if (ancestorGen == 0) {
+      int i = index.indexOf(node);
+      return i < 0 ? excluded : exclude(excluded, start, end,
+          new int[] {i, i + 1});
+    }
+    Node ancestor = node.getAncestor(ancestorGen);
+    if (ancestor == null) {
+      LOG.warn("Fail to get ancestor generation {} of node :{}",
+          ancestorGen, node);
+      return excluded;
+    }
+    return exclude(excluded, start, end,
+        index.getRange(ancestor.getNetworkFullPath()));
+  }
+
+  /**
+   * Mark the part of <i>range</i> that overlaps [start, end) as excluded.
+   * @return the excluded leaves, allocated on first use
+   */
+  private static BitSet exclude(BitSet excluded, int start, int end,
+      int[] range) {
+    if (range == null) {
+      return excluded;
+    }
+    int from = Math.max(start, range[0]);
+    int to = Math.min(end, range[1]);
+    if (from >= to) {
+      return excluded;
+    }
+    if (excluded == null) {
+      excluded = new BitSet(end);
+    }
+    excluded.set(from, to);
+    return excluded;
+  }
+
   /** Return the distance cost between two nodes
    * The distance cost from one node to its parent is it's parent's cost
    * The distance cost between two nodes is calculated by summing up their
@@ -823,70 +889,6 @@ public <N extends Node> List<N> sortByDistanceCost(Node reader,
     return ret;
   }
 
-  /**
-   * Return the number of leaves in <i>scope</i> but not in
-   * <i>excludedNodes</i> and <i>excludeScope</i>.
-   * @param scope the scope
-   * @param excludedScopes excluded scopes
-   * @param mutableExcludedNodes a list of excluded nodes, content might be
-   *                            changed after the call
-   * @param ancestorGen same generation ancestor prohibit on excludedNodes
-   * @return number of available nodes
-   */
-  private int getAvailableNodesCount(String scope, List<String> excludedScopes,
-      Collection<Node> mutableExcludedNodes, int ancestorGen) {
-    Preconditions.checkArgument(scope != null);
-
-    Node scopeNode = getNode(scope);
-    if (scopeNode == null) {
-      return 0;
-    }
-    if (!CollectionUtils.isEmpty(mutableExcludedNodes)) {
-      mutableExcludedNodes.removeIf(next -> !next.isDescendant(scope));
-    }
-    List<Node> excludedAncestorList =
-        NetUtils.getAncestorList(this, mutableExcludedNodes, ancestorGen);
-    for (Node ancestor : excludedAncestorList) {
-      if (ancestor.isAncestor(scope)) {
-        return 0;
-      }
-    }
-    // number of nodes to exclude
-    int excludedCount = 0;
-    if (excludedScopes != null) {
-      for (String excludedScope: excludedScopes) {
-        Node excludedScopeNode = getNode(excludedScope);
-        if (excludedScopeNode != null) {
-          if (excludedScopeNode.isDescendant(scope)) {
-            excludedCount += excludedScopeNode.getNumOfLeaves();
-          } else if (excludedScopeNode.isAncestor(scope)) {
-            return 0;
-          }
-        }
-      }
-    }
-    // excludedNodes is not null case
-    if (!CollectionUtils.isEmpty(mutableExcludedNodes)) {
-      if (ancestorGen == 0) {
-        for (Node node: mutableExcludedNodes) {
-          if (contains(node)) {
-            excludedCount++;
-          }
-        }
-      } else {
-        for (Node ancestor : excludedAncestorList) {
-          if (ancestor.isDescendant(scope)) {
-            excludedCount += ancestor.getNumOfLeaves();
-          }
-        }
-      }
-    }
-
-    int availableCount = scopeNode.getNumOfLeaves() - excludedCount;
-    Preconditions.checkState(availableCount >= 0);
-    return availableCount;
-  }
-
   @Override
   public String toString() {
     // print max level
@@ -931,7 +933,7 @@ private void checkExcludedScopes(List<String> excludedScopes) {
   }
 
   private void checkAffinityNode(Node affinityNode) {
-    if (affinityNode != null && (!contains(affinityNode))) {
+    if (affinityNode != null && leaves.indexOf(affinityNode) < 0) {
       throw new IllegalArgumentException("Affinity node " +
           affinityNode.getNetworkFullPath() + " is not a member of topology");
     }
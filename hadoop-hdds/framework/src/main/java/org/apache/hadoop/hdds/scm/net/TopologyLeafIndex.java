@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.net;
+
+import static org.apache.hadoop.hdds.scm.net.NetConstants.PATH_SEPARATOR_STR;
+import static org.apache.hadoop.hdds.scm.net.NetConstants.ROOT;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, flattened view of the leaves of a cluster tree.
+ *
+ * Leaves are stored in the same order as {@link InnerNode#getLeaf(int)}
+ * walks them, so every inner node (and every leaf) covers a contiguous
+ * range of leaf indexes. This allows scope and exclusion checks to be done
+ * with index ranges and a {@link BitSet} instead of walking the tree.
+ *
+ * A new instance is built whenever the topology changes and is published
+ * by {@link NetworkTopologyImpl}, so readers never need the topology lock.
+ */
+final class TopologyLeafIndex {
+
+  /** Version of the topology this index was built from. */
+  private final long version;
+  /** All leaves in tree order. */
+  private final Node[] leaves;
+  /** Leaf to its index in {@link #leaves}. */
+  private final Map<Node, Integer> leafIndexes;
+  /**
+   * Network full path of every node in the tree to the [start, end) leaf
+   * index range it covers.
+   */
+  private final Map<String, int[]> ranges;
+
+  private TopologyLeafIndex(long version, Node[] leaves,
+      Map<Node, Integer> leafIndexes, Map<String, int[]> ranges) {
+    this.version = version;
+    this.leaves = leaves;
+    this.leafIndexes = leafIndexes;
+    this.ranges = ranges;
+  }
+
+  /**
+   * Build the index of the given cluster tree. The caller must make sure the
+   * tree is not modified concurrently.
+   */
+  static TopologyLeafIndex build(InnerNode clusterTree, long version) {
+    List<Node> leafList = new ArrayList<>(clusterTree.getNumOfLeaves());
+    Map<String, int[]> ranges = new HashMap<>();
+    collect(clusterTree, leafList, ranges);
+
+    Map<Node, Integer> leafIndexes = new HashMap<>(leafList.size() * 2);
+    for (int i = 0; i < leafList.size(); i++) {
+      leafIndexes.put(leafList.get(i), i);
+    }
+    return new TopologyLeafIndex(version, leafList.toArray(new Node[0]),
+        leafIndexes, ranges);
+  }
+
+  private static void collect(Node node, List<Node> leafList,
+      Map<String, int[]> ranges) {
+    int start = leafList.size();
+    if (node instanceof InnerNodeImpl) {
+      for (Node child : ((InnerNodeImpl) node).getChildrenMap().values()) {
+        collect(child, leafList, ranges);
+      }
+    } else {
+      leafList.add(node);
+    }
+    ranges.put(node.getNetworkFullPath(), new int[] {start, leafList.size()});
+  }
+
+  long getVersion() {
+    return version;
+  }
+
+  int size() {
+    return leaves.length;
+  }
+
+  Node getLeaf(int index) {
+    return leaves[index];
+  }
+
+  /**
+   * @return the index of the given leaf, or -1 if it is not in the topology
+   */
+  int indexOf(Node leaf) {
+    Integer index = leafIndexes.get(leaf);
+    return index == null ? -1 : index;
+  }
+
+  /**
+   * @return the [start, end) leaf range covered by the node at the given
+   * location, or null if there is no such node
+   */
+  int[] getRange(String loc) {
+    loc = NetUtils.normalize(loc);
+    return ranges.get(ROOT.equals(loc) ? PATH_SEPARATOR_STR : loc);
+  }
+
+  /**
+   * Return the <i>n</i>th leaf, counting from 0, in [start, end) whose bit
+   * is not set in <i>excluded</i>.
+   */
+  Node getAvailableLeaf(int start, int end, BitSet excluded, int n) {
+    if (excluded == null) {
+      return start + n < end ? leaves[start + n] : null;
+    }
+    int i = excluded.nextClearBit(start);
+    while (i < end) {
+      if (n == 0) {
+        return leaves[i];
+      }
+      n--;
+      i = excluded.nextClearBit(i + 1);
+    }
+    return null;
+  }
+}
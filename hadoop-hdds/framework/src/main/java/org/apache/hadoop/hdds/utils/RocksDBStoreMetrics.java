@@ -19,6 +19,7 @@
 
 import java.io.IOException;
 import java.lang.reflect.Method;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -59,6 +60,14 @@ public class RocksDBStoreMetrics implements MetricsSource {
   public static final String ROCKSDB_CONTEXT_PREFIX = "Rocksdb_";
   public static final String ROCKSDB_PROPERTY_PREFIX = "rocksdb.";
   private static final String BLOB_DB_PREFIX = "BLOB_DB_";
+  // The BLOB_DB_ tickers also updated by the integrated BlobDB, see
+  // DBStoreBuilder#setBlobFiles, the others are of the stacked BlobDB.
+  private static final Set<TickerType> BLOB_FILE_TICKERS = EnumSet.of(
+      TickerType.BLOB_DB_BLOB_FILE_BYTES_WRITTEN,
+      TickerType.BLOB_DB_BLOB_FILE_BYTES_READ,
+      TickerType.BLOB_DB_BLOB_FILE_SYNCED,
+      TickerType.BLOB_DB_GC_NUM_KEYS_RELOCATED,
+      TickerType.BLOB_DB_GC_BYTES_RELOCATED);
 
   // RocksDB properties
   // Column1: rocksDB property original name
@@ -96,7 +105,26 @@ public class RocksDBStoreMetrics implements MetricsSource {
       {"estimate-num-keys", "true", ""},
       // estimated memory used for reading SST tables, excluding memory used
       // in block cache (e.g., filter and index blocks)
-      {"estimate-table-readers-mem", "true", ""}
+      {"estimate-table-readers-mem", "true", ""},
+      // number of blob files in the current version
+      {"num-blob-files", "true", ""},
+      // total size (bytes) of the blob files in the current version
+      {"live-blob-file-size", "true", ""},
+      // total size (bytes) of the garbage in the blob files in the current
+      // version, reclaimed by compactions
+      {"live-blob-file-garbage-size", "true", ""}
+  };
+
+  // RocksDB properties of the whole DB, e.g. of write stalls
+  private static final String[] DB_PROPERTIES = {
+      // current delayed write rate (bytes/s), 0 if writes are not delayed
+      "actual-delayed-write-rate",
+      // 1 if writes are stopped
+      "is-write-stopped",
+      // number of currently running compactions
+      "num-running-compactions",
+      // number of currently running flushes
+      "num-running-flushes"
   };
 
   // level-x sst file info (Global)
@@ -189,7 +217,8 @@ private void getTickerTypeData(MetricsRecordBuilder rb) {
       return;
     }
     for (TickerType tickerType : TickerType.values()) {
-      if (tickerType.name().startsWith(BLOB_DB_PREFIX)) {
+      if (tickerType.name().startsWith(BLOB_DB_PREFIX)
+          && !BLOB_FILE_TICKERS.contains(tickerType)) {
         continue;
       }
       rb.addCounter(Interns.info(tickerType.name(), "RocksDBStat"),
@@ -228,6 +257,15 @@ private void getDBPropertyData(MetricsRecordBuilder rb) {
           cfPros[index][0], e);
     }
 
+    for (String property : DB_PROPERTIES) {
+      try {
+        rb.addGauge(Interns.info(property.replace("-", "_"), "RocksDBProperty"),
+            Long.parseLong(rocksDB.getProperty(ROCKSDB_PROPERTY_PREFIX + property)));
+      } catch (IOException e) {
+        LOG.error("Failed to get property {} from rocksdb", property, e);
+      }
+    }
+
     try {
       // Calculate number of files per level and size per level
       Map<String, Map<Integer, Map<String, Long>>> data = computeSstFileStat();
@@ -31,6 +31,8 @@
 import java.io.File;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
@@ -49,7 +51,9 @@
 import org.apache.hadoop.hdds.utils.db.managed.ManagedStatistics;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteOptions;
 import org.apache.ratis.util.UncheckedAutoCloseable;
+import org.rocksdb.Cache;
 import org.rocksdb.InfoLogLevel;
+import org.rocksdb.RateLimiter;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.StatsLevel;
 import org.slf4j.Logger;
@@ -102,6 +106,10 @@ public final class DBStoreBuilder {
   // number in request to avoid increase in heap memory.
   private long maxDbUpdatesSizeThreshold;
   private Integer maxNumberOfOpenFiles = null;
+  private Cache sharedBlockCache;
+  private RateLimiter rateLimiter;
+  private Set<String> blobFileTables = Collections.emptySet();
+  private long minBlobSize;
   private Function<Boolean, UncheckedAutoCloseable> differLockSupplier;
 
   /**
@@ -194,6 +202,9 @@ private void setDBOptionsProps(ManagedDBOptions dbOptions) {
     if (maxNumberOfOpenFiles != null) {
       dbOptions.setMaxOpenFiles(maxNumberOfOpenFiles);
     }
+    if (rateLimiter != null) {
+      dbOptions.setRateLimiter(rateLimiter);
+    }
     if (!rocksDbStat.equals(OZONE_METADATA_STORE_ROCKSDB_STATISTICS_OFF)) {
       statistics = new ManagedStatistics();
       statistics.setStatsLevel(StatsLevel.valueOf(rocksDbStat));
@@ -325,6 +336,46 @@ public DBStoreBuilder setMaxNumberOfOpenFiles(Integer maxNumberOfOpenFiles) {
     return this;
   }
 
+  /**
+   * Use a block cache shared with other DB instances for the column families
+   * with a block based table config, instead of a cache for each instance.
+   * Column family options read from an ini file keep their own cache.
+   * The caller owns the cache.
+   */
+  public DBStoreBuilder setSharedBlockCache(Cache blockCache) {
+    this.sharedBlockCache = blockCache;
+    return this;
+  }
+
+  /**
+   * Limit the rate of flush and compaction writes of the DB, e.g. for a DB
+   * rewritten in the background on the same disk as a latency sensitive one.
+   * The caller owns the rate limiter.
+   */
+  public DBStoreBuilder setRateLimiter(RateLimiter limiter) {
+    this.rateLimiter = limiter;
+    return this;
+  }
+
+  /**
+   * Store the values of the given column families that are at least
+   * {@code minBlobSize} bytes in blob files, separate from the keys, so that
+   * compactions do not rewrite them (RocksDB integrated BlobDB).
+   * Obsolete blobs are reclaimed by the compactions of the SST files
+   * referencing them.
+   * <p>
+   * Values written before are moved to blob files as compactions rewrite
+   * them, which a manual compaction of the column family speeds up.
+   * A DB with blob files can be opened without this setting, the existing
+   * blobs remain readable.
+   */
+  public DBStoreBuilder setBlobFiles(Collection<String> tables,
+      long minSize) {
+    this.blobFileTables = new HashSet<>(tables);
+    this.minBlobSize = minSize;
+    return this;
+  }
+
   /**
    * Converts column families and their corresponding options that have been
    * registered with the builder to a set of {@link TableConfig} objects.
@@ -346,12 +397,22 @@ private Set<TableConfig> makeTableConfigs() {
 
       if (options == null) {
         LOG.debug("using default column family options for table: {}", name);
-        ManagedColumnFamilyOptions fromFileOrDefault = getFromFileOrDefault(name);
-        fromFileOrDefault.setWriteBufferSize(rocksDbCfWriteBufferSize);
-        tableConfigs.add(new TableConfig(name, fromFileOrDefault));
-      } else {
-        tableConfigs.add(new TableConfig(name, options));
+        options = getFromFileOrDefault(name);
+        options.setWriteBufferSize(rocksDbCfWriteBufferSize);
+      }
+      if (sharedBlockCache != null && !options.isReused()) {
+        options.setSharedBlockCache(sharedBlockCache);
+      }
+      if (blobFileTables.contains(name)) {
+        if (options.isReused() || options == defaultCfOptions) {
+          // Do not enable blob files for the other column families.
+          options = new ManagedColumnFamilyOptions(options);
+        }
+        options.setEnableBlobFiles(true)
+            .setMinBlobSize(minBlobSize)
+            .setEnableBlobGarbageCollection(true);
       }
+      tableConfigs.add(new TableConfig(name, options));
     }
 
     return tableConfigs;
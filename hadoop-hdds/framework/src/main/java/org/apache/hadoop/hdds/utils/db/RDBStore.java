@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.hdds.utils.db;
 
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.COMPACTION_LOG_TABLE;
 import static org.apache.hadoop.ozone.OzoneConsts.DB_COMPACTION_LOG_DIR;
 import static org.apache.hadoop.ozone.OzoneConsts.DB_COMPACTION_SST_BACKUP_DIR;
@@ -49,6 +51,7 @@
 import org.apache.hadoop.hdds.utils.db.managed.ManagedStatistics;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedTransactionLogIterator;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteOptions;
+import org.apache.hadoop.util.Time;
 import org.apache.ozone.rocksdiff.RocksDBCheckpointDiffer;
 import org.apache.ozone.rocksdiff.RocksDBCheckpointDiffer.RocksDBCheckpointDifferHolder;
 import org.apache.ratis.util.UncheckedAutoCloseable;
@@ -66,6 +69,7 @@ public class RDBStore implements DBStore {
   private final RocksDatabase db;
   private final File dbLocation;
   private RocksDBStoreMetrics metrics;
+  private RDBTableMetrics tableMetrics;
   private final RDBCheckpointManager checkPointManager;
   private final String checkpointsParentDir;
   private final String snapshotsParentDir;
@@ -135,6 +139,11 @@ public class RDBStore implements DBStore {
           LOG.debug("Metrics registration succeed during RocksDB init, " +
               "db path :{}", dbJmxBeanName);
         }
+        if (configuration != null && configuration.getBoolean(
+            OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED,
+            OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED_DEFAULT)) {
+          tableMetrics = RDBTableMetrics.create(dbJmxBeanName);
+        }
       }
 
       // Create checkpoints and snapshot directories if not exists.
@@ -244,6 +253,10 @@ public void close() {
       metrics.unregister();
       metrics = null;
     }
+    if (tableMetrics != null) {
+      tableMetrics.unregister();
+      tableMetrics = null;
+    }
 
     RDBMetrics.unRegister();
     IOUtils.close(LOG, checkPointManager);
@@ -280,7 +293,12 @@ public BatchOperation initBatchOperation() {
   @Override
   public void commitBatchOperation(BatchOperation operation)
       throws RocksDatabaseException {
+    final RDBTableMetrics current = tableMetrics;
+    final long start = current != null ? Time.monotonicNowNanos() : 0;
     ((RDBBatchOperation) operation).commit(db);
+    if (current != null) {
+      current.addBatchCommit(start);
+    }
   }
 
   @Override
@@ -289,7 +307,12 @@ public RDBTable getTable(String name) throws RocksDatabaseException {
     if (handle == null) {
       throw new RocksDatabaseException("No such table in this DB. TableName : " + name);
     }
-    return new RDBTable(this.db, handle, rdbMetrics);
+    return new RDBTable(this.db, handle, rdbMetrics, getLatencies(name));
+  }
+
+  private RDBTableMetrics.Latencies getLatencies(String table) {
+    final RDBTableMetrics current = tableMetrics;
+    return current != null ? current.getLatencies(table) : RDBTableMetrics.Latencies.DISABLED;
   }
 
   @Override
@@ -303,7 +326,7 @@ public <K, V> TypedTable<K, V> getTable(
   public List<Table<?, ?>> listTables() {
     final List<Table<?, ?>> returnList = new ArrayList<>();
     for (ColumnFamily family : getColumnFamilies()) {
-      returnList.add(new RDBTable(db, family, rdbMetrics));
+      returnList.add(new RDBTable(db, family, rdbMetrics, getLatencies(family.getName())));
     }
     return returnList;
   }
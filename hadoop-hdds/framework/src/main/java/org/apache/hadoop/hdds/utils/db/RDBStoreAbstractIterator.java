@@ -37,6 +37,7 @@
 
   private final ManagedRocksIterator rocksDBIterator;
   private final RDBTable rocksDBTable;
+  private final RDBTableMetrics.Latencies latencies;
   private Table.KeyValue<RAW, RAW> currentEntry;
   // This is for schemas that use a fixed-length
   // prefix for each key.
@@ -52,6 +53,8 @@
   RDBStoreAbstractIterator(ManagedRocksIterator iterator, RDBTable table, RAW prefix, IteratorType type) {
     this.rocksDBIterator = iterator;
     this.rocksDBTable = table;
+    final RDBTableMetrics.Latencies tableLatencies = table != null ? table.getLatencies() : null;
+    this.latencies = tableLatencies != null ? tableLatencies : RDBTableMetrics.Latencies.DISABLED;
     this.prefix = prefix;
     this.type = type;
   }
@@ -128,12 +131,14 @@ public final Table.KeyValue<RAW, RAW> next() {
 
   @Override
   public final void seekToFirst() {
+    final long start = latencies.start();
     if (prefix == null) {
       rocksDBIterator.get().seekToFirst();
     } else {
       seek0(prefix);
     }
     setCurrentEntry();
+    latencies.addSeek(start);
   }
 
   @Override
@@ -148,8 +153,10 @@ public final void seekToLast() {
 
   @Override
   public final Table.KeyValue<RAW, RAW> seek(RAW key) {
+    final long start = latencies.start();
     seek0(key);
     setCurrentEntry();
+    latencies.addSeek(start);
     return currentEntry;
   }
 
@@ -43,6 +43,7 @@ class RDBTable implements Table<byte[], byte[]> {
   private final RocksDatabase db;
   private final ColumnFamily family;
   private final RDBMetrics rdbMetrics;
+  private final RDBTableMetrics.Latencies latencies;
 
   /**
    * Constructs a TableStore.
@@ -52,22 +53,36 @@ class RDBTable implements Table<byte[], byte[]> {
    */
   RDBTable(RocksDatabase db, ColumnFamily family,
       RDBMetrics rdbMetrics) {
+    this(db, family, rdbMetrics, RDBTableMetrics.Latencies.DISABLED);
+  }
+
+  RDBTable(RocksDatabase db, ColumnFamily family,
+      RDBMetrics rdbMetrics, RDBTableMetrics.Latencies latencies) {
     this.db = db;
     this.family = family;
     this.rdbMetrics = rdbMetrics;
+    this.latencies = latencies;
   }
 
   public ColumnFamily getColumnFamily() {
     return family;
   }
 
+  RDBTableMetrics.Latencies getLatencies() {
+    return latencies;
+  }
+
   void put(ByteBuffer key, ByteBuffer value) throws RocksDatabaseException {
+    final long start = latencies.start();
     db.put(family, key, value);
+    latencies.addPut(start);
   }
 
   @Override
   public void put(byte[] key, byte[] value) throws RocksDatabaseException {
+    final long start = latencies.start();
     db.put(family, key, value);
+    latencies.addPut(start);
   }
 
   void putWithBatch(BatchOperation batch, CodecBuffer key, CodecBuffer value) {
@@ -119,11 +134,17 @@ public boolean isExist(byte[] key) throws RocksDatabaseException {
   @Override
   public byte[] get(byte[] key) throws RocksDatabaseException {
     rdbMetrics.incNumDBKeyGets();
-    return db.get(family, key);
+    final long start = latencies.start();
+    final byte[] value = db.get(family, key);
+    latencies.addGet(start);
+    return value;
   }
 
   Integer get(ByteBuffer key, ByteBuffer outValue) throws RocksDatabaseException {
-    return db.get(family, key, outValue);
+    final long start = latencies.start();
+    final Integer length = db.get(family, key, outValue);
+    latencies.addGet(start);
+    return length;
   }
 
   /**
@@ -187,11 +208,15 @@ Integer getIfExist(ByteBuffer key, ByteBuffer outValue) throws RocksDatabaseExce
 
   @Override
   public void delete(byte[] key) throws RocksDatabaseException {
+    final long start = latencies.start();
     db.delete(family, key);
+    latencies.addDelete(start);
   }
 
   public void delete(ByteBuffer key) throws RocksDatabaseException {
+    final long start = latencies.start();
     db.delete(family, key);
+    latencies.addDelete(start);
   }
 
   @Override
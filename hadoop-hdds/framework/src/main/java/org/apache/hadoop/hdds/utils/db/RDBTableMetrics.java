@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.utils.db;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.hadoop.metrics2.MetricsCollector;
+import org.apache.hadoop.metrics2.MetricsRecordBuilder;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MetricsRegistry;
+import org.apache.hadoop.ozone.util.PerformanceMetrics;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Latencies of the get, put, delete and iterator seek operations on the
+ * tables of a DB, in nanoseconds, with their percentiles.
+ * Puts and deletes in a batch are not timed per table, the commit of the
+ * whole batch is timed for the DB instead.
+ * Enabled by {@link org.apache.hadoop.ozone.OzoneConfigKeys#OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED}.
+ */
+public final class RDBTableMetrics implements MetricsSource {
+
+  public static final String SOURCE_NAME_PREFIX = "RocksdbTables_";
+  private static final int[] QUANTILE_INTERVALS = {60};
+  /** Stores with the same name share the source, keyed by source name. */
+  private static final Map<String, RDBTableMetrics> INSTANCES = new HashMap<>();
+
+  private final String sourceName;
+  private final MetricsRegistry registry;
+  private final Map<String, Latencies> tables = new ConcurrentHashMap<>();
+  private final PerformanceMetrics batchCommit;
+  /** Number of open stores using this source, guarded by the class. */
+  private int references;
+
+  private RDBTableMetrics(String sourceName) {
+    this.sourceName = sourceName;
+    this.registry = new MetricsRegistry(sourceName);
+    this.batchCommit = new PerformanceMetrics(registry, "BatchCommit", "Latency of batch commits",
+        "Ops", "TimeNs", QUANTILE_INTERVALS);
+  }
+
+  public static synchronized RDBTableMetrics create(String dbName) {
+    String sourceName = SOURCE_NAME_PREFIX + dbName;
+    RDBTableMetrics metrics = INSTANCES.get(sourceName);
+    if (metrics == null) {
+      metrics = DefaultMetricsSystem.instance().register(sourceName, "RocksDB table latencies",
+          new RDBTableMetrics(sourceName));
+      INSTANCES.put(sourceName, metrics);
+    }
+    metrics.references++;
+    return metrics;
+  }
+
+  /**
+   * Releases the source for a store, it is unregistered when no other open
+   * store uses it.
+   */
+  public void unregister() {
+    synchronized (RDBTableMetrics.class) {
+      if (--references > 0) {
+        return;
+      }
+      INSTANCES.remove(sourceName);
+      DefaultMetricsSystem.instance().unregisterSource(sourceName);
+    }
+    batchCommit.close();
+    tables.values().forEach(Latencies::close);
+  }
+
+  void addBatchCommit(long start) {
+    batchCommit.add(Time.monotonicNowNanos() - start);
+  }
+
+  Latencies getLatencies(String table) {
+    return tables.computeIfAbsent(table, name -> new Latencies(registry, name));
+  }
+
+  @Override
+  public void getMetrics(MetricsCollector collector, boolean all) {
+    MetricsRecordBuilder rb = collector.addRecord(sourceName);
+    batchCommit.snapshot(rb, all);
+    tables.values().forEach(latencies -> latencies.snapshot(rb, all));
+  }
+
+  /**
+   * Latencies of the operations on a table. Callers take the time with
+   * {@link #start()} and pass it to the method of the operation when it is
+   * done, which is free if the metrics are disabled.
+   */
+  static final class Latencies {
+    static final Latencies DISABLED = new Latencies();
+
+    private final PerformanceMetrics get;
+    private final PerformanceMetrics put;
+    private final PerformanceMetrics delete;
+    private final PerformanceMetrics seek;
+
+    private Latencies() {
+      get = null;
+      put = null;
+      delete = null;
+      seek = null;
+    }
+
+    private Latencies(MetricsRegistry registry, String table) {
+      get = newLatency(registry, table, "Get");
+      put = newLatency(registry, table, "Put");
+      delete = newLatency(registry, table, "Delete");
+      seek = newLatency(registry, table, "Seek");
+    }
+
+    private static PerformanceMetrics newLatency(MetricsRegistry registry, String table, String op) {
+      return new PerformanceMetrics(registry, table + op, "Latency of " + op + " on " + table,
+          "Ops", "TimeNs", QUANTILE_INTERVALS);
+    }
+
+    boolean isEnabled() {
+      return get != null;
+    }
+
+    long start() {
+      return isEnabled() ? Time.monotonicNowNanos() : 0;
+    }
+
+    void addGet(long start) {
+      add(get, start);
+    }
+
+    void addPut(long start) {
+      add(put, start);
+    }
+
+    void addDelete(long start) {
+      add(delete, start);
+    }
+
+    void addSeek(long start) {
+      add(seek, start);
+    }
+
+    private static void add(PerformanceMetrics metrics, long start) {
+      if (metrics != null) {
+        metrics.add(Time.monotonicNowNanos() - start);
+      }
+    }
+
+    private void snapshot(MetricsRecordBuilder rb, boolean all) {
+      get.snapshot(rb, all);
+      put.snapshot(rb, all);
+      delete.snapshot(rb, all);
+      seek.snapshot(rb, all);
+    }
+
+    private void close() {
+      get.close();
+      put.close();
+      delete.close();
+      seek.close();
+    }
+  }
+}
@@ -984,6 +984,56 @@ void testUpdateNode() {
     assertTrue(newCluster.contains(newNode3));
   }
 
+  @Test
+  void testVersionChangesWithTopology() {
+    NodeSchemaManager manager = NodeSchemaManager.getInstance();
+    manager.init(new NodeSchema[] {ROOT_SCHEMA, RACK_SCHEMA, LEAF_SCHEMA},
+        true);
+    NetworkTopologyImpl newCluster =
+        new NetworkTopologyImpl(manager, mockedShuffleOperation);
+    Node node1 = createDatanode("1.1.1.1", "/r1");
+    Node node2 = createDatanode("2.2.2.2", "/r2");
+
+    long version = newCluster.getVersion();
+    newCluster.add(node1);
+    assertThat(newCluster.getVersion()).isGreaterThan(version);
+    assertEquals(node1, newCluster.chooseRandom("/r1"));
+
+    // adding an existing node does not change the topology
+    version = newCluster.getVersion();
+    newCluster.add(node1);
+    assertEquals(version, newCluster.getVersion());
+
+    newCluster.add(node2);
+    assertThat(newCluster.getVersion()).isGreaterThan(version);
+    assertEquals(node2, newCluster.chooseRandom(ROOT,
+        Collections.singletonList(node1)));
+
+    version = newCluster.getVersion();
+    newCluster.remove(node2);
+    assertThat(newCluster.getVersion()).isGreaterThan(version);
+    assertNull(newCluster.chooseRandom(ROOT,
+        Collections.singletonList(node1)));
+  }
+
+  @ParameterizedTest
+  @MethodSource("topologies")
+  void testGetNodeFollowsLeafOrder(NodeSchema[] schemas, Node[] nodeArray) {
+    initNetworkTopology(schemas, nodeArray);
+    Node excluded = dataNodes[2];
+    List<Node> expected = new ArrayList<>();
+    for (int i = 0; i < cluster.getNumOfLeafNode(ROOT); i++) {
+      Node leaf = ((InnerNode) cluster.getNode(ROOT)).getLeaf(i);
+      if (!leaf.equals(excluded)) {
+        expected.add(leaf);
+      }
+    }
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), cluster.getNode(i, null, null,
+          Collections.singletonList(excluded), null, 0));
+    }
+  }
+
   @Test
   void testIsAncestor() {
     NodeImpl r1 = new NodeImpl("r1", "/", NODE_COST_DEFAULT);
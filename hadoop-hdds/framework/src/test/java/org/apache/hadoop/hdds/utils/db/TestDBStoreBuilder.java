@@ -17,9 +17,13 @@
 
 package org.apache.hadoop.hdds.utils.db;
 
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -29,11 +33,20 @@
 import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import org.apache.commons.lang3.RandomStringUtils;
 import org.apache.hadoop.hdds.HddsConfigKeys;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedLRUCache;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedRateLimiter;
+import org.apache.hadoop.metrics2.AbstractMetric;
+import org.apache.hadoop.metrics2.MetricsSource;
+import org.apache.hadoop.metrics2.impl.MetricsCollectorImpl;
+import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -151,6 +164,170 @@ public void builderWithDiskProfileWrites(@TempDir Path tempDir)
     }
   }
 
+  @Test
+  public void builderWithSharedBlockCache(@TempDir Path tempDir)
+      throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    byte[] value = RandomStringUtils.secure().next(1024).getBytes(StandardCharsets.UTF_8);
+    try (ManagedLRUCache blockCache = new ManagedLRUCache(1 << 20)) {
+      long usage = blockCache.getUsage();
+      for (String name : Arrays.asList("First.db", "Second.db")) {
+        try (DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+            .setName(name)
+            .setPath(tempDir)
+            .addTable("First")
+            .setSharedBlockCache(blockCache)
+            .build()) {
+          Table<byte[], byte[]> firstTable = dbStore.getTable("First");
+          firstTable.put(key, value);
+          dbStore.flushDB();
+          assertArrayEquals(value, firstTable.get(key));
+          // blocks read from the SST file are cached in the shared cache
+          assertThat(blockCache.getUsage()).isGreaterThan(usage);
+          usage = blockCache.getUsage();
+        }
+      }
+    }
+  }
+
+  @Test
+  public void builderWithRateLimiter(@TempDir Path tempDir) throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    byte[] value = RandomStringUtils.secure().next(1024).getBytes(StandardCharsets.UTF_8);
+    try (ManagedRateLimiter rateLimiter = new ManagedRateLimiter(1 << 20);
+         DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+             .setName("Limited.db")
+             .setPath(tempDir)
+             .addTable("First")
+             .setRateLimiter(rateLimiter)
+             .build()) {
+      Table<byte[], byte[]> firstTable = dbStore.getTable("First");
+      firstTable.put(key, value);
+      dbStore.flushDB();
+      // the flush is charged to the rate limiter
+      assertThat(rateLimiter.getTotalBytesThrough()).isGreaterThan(0);
+    }
+  }
+
+  @Test
+  public void builderWithBlobFiles(@TempDir Path tempDir) throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    byte[] value = RandomStringUtils.secure().next(1024).getBytes(StandardCharsets.UTF_8);
+    try (RDBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Blob.db")
+        .setPath(tempDir)
+        .addTable("First")
+        .addTable("Second")
+        // the column families share the default options
+        .disableDefaultCFAutoCompaction(true)
+        .setBlobFiles(Collections.singleton("First"), 512)
+        .build()) {
+      dbStore.getTable("First").put(key, value);
+      dbStore.getTable("Second").put(key, value);
+      dbStore.flushDB();
+      assertEquals("1", getNumBlobFiles(dbStore, "First"));
+      assertEquals("0", getNumBlobFiles(dbStore, "Second"));
+    }
+
+    // the values in blob files are readable without the setting
+    try (RDBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Blob.db")
+        .setPath(tempDir)
+        .addTable("First")
+        .addTable("Second")
+        .build()) {
+      Table<byte[], byte[]> firstTable = dbStore.getTable("First");
+      assertArrayEquals(value, firstTable.get(key));
+    }
+  }
+
+  private static String getNumBlobFiles(RDBStore dbStore, String table)
+      throws IOException {
+    return dbStore.getProperty(dbStore.getDb().getColumnFamily(table),
+        "rocksdb.num-blob-files");
+  }
+
+  @Test
+  public void builderWithLatencyMetrics(@TempDir Path tempDir) throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED, true);
+    String sourceName = RDBTableMetrics.SOURCE_NAME_PREFIX + "Latency.db";
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    try (DBStore dbStore = DBStoreBuilder.newBuilder(conf)
+        .setName("Latency.db")
+        .setPath(tempDir)
+        .addTable("First")
+        .build()) {
+      Table<byte[], byte[]> firstTable = dbStore.getTable("First");
+      firstTable.put(key, key);
+      firstTable.get(key);
+      firstTable.get(key);
+      try (Table.KeyValueIterator<byte[], byte[]> iterator = firstTable.iterator()) {
+        iterator.seek(key);
+      }
+      firstTable.delete(key);
+      try (BatchOperation batch = dbStore.initBatchOperation()) {
+        firstTable.putWithBatch(batch, key, key);
+        dbStore.commitBatchOperation(batch);
+      }
+
+      Map<String, Number> metrics = getMetrics(sourceName);
+      // a put in a batch is only timed by the batch commit
+      assertEquals(1L, metrics.get("FirstPutNumOps"));
+      assertEquals(1L, metrics.get("BatchCommitNumOps"));
+      assertEquals(2L, metrics.get("FirstGetNumOps"));
+      assertEquals(1L, metrics.get("FirstDeleteNumOps"));
+      // seekToFirst when the iterator is created and seek
+      assertEquals(2L, metrics.get("FirstSeekNumOps"));
+
+      // write stalls are exported without RocksDB statistics
+      assertEquals(0L, getMetrics("Rocksdb_Latency.db").get("is_write_stopped"));
+    }
+    assertNull(DefaultMetricsSystem.instance().getSource(sourceName));
+  }
+
+  @Test
+  public void latencyMetricsOfStoresWithSameName(@TempDir Path firstDir, @TempDir Path secondDir)
+      throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_METADATA_STORE_ROCKSDB_LATENCY_METRICS_ENABLED, true);
+    String sourceName = RDBTableMetrics.SOURCE_NAME_PREFIX + "Shared.db";
+    byte[] key = "key".getBytes(StandardCharsets.UTF_8);
+    try (DBStore second = DBStoreBuilder.newBuilder(conf)
+        .setName("Shared.db")
+        .setPath(secondDir)
+        .addTable("First")
+        .build()) {
+      try (DBStore first = DBStoreBuilder.newBuilder(conf)
+          .setName("Shared.db")
+          .setPath(firstDir)
+          .addTable("First")
+          .build()) {
+        first.getTable("First").put(key, key);
+      }
+
+      // the source is still used by the second store
+      assertNotNull(DefaultMetricsSystem.instance().getSource(sourceName));
+      second.getTable("First").put(key, key);
+      assertEquals(2L, getMetrics(sourceName).get("FirstPutNumOps"));
+    }
+    assertNull(DefaultMetricsSystem.instance().getSource(sourceName));
+  }
+
+  private static Map<String, Number> getMetrics(String sourceName) {
+    MetricsSource source = DefaultMetricsSystem.instance().getSource(sourceName);
+    MetricsCollectorImpl collector = new MetricsCollectorImpl();
+    source.getMetrics(collector, true);
+    Map<String, Number> metrics = new HashMap<>();
+    for (AbstractMetric metric : collector.getRecords().get(0).metrics()) {
+      metrics.put(metric.name(), metric.value());
+    }
+    return metrics;
+  }
+
   @Test
   public void builderWithColumnFamilyOptions(@TempDir Path tempDir)
       throws Exception {
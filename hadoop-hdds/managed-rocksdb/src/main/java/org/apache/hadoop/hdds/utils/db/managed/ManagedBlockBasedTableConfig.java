@@ -45,6 +45,21 @@ public synchronized ManagedBlockBasedTableConfig closeAndSetBlockCache(
     return setBlockCache(blockCache);
   }
 
+  /**
+   * Set a block cache shared across RocksDB instances, closing the previous
+   * cache. The shared cache is not closed with this config.
+   */
+  public synchronized ManagedBlockBasedTableConfig closeAndSetSharedBlockCache(
+      Cache blockCache) {
+    Cache previous = blockCacheHolder;
+    if (previous != null && previous.isOwningHandle()) {
+      previous.close();
+    }
+    blockCacheHolder = null;
+    super.setBlockCache(blockCache);
+    return this;
+  }
+
   @Override
   public synchronized ManagedBlockBasedTableConfig setBlockCache(
       Cache blockCache) {
@@ -21,6 +21,7 @@
 
 import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyOptions;
 import org.rocksdb.TableFormatConfig;
 
@@ -71,6 +72,22 @@ public synchronized ManagedColumnFamilyOptions closeAndSetTableFormatConfig(
     return this;
   }
 
+  /**
+   * Use a block cache shared across RocksDB instances instead of the block
+   * cache of the {@link ManagedBlockBasedTableConfig}, if any.
+   */
+  public synchronized ManagedColumnFamilyOptions setSharedBlockCache(
+      Cache blockCache) {
+    TableFormatConfig tableFormatConfig = tableFormatConfig();
+    if (tableFormatConfig instanceof ManagedBlockBasedTableConfig) {
+      ((ManagedBlockBasedTableConfig) tableFormatConfig)
+          .closeAndSetSharedBlockCache(blockCache);
+      // Same config, only the cache changed.
+      super.setTableFormatConfig(tableFormatConfig);
+    }
+    return this;
+  }
+
   public void setReused(boolean reused) {
     this.reused = reused;
   }
@@ -17,7 +17,9 @@
 
 package org.apache.ozone.rocksdiff;
 
+import com.google.common.graph.Graph;
 import com.google.common.graph.GraphBuilder;
+import com.google.common.graph.Graphs;
 import com.google.common.graph.MutableGraph;
 import java.util.HashSet;
 import java.util.List;
@@ -31,21 +33,32 @@
 
 /**
  * Wrapper class storing DAGs of SST files for tracking compactions.
+ * <p>
+ * The forward DAG has an edge from each compaction output file to each of
+ * its input files, the backward DAG has the reverse edges. Both are pruned
+ * of the same nodes, i.e. the pruned files and the files they were compacted
+ * from, so the backward DAG is kept as a transposed view of the forward DAG
+ * instead of as a second copy of the graph.
  */
 public class CompactionDag {
   private static final Logger LOG = LoggerFactory.getLogger(CompactionDag.class);
 
   private final ConcurrentMap<String, CompactionNode> compactionNodeMap = new ConcurrentHashMap<>();
   private final MutableGraph<CompactionNode> forwardCompactionDAG = GraphBuilder.directed().build();
-  private final MutableGraph<CompactionNode> backwardCompactionDAG = GraphBuilder.directed().build();
+  private final Graph<CompactionNode> backwardCompactionDAG = Graphs.transpose(forwardCompactionDAG);
+  /** The few distinct column family names, shared by all the nodes. */
+  private final ConcurrentMap<String, String> columnFamilies = new ConcurrentHashMap<>();
 
   private CompactionNode addNodeToDAG(String file, long seqNum, String startKey, String endKey, String columnFamily) {
-    CompactionNode fileNode = new CompactionNode(file, seqNum, startKey, endKey, columnFamily);
-    backwardCompactionDAG.addNode(fileNode);
+    CompactionNode fileNode = new CompactionNode(file, seqNum, startKey, endKey, internColumnFamily(columnFamily));
     forwardCompactionDAG.addNode(fileNode);
     return fileNode;
   }
 
+  private String internColumnFamily(String columnFamily) {
+    return columnFamily == null ? null : columnFamilies.computeIfAbsent(columnFamily, cf -> cf);
+  }
+
   /**
    * Populate the compaction DAG with input and output SST files lists.
    *
@@ -72,14 +85,13 @@ public void populateCompactionDAG(List<CompactionFileInfo> inputFiles,
         // Draw the edges
         if (!Objects.equals(outfileNode.getFileName(), infileNode.getFileName())) {
           forwardCompactionDAG.putEdge(outfileNode, infileNode);
-          backwardCompactionDAG.putEdge(infileNode, outfileNode);
         }
       }
     }
   }
 
   public Set<String> pruneNodesFromDag(Set<CompactionNode> nodesToRemove) {
-    pruneBackwardDag(backwardCompactionDAG, nodesToRemove);
+    // Pruning the backward DAG upstream removes the same nodes, see class doc.
     Set<String> sstFilesPruned = pruneForwardDag(forwardCompactionDAG, nodesToRemove);
     // Remove SST file nodes from compactionNodeMap too,
     // since those nodes won't be needed after clean up.
@@ -87,30 +99,6 @@ public Set<String> pruneNodesFromDag(Set<CompactionNode> nodesToRemove) {
     return sstFilesPruned;
   }
 
-  /**
-   * Prunes backward DAG's upstream from the level, that needs to be removed.
-   */
-  Set<String> pruneBackwardDag(MutableGraph<CompactionNode> backwardDag, Set<CompactionNode> startNodes) {
-    Set<String> removedFiles = new HashSet<>();
-    Set<CompactionNode> currentLevel = startNodes;
-
-    while (!currentLevel.isEmpty()) {
-      Set<CompactionNode> nextLevel = new HashSet<>();
-      for (CompactionNode current : currentLevel) {
-        if (!backwardDag.nodes().contains(current)) {
-          continue;
-        }
-
-        nextLevel.addAll(backwardDag.predecessors(current));
-        backwardDag.removeNode(current);
-        removedFiles.add(current.getFileName());
-      }
-      currentLevel = nextLevel;
-    }
-
-    return removedFiles;
-  }
-
   /**
    * Prunes forward DAG's downstream from the level that needs to be removed.
    */
@@ -140,7 +128,10 @@ public MutableGraph<CompactionNode> getForwardCompactionDAG() {
     return forwardCompactionDAG;
   }
 
-  public MutableGraph<CompactionNode> getBackwardCompactionDAG() {
+  /**
+   * @return read-only view of the forward DAG with the edges reversed
+   */
+  public Graph<CompactionNode> getBackwardCompactionDAG() {
     return backwardCompactionDAG;
   }
 
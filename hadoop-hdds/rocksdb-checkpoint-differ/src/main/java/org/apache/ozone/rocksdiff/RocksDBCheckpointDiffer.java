@@ -33,6 +33,7 @@
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.Graph;
 import com.google.common.graph.MutableGraph;
 import com.google.protobuf.InvalidProtocolBufferException;
 import java.io.BufferedWriter;
@@ -1059,7 +1060,7 @@ public MutableGraph<CompactionNode> getForwardCompactionDAG() {
   }
 
   @VisibleForTesting
-  public MutableGraph<CompactionNode> getBackwardCompactionDAG() {
+  public Graph<CompactionNode> getBackwardCompactionDAG() {
     return compactionDag.getBackwardCompactionDAG();
   }
 
@@ -1241,15 +1242,6 @@ public Set<String> pruneSstFileNodesFromDag(Set<String> sstFileNodes) {
     }
   }
 
-  /**
-   * Prunes backward DAG's upstream from the level, that needs to be removed.
-   */
-  @VisibleForTesting
-  Set<String> pruneBackwardDag(MutableGraph<CompactionNode> backwardDag,
-                               Set<CompactionNode> startNodes) {
-    return compactionDag.pruneBackwardDag(backwardDag, startNodes);
-  }
-
   /**
    * Prunes forward DAG's downstream from the level that needs to be removed.
    */
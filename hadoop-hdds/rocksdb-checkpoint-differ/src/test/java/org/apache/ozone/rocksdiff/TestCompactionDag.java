@@ -30,6 +30,7 @@
 import static org.apache.ozone.rocksdiff.RocksDBCheckpointDiffer.COMPACTION_LOG_FILE_NAME_SUFFIX;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -68,11 +69,13 @@
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksDB;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksIterator;
+import org.apache.ozone.compaction.log.CompactionFileInfo;
 import org.apache.ozone.compaction.log.CompactionLogEntry;
 import org.apache.ozone.test.GenericTestUtils;
 import org.apache.ratis.util.UncheckedAutoCloseable;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -329,9 +332,9 @@ private static MutableGraph<CompactionNode> createForwardDagFromLevelNodes(
   }
 
   /**
-   * Test cases for pruneBackwardDag.
+   * Test cases for pruneNodesFromDag.
    */
-  private static Stream<Arguments> pruneBackwardDagScenarios() {
+  private static Stream<Arguments> pruneNodesFromDagScenarios() {
     Set<String> level0Files = new HashSet<>(SST_FILES_BY_LEVEL.get(0));
     Set<String> level1Files = new HashSet<>(SST_FILES_BY_LEVEL.get(1));
     Set<String> level2Files = new HashSet<>(SST_FILES_BY_LEVEL.get(2));
@@ -342,49 +345,37 @@ private static Stream<Arguments> pruneBackwardDagScenarios() {
     level3Files.addAll(level2Files);
 
     return Stream.of(
-        Arguments.of("Remove level 0 from backward DAG",
-            createBackwardDagFromLevelNodes(0, 4),
-            new HashSet<>(COMPACTION_NODES_BY_LEVEL.get(0)),
-            createBackwardDagFromLevelNodes(1, 4),
-            level0Files
-        ),
-        Arguments.of("Remove level 1 from backward DAG",
-            createBackwardDagFromLevelNodes(0, 4),
-            new HashSet<>(COMPACTION_NODES_BY_LEVEL.get(1)),
-            createBackwardDagFromLevelNodes(2, 4),
-            level1Files
-        ),
-        Arguments.of("Remove level 2 from backward DAG",
-            createBackwardDagFromLevelNodes(0, 4),
-            new HashSet<>(COMPACTION_NODES_BY_LEVEL.get(2)),
-            createBackwardDagFromLevelNodes(3, 4),
-            level2Files
-        ),
-        Arguments.of("Remove level 3 from backward DAG",
-            createBackwardDagFromLevelNodes(0, 4),
-            new HashSet<>(COMPACTION_NODES_BY_LEVEL.get(3)),
-            createBackwardDagFromLevelNodes(4, 4),
-            level3Files
-        )
+        Arguments.of("Remove level 0 from DAG", 0, level0Files),
+        Arguments.of("Remove level 1 from DAG", 1, level1Files),
+        Arguments.of("Remove level 2 from DAG", 2, level2Files),
+        Arguments.of("Remove level 3 from DAG", 3, level3Files)
     );
   }
 
   @ParameterizedTest(name = "{0}")
-  @MethodSource("pruneBackwardDagScenarios")
-  public void testPruneBackwardDag(String description,
-      MutableGraph<CompactionNode> originalDag,
-      Set<CompactionNode> levelToBeRemoved,
-      MutableGraph<CompactionNode> expectedDag,
+  @MethodSource("pruneNodesFromDagScenarios")
+  public void testPruneNodesFromDag(String description,
+      int levelToBeRemoved,
       Set<String> expectedFileNodesRemoved) {
     CompactionDag compactionDag = new CompactionDag();
-    Set<String> actualFileNodesRemoved =
-        compactionDag.pruneBackwardDag(originalDag, levelToBeRemoved);
-    assertEquals(expectedDag, originalDag);
-    assertEquals(actualFileNodesRemoved, expectedFileNodesRemoved);
+    MutableGraph<CompactionNode> forwardDag =
+        compactionDag.getForwardCompactionDAG();
+    MutableGraph<CompactionNode> originalDag =
+        createForwardDagFromLevelNodes(4, 0);
+    originalDag.nodes().forEach(forwardDag::addNode);
+    originalDag.edges().forEach(forwardDag::putEdge);
+
+    Set<String> actualFileNodesRemoved = compactionDag.pruneNodesFromDag(
+        new HashSet<>(COMPACTION_NODES_BY_LEVEL.get(levelToBeRemoved)));
+    assertEquals(createForwardDagFromLevelNodes(4, levelToBeRemoved + 1),
+        forwardDag);
+    assertEquals(createBackwardDagFromLevelNodes(levelToBeRemoved + 1, 4),
+        compactionDag.getBackwardCompactionDAG());
+    assertEquals(expectedFileNodesRemoved, actualFileNodesRemoved);
   }
 
   /**
-   * Test cases for pruneBackwardDag.
+   * Test cases for pruneForwardDag.
    */
   private static Stream<Arguments> pruneForwardDagScenarios() {
     Set<String> level0Files = new HashSet<>(SST_FILES_BY_LEVEL.get(0));
@@ -691,6 +682,45 @@ public void testPruneOlderSnapshotsWithCompactionHistory(
         countEntriesInCompactionLogTable());
   }
 
+  @Test
+  public void testBackwardDagIsTransposeOfForwardDag() {
+    CompactionDag compactionDag = new CompactionDag();
+    compactionDag.populateCompactionDAG(
+        asList(fileInfo("000001"), fileInfo("000002")),
+        asList(fileInfo("000003")), 10);
+    compactionDag.populateCompactionDAG(
+        asList(fileInfo("000003"), fileInfo("000004")),
+        asList(fileInfo("000005")), 20);
+
+    CompactionNode node1 = compactionDag.getCompactionNode("000001");
+    CompactionNode node3 = compactionDag.getCompactionNode("000003");
+    CompactionNode node5 = compactionDag.getCompactionNode("000005");
+    assertEquals(compactionDag.getForwardCompactionDAG().nodes(),
+        compactionDag.getBackwardCompactionDAG().nodes());
+    assertEquals(ImmutableSet.of(node5),
+        compactionDag.getBackwardCompactionDAG().successors(node3));
+    assertEquals(ImmutableSet.of(node3),
+        compactionDag.getBackwardCompactionDAG().successors(node1));
+    assertSame(node1.getColumnFamily(), node5.getColumnFamily());
+
+    // pruning a file also prunes the files it was compacted from
+    assertEquals(ImmutableSet.of("000001", "000002", "000003"),
+        compactionDag.pruneNodesFromDag(ImmutableSet.of(node3)));
+    assertEquals(ImmutableSet.of("000004", "000005"),
+        compactionDag.getBackwardCompactionDAG().nodes().stream()
+            .map(CompactionNode::getFileName).collect(Collectors.toSet()));
+    assertEquals(ImmutableSet.of(node5), compactionDag.getBackwardCompactionDAG()
+        .successors(compactionDag.getCompactionNode("000004")));
+  }
+
+  private static CompactionFileInfo fileInfo(String fileName) {
+    // a new string for each file, as read from the compaction log
+    return new CompactionFileInfo.Builder(fileName)
+        .setStartRange("a").setEndRange("z")
+        .setColumnFamily(new StringBuilder("keyTable").toString())
+        .build();
+  }
+
   private int countEntriesInCompactionLogTable() {
     try (ManagedRocksIterator iterator = new ManagedRocksIterator(
         activeRocksDB.get().newIterator(compactionLogTableCFHandle))) {
@@ -52,6 +52,7 @@
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.graph.Graph;
 import com.google.common.graph.MutableGraph;
 import java.io.File;
 import java.io.FileWriter;
@@ -1252,7 +1253,7 @@ public boolean debugEnabled(Integer level) {
    */
   private void traverseGraph(
       ConcurrentMap<String, CompactionNode> compactionNodeMap,
-      MutableGraph<CompactionNode> reverseMutableGraph,
+      Graph<CompactionNode> reverseMutableGraph,
       MutableGraph<CompactionNode> fwdMutableGraph) {
 
     List<CompactionNode> nodeList = compactionNodeMap.values().stream()
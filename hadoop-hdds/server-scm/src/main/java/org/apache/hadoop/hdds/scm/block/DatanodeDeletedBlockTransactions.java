@@ -17,11 +17,11 @@
 
 package org.apache.hadoop.hdds.scm.block;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.protocol.DatanodeID;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.DeletedBlocksTransaction;
@@ -34,6 +34,9 @@ class DatanodeDeletedBlockTransactions {
   // A list of TXs mapped to a certain datanode ID.
   private final Map<DatanodeID, List<DeletedBlocksTransaction>> transactions =
       new HashMap<>();
+  // number of blocks added for each datanode, so that the per datanode limit
+  // can be checked without walking its transaction list.
+  private final Map<DatanodeID, Integer> blocksPerDatanode = new HashMap<>();
   // counts blocks deleted across datanodes. Blocks deleted will be counted
   // for all the replicas and may not be unique.
   private int blocksDeleted = 0;
@@ -42,7 +45,8 @@ class DatanodeDeletedBlockTransactions {
   }
 
   void addTransactionToDN(DatanodeID dnID, DeletedBlocksTransaction tx) {
-    transactions.computeIfAbsent(dnID, k -> new LinkedList<>()).add(tx);
+    transactions.computeIfAbsent(dnID, k -> new ArrayList<>()).add(tx);
+    blocksPerDatanode.merge(dnID, tx.getLocalIDCount(), Integer::sum);
     blocksDeleted += tx.getLocalIDCount();
     if (SCMBlockDeletingService.LOG.isDebugEnabled()) {
       SCMBlockDeletingService.LOG
@@ -60,8 +64,7 @@ int getBlocksDeleted() {
   }
 
   List<String> getTransactionIDList(DatanodeID dnId) {
-    return Optional.ofNullable(transactions.get(dnId))
-        .orElse(new LinkedList<>())
+    return transactions.getOrDefault(dnId, Collections.emptyList())
         .stream()
         .map(DeletedBlocksTransaction::getTxID)
         .map(String::valueOf)
@@ -69,11 +72,7 @@ List<String> getTransactionIDList(DatanodeID dnId) {
   }
 
   public int getNumberOfBlocksForDatanode(DatanodeID dnId) {
-    return Optional.ofNullable(transactions.get(dnId))
-        .orElse(new LinkedList<>())
-        .stream()
-        .mapToInt(DeletedBlocksTransaction::getLocalIDCount)
-        .sum();
+    return blocksPerDatanode.getOrDefault(dnId, 0);
   }
 
   boolean isEmpty() {
@@ -39,6 +39,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.DeletedBlocksTransactionSummary;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.CommandStatus;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerBlocksDeletionACKProto;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerBlocksDeletionACKProto.DeleteBlockTransactionResult;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.DeletedBlocksTransaction;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.command.CommandStatusReportHandler.DeleteBlockStatus;
@@ -514,30 +515,36 @@ public void onMessage(
 
     DatanodeDetails details = deleteBlockStatus.getDatanodeDetails();
     DatanodeID dnId = details.getID();
+    // Coalesce the acks of all the commands in this report, so that the
+    // committed transactions are removed from the log in a single batch.
+    List<DeleteBlockTransactionResult> results = new ArrayList<>();
     for (CommandStatus commandStatus : deleteBlockStatus.getCmdStatus()) {
       CommandStatus.Status status = commandStatus.getStatus();
-      lock.lock();
-      try {
-        if (status == CommandStatus.Status.EXECUTED) {
-          ContainerBlocksDeletionACKProto ackProto =
-              commandStatus.getBlockDeletionAck();
-          getSCMDeletedBlockTransactionStatusManager()
-              .commitTransactions(ackProto.getResultsList(), dnId);
-          metrics.incrBlockDeletionCommandSuccess();
-          metrics.incrDNCommandsSuccess(dnId, 1);
-        } else if (status == CommandStatus.Status.FAILED) {
-          metrics.incrBlockDeletionCommandFailure();
-          metrics.incrDNCommandsFailure(dnId, 1);
-        } else {
-          LOG.debug("Delete Block Command {} is not executed on the Datanode" +
-              " {}.", commandStatus.getCmdId(), dnId);
-        }
+      if (status == CommandStatus.Status.EXECUTED) {
+        ContainerBlocksDeletionACKProto ackProto =
+            commandStatus.getBlockDeletionAck();
+        results.addAll(ackProto.getResultsList());
+        metrics.incrBlockDeletionCommandSuccess();
+        metrics.incrDNCommandsSuccess(dnId, 1);
+      } else if (status == CommandStatus.Status.FAILED) {
+        metrics.incrBlockDeletionCommandFailure();
+        metrics.incrDNCommandsFailure(dnId, 1);
+      } else {
+        LOG.debug("Delete Block Command {} is not executed on the Datanode" +
+            " {}.", commandStatus.getCmdId(), dnId);
+      }
+    }
 
+    lock.lock();
+    try {
+      if (!results.isEmpty()) {
         getSCMDeletedBlockTransactionStatusManager()
-            .commitSCMCommandStatus(deleteBlockStatus.getCmdStatus(), dnId);
-      } finally {
-        lock.unlock();
+            .commitTransactions(results, dnId);
       }
+      getSCMDeletedBlockTransactionStatusManager()
+          .commitSCMCommandStatus(deleteBlockStatus.getCmdStatus(), dnId);
+    } finally {
+      lock.unlock();
     }
   }
 }
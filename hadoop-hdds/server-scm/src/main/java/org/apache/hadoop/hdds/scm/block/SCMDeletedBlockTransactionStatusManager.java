@@ -685,6 +685,11 @@ public void removeTransactionFromDNsCommitMap(List<Long> txIds) {
   public void removeTransactionFromDNsRetryCountMap(List<Long> txIds) {
     txIds.forEach(transactionToRetryCountMap::remove);
   }
+
+  @VisibleForTesting
+  int getRetryCount(long txID) {
+    return transactionToRetryCountMap.getOrDefault(txID, 0);
+  }
   
   public void reinitialize(Table<String, ByteString> configTable) throws IOException {
     // DB onFlush() will be called before reinitialization.
@@ -501,6 +501,14 @@ private void validateConfiguration(ContainerBalancerConfiguration conf)
               + ".iteration");
     }
 
+    if (conf.getDatanodeTransferRate() <= 0) {
+      LOG.warn("hdds.container.balancer.datanode.transfer.rate {} should be " +
+          "greater than 0", conf.getDatanodeTransferRate());
+      throw new InvalidContainerBalancerConfigurationException(
+          "hdds.container.balancer.datanode.transfer.rate should be greater " +
+              "than 0");
+    }
+
     // balancing interval should be greater than DUFactory refresh period
     DUFactory.Conf duConf = ozoneConfiguration.getObject(DUFactory.Conf.class);
     long refreshPeriod = duConf.getRefreshPeriod().toMillis();
@@ -22,6 +22,7 @@
 import org.apache.hadoop.metrics2.annotation.Metrics;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
+import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 
 /**
  * Metrics related to Container Balancer running in SCM.
@@ -90,6 +91,14 @@ public final class ContainerBalancerMetrics {
       " all iterations of Container Balancer.")
   private MutableCounterLong numContainerMovesScheduled;
 
+  @Metric(about = "Time in seconds that the container moves scheduled in " +
+      "the latest iteration were projected to take.")
+  private MutableGaugeLong projectedMoveDurationSecondsInLatestIteration;
+
+  @Metric(about = "Time in seconds that the container moves scheduled in " +
+      "the latest iteration actually took.")
+  private MutableGaugeLong moveDurationSecondsInLatestIteration;
+
   /**
    * Create and register metrics named {@link ContainerBalancerMetrics#NAME}
    * for {@link ContainerBalancer}.
@@ -363,4 +372,30 @@ public void resetNumContainerMovesFailedInLatestIteration() {
     numContainerMovesFailedInLatestIteration.incr(
         -getNumContainerMovesFailedInLatestIteration());
   }
+
+  /**
+   * Gets the time the container moves scheduled in the latest iteration were
+   * projected to take, according to the configured datanode transfer rate.
+   * @return time in seconds
+   */
+  public long getProjectedMoveDurationSecondsInLatestIteration() {
+    return projectedMoveDurationSecondsInLatestIteration.value();
+  }
+
+  void setProjectedMoveDurationSecondsInLatestIteration(long seconds) {
+    projectedMoveDurationSecondsInLatestIteration.set(seconds);
+  }
+
+  /**
+   * Gets the time the container moves scheduled in the latest iteration
+   * actually took.
+   * @return time in seconds
+   */
+  public long getMoveDurationSecondsInLatestIteration() {
+    return moveDurationSecondsInLatestIteration.value();
+  }
+
+  void setMoveDurationSecondsInLatestIteration(long seconds) {
+    moveDurationSecondsInLatestIteration.set(seconds);
+  }
 }
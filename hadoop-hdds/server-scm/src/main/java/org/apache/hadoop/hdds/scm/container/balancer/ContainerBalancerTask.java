@@ -64,6 +64,7 @@
 import org.apache.hadoop.hdds.scm.node.states.NodeNotFoundException;
 import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.util.Time;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -111,6 +112,8 @@ public class ContainerBalancerTask implements Runnable {
   private FindSourceStrategy findSourceStrategy;
   private Map<ContainerMoveSelection, CompletableFuture<MoveManager.MoveResult>>
       moveSelectionToFutureMap;
+  private MoveTransferModel transferModel;
+  private long movesStartedAt;
   private IterationResult iterationResult;
   private int nextIterationIndex;
   private boolean delayStart;
@@ -171,6 +174,8 @@ public ContainerBalancerTask(StorageContainerManager scm,
           placementPolicyValidateProxy, nodeManager);
     }
     this.iterationsStatistic = new ConcurrentLinkedQueue<>();
+    this.transferModel =
+        new MoveTransferModel(config.getDatanodeTransferRate());
   }
 
   /**
@@ -656,6 +661,7 @@ private IterationResult doIteration() {
     findSourceStrategy.reInitialize(getPotentialSources(), config, lowerLimit);
 
     moveSelectionToFutureMap = new ConcurrentHashMap<>();
+    movesStartedAt = Time.monotonicNow();
     boolean isMoveGeneratedInThisIteration = false;
     iterationResult = IterationResult.ITERATION_COMPLETED;
     boolean canAdaptWhenNearingLimits = true;
@@ -781,6 +787,17 @@ private void checkIterationResults(boolean isMoveGeneratedInThisIteration) {
    */
   private void checkIterationMoveResults() {
     this.countDatanodesInvolvedPerIteration = 0;
+    Duration projectedDuration = transferModel.getProjectedDuration();
+    metrics.setProjectedMoveDurationSecondsInLatestIteration(
+        projectedDuration.getSeconds());
+    if (projectedDuration.compareTo(config.getMoveTimeout()) > 0) {
+      LOG.warn("Moves scheduled in this iteration are projected to take {} " +
+              "seconds, as datanode {} has {} to transfer, but the move " +
+              "timeout is {} seconds. Some moves are likely to time out.",
+          projectedDuration.getSeconds(), transferModel.getBottleneck(),
+          byteDesc(transferModel.getBytes(transferModel.getBottleneck())),
+          config.getMoveTimeout().getSeconds());
+    }
     Collection<CompletableFuture<MoveManager.MoveResult>> futures =
         moveSelectionToFutureMap.values();
     if (!futures.isEmpty()) {
@@ -802,6 +819,10 @@ private void checkIterationMoveResults() {
       }
     }
 
+    long moveDurationSeconds =
+        (Time.monotonicNow() - movesStartedAt) / 1000;
+    metrics.setMoveDurationSecondsInLatestIteration(moveDurationSeconds);
+
     countDatanodesInvolvedPerIteration = selectedSources.size() + selectedTargets.size();
 
     metrics.incrementNumDatanodesInvolvedInLatestIteration(countDatanodesInvolvedPerIteration);
@@ -820,11 +841,13 @@ private void checkIterationMoveResults() {
     metrics.incrementNumContainerMovesFailed(metrics.getNumContainerMovesFailedInLatestIteration());
 
     LOG.info("Iteration Summary. Number of Datanodes involved: {}. Size " +
-            "moved: {} ({} Bytes). Number of Container moves completed: {}.",
+            "moved: {} ({} Bytes). Number of Container moves completed: {}. " +
+            "Moves took {} seconds, projected {} seconds.",
         countDatanodesInvolvedPerIteration,
         byteDesc(bytesMovedInLatestIteration),
         bytesMovedInLatestIteration,
-        metrics.getNumContainerMovesCompletedInLatestIteration());
+        metrics.getNumContainerMovesCompletedInLatestIteration(),
+        moveDurationSeconds, projectedDuration.getSeconds());
   }
 
   /**
@@ -1201,6 +1224,8 @@ private void incSizeSelectedForMoving(DatanodeDetails source,
 
     // update sizeEnteringNode map with the recent moveSelection
     findTargetStrategy.increaseSizeEntering(target, size);
+
+    transferModel.addMove(source, target, size);
   }
 
   /**
@@ -1225,6 +1250,10 @@ private void resetState() {
     metrics.resetDataSizeUnbalancedGB();
     metrics.resetNumDatanodesUnbalanced();
     metrics.resetNumContainerMovesFailedInLatestIteration();
+    metrics.setProjectedMoveDurationSecondsInLatestIteration(0);
+    metrics.setMoveDurationSecondsInLatestIteration(0);
+    this.transferModel =
+        new MoveTransferModel(config.getDatanodeTransferRate());
   }
 
   /**
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.container.balancer;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.hadoop.hdds.protocol.DatanodeDetails;
+
+/**
+ * Bandwidth model of the container moves scheduled in an iteration of
+ * Container Balancer.
+ *
+ * Every datanode is modelled as a single link of the configured transfer
+ * rate, shared by the data it sends as a source and the data it receives as
+ * a target. Moves run concurrently, so the moves of an iteration are
+ * projected to complete when the busiest datanode has transferred all of its
+ * data.
+ */
+final class MoveTransferModel {
+
+  private final long bytesPerSecond;
+  private final Map<DatanodeDetails, Long> bytesPerDatanode = new HashMap<>();
+
+  MoveTransferModel(long bytesPerSecond) {
+    this.bytesPerSecond = bytesPerSecond;
+  }
+
+  /**
+   * Add a move of the given size from source to target to the model.
+   */
+  void addMove(DatanodeDetails source, DatanodeDetails target, long size) {
+    bytesPerDatanode.merge(source, size, Long::sum);
+    bytesPerDatanode.merge(target, size, Long::sum);
+  }
+
+  /**
+   * @return the number of bytes the datanode sends and receives in total
+   */
+  long getBytes(DatanodeDetails datanode) {
+    return bytesPerDatanode.getOrDefault(datanode, 0L);
+  }
+
+  /**
+   * @return the time all moves are projected to take, which is the time the
+   * busiest datanode is busy with moves
+   */
+  Duration getProjectedDuration() {
+    return toDuration(getBytes(getBottleneck()));
+  }
+
+  /**
+   * @return the datanode with the most data to transfer, or null if no move
+   * has been added
+   */
+  DatanodeDetails getBottleneck() {
+    DatanodeDetails bottleneck = null;
+    long maxBytes = -1;
+    for (Map.Entry<DatanodeDetails, Long> entry : bytesPerDatanode.entrySet()) {
+      if (entry.getValue() > maxBytes) {
+        maxBytes = entry.getValue();
+        bottleneck = entry.getKey();
+      }
+    }
+    return bottleneck;
+  }
+
+  private Duration toDuration(long bytes) {
+    // round up, so that any data to transfer takes at least a second
+    return Duration.ofSeconds((bytes + bytesPerSecond - 1) / bytesPerSecond);
+  }
+}
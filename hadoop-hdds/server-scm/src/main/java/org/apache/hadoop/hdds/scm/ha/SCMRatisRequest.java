@@ -90,6 +90,21 @@ public Class<?>[] getParameterTypes() {
    * Encodes the request into Ratis Message.
    */
   public Message encode() throws InvalidProtocolBufferException {
+    return Message.valueOf(toProto().toByteString());
+  }
+
+  /**
+   * Encodes the given requests into a single Ratis Message, so that they are
+   * replicated as one log entry and applied in order.
+   */
+  public static Message encodeBatch(List<SCMRatisRequestProto> requests) {
+    return Message.valueOf(SCMRatisRequestProto.newBuilder()
+        .addAllBatch(requests)
+        .build()
+        .toByteString());
+  }
+
+  SCMRatisRequestProto toProto() throws InvalidProtocolBufferException {
     final SCMRatisRequestProto.Builder requestProtoBuilder =
         SCMRatisRequestProto.newBuilder();
     requestProtoBuilder.setType(type);
@@ -110,8 +125,7 @@ public Message encode() throws InvalidProtocolBufferException {
           .build());
     }
     requestProtoBuilder.setMethod(methodBuilder.build());
-    final SCMRatisRequestProto requestProto = requestProtoBuilder.build();
-    return Message.valueOf(requestProto.toByteString());
+    return requestProtoBuilder.build();
   }
 
   /**
@@ -119,9 +133,33 @@ public Message encode() throws InvalidProtocolBufferException {
    */
   public static SCMRatisRequest decode(Message message)
       throws InvalidProtocolBufferException {
-    final SCMRatisRequestProto requestProto =
-        SCMRatisRequestProto.parseFrom(message.getContent().asReadOnlyByteBuffer());
+    return fromProto(parse(message));
+  }
 
+  /**
+   * Parses the request proto, which may hold a batch, from Ratis Message.
+   */
+  static SCMRatisRequestProto parse(Message message)
+      throws InvalidProtocolBufferException {
+    return SCMRatisRequestProto.parseFrom(
+        message.getContent().asReadOnlyByteBuffer());
+  }
+
+  /**
+   * Decodes the requests of a batch, in the order they should be applied.
+   */
+  static List<SCMRatisRequest> decodeBatch(SCMRatisRequestProto batchProto)
+      throws InvalidProtocolBufferException {
+    final List<SCMRatisRequest> requests =
+        new ArrayList<>(batchProto.getBatchCount());
+    for (SCMRatisRequestProto requestProto : batchProto.getBatchList()) {
+      requests.add(fromProto(requestProto));
+    }
+    return requests;
+  }
+
+  static SCMRatisRequest fromProto(SCMRatisRequestProto requestProto)
+      throws InvalidProtocolBufferException {
     // proto2 required-equivalent checks
     if (!requestProto.hasType()) {
       throw new InvalidProtocolBufferException("Missing request type");
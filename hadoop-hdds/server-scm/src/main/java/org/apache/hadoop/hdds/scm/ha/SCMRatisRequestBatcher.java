@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.ha;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.BooleanSupplier;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
+import org.apache.ratis.protocol.Message;
+import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.thirdparty.com.google.protobuf.InvalidProtocolBufferException;
+import org.apache.ratis.util.function.CheckedFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces concurrently submitted {@link SCMRatisRequest}s, so that each
+ * batch is replicated as a single Ratis log entry.
+ *
+ * A single daemon thread drains the queue of pending requests. It sends
+ * what has accumulated while the previous batch was being submitted, so a
+ * lone request is sent right away and unbatched, while a burst of requests
+ * shares one log entry. Replies are handled asynchronously, so the next
+ * batch does not wait for the previous one to be applied.
+ *
+ * Batched log entries are only sent once batching is allowed, i.e. after
+ * the SCM_RATIS_REQUEST_BATCHING layout feature is finalized. Until then,
+ * the requests are submitted one by one, since SCMs which have not been
+ * upgraded cannot apply a batch.
+ */
+class SCMRatisRequestBatcher {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(SCMRatisRequestBatcher.class);
+
+  private final CheckedFunction<Message, CompletableFuture<RaftClientReply>,
+      IOException> submitter;
+  private final BooleanSupplier batchingAllowed;
+  private final int maxBatchSize;
+  private final long maxBatchBytes;
+  private final BlockingQueue<PendingRequest> pendingRequests =
+      new LinkedBlockingQueue<>();
+  private final Thread daemon;
+  /** Guarded by this, so that no request is queued after stop. */
+  private volatile boolean running = true;
+
+  SCMRatisRequestBatcher(CheckedFunction<Message,
+      CompletableFuture<RaftClientReply>, IOException> submitter,
+      BooleanSupplier batchingAllowed, int maxBatchSize, long maxBatchBytes) {
+    this.submitter = submitter;
+    this.batchingAllowed = batchingAllowed;
+    this.maxBatchSize = maxBatchSize;
+    this.maxBatchBytes = maxBatchBytes;
+    this.daemon = new Thread(this::run, "SCMRatisRequestBatcher");
+    this.daemon.setDaemon(true);
+  }
+
+  void start() {
+    daemon.start();
+  }
+
+  synchronized void stop() {
+    running = false;
+    daemon.interrupt();
+    failPending(new IOException("SCM Ratis request batcher is stopped"));
+  }
+
+  /**
+   * Queue the request for submission.
+   * @return future of the response of this request
+   */
+  CompletableFuture<SCMRatisResponse> submit(SCMRatisRequest request)
+      throws IOException {
+    final PendingRequest pending = new PendingRequest(request.toProto());
+    synchronized (this) {
+      if (!running) {
+        throw new IOException("SCM Ratis request batcher is stopped");
+      }
+      pendingRequests.add(pending);
+    }
+    return pending.future;
+  }
+
+  private void run() {
+    while (running) {
+      try {
+        final List<PendingRequest> batch = new ArrayList<>();
+        final PendingRequest first = pendingRequests.take();
+        batch.add(first);
+        long batchBytes = first.size;
+        PendingRequest next;
+        // only this thread removes from the queue, so the peeked request is
+        // the one polled
+        while (batch.size() < maxBatchSize
+            && (next = pendingRequests.peek()) != null
+            && batchBytes + next.size <= maxBatchBytes) {
+          batch.add(pendingRequests.poll());
+          batchBytes += next.size;
+        }
+        send(batch);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        break;
+      } catch (RuntimeException e) {
+        LOG.error("Unexpected error while sending SCM Ratis requests", e);
+      }
+    }
+  }
+
+  private void send(List<PendingRequest> batch) {
+    if (batch.size() == 1 || !batchingAllowed.getAsBoolean()) {
+      for (PendingRequest pending : batch) {
+        final List<PendingRequest> single = new ArrayList<>(1);
+        single.add(pending);
+        submit(Message.valueOf(pending.proto.toByteString()), single,
+            reply -> {
+              final List<SCMRatisResponse> responses = new ArrayList<>(1);
+              responses.add(SCMRatisResponse.decode(reply));
+              return responses;
+            });
+      }
+      return;
+    }
+
+    final List<SCMRatisRequestProto> protos = new ArrayList<>(batch.size());
+    for (PendingRequest pending : batch) {
+      protos.add(pending.proto);
+    }
+    LOG.debug("Submitting {} SCM Ratis requests as one log entry",
+        batch.size());
+    submit(SCMRatisRequest.encodeBatch(protos), batch,
+        reply -> SCMRatisResponse.decodeBatch(reply, batch.size()));
+  }
+
+  private void submit(Message message, List<PendingRequest> batch,
+      CheckedFunction<RaftClientReply, List<SCMRatisResponse>,
+          InvalidProtocolBufferException> decoder) {
+    final CompletableFuture<RaftClientReply> replyFuture;
+    try {
+      replyFuture = submitter.apply(message);
+    } catch (IOException e) {
+      batch.forEach(pending -> pending.future.completeExceptionally(e));
+      return;
+    }
+    replyFuture.whenComplete((reply, e) -> {
+      if (e != null) {
+        batch.forEach(pending -> pending.future.completeExceptionally(e));
+        return;
+      }
+      try {
+        final List<SCMRatisResponse> responses = decoder.apply(reply);
+        for (int i = 0; i < batch.size(); i++) {
+          batch.get(i).future.complete(responses.get(i));
+        }
+      } catch (InvalidProtocolBufferException ex) {
+        batch.forEach(pending -> pending.future.completeExceptionally(ex));
+      }
+    });
+  }
+
+  private void failPending(IOException e) {
+    PendingRequest pending;
+    while ((pending = pendingRequests.poll()) != null) {
+      pending.future.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * A request waiting to be submitted, and the future of its response.
+   */
+  private static final class PendingRequest {
+    private final SCMRatisRequestProto proto;
+    private final int size;
+    private final CompletableFuture<SCMRatisResponse> future =
+        new CompletableFuture<>();
+
+    private PendingRequest(SCMRatisRequestProto proto) {
+      this.proto = proto;
+      this.size = proto.getSerializedSize();
+    }
+  }
+}
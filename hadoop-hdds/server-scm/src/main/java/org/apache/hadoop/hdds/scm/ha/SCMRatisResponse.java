@@ -17,10 +17,17 @@
 
 package org.apache.hadoop.hdds.scm.ha;
 
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchEntryProto;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
 import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisResponseProto;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
 import org.apache.hadoop.hdds.scm.ha.io.ScmCodecFactory;
 import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.protocol.RaftGroupMemberId;
+import org.apache.ratis.protocol.exceptions.StateMachineException;
 import org.apache.ratis.thirdparty.com.google.protobuf.ByteString;
 import org.apache.ratis.thirdparty.com.google.protobuf.InvalidProtocolBufferException;
 import org.apache.ratis.thirdparty.com.google.protobuf.UnsafeByteOperations;
@@ -88,8 +95,11 @@ public static SCMRatisResponse decode(RaftClientReply reply)
       return new SCMRatisResponse(reply.getException());
     }
 
-    final ByteString response = reply.getMessage().getContent();
+    return decode(reply.getMessage().getContent());
+  }
 
+  private static SCMRatisResponse decode(ByteString response)
+      throws InvalidProtocolBufferException {
     if (response.isEmpty()) {
       return new SCMRatisResponse();
     }
@@ -108,4 +118,69 @@ public static SCMRatisResponse decode(RaftClientReply reply)
     return new SCMRatisResponse(FACTORY.getCodec(type).deserialize(responseProto.getValue()));
   }
 
+  /**
+   * Encodes the result of one request of a batch.
+   */
+  static SCMRatisBatchEntryProto toBatchEntry(Message result) {
+    final SCMRatisBatchEntryProto.Builder entry =
+        SCMRatisBatchEntryProto.newBuilder();
+    if (result != null && !result.getContent().isEmpty()) {
+      entry.setResponse(result.getContent());
+    }
+    return entry.build();
+  }
+
+  /**
+   * Encodes the rejection of one request of a batch.
+   */
+  static SCMRatisBatchEntryProto toBatchEntry(SCMException exception) {
+    final SCMRatisBatchEntryProto.Builder entry = SCMRatisBatchEntryProto
+        .newBuilder()
+        .setResultCode(exception.getResult().name());
+    if (exception.getMessage() != null) {
+      entry.setExceptionMessage(exception.getMessage());
+    }
+    return entry.build();
+  }
+
+  /**
+   * Decodes the responses of the given number of batched requests. If the
+   * batch as a whole failed, every request gets the same exception.
+   */
+  public static List<SCMRatisResponse> decodeBatch(RaftClientReply reply,
+      int size) throws InvalidProtocolBufferException {
+    final List<SCMRatisResponse> responses = new ArrayList<>(size);
+    if (!reply.isSuccess()) {
+      final SCMRatisResponse failure =
+          new SCMRatisResponse(reply.getException());
+      for (int i = 0; i < size; i++) {
+        responses.add(failure);
+      }
+      return responses;
+    }
+
+    final SCMRatisBatchResponseProto batchProto =
+        SCMRatisBatchResponseProto.parseFrom(
+            reply.getMessage().getContent().asReadOnlyByteBuffer());
+    if (batchProto.getEntriesCount() != size) {
+      throw new InvalidProtocolBufferException("Expected " + size +
+          " responses, got " + batchProto.getEntriesCount());
+    }
+    final RaftGroupMemberId memberId =
+        RaftGroupMemberId.valueOf(reply.getServerId(), reply.getRaftGroupId());
+    for (SCMRatisBatchEntryProto entry : batchProto.getEntriesList()) {
+      if (entry.hasResultCode()) {
+        // Wrapped the same way Ratis wraps an exception thrown by
+        // applyTransaction for a single request.
+        final SCMException cause = new SCMException(
+            entry.getExceptionMessage(),
+            SCMException.ResultCodes.valueOf(entry.getResultCode()));
+        responses.add(new SCMRatisResponse(
+            new StateMachineException(memberId, cause)));
+      } else {
+        responses.add(decode(entry.getResponse()));
+      }
+    }
+    return responses;
+  }
 }
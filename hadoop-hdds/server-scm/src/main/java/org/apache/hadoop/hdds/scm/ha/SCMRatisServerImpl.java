@@ -31,6 +31,7 @@
 import java.util.Objects;
 import java.util.OptionalInt;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -38,6 +39,7 @@
 import org.apache.hadoop.hdds.HddsUtils;
 import org.apache.hadoop.hdds.conf.ConfigurationSource;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.ratis.RatisHelper;
 import org.apache.hadoop.hdds.scm.AddSCMRequest;
 import org.apache.hadoop.hdds.scm.RemoveSCMRequest;
@@ -45,6 +47,7 @@
 import org.apache.hadoop.hdds.scm.ha.invoker.ScmInvoker;
 import org.apache.hadoop.hdds.scm.server.StorageContainerManager;
 import org.apache.hadoop.hdds.security.SecurityConfig;
+import org.apache.hadoop.hdds.upgrade.HDDSLayoutFeature;
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.util.Time;
 import org.apache.ratis.conf.Parameters;
@@ -52,6 +55,7 @@
 import org.apache.ratis.grpc.GrpcTlsConfig;
 import org.apache.ratis.proto.RaftProtos;
 import org.apache.ratis.protocol.ClientId;
+import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
 import org.apache.ratis.protocol.RaftClientRequest;
 import org.apache.ratis.protocol.RaftGroup;
@@ -85,6 +89,8 @@ public class SCMRatisServerImpl implements SCMRatisServer {
   private final GrpcTlsConfig grpcTlsConfig;
   private boolean isStopped;
   private final long requestTimeout;
+  /** Coalesces concurrent requests, null if batching is disabled. */
+  private final SCMRatisRequestBatcher requestBatcher;
 
   // TODO: Refactor and remove ConfigurationSource and use only
   //  SCMHAConfiguration.
@@ -127,6 +133,24 @@ public class SCMRatisServerImpl implements SCMRatisServer {
 
     this.division = server.getDivision(groupId);
     this.isStopped = false;
+
+    if (conf.getBoolean(
+        ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED,
+        ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCHING_ENABLED_DEFAULT)) {
+      final int maxBatchSize = conf.getInt(
+          ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE,
+          ScmConfigKeys.OZONE_SCM_HA_RATIS_REQUEST_BATCH_MAX_SIZE_DEFAULT);
+      final long appenderQueueByteLimit = (long) conf.getStorageSize(
+          ScmConfigKeys.OZONE_SCM_HA_RAFT_LOG_APPENDER_QUEUE_BYTE_LIMIT,
+          ScmConfigKeys.OZONE_SCM_HA_RAFT_LOG_APPENDER_QUEUE_BYTE_LIMIT_DEFAULT,
+          StorageUnit.BYTES);
+      this.requestBatcher = new SCMRatisRequestBatcher(this::submitAsync,
+          () -> scm.getLayoutVersionManager().isAllowed(
+              HDDSLayoutFeature.SCM_RATIS_REQUEST_BATCHING),
+          Math.max(1, maxBatchSize), (long) (appenderQueueByteLimit * 0.9));
+    } else {
+      this.requestBatcher = null;
+    }
   }
 
   public static void initialize(String clusterId, String scmId,
@@ -206,6 +230,9 @@ private static RaftServer.Builder newRaftServer(final String scmId,
   public void start() throws IOException {
     LOG.info("starting ratis server {}", server.getPeer().getAddress());
     server.start();
+    if (requestBatcher != null) {
+      requestBatcher.start();
+    }
   }
 
   @Override
@@ -232,20 +259,29 @@ public void registerStateMachineHandler(final ScmInvoker<?> handler) {
   public SCMRatisResponse submitRequest(SCMRatisRequest request)
       throws IOException, ExecutionException, InterruptedException,
       TimeoutException {
+    if (requestBatcher != null) {
+      return requestBatcher.submit(request)
+          .get(requestTimeout, TimeUnit.MILLISECONDS);
+    }
+    // any request submitted to
+    final RaftClientReply raftClientReply = submitAsync(request.encode())
+        .get(requestTimeout, TimeUnit.MILLISECONDS);
+    return SCMRatisResponse.decode(raftClientReply);
+  }
+
+  private CompletableFuture<RaftClientReply> submitAsync(Message message)
+      throws IOException {
     final RaftClientRequest raftClientRequest = RaftClientRequest.newBuilder()
         .setClientId(clientId)
         .setServerId(getDivision().getId())
         .setGroupId(getDivision().getGroup().getGroupId())
         .setCallId(nextCallId())
-        .setMessage(request.encode())
+        .setMessage(message)
         .setType(RaftClientRequest.writeRequestType())
         .build();
-    // any request submitted to
-    final RaftClientReply raftClientReply =
-        server.submitClientRequestAsync(raftClientRequest)
-            .get(requestTimeout, TimeUnit.MILLISECONDS);
-    LOG.debug("request {} Reply {}", raftClientRequest, raftClientReply);
-    return SCMRatisResponse.decode(raftClientReply);
+    return server.submitClientRequestAsync(raftClientRequest)
+        .whenComplete((reply, e) ->
+            LOG.debug("request {} Reply {}", raftClientRequest, reply));
   }
 
   @Override
@@ -267,6 +303,9 @@ private long nextCallId() {
   @Override
   public void stop() throws IOException {
     LOG.info("stopping ratis server {}", server.getPeer().getAddress());
+    if (requestBatcher != null) {
+      requestBatcher.stop();
+    }
     server.close();
     isStopped = true;
     getSCMStateMachine().close();
@@ -33,6 +33,8 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
 import org.apache.hadoop.hdds.scm.block.DeletedBlockLog;
 import org.apache.hadoop.hdds.scm.block.DeletedBlockLogImpl;
 import org.apache.hadoop.hdds.scm.container.placement.metrics.SCMMetrics;
@@ -157,24 +159,25 @@ public CompletableFuture<Message> applyTransaction(
         new CompletableFuture<>();
     transactionBuffer.beginApplyingTransaction();
     try {
-      final SCMRatisRequest request = SCMRatisRequest.decode(
+      final SCMRatisRequestProto requestProto = SCMRatisRequest.parse(
           Message.valueOf(trx.getStateMachineLogEntry().getLogData()));
 
       if (LOG.isDebugEnabled()) {
         LOG.debug("{}: applyTransaction {}", getId(), TermIndex.valueOf(trx.getLogEntry()));
       }
-      try {
-        applyTransactionFuture.complete(process(request));
-      } catch (SCMException ex) {
-        // For SCM exceptions while applying a transaction, if the error
-        // code indicate a FATAL issue, let it crash SCM.
-        if (ex.getResult() == ResultCodes.INTERNAL_ERROR
-            || ex.getResult() == ResultCodes.IO_EXCEPTION) {
-          throw ex;
+      if (requestProto.getBatchCount() > 0) {
+        applyTransactionFuture.complete(
+            processBatch(SCMRatisRequest.decodeBatch(requestProto)));
+      } else {
+        try {
+          applyTransactionFuture.complete(
+              process(SCMRatisRequest.fromProto(requestProto)));
+        } catch (SCMException ex) {
+          checkNotFatal(ex);
+          // Otherwise, it's considered as a logical rejection and is returned
+          // to Ratis client, leaving SCM intact.
+          applyTransactionFuture.completeExceptionally(ex);
         }
-        // Otherwise, it's considered as a logical rejection and is returned to
-        // Ratis client, leaving SCM intact.
-        applyTransactionFuture.completeExceptionally(ex);
       }
 
       final TermIndex appliedTermIndex = TermIndex.valueOf(trx.getLogEntry());
@@ -200,6 +203,36 @@ private Message process(final SCMRatisRequest request) throws Exception {
     return invoker.invokeLocal(request.getOperation(), request.getArguments());
   }
 
+  /**
+   * Applies the requests of a batch in order. A logical rejection of one
+   * request is returned for that request only and does not affect the others.
+   */
+  private Message processBatch(final List<SCMRatisRequest> requests)
+      throws Exception {
+    final SCMRatisBatchResponseProto.Builder response =
+        SCMRatisBatchResponseProto.newBuilder();
+    for (SCMRatisRequest request : requests) {
+      try {
+        response.addEntries(SCMRatisResponse.toBatchEntry(process(request)));
+      } catch (SCMException ex) {
+        checkNotFatal(ex);
+        response.addEntries(SCMRatisResponse.toBatchEntry(ex));
+      }
+    }
+    return Message.valueOf(response.build().toByteString());
+  }
+
+  /**
+   * For SCM exceptions while applying a transaction, if the error code
+   * indicates a FATAL issue, let it crash SCM.
+   */
+  private static void checkNotFatal(SCMException ex) throws SCMException {
+    if (ex.getResult() == ResultCodes.INTERNAL_ERROR
+        || ex.getResult() == ResultCodes.IO_EXCEPTION) {
+      throw ex;
+    }
+  }
+
   @Override
   public void notifyLogFailed(Throwable ex,
       RaftProtos.LogEntryProto failedEntry) {
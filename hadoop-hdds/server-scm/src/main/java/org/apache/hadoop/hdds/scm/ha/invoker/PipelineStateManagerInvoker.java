@@ -110,6 +110,11 @@ public int getNumberOfContainers(PipelineID arg0) throws PipelineNotFoundExcepti
         return invoker.getImpl().getNumberOfContainers(arg0);
       }
 
+      @Override
+      public List<Pipeline> getOpenPipelines(ReplicationConfig arg0) {
+        return invoker.getImpl().getOpenPipelines(arg0);
+      }
+
       @Override
       public Pipeline getPipeline(PipelineID arg0) throws PipelineNotFoundException {
         return invoker.getImpl().getPipeline(arg0);
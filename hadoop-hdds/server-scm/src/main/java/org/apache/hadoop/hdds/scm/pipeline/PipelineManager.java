@@ -80,6 +80,14 @@ List<Pipeline> getPipelines(
       Collection<PipelineID> excludePipelines
   );
 
+  /**
+   * Returns the OPEN pipelines of the given ReplicationConfig without copying
+   * them, for callers that only pick from the list.
+   * @param replicationConfig The ReplicationConfig of the pipelines
+   * @return immutable snapshot of the OPEN pipelines
+   */
+  List<Pipeline> getOpenPipelines(ReplicationConfig replicationConfig);
+
   /**
    * Returns the count of pipelines meeting the given ReplicationConfig and
    * state.
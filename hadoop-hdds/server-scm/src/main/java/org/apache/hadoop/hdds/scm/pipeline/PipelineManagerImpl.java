@@ -368,6 +368,11 @@ public List<Pipeline> getPipelines(
         .getPipelines(replicationConfig, state, excludeDns, excludePipelines);
   }
 
+  @Override
+  public List<Pipeline> getOpenPipelines(ReplicationConfig replicationConfig) {
+    return stateManager.getOpenPipelines(replicationConfig);
+  }
+
   /**
    * Returns the count of pipelines meeting the given ReplicationConfig and
    * state.
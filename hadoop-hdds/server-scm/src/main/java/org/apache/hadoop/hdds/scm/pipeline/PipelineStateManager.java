@@ -94,6 +94,8 @@ List<Pipeline> getPipelines(
       Collection<PipelineID> excludePipelines
   );
 
+  List<Pipeline> getOpenPipelines(ReplicationConfig replicationConfig);
+
   int getPipelineCount(
       ReplicationConfig replicationConfig,
       Pipeline.PipelineState state
@@ -182,6 +182,21 @@ public List<Pipeline> getPipelines(
   }
 
 
+  /**
+   * Returns the open pipelines of the given ReplicationConfig.
+   * @param replicationConfig The ReplicationConfig of the pipelines
+   * @return An immutable snapshot of the open pipelines
+   */
+  @Override
+  public List<Pipeline> getOpenPipelines(ReplicationConfig replicationConfig) {
+    lock.readLock().lock();
+    try {
+      return pipelineStateMap.getOpenPipelinesSnapshot(replicationConfig);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
   /**
    * Returns the count of pipelines meeting the given ReplicationConfig and
    * state.
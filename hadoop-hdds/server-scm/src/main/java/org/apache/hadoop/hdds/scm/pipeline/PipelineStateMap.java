@@ -55,6 +55,10 @@ class PipelineStateMap {
 
   // TODO: Use TreeMap for range operations?
   private final Map<PipelineID, PipelineInfo> pipelineMap = new HashMap<>();
+  /**
+   * OPEN pipelines of each replication config. The lists are immutable and
+   * replaced on every change, so they can be handed out as snapshots.
+   */
   private final Map<ReplicationConfig, List<Pipeline>> query2OpenPipelines = new HashMap<>();
 
   PipelineStateMap() { }
@@ -81,8 +85,7 @@ void addPipeline(Pipeline pipeline) throws DuplicatedPipelineIdException {
           format("Duplicate pipeline ID %s detected.", pipeline.getId()));
     }
     if (pipeline.getPipelineState() == PipelineState.OPEN) {
-      query2OpenPipelines.computeIfAbsent(pipeline.getReplicationConfig(), any -> new ArrayList<>())
-          .add(pipeline);
+      addOpenPipeline(pipeline);
     }
   }
 
@@ -193,6 +196,36 @@ private List<Pipeline> getOpenPipelines(ReplicationConfig replicationConfig) {
     return pipelines != null && !pipelines.isEmpty() ? new ArrayList<>(pipelines) : Collections.emptyList();
   }
 
+  /**
+   * Get the OPEN pipelines of the given replication config without copying
+   * them.
+   *
+   * @param replicationConfig - ReplicationConfig
+   * @return immutable snapshot of the OPEN pipelines, which is not updated
+   * by later pipeline changes
+   */
+  List<Pipeline> getOpenPipelinesSnapshot(ReplicationConfig replicationConfig) {
+    Objects.requireNonNull(replicationConfig, "ReplicationConfig cannot be null");
+    return query2OpenPipelines.getOrDefault(replicationConfig, Collections.emptyList());
+  }
+
+  private void addOpenPipeline(Pipeline pipeline) {
+    final List<Pipeline> pipelines = new ArrayList<>(
+        query2OpenPipelines.getOrDefault(pipeline.getReplicationConfig(), Collections.emptyList()));
+    pipelines.add(pipeline);
+    query2OpenPipelines.put(pipeline.getReplicationConfig(), Collections.unmodifiableList(pipelines));
+  }
+
+  private void removeOpenPipeline(Pipeline pipeline) {
+    final List<Pipeline> current = query2OpenPipelines.get(pipeline.getReplicationConfig());
+    if (current == null || !current.contains(pipeline)) {
+      return;
+    }
+    final List<Pipeline> pipelines = new ArrayList<>(current);
+    pipelines.remove(pipeline);
+    query2OpenPipelines.put(pipeline.getReplicationConfig(), Collections.unmodifiableList(pipelines));
+  }
+
   /**
    * Get a count of pipelines with the given replicationConfig and state.
    * This method is most efficient when getting a count for OPEN pipeline
@@ -336,11 +369,7 @@ Pipeline removePipeline(PipelineID pipelineID) throws PipelineNotFoundException,
       throw new InvalidPipelineStateException(
           format("Pipeline with %s is not yet closed", pipelineID));
     }
-    List<Pipeline> pipelineList = query2OpenPipelines.get(pipeline.getReplicationConfig());
-
-    if (pipelineList != null) { 
-      pipelineList.remove(pipeline);
-    }
+    removeOpenPipeline(pipeline);
     pipelineMap.remove(pipelineID);
     return pipeline;
   }
@@ -386,22 +415,13 @@ Pipeline updatePipelineState(PipelineID pipelineID, PipelineState state)
 
     pipelineMap.put(pipelineID, newInfo);
 
-    List<Pipeline> pipelineList =
-        query2OpenPipelines.get(pipeline.getReplicationConfig());
-
     if (updated.getPipelineState() == PipelineState.OPEN) {
       // for transition to OPEN state add pipeline to query2OpenPipelines
-      if (pipelineList == null) {
-        pipelineList = new ArrayList<>();
-        query2OpenPipelines.put(pipeline.getReplicationConfig(), pipelineList);
-      }
-      pipelineList.add(updated);
+      addOpenPipeline(updated);
     } else {
       // for transition from OPEN to CLOSED state remove pipeline from
       // query2OpenPipelines
-      if (pipelineList != null) {
-        pipelineList.remove(pipeline);
-      }
+      removeOpenPipeline(pipeline);
     }
     return updated;
   }
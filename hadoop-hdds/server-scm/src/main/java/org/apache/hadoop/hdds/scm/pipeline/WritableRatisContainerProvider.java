@@ -20,6 +20,7 @@
 import jakarta.annotation.Nullable;
 import java.io.IOException;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import org.apache.hadoop.hdds.client.ReplicationConfig;
 import org.apache.hadoop.hdds.scm.PipelineChoosePolicy;
@@ -40,6 +41,12 @@
   private static final Logger LOG = LoggerFactory
       .getLogger(WritableRatisContainerProvider.class);
 
+  /**
+   * Number of pipelines picked from the snapshot of OPEN pipelines before
+   * falling back to filtering the whole list by the exclude list.
+   */
+  private static final int MAX_OPEN_PIPELINE_PICKS = 3;
+
   private final PipelineManager pipelineManager;
   private final PipelineChoosePolicy pipelineChoosePolicy;
   private final ContainerManager containerManager;
@@ -149,14 +156,58 @@ private ContainerInfo getContainer(ReplicationConfig repConfig, String owner,
     // mentioned in HDDS-5655.
     pipelineManager.acquireReadLock();
     try {
+      // Most requests are served by the first pipeline chosen, so choose it
+      // from the shared snapshot of OPEN pipelines, and only copy and filter
+      // the list if that pipeline has no container for this request.
+      final Pipeline chosen = chooseOpenPipeline(repConfig, excludeList, req);
+      if (chosen != null) {
+        final ContainerInfo containerInfo = containerManager.getMatchingContainer(
+            req.getSize(), owner, chosen, excludeList.getContainerIds());
+        if (containerInfo != null) {
+          return containerInfo;
+        }
+      }
+
       List<Pipeline> availablePipelines = findPipelinesByState(repConfig,
           excludeList, Pipeline.PipelineState.OPEN);
+      if (chosen != null) {
+        availablePipelines.remove(chosen);
+      }
       return selectContainer(availablePipelines, req, owner, excludeList);
     } finally {
       pipelineManager.releaseReadLock();
     }
   }
 
+  /**
+   * Choose a pipeline that is not excluded from the OPEN pipelines, without
+   * copying them.
+   * @return the chosen pipeline, or null if none was found in a few attempts
+   */
+  @Nullable
+  private Pipeline chooseOpenPipeline(ReplicationConfig repConfig,
+      ExcludeList excludeList, PipelineRequestInformation req) {
+    final List<Pipeline> openPipelines =
+        pipelineManager.getOpenPipelines(repConfig);
+    if (openPipelines.isEmpty()) {
+      return null;
+    }
+    final Predicate<Pipeline> include = PipelineStateMap.getPredicate(
+        excludeList.getDatanodes(), excludeList.getPipelineIds());
+    for (int i = 0; i < MAX_OPEN_PIPELINE_PICKS; i++) {
+      final int index =
+          pipelineChoosePolicy.choosePipelineIndex(openPipelines, req);
+      if (index < 0) {
+        return null;
+      }
+      final Pipeline pipeline = openPipelines.get(index);
+      if (include.test(pipeline)) {
+        return pipeline;
+      }
+    }
+    return null;
+  }
+
   private List<Pipeline> findPipelinesByState(
           final ReplicationConfig repConfig,
           final ExcludeList excludeList,
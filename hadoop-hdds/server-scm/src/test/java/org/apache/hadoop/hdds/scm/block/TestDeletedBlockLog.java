@@ -24,17 +24,22 @@
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedList;
@@ -59,6 +64,7 @@
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos;
 import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos;
+import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerBlocksDeletionACKProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerBlocksDeletionACKProto.DeleteBlockTransactionResult;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.ContainerReplicaProto;
 import org.apache.hadoop.hdds.protocol.proto.StorageContainerDatanodeProtocolProtos.DeletedBlocksTransaction;
@@ -66,6 +72,7 @@
 import org.apache.hadoop.hdds.scm.HddsTestUtils;
 import org.apache.hadoop.hdds.scm.ScmConfigKeys;
 import org.apache.hadoop.hdds.scm.block.SCMDeletedBlockTransactionStatusManager.TxBlockInfo;
+import org.apache.hadoop.hdds.scm.command.CommandStatusReportHandler.DeleteBlockStatus;
 import org.apache.hadoop.hdds.scm.container.ContainerID;
 import org.apache.hadoop.hdds.scm.container.ContainerInfo;
 import org.apache.hadoop.hdds.scm.container.ContainerManager;
@@ -84,6 +91,7 @@
 import org.apache.hadoop.ozone.protocol.commands.CommandStatus;
 import org.apache.hadoop.ozone.protocol.commands.DeleteBlocksCommand;
 import org.apache.hadoop.ozone.protocol.commands.SCMCommand;
+import org.apache.ozone.test.GenericTestUtils;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -773,6 +781,107 @@ public void testGetTransactionsWithMaxBlocksPerDatanode(int maxAllowedBlockNum)
     assertEquals(datanodeBlockCountMap.get(dnId2.getID()), blocksPerDataNode);
   }
 
+  @Test
+  public void testNumberOfBlocksForDatanode() throws IOException {
+    deletedBlockLog.setDeleteBlocksFactorPerDatanode(1);
+    mockContainerHealthResult(true);
+    DatanodeDetails dn1 = dnList.get(0), dn2 = dnList.get(1), dn3 = dnList.get(2);
+
+    // 10 transactions for the first datanode, 4 for the second one
+    Map<Long, List<DeletedBlock>> deletedBlocks = generateData(14);
+    addTransactions(deletedBlocks, true);
+    List<Long> containerIds = new ArrayList<>(deletedBlocks.keySet());
+    for (int i = 0; i < containerIds.size(); i++) {
+      mockStandAloneContainerInfo(containerIds.get(i), i < 10 ? dn1 : dn2);
+    }
+
+    int blockLimit = 18 * BLOCKS_PER_TXN;
+    int maxBlocksPerDatanode = blockLimit / dnList.size();
+    DatanodeDeletedBlockTransactions transactions =
+        deletedBlockLog.getTransactions(blockLimit, new HashSet<>(dnList));
+
+    // the first datanode stops getting transactions at its limit
+    assertEquals(maxBlocksPerDatanode, transactions.getNumberOfBlocksForDatanode(dn1.getID()));
+    assertEquals(4 * BLOCKS_PER_TXN, transactions.getNumberOfBlocksForDatanode(dn2.getID()));
+    assertEquals(0, transactions.getNumberOfBlocksForDatanode(dn3.getID()));
+    for (Map.Entry<DatanodeID, List<DeletedBlocksTransaction>> entry
+        : transactions.getDatanodeTransactionMap().entrySet()) {
+      assertEquals(entry.getValue().stream().mapToInt(DeletedBlocksTransaction::getLocalIDCount).sum(),
+          transactions.getNumberOfBlocksForDatanode(entry.getKey()));
+    }
+    assertEquals(maxBlocksPerDatanode + 4 * BLOCKS_PER_TXN, transactions.getBlocksDeleted());
+  }
+
+  @Test
+  public void testCoalescedAcksOfStatusReport() throws Exception {
+    deletedBlockLog.setScmCommandTimeoutMs(Long.MAX_VALUE);
+    scm.getScmContext().updateLeaderAndTerm(true, 1);
+    scm.getScmContext().setLeaderReady();
+    SCMDeletedBlockTransactionStatusManager statusManager =
+        spy(deletedBlockLog.getSCMDeletedBlockTransactionStatusManager());
+    deletedBlockLog.setSCMDeletedBlockTransactionStatusManager(statusManager);
+    mockContainerHealthResult(true);
+    addTransactions(generateData(4), true);
+
+    DatanodeDeletedBlockTransactions transactions =
+        deletedBlockLog.getTransactions(Integer.MAX_VALUE, new HashSet<>(dnList));
+    List<DeletedBlocksTransaction> txs = new ArrayList<>(
+        transactions.getDatanodeTransactionMap().get(dnList.get(0).getID()));
+    txs.sort(Comparator.comparingLong(DeletedBlocksTransaction::getTxID));
+    assertEquals(4, txs.size());
+    List<Long> txIDs = txs.stream().map(DeletedBlocksTransaction::getTxID).collect(Collectors.toList());
+    deletedBlockLog.incrementCount(txIDs);
+    GenericTestUtils.waitFor(() -> txIDs.stream().allMatch(txID -> statusManager.getRetryCount(txID) == 1),
+        10, 1000);
+
+    for (DatanodeDetails dn : dnList) {
+      // the transactions are sent in two commands, the second transaction
+      // is acknowledged by both of them and the last one failed.
+      DeleteBlocksCommand first = new DeleteBlocksCommand(txs.subList(0, 2));
+      DeleteBlocksCommand second = new DeleteBlocksCommand(txs.subList(1, 4));
+      for (DeleteBlocksCommand command : Arrays.asList(first, second)) {
+        recordScmCommandToStatusManager(dn.getID(), command);
+        sendSCMDeleteBlocksCommand(dn.getID(), command);
+      }
+      deletedBlockLog.onMessage(new DeleteBlockStatus(Arrays.asList(
+          executed(first, dn, txs.subList(0, 2), false),
+          executed(second, dn, txs.subList(1, 4), true)), dn), null);
+      scmHADBTransactionBuffer.flush();
+    }
+
+    // one commit per status report, purging the transactions in one batch
+    verify(statusManager, times(dnList.size())).commitTransactions(anyList(), any());
+    verify(statusManager).removeTransactions(new ArrayList<>(txIDs.subList(0, 3)));
+    List<Long> remaining = new ArrayList<>();
+    try (Table.KeyValueIterator<Long, DeletedBlocksTransaction> iter =
+        scm.getScmMetadataStore().getDeletedBlocksTXTable().iterator()) {
+      iter.forEachRemaining(kv -> remaining.add(kv.getKey()));
+    }
+    assertEquals(txIDs.subList(3, 4), remaining);
+    for (Long txID : txIDs.subList(0, 3)) {
+      assertEquals(0, statusManager.getRetryCount(txID));
+    }
+    assertEquals(1, statusManager.getRetryCount(txIDs.get(3)));
+  }
+
+  private static StorageContainerDatanodeProtocolProtos.CommandStatus executed(DeleteBlocksCommand command,
+      DatanodeDetails dn, List<DeletedBlocksTransaction> txs, boolean lastFailed) {
+    ContainerBlocksDeletionACKProto.Builder ack = ContainerBlocksDeletionACKProto.newBuilder()
+        .setDnId(dn.getUuidString());
+    for (int i = 0; i < txs.size(); i++) {
+      ack.addResults(DeleteBlockTransactionResult.newBuilder()
+          .setTxID(txs.get(i).getTxID())
+          .setContainerID(txs.get(i).getContainerID())
+          .setSuccess(!lastFailed || i < txs.size() - 1));
+    }
+    return StorageContainerDatanodeProtocolProtos.CommandStatus.newBuilder()
+        .setCmdId(command.getId())
+        .setType(Type.deleteBlocksCommand)
+        .setStatus(StorageContainerDatanodeProtocolProtos.CommandStatus.Status.EXECUTED)
+        .setBlockDeletionAck(ack)
+        .build();
+  }
+
   @Test
   public void testDeletedBlockTransactionsOfDeletedContainer() throws IOException {
     int txNum = 10;
@@ -242,6 +242,17 @@ public void testValidationOfConfigurations() {
     assertTrue(ex.getMessage().contains("should be greater than or equal to 540000ms or 9 minutes"),
         "Exception message should contain 'should be greater than or equal to 540000ms or 9 minutes'");
     assertSame(ContainerBalancerTask.Status.STOPPED, containerBalancer.getBalancerStatus());
+
+    conf = new OzoneConfiguration();
+    conf.set("hdds.container.balancer.datanode.transfer.rate", "0B");
+    balancerConfiguration =
+        conf.getObject(ContainerBalancerConfiguration.class);
+    ex = assertThrowsExactly(
+        InvalidContainerBalancerConfigurationException.class,
+        () -> containerBalancer.startBalancer(balancerConfiguration));
+    assertThat(ex.getMessage()).contains(
+        "hdds.container.balancer.datanode.transfer.rate should be greater than 0");
+    assertSame(ContainerBalancerTask.Status.STOPPED, containerBalancer.getBalancerStatus());
   }
 
   /**
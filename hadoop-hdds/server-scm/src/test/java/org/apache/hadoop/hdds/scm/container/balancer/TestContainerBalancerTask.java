@@ -37,6 +37,7 @@
 import java.time.Clock;
 import java.time.ZoneId;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -489,6 +490,36 @@ public void testConcurrentMoveCallbacksAccumulateMovedBytesAtomically() throws E
       moveCompletionExecutor.shutdownNow();
     }
   }
+
+  @Test
+  public void testProjectedMoveDurationFollowsBusiestDatanode()
+      throws IllegalContainerBalancerStateException, IOException,
+      InvalidContainerBalancerConfigurationException, TimeoutException {
+    long transferRate = 10 * OzoneConsts.MB;
+    balancerConfiguration.setIterations(1);
+    balancerConfiguration.setDatanodeTransferRate(transferRate);
+
+    startBalancer(balancerConfiguration);
+
+    // every datanode sends and receives over the same link, so the moves
+    // take as long as the datanode with the most data to transfer
+    Map<DatanodeDetails, Long> bytesPerDatanode = new HashMap<>();
+    Map<ContainerID, DatanodeDetails> containerToTarget =
+        containerBalancerTask.getContainerToTargetMap();
+    containerBalancerTask.getContainerToSourceMap().forEach((id, source) -> {
+      long size = cidToInfoMap.get(id).getUsedBytes();
+      bytesPerDatanode.merge(source, size, Long::sum);
+      bytesPerDatanode.merge(containerToTarget.get(id), size, Long::sum);
+    });
+    assertFalse(bytesPerDatanode.isEmpty());
+    long maxBytes = Collections.max(bytesPerDatanode.values());
+
+    ContainerBalancerMetrics metrics = containerBalancerTask.getMetrics();
+    assertEquals((maxBytes + transferRate - 1) / transferRate,
+        metrics.getProjectedMoveDurationSecondsInLatestIteration());
+    assertThat(metrics.getMoveDurationSecondsInLatestIteration())
+        .isGreaterThanOrEqualTo(0);
+  }
   
   /**
    * Generates a range of equally spaced utilization(that is, used / capacity)
@@ -0,0 +1,246 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.hdds.scm.ha;
+
+import static org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.RequestType.PIPELINE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisBatchResponseProto;
+import org.apache.hadoop.hdds.protocol.proto.SCMRatisProtocol.SCMRatisRequestProto;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException;
+import org.apache.hadoop.hdds.scm.exceptions.SCMException.ResultCodes;
+import org.apache.ozone.test.GenericTestUtils;
+import org.apache.ratis.protocol.ClientId;
+import org.apache.ratis.protocol.Message;
+import org.apache.ratis.protocol.RaftClientReply;
+import org.apache.ratis.protocol.RaftGroupId;
+import org.apache.ratis.protocol.RaftGroupMemberId;
+import org.apache.ratis.protocol.RaftPeerId;
+import org.apache.ratis.protocol.exceptions.StateMachineException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test for SCMRatisRequestBatcher.
+ */
+public class TestSCMRatisRequestBatcher {
+
+  private static final String REJECTED = "rejected";
+
+  private final List<SCMRatisRequestProto> submitted =
+      Collections.synchronizedList(new ArrayList<>());
+  private final CountDownLatch firstSubmitBlocked = new CountDownLatch(1);
+  private SCMRatisRequestBatcher batcher;
+
+  @AfterEach
+  public void cleanup() {
+    firstSubmitBlocked.countDown();
+    if (batcher != null) {
+      batcher.stop();
+    }
+  }
+
+  @Test
+  public void testConcurrentRequestsAreCoalesced() throws Exception {
+    batcher = new SCMRatisRequestBatcher(this::apply, () -> true, 10, Long.MAX_VALUE);
+    batcher.start();
+
+    // The first request is sent alone, and blocks the submitter while the
+    // following requests queue up.
+    CompletableFuture<SCMRatisResponse> first = batcher.submit(request("op0"));
+    GenericTestUtils.waitFor(() -> submitted.size() == 1, 10, 10000);
+    List<CompletableFuture<SCMRatisResponse>> futures = new ArrayList<>();
+    futures.add(batcher.submit(request("op1")));
+    futures.add(batcher.submit(request(REJECTED)));
+    futures.add(batcher.submit(request("op3")));
+    firstSubmitBlocked.countDown();
+
+    assertEquals("op0", first.get().getResult());
+    assertEquals("op1", futures.get(0).get().getResult());
+    SCMRatisResponse rejected = futures.get(1).get();
+    assertFalse(rejected.isSuccess());
+    assertThat(rejected.getException())
+        .isInstanceOf(StateMachineException.class)
+        .hasCauseInstanceOf(SCMException.class);
+    assertEquals(ResultCodes.INVALID_CAPACITY,
+        ((SCMException) rejected.getException().getCause()).getResult());
+    assertEquals("op3", futures.get(2).get().getResult());
+
+    assertEquals(2, submitted.size());
+    assertEquals(0, submitted.get(0).getBatchCount());
+    assertEquals(3, submitted.get(1).getBatchCount());
+  }
+
+  @Test
+  public void testBatchSizeIsLimited() throws Exception {
+    batcher = new SCMRatisRequestBatcher(this::apply, () -> true, 2, Long.MAX_VALUE);
+    batcher.start();
+
+    CompletableFuture<SCMRatisResponse> first = batcher.submit(request("op0"));
+    GenericTestUtils.waitFor(() -> submitted.size() == 1, 10, 10000);
+    List<CompletableFuture<SCMRatisResponse>> futures = new ArrayList<>();
+    for (int i = 1; i <= 5; i++) {
+      futures.add(batcher.submit(request("op" + i)));
+    }
+    firstSubmitBlocked.countDown();
+
+    assertEquals("op0", first.get().getResult());
+    for (int i = 1; i <= 5; i++) {
+      assertEquals("op" + i, futures.get(i - 1).get().getResult());
+    }
+    // 5 queued requests sent as batches of 2, 2 and a single request
+    assertEquals(4, submitted.size());
+    assertEquals(2, submitted.get(1).getBatchCount());
+    assertEquals(2, submitted.get(2).getBatchCount());
+    assertEquals(0, submitted.get(3).getBatchCount());
+  }
+
+  @Test
+  public void testPendingRequestsFailOnStop() throws Exception {
+    batcher = new SCMRatisRequestBatcher(this::apply, () -> true, 10, Long.MAX_VALUE);
+    batcher.start();
+
+    batcher.submit(request("op0"));
+    GenericTestUtils.waitFor(() -> submitted.size() == 1, 10, 10000);
+    CompletableFuture<SCMRatisResponse> pending =
+        batcher.submit(request("op1"));
+    batcher.stop();
+
+    assertTrue(pending.isCompletedExceptionally());
+  }
+
+  @Test
+  public void testNoBatchesBeforeFinalization() throws Exception {
+    batcher = new SCMRatisRequestBatcher(this::apply, () -> false, 10,
+        Long.MAX_VALUE);
+    batcher.start();
+
+    CompletableFuture<SCMRatisResponse> first = batcher.submit(request("op0"));
+    GenericTestUtils.waitFor(() -> submitted.size() == 1, 10, 10000);
+    List<CompletableFuture<SCMRatisResponse>> futures = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      futures.add(batcher.submit(request("op" + i)));
+    }
+    firstSubmitBlocked.countDown();
+
+    assertEquals("op0", first.get().getResult());
+    for (int i = 1; i <= 3; i++) {
+      assertEquals("op" + i, futures.get(i - 1).get().getResult());
+    }
+    // the queued requests are still submitted one per log entry
+    assertEquals(4, submitted.size());
+    for (SCMRatisRequestProto proto : submitted) {
+      assertEquals(0, proto.getBatchCount());
+    }
+  }
+
+  @Test
+  public void testSubmitRacingStop() throws Exception {
+    firstSubmitBlocked.countDown();
+    batcher = new SCMRatisRequestBatcher(this::apply, () -> true, 10,
+        Long.MAX_VALUE);
+    batcher.start();
+
+    List<CompletableFuture<SCMRatisResponse>> futures =
+        Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch started = new CountDownLatch(4);
+    List<Thread> submitters = new ArrayList<>();
+    for (int t = 0; t < 4; t++) {
+      Thread submitter = new Thread(() -> {
+        started.countDown();
+        try {
+          while (true) {
+            futures.add(batcher.submit(request("op")));
+          }
+        } catch (IOException e) {
+          // stopped
+        }
+      });
+      submitter.start();
+      submitters.add(submitter);
+    }
+    started.await();
+    GenericTestUtils.waitFor(() -> futures.size() > 1000, 10, 10000);
+    batcher.stop();
+    for (Thread submitter : submitters) {
+      submitter.join();
+    }
+
+    // every request accepted before stop is either sent or failed, none is
+    // left behind in the queue
+    GenericTestUtils.waitFor(
+        () -> futures.stream().allMatch(CompletableFuture::isDone),
+        10, 10000);
+  }
+
+  private static SCMRatisRequest request(String operation) {
+    return SCMRatisRequest.of(PIPELINE, operation, new Class<?>[0]);
+  }
+
+  /**
+   * Applies the submitted requests by echoing their operation, or rejecting
+   * them, the way SCMStateMachine does.
+   */
+  private CompletableFuture<RaftClientReply> apply(Message message)
+      throws IOException {
+    SCMRatisRequestProto proto = SCMRatisRequest.parse(message);
+    submitted.add(proto);
+    if (submitted.size() == 1) {
+      try {
+        firstSubmitBlocked.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(e);
+      }
+    }
+
+    Message result;
+    if (proto.getBatchCount() == 0) {
+      result = SCMRatisResponse.encode(proto.getMethod().getName(),
+          String.class);
+    } else {
+      SCMRatisBatchResponseProto.Builder response =
+          SCMRatisBatchResponseProto.newBuilder();
+      for (SCMRatisRequestProto request : proto.getBatchList()) {
+        String operation = request.getMethod().getName();
+        response.addEntries(REJECTED.equals(operation)
+            ? SCMRatisResponse.toBatchEntry(new SCMException(operation,
+                ResultCodes.INVALID_CAPACITY))
+            : SCMRatisResponse.toBatchEntry(
+                SCMRatisResponse.encode(operation, String.class)));
+      }
+      result = Message.valueOf(response.build().toByteString());
+    }
+    return CompletableFuture.completedFuture(RaftClientReply.newBuilder()
+        .setClientId(ClientId.randomId())
+        .setServerId(RaftGroupMemberId.valueOf(
+            RaftPeerId.valueOf("peer"), RaftGroupId.randomId()))
+        .setGroupId(RaftGroupId.emptyGroupId())
+        .setCallId(1L).setSuccess(true).setMessage(result)
+        .setException(null).setLogIndex(1L).build());
+  }
+}
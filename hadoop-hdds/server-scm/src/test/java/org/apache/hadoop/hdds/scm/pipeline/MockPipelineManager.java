@@ -186,6 +186,11 @@ public List<Pipeline> getPipelines(ReplicationConfig replicationConfig,
         excludeDns, excludePipelines);
   }
 
+  @Override
+  public List<Pipeline> getOpenPipelines(ReplicationConfig replicationConfig) {
+    return stateManager.getOpenPipelines(replicationConfig);
+  }
+
   @Override
   /**
    * Returns the count of pipelines meeting the given ReplicationConfig and
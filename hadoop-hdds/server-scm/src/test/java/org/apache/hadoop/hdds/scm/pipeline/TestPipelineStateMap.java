@@ -20,8 +20,12 @@
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
 import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.apache.hadoop.hdds.client.ECReplicationConfig;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.client.StandaloneReplicationConfig;
@@ -93,4 +97,32 @@ public void testCountPipelines() throws IOException {
     assertEquals(1, map.getPipelineCount(new ECReplicationConfig(3, 2),
         Pipeline.PipelineState.CLOSED));
   }
+
+  @Test
+  public void testOpenPipelinesSnapshot() throws IOException {
+    RatisReplicationConfig ratisThree =
+        RatisReplicationConfig.getInstance(THREE);
+    assertEquals(Collections.emptyList(),
+        map.getOpenPipelinesSnapshot(ratisThree));
+
+    Pipeline p1 = MockPipeline.createRatisPipeline();
+    Pipeline p2 = MockPipeline.createRatisPipeline();
+    map.addPipeline(p1);
+    map.addPipeline(p2);
+    List<Pipeline> snapshot = map.getOpenPipelinesSnapshot(ratisThree);
+    assertEquals(Arrays.asList(p1, p2), snapshot);
+    assertThrows(UnsupportedOperationException.class,
+        () -> snapshot.remove(p1));
+
+    // later changes are not visible in an earlier snapshot
+    map.updatePipelineState(p1.getId(), Pipeline.PipelineState.CLOSED);
+    assertEquals(Arrays.asList(p1, p2), snapshot);
+    assertEquals(Collections.singletonList(p2),
+        map.getOpenPipelinesSnapshot(ratisThree));
+
+    map.updatePipelineState(p2.getId(), Pipeline.PipelineState.CLOSED);
+    map.removePipeline(p1.getId());
+    assertEquals(Collections.emptyList(),
+        map.getOpenPipelinesSnapshot(ratisThree));
+  }
 }
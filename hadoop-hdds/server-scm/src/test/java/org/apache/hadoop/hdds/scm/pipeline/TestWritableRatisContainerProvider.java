@@ -21,6 +21,7 @@
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.unmodifiableList;
 import static org.apache.hadoop.hdds.scm.pipeline.Pipeline.PipelineState.OPEN;
 import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -118,6 +119,47 @@ void failsIfContainerCannotBeCreated() throws Exception {
     verifyPipelineCreated();
   }
 
+  @Test
+  void choosesFromOpenPipelinesWithoutListing() throws Exception {
+    Pipeline pipeline = MockPipeline.createPipeline(3);
+    ContainerInfo existingContainer = pipelineHasContainer(pipeline);
+
+    openPipelines(pipeline);
+
+    ContainerInfo container = createSubject().getContainer(CONTAINER_SIZE, REPLICATION_CONFIG, OWNER, NO_EXCLUSION);
+
+    assertSame(existingContainer, container);
+    verify(pipelineManager, never())
+        .getPipelines(REPLICATION_CONFIG, OPEN, emptySet(), emptySet());
+    verify(pipelineManager, never())
+        .createPipeline(REPLICATION_CONFIG);
+  }
+
+  @RepeatedTest(20)
+  void doesNotChooseExcludedOpenPipeline() throws Exception {
+    Pipeline excludedPipeline = MockPipeline.createPipeline(3);
+    pipelineHasContainer(excludedPipeline);
+    Pipeline pipeline = MockPipeline.createPipeline(3);
+    ContainerInfo existingContainer = pipelineHasContainer(pipeline);
+
+    openPipelines(excludedPipeline, pipeline);
+    ExcludeList excludeList = new ExcludeList();
+    excludeList.addPipeline(excludedPipeline.getId());
+    when(pipelineManager.getPipelines(REPLICATION_CONFIG, OPEN, emptySet(), excludeList.getPipelineIds()))
+        .thenReturn(new ArrayList<>(singletonList(pipeline)));
+
+    ContainerInfo container = createSubject().getContainer(CONTAINER_SIZE, REPLICATION_CONFIG, OWNER, excludeList);
+
+    assertSame(existingContainer, container);
+    verify(containerManager, never())
+        .getMatchingContainer(CONTAINER_SIZE, OWNER, excludedPipeline, emptySet());
+  }
+
+  private void openPipelines(Pipeline... pipelines) {
+    when(pipelineManager.getOpenPipelines(REPLICATION_CONFIG))
+        .thenReturn(unmodifiableList(asList(pipelines)));
+  }
+
   private void existingPipelines(Pipeline... pipelines) {
     existingPipelines(new ArrayList<>(asList(pipelines)));
   }
@@ -18,7 +18,6 @@
 package org.apache.ozone.graph;
 
 import com.google.common.graph.EndpointPair;
-import com.google.common.graph.MutableGraph;
 import com.mxgraph.layout.hierarchical.mxHierarchicalLayout;
 import com.mxgraph.layout.mxIGraphLayout;
 import com.mxgraph.util.mxCellRenderer;
@@ -34,13 +33,13 @@
 import org.jgrapht.graph.DefaultDirectedGraph;
 
 /**
- * Wrapped over {@link Graph} to get an image of {@link MutableGraph}.
+ * Wrapped over {@link Graph} to get an image of a guava graph.
  */
 public class PrintableGraph {
 
   private final Graph<String, Edge> graph;
 
-  public PrintableGraph(MutableGraph<CompactionNode> guavaGraph,
+  public PrintableGraph(com.google.common.graph.Graph<CompactionNode> guavaGraph,
                         GraphType graphType) {
     this.graph = getGraph(guavaGraph, graphType);
   }
@@ -64,10 +63,10 @@ public void generateImage(String fileName) throws IOException {
   }
 
   /**
-   * Convert guava's {@link MutableGraph} to jgrapht's {@link Graph}.
+   * Convert guava's {@link com.google.common.graph.Graph} to jgrapht's {@link Graph}.
    */
   public Graph<String, Edge> getGraph(
-      MutableGraph<CompactionNode> guavaGraph,
+      com.google.common.graph.Graph<CompactionNode> guavaGraph,
       GraphType graphType
   ) {
 
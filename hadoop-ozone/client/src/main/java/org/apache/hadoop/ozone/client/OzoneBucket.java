@@ -831,6 +831,19 @@ public void renameKeys(Map<String, String> keyMap)
     proxy.renameKeys(volumeName, name, keyMap);
   }
 
+  /**
+   * Rename all keys with fromPrefix by replacing it with toPrefix.
+   * Supported only in OBJECT_STORE and LEGACY buckets.
+   * @param fromPrefix The original key prefix.
+   * @param toPrefix New key prefix.
+   * @return number of renamed keys
+   * @throws IOException
+   */
+  public long renamePrefix(String fromPrefix, String toPrefix)
+      throws IOException {
+    return proxy.renamePrefix(volumeName, name, fromPrefix, toPrefix);
+  }
+
   /**
    * Initiate multipart upload for a specified key.
    * @param keyName Name of the key to be created when the multipart upload is completed.
@@ -1031,6 +1044,23 @@ public OzoneFileStatus getFileStatus(String keyName, boolean headOp)
     return proxy.getOzoneFileStatus(volumeName, name, keyName, headOp);
   }
 
+  /**
+   * OzoneFS api to get file status for several entries with a single call.
+   *
+   * @param keyNames Key names
+   * @param headOp   when true, request a metadata-only (type) check so the OM
+   *                 skips the pipeline refresh and datanode sorting.
+   * @return file status of each entry in the order of the key names, null
+   *         for entries that do not exist
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  public List<OzoneFileStatus> getFileStatuses(List<String> keyNames,
+      boolean headOp) throws IOException {
+    return proxy.getOzoneFileStatuses(volumeName, name, keyNames, headOp);
+  }
+
   /**
    * Ozone FS api to create a directory. Parent directories if do not exist
    * are created for the input directory.
@@ -616,6 +616,19 @@ void renameKey(String volumeName, String bucketName, String fromKeyName,
   void renameKeys(String volumeName, String bucketName,
                   Map<String, String> keyMap) throws IOException;
 
+  /**
+   * Renames all keys with a prefix within an OBJECT_STORE or LEGACY bucket.
+   * The keys are renamed in batches, each of them atomically.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param fromPrefix Prefix of the keys to be renamed
+   * @param toPrefix New prefix of the keys
+   * @return number of renamed keys
+   * @throws IOException
+   */
+  long renamePrefix(String volumeName, String bucketName, String fromPrefix,
+      String toPrefix) throws IOException;
+
   /**
    * Returns list of Keys in {Volume/Bucket} that matches the keyPrefix,
    * size of the returned list depends on maxListResult. The caller has
@@ -1027,6 +1040,26 @@ default OzoneFileStatus getOzoneFileStatus(String volumeName,
   OzoneFileStatus getOzoneFileStatus(String volumeName, String bucketName,
       String keyName, boolean headOp) throws IOException;
 
+  /**
+   * Get the Ozone File Status for several keys of the same bucket with a
+   * single call to OM.
+   *
+   * @param volumeName volume name.
+   * @param bucketName bucket name.
+   * @param keyNames   key names.
+   * @param headOp     when true, this is a metadata-only (type) check, see
+   *                   {@link #getOzoneFileStatus(String, String, String,
+   *                   boolean)}.
+   * @return OzoneFileStatus for each key in the order of the key names, null
+   *         for keys that do not exist.
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames, boolean headOp)
+      throws IOException;
+
   /**
    * Creates directory with keyName as the absolute path for the directory.
    *
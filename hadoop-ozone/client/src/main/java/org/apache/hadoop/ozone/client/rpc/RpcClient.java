@@ -228,6 +228,7 @@ public class RpcClient implements ClientProtocol {
   private volatile OzoneFsServerDefaults serverDefaults;
   private volatile long serverDefaultsLastUpdate;
   private final long serverDefaultsValidityPeriod;
+  private final int fileStatusesBatchSize;
 
   /**
    * Creates RpcClient instance with the given configuration.
@@ -306,6 +307,12 @@ public RpcClient(ConfigurationSource conf, String omServiceId)
     getLatestVersionLocation = conf.getBoolean(
         OzoneConfigKeys.OZONE_CLIENT_KEY_LATEST_VERSION_LOCATION,
         OzoneConfigKeys.OZONE_CLIENT_KEY_LATEST_VERSION_LOCATION_DEFAULT);
+    // keys are looked up in batches the OM accepts
+    fileStatusesBatchSize = Math.max(1, Math.min(
+        conf.getInt(OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE,
+            OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT),
+        conf.getInt(OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_MAX,
+            OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE)));
 
     long keyProviderCacheExpiryMs = conf.getTimeDuration(
         OZONE_CLIENT_KEY_PROVIDER_CACHE_EXPIRY,
@@ -1781,6 +1788,20 @@ public void renameKeys(String volumeName, String bucketName,
     ozoneManagerClient.renameKeys(omRenameKeys);
   }
 
+  @Override
+  public long renamePrefix(String volumeName, String bucketName,
+      String fromPrefix, String toPrefix) throws IOException {
+    if (omVersion.compareTo(OzoneManagerVersion.RENAME_PREFIX) < 0) {
+      throw new OMException("OzoneManager does not support prefix rename",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION);
+    }
+    verifyVolumeName(volumeName);
+    verifyBucketName(bucketName);
+    HddsClientUtils.checkNotNull(fromPrefix, toPrefix);
+    return ozoneManagerClient.renamePrefix(volumeName, bucketName,
+        fromPrefix, toPrefix);
+  }
+
   @Override
   public List<OzoneKey> listKeys(String volumeName, String bucketName,
                                  String keyPrefix, String prevKey,
@@ -2302,6 +2323,46 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return ozoneManagerClient.getFileStatus(keyArgs);
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames, boolean headOp)
+      throws IOException {
+    List<OmKeyArgs> keyArgs = new ArrayList<>(keyNames.size());
+    for (String keyName : keyNames) {
+      keyArgs.add(new OmKeyArgs.Builder()
+          .setVolumeName(volumeName)
+          .setBucketName(bucketName)
+          .setKeyName(keyName)
+          .setSortDatanodesInPipeline(topologyAwareReadEnabled)
+          .setLatestVersionLocation(getLatestVersionLocation)
+          .setHeadOp(headOp)
+          .build());
+    }
+
+    final List<OzoneFileStatus> statuses = new ArrayList<>(keyNames.size());
+    if (omVersion.compareTo(OzoneManagerVersion.BATCH_GET_FILE_STATUSES) < 0) {
+      // older OMs do not support GetFileStatuses, look up keys one by one
+      for (OmKeyArgs args : keyArgs) {
+        try {
+          statuses.add(ozoneManagerClient.getFileStatus(args));
+        } catch (OMException e) {
+          if (e.getResult() != OMException.ResultCodes.FILE_NOT_FOUND
+              && e.getResult() != OMException.ResultCodes.KEY_NOT_FOUND) {
+            throw e;
+          }
+          statuses.add(null);
+        }
+      }
+      return statuses;
+    }
+
+    for (int i = 0; i < keyArgs.size(); i += fileStatusesBatchSize) {
+      statuses.addAll(ozoneManagerClient.getFileStatuses(keyArgs.subList(i,
+          Math.min(keyArgs.size(), i + fileStatusesBatchSize))));
+    }
+    return statuses;
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
       String keyName) throws IOException {
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.client;
+
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import jakarta.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.InMemoryConfigurationForTesting;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.NodeType;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
+import org.apache.hadoop.hdds.scm.OzoneClientConfig;
+import org.apache.hadoop.hdds.scm.XceiverClientFactory;
+import org.apache.hadoop.ozone.ClientVersion;
+import org.apache.hadoop.ozone.OzoneConfigKeys;
+import org.apache.hadoop.ozone.OzoneManagerVersion;
+import org.apache.hadoop.ozone.client.rpc.RpcClient;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyLocationInfoGroup;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.helpers.ServiceInfoEx;
+import org.apache.hadoop.ozone.om.protocolPB.OmTransport;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusesEntry;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.KeyArgs;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OzoneFileStatusProto;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceInfo;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.ServiceListResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Verifies that {@link RpcClient#getOzoneFileStatuses} stays within the batch
+ * size accepted by the OM, and falls back to one GetFileStatus call per key
+ * for an OM which does not support GetFileStatuses.
+ */
+public class TestRpcClientGetFileStatuses {
+
+  private static final String MISSING = "missing";
+
+  private final List<Integer> batches =
+      Collections.synchronizedList(new ArrayList<>());
+  private final List<String> singleLookups =
+      Collections.synchronizedList(new ArrayList<>());
+
+  private RpcClient newClient(OzoneManagerVersion omVersion)
+      throws IOException {
+    InMemoryConfigurationForTesting conf =
+        new InMemoryConfigurationForTesting();
+    conf.setFromObject(conf.getObject(OzoneClientConfig.class));
+    conf.setInt(OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE, 2);
+    return new RpcClient(conf, null) {
+      @Override
+      protected OmTransport createOmTransport(String omServiceId) {
+        return new MockOmTransport() {
+          @Override
+          public OMResponse submitRequest(OMRequest payload)
+              throws IOException {
+            switch (payload.getCmdType()) {
+            case ServiceList:
+              return response(payload).setServiceListResponse(
+                  ServiceListResponse.newBuilder().addServiceInfo(
+                      ServiceInfo.newBuilder()
+                          .setNodeType(NodeType.OM)
+                          .setHostname("om")
+                          .setOMVersion(omVersion.toProtoValue())))
+                  .build();
+            case GetFileStatuses:
+              batches.add(
+                  payload.getGetFileStatusesRequest().getKeyArgsCount());
+              GetFileStatusesResponse.Builder statuses =
+                  GetFileStatusesResponse.newBuilder();
+              for (KeyArgs keyArgs
+                  : payload.getGetFileStatusesRequest().getKeyArgsList()) {
+                FileStatusesEntry.Builder entry =
+                    FileStatusesEntry.newBuilder();
+                if (!MISSING.equals(keyArgs.getKeyName())) {
+                  entry.setStatus(fileStatus(keyArgs.getKeyName()));
+                }
+                statuses.addStatuses(entry);
+              }
+              return response(payload).setGetFileStatusesResponse(statuses)
+                  .build();
+            case GetFileStatus:
+              String keyName =
+                  payload.getGetFileStatusRequest().getKeyArgs().getKeyName();
+              singleLookups.add(keyName);
+              if (MISSING.equals(keyName)) {
+                return response(payload).setSuccess(false)
+                    .setStatus(Status.FILE_NOT_FOUND).build();
+              }
+              return response(payload).setGetFileStatusResponse(
+                  GetFileStatusResponse.newBuilder()
+                      .setStatus(fileStatus(keyName)))
+                  .build();
+            default:
+              return super.submitRequest(payload);
+            }
+          }
+        };
+      }
+
+      @Nonnull
+      @Override
+      protected XceiverClientFactory createXceiverClientFactory(
+          ServiceInfoEx serviceInfo) {
+        return new MockXceiverClientFactory();
+      }
+    };
+  }
+
+  @Test
+  public void keysAreLookedUpInBatchesOfPageSize() throws IOException {
+    RpcClient client = newClient(OzoneManagerVersion.CURRENT);
+    try {
+      List<OzoneFileStatus> statuses = client.getOzoneFileStatuses("vol",
+          "bucket", Arrays.asList("key1", MISSING, "key3", "key4", "key5"),
+          false);
+
+      assertEquals(Arrays.asList(2, 2, 1), batches);
+      assertEquals(0, singleLookups.size());
+      assertStatuses(statuses);
+    } finally {
+      client.close();
+    }
+  }
+
+  @Test
+  public void olderOmIsQueriedKeyByKey() throws IOException {
+    RpcClient client =
+        newClient(OzoneManagerVersion.S3_BUCKET_TAGGING_API);
+    try {
+      List<OzoneFileStatus> statuses = client.getOzoneFileStatuses("vol",
+          "bucket", Arrays.asList("key1", MISSING, "key3", "key4", "key5"),
+          false);
+
+      assertEquals(0, batches.size());
+      assertEquals(Arrays.asList("key1", MISSING, "key3", "key4", "key5"),
+          singleLookups);
+      assertStatuses(statuses);
+    } finally {
+      client.close();
+    }
+  }
+
+  private static void assertStatuses(List<OzoneFileStatus> statuses) {
+    assertEquals(5, statuses.size());
+    assertEquals("key1", statuses.get(0).getKeyInfo().getKeyName());
+    assertNull(statuses.get(1));
+    assertEquals("key3", statuses.get(2).getKeyInfo().getKeyName());
+    assertEquals("key4", statuses.get(3).getKeyInfo().getKeyName());
+    assertEquals("key5", statuses.get(4).getKeyInfo().getKeyName());
+  }
+
+  private static OMResponse.Builder response(OMRequest payload) {
+    return OMResponse.newBuilder()
+        .setCmdType(payload.getCmdType())
+        .setSuccess(true)
+        .setStatus(Status.OK);
+  }
+
+  private static OzoneFileStatusProto fileStatus(String keyName) {
+    OmKeyInfo keyInfo = new OmKeyInfo.Builder()
+        .setVolumeName("vol")
+        .setBucketName("bucket")
+        .setKeyName(keyName)
+        .setReplicationConfig(
+            RatisReplicationConfig.getInstance(ReplicationFactor.ONE))
+        .setOmKeyLocationInfos(singletonList(
+            new OmKeyLocationInfoGroup(0, new ArrayList<>())))
+        .build();
+    return new OzoneFileStatus(keyInfo, 0, false)
+        .getProtobuf(ClientVersion.CURRENT_VERSION);
+  }
+}
@@ -229,6 +229,7 @@ public static boolean isReadOnly(OMRequest omRequest) {
     case ListOpenFiles:
     case ListMultiPartUploadParts:
     case GetFileStatus:
+    case GetFileStatuses:
     case LookupFile:
     case ListStatus:
     case ListStatusLight:
@@ -372,6 +373,7 @@ public static boolean shouldSendToFollower(OMRequest omRequest) {
     case ListOpenFiles:
     case ListMultiPartUploadParts:
     case GetFileStatus:
+    case GetFileStatuses:
     case LookupFile:
     case ListStatus:
     case ListStatusLight:
@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.om;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.apache.hadoop.ozone.OzoneAcl;
@@ -101,6 +102,33 @@ default List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
    */
   OzoneFileStatus getFileStatus(OmKeyArgs keyArgs) throws IOException;
 
+  /**
+   * OzoneFS api to get file status for several entries of the same bucket.
+   *
+   * @param keyArgs Key args of each entry, all in the same bucket
+   * @return status of each entry in the order of the args, null for entries
+   *         that do not exist
+   * @throws OMException if bucket does not exist
+   * @throws IOException if there is error in the db
+   *                     invalid arguments
+   */
+  default List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> keyArgs)
+      throws IOException {
+    List<OzoneFileStatus> statuses = new ArrayList<>(keyArgs.size());
+    for (OmKeyArgs args : keyArgs) {
+      try {
+        statuses.add(getFileStatus(args));
+      } catch (OMException e) {
+        if (e.getResult() != OMException.ResultCodes.FILE_NOT_FOUND
+            && e.getResult() != OMException.ResultCodes.KEY_NOT_FOUND) {
+          throw e;
+        }
+        statuses.add(null);
+      }
+    }
+    return statuses;
+  }
+
   /**
    * OzoneFS api to lookup for a file.
    *
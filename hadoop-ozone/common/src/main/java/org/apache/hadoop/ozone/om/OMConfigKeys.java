@@ -55,6 +55,13 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_DB_MAX_OPEN_FILES_DEFAULT
       = -1;
 
+  public static final String OZONE_OM_DB_BLOB_FILES_TABLES
+      = "ozone.om.db.blob.files.tables";
+  public static final String OZONE_OM_DB_BLOB_FILES_MIN_SIZE
+      = "ozone.om.db.blob.files.min.size";
+  public static final String OZONE_OM_DB_BLOB_FILES_MIN_SIZE_DEFAULT
+      = "4KB";
+
   public static final String OZONE_OM_INTERNAL_SERVICE_ID =
       "ozone.om.internal.service.id";
 
@@ -109,6 +116,12 @@ public final class OMConfigKeys {
   public static final String OZONE_KEY_DELETING_LIMIT_PER_TASK =
       "ozone.key.deleting.limit.per.task";
   public static final int OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT = 50000;
+  public static final String OZONE_KEY_DELETING_POLICY =
+      "ozone.key.deleting.policy";
+  public static final String OZONE_KEY_DELETING_POLICY_DEFAULT = "KEY_ORDER";
+  public static final String OZONE_KEY_DELETING_POLICY_SCAN_LIMIT =
+      "ozone.key.deleting.policy.scan.limit";
+  public static final int OZONE_KEY_DELETING_POLICY_SCAN_LIMIT_DEFAULT = 200000;
   public static final String OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK =
       "ozone.snapshot.key.deleting.limit.per.task";
   public static final int OZONE_SNAPSHOT_KEY_DELETING_LIMIT_PER_TASK_DEFAULT
@@ -252,6 +265,20 @@ public final class OMConfigKeys {
       "ozone.om.ratis.server.pending.write.element-limit";
   public static final int OZONE_OM_RATIS_PENDING_WRITE_NUM_LIMIT_DEFAULT = 4096;
 
+  // OM admission control configurations
+  public static final String OZONE_OM_ADMISSION_CONTROL_ENABLED =
+      "ozone.om.admission.control.enabled";
+  public static final boolean OZONE_OM_ADMISSION_CONTROL_ENABLED_DEFAULT =
+      false;
+  public static final String OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD =
+      "ozone.om.admission.control.load.threshold";
+  public static final double
+      OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD_DEFAULT = 0.8;
+  public static final String OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET =
+      "ozone.om.admission.control.lock.wait.target";
+  public static final String
+      OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET_DEFAULT = "100ms";
+
   public static final String OZONE_OM_RATIS_LOG_PURGE_GAP =
       "ozone.om.ratis.log.purge.gap";
   public static final int OZONE_OM_RATIS_LOG_PURGE_GAP_DEFAULT = 1000000;
@@ -495,6 +522,9 @@ public final class OMConfigKeys {
   public static final String SNAPSHOT_DEFRAG_LIMIT_PER_TASK =
       "ozone.snapshot.defrag.limit.per.task";
   public static final int SNAPSHOT_DEFRAG_LIMIT_PER_TASK_DEFAULT = 1;
+  public static final String SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC =
+      "ozone.snapshot.defrag.max.bytes.per.sec";
+  public static final String SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC_DEFAULT = "64MB";
 
   public static final String OZONE_SNAPSHOT_SST_FILTERING_SERVICE_INTERVAL =
       "ozone.snapshot.filtering.service.interval";
@@ -604,6 +634,15 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_CONTAINER_LOCATION_CACHE_SIZE_DEFAULT
       = 100_000;
 
+  public static final String OZONE_OM_DIRECTORY_TREE_CACHE_SIZE
+      = "ozone.om.directory.tree.cache.size";
+  public static final long OZONE_OM_DIRECTORY_TREE_CACHE_SIZE_DEFAULT
+      = 100_000;
+
+  public static final String OZONE_OM_RENAME_PREFIX_BATCH_SIZE
+      = "ozone.om.rename.prefix.batch.size";
+  public static final int OZONE_OM_RENAME_PREFIX_BATCH_SIZE_DEFAULT = 1000;
+
   public static final String OZONE_OM_CONTAINER_LOCATION_DATANODE_CACHE_SIZE
       = "ozone.om.container.location.datanode.cache.size";
   public static final int
@@ -644,6 +683,10 @@ public final class OMConfigKeys {
       = "ozone.om.snapshot.db.max.open.files";
   public static final int OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT
       = 100;
+  public static final String OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE
+      = "ozone.om.snapshot.db.block.cache.size";
+  public static final String OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT
+      = "256MB";
   public static final int OZONE_OM_SNAPSHOT_DIFF_REPORT_MAX_PAGE_SIZE_DEFAULT
       = 5000;
 
@@ -652,6 +695,11 @@ public final class OMConfigKeys {
   public static final int OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT
       = 10;
 
+  public static final String OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS
+      = "ozone.om.snapshot.diff.object.id.map.threads";
+  public static final int OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS_DEFAULT
+      = 4;
+
   public static final String OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME
       = "ozone.om.snapshot.diff.job.default.wait.time";
   public static final long OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT
@@ -745,6 +793,12 @@ public final class OMConfigKeys {
       "ozone.om.compaction.service.bottommost-level-compaction";
   public static final BottommostLevelCompaction
       OZONE_OM_COMPACTION_SERVICE_BOTTOMMOSTLEVELCOMPACTION_DEFAULT = BottommostLevelCompaction.kSkip;
+  public static final String OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO =
+      "ozone.om.compaction.service.tombstone.ratio";
+  public static final double OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO_DEFAULT = 0;
+  public static final String OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN =
+      "ozone.om.compaction.service.max.bytes.per.run";
+  public static final String OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN_DEFAULT = "1GB";
 
   /**
    * Configuration to enable/disable non-snapshot diff table compaction when snapshots are evicted from cache.
@@ -196,6 +196,30 @@ public class OmConfig extends ReconfigurableConfig {
   )
   private boolean sortDatanodesForWriteEnabled;
 
+  @Config(key = "ozone.om.list.status.cursor.cache.size",
+      defaultValue = "64",
+      type = ConfigType.INT,
+      tags = {ConfigTag.OM, ConfigTag.PERFORMANCE},
+      description = "Maximum number of FSO listStatus iterations kept open " +
+          "between pages, so that listing the next page of a large directory " +
+          "continues the iteration instead of seeking the tables again. " +
+          "Set to 0 to disable."
+  )
+  private int listStatusCursorCacheSize;
+
+  @Config(key = "ozone.om.list.status.cursor.idle.timeout",
+      defaultValue = "10s",
+      type = ConfigType.TIME,
+      tags = {ConfigTag.OM, ConfigTag.PERFORMANCE},
+      description = "Time after which an FSO listStatus iteration kept open " +
+          "between pages is closed if the next page is not requested. Idle " +
+          "iterations are checked at this interval, so an abandoned listing " +
+          "holds its DB iterator for at most twice this time. A " +
+          "listing continued from an open iteration sees the directory as it " +
+          "was when the iteration started."
+  )
+  private long listStatusCursorIdleTimeout = Duration.ofSeconds(10).toMillis();
+
   public long getRatisBasedFinalizationTimeout() {
     return ratisBasedFinalizationTimeout;
   }
@@ -240,6 +264,14 @@ public boolean isSortDatanodesForWriteEnabled() {
     return sortDatanodesForWriteEnabled;
   }
 
+  public int getListStatusCursorCacheSize() {
+    return listStatusCursorCacheSize;
+  }
+
+  public long getListStatusCursorIdleTimeout() {
+    return listStatusCursorIdleTimeout;
+  }
+
   public boolean isFollowerReadLocalLeaseEnabled() {
     return followerReadLocalLeaseEnabled;
   }
@@ -38,6 +38,7 @@
 import org.apache.hadoop.ipc_.ProtobufRpcEngine;
 import org.apache.hadoop.ipc_.RPC;
 import org.apache.hadoop.ipc_.RemoteException;
+import org.apache.hadoop.ipc_.RetriableException;
 import org.apache.hadoop.net.NetUtils;
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.OzoneConfigKeys;
@@ -250,6 +251,13 @@ public RetryAction shouldRetry(Exception exception, int retries,
             setNextOmProxy(omNodeId);
             return getRetryAction(RetryDecision.FAILOVER_AND_RETRY, failovers);
           }
+
+          if (isOverloaded(exception)) {
+            // The OM rejected the request under load, back off and retry on
+            // the same OM, as the request would be rejected by followers.
+            setNextOmProxy(omNodeId);
+            return getRetryAction(RetryDecision.FAILOVER_AND_RETRY, failovers);
+          }
         }
 
         if (!shouldFailover(exception)) {
@@ -429,6 +437,17 @@ public OMProxyInfo.OrderedMap<T> getOMProxyMap() {
     return omProxies;
   }
 
+  /**
+   * @return true if the exception wraps a {@link RetriableException}, which
+   *         OM throws when it rejects a request under load
+   */
+  public static boolean isOverloaded(Exception exception) {
+    Throwable cause = exception.getCause();
+    return cause instanceof RemoteException
+        && ((RemoteException) cause).unwrapRemoteException()
+        instanceof RetriableException;
+  }
+
   /**
    * Unwrap the exception and return the wrapped OMLeaderNotReadyException if any.
    *
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.helpers;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.ipc_.CostProvider;
+import org.apache.hadoop.ipc_.ProcessingDetails;
+import org.apache.hadoop.ipc_.WeightedTimeCostProvider;
+
+/**
+ * Ozone implementation of CostProvider used by Hadoop DecayRpcScheduler.
+ * <p>
+ * All OM requests go through the same RPC method, so the cost of a call
+ * can't be told from the method name. OM tags the processing details of
+ * each call with the type of the request. For each type, this provider
+ * learns the average cost of the calls, weighted as in
+ * {@link WeightedTimeCostProvider}, and charges every call of that type
+ * the average. Callers issuing expensive requests, like listing, are then
+ * deprioritized consistently, and a cheap request that happened to be slow,
+ * e.g. waiting for a lock held by others, is not penalized for it.
+ */
+public class OzoneRequestCostProvider implements CostProvider {
+
+  /**
+   * Weight of a new call in the average cost of its request type, in the
+   * range (0, 1].
+   */
+  public static final String SMOOTHING_CONFIG = ".request-cost.smoothing";
+  static final double DEFAULT_SMOOTHING = 0.1;
+
+  private final WeightedTimeCostProvider timeCostProvider =
+      new WeightedTimeCostProvider();
+  private final ConcurrentMap<String, AtomicLong> averageCosts =
+      new ConcurrentHashMap<>();
+  private double smoothing;
+
+  @Override
+  public void init(String namespace, Configuration conf) {
+    timeCostProvider.init(namespace, conf);
+    smoothing = conf.getDouble(namespace + SMOOTHING_CONFIG,
+        DEFAULT_SMOOTHING);
+    Preconditions.checkArgument(smoothing > 0 && smoothing <= 1,
+        namespace + SMOOTHING_CONFIG + " must be in the range (0, 1].");
+  }
+
+  @Override
+  public long getCost(ProcessingDetails details) {
+    final long cost = timeCostProvider.getCost(details);
+    final String requestType = details.getRequestType();
+    if (requestType == null) {
+      return cost;
+    }
+    return averageCosts
+        .computeIfAbsent(requestType, k -> new AtomicLong(-1))
+        .updateAndGet(avg -> avg < 0 ? cost
+            : avg + Math.round((cost - avg) * smoothing));
+  }
+
+  /**
+   * @return the average cost of the request type, or -1 if no call of the
+   *         type was seen
+   */
+  long getAverageCost(String requestType) {
+    final AtomicLong avg = averageCosts.get(requestType);
+    return avg == null ? -1 : avg.get();
+  }
+}
@@ -345,6 +345,24 @@ default void renameKeys(OmRenameKeys omRenameKeys) throws IOException {
         "this to be implemented, as write requests use a new approach.");
   }
 
+  /**
+   * Rename all keys with a prefix within an OBJECT_STORE or LEGACY bucket, by
+   * replacing the prefix. OM renames the keys in batches, each of them
+   * atomically. If a batch fails, the keys of the previous batches stay
+   * renamed, and renaming the prefix again continues with the rest.
+   * @param volumeName Name of the Volume
+   * @param bucketName Name of the Bucket
+   * @param fromPrefix Prefix of the keys to be renamed
+   * @param toPrefix New prefix of the keys
+   * @return number of renamed keys
+   * @throws IOException
+   */
+  default long renamePrefix(String volumeName, String bucketName,
+      String fromPrefix, String toPrefix) throws IOException {
+    throw new UnsupportedOperationException("OzoneManager does not require " +
+        "this to be implemented, as write requests use a new approach.");
+  }
+
   /**
    * Deletes an existing key.
    *
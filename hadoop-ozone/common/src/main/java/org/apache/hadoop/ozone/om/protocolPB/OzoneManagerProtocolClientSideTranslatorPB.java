@@ -134,6 +134,7 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.DeleteVolumeRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusesEntry;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeRequest;
@@ -145,6 +146,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetLifecycleConfigurationRequest;
@@ -215,6 +218,8 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysMap;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenamePrefixArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameSnapshotRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenewDelegationTokenResponseProto;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RevokeS3SecretRequest;
@@ -940,6 +945,30 @@ public void renameKeys(OmRenameKeys omRenameKeys) throws IOException {
     handleError(submitRequest(omRequest));
   }
 
+  @Override
+  public long renamePrefix(String volumeName, String bucketName,
+      String fromPrefix, String toPrefix) throws IOException {
+    RenameKeysArgs renameKeyArgs = RenameKeysArgs.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setRenamePrefixArgs(RenamePrefixArgs.newBuilder()
+            .setFromPrefix(fromPrefix)
+            .setToPrefix(toPrefix))
+        .build();
+    OMRequest omRequest = createOMRequest(Type.RenameKeys)
+        .setRenameKeysRequest(RenameKeysRequest.newBuilder()
+            .setRenameKeysArgs(renameKeyArgs))
+        .build();
+
+    long renamedKeyCount = 0;
+    RenameKeysResponse resp;
+    do {
+      resp = handleError(submitRequest(omRequest)).getRenameKeysResponse();
+      renamedKeyCount += resp.getRenamedKeyCount();
+    } while (resp.getHasMoreKeys());
+    return renamedKeyCount;
+  }
+
   @Override
   public void renameKey(OmKeyArgs args, String toKeyName) throws IOException {
     RenameKeyRequest.Builder req = RenameKeyRequest.newBuilder();
@@ -1448,7 +1477,8 @@ private SnapshotDiffResponse snapshotDiffInternal(String volumeName,
             .setBucketName(bucketName)
             .setFromSnapshot(fromSnapshot)
             .setToSnapshot(toSnapshot)
-            .setPageSize(pageSize);
+            .setPageSize(pageSize)
+            .setCompactPaths(true);
 
     if (forceFullDiff != null) {
       requestBuilder.setForceFullDiff(forceFullDiff);
@@ -2242,6 +2272,35 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     return OzoneFileStatus.getFromProtobuf(resp.getStatus());
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args)
+      throws IOException {
+    GetFileStatusesRequest.Builder req = GetFileStatusesRequest.newBuilder();
+    for (OmKeyArgs arg : args) {
+      req.addKeyArgs(KeyArgs.newBuilder()
+          .setVolumeName(arg.getVolumeName())
+          .setBucketName(arg.getBucketName())
+          .setKeyName(arg.getKeyName())
+          .setSortDatanodes(arg.getSortDatanodes())
+          .setLatestVersionLocation(arg.getLatestVersionLocation())
+          .setHeadOp(arg.isHeadOp())
+          .build());
+    }
+
+    OMRequest omRequest = createOMRequest(Type.GetFileStatuses)
+        .setGetFileStatusesRequest(req)
+        .build();
+
+    final GetFileStatusesResponse resp = handleError(submitRequest(omRequest))
+        .getGetFileStatusesResponse();
+    List<OzoneFileStatus> statuses = new ArrayList<>(resp.getStatusesCount());
+    for (FileStatusesEntry entry : resp.getStatusesList()) {
+      statuses.add(entry.hasStatus()
+          ? OzoneFileStatus.getFromProtobuf(entry.getStatus()) : null);
+    }
+    return statuses;
+  }
+
   @Override
   public void createDirectory(OmKeyArgs args) throws IOException {
     KeyArgs.Builder keyArgsBuilder = KeyArgs.newBuilder()
@@ -20,8 +20,8 @@
 import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
 
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
@@ -117,35 +117,82 @@ public String toString() {
   }
 
   public SnapshotDiffReportProto toProtobuf() {
+    return toProtobuf(false);
+  }
+
+  /**
+   * @param compactPaths whether to encode the source path of each entry
+   *     relative to the source path of the previous entry, for clients
+   *     decoding {@link DiffReportEntryProto#getSharedPrefixLength()}.
+   *     Entries are listed in key order, so consecutive source paths
+   *     often share their parent directories.
+   */
+  public SnapshotDiffReportProto toProtobuf(boolean compactPaths) {
     final SnapshotDiffReportProto.Builder builder = SnapshotDiffReportProto
         .newBuilder();
     builder.setVolumeName(volumeName)
         .setBucketName(bucketName)
         .setFromSnapshot(getFromSnapshot())
         .setToSnapshot(getLaterSnapshotName());
-    builder.addAllDiffList(getDiffList().stream().map(
-            SnapshotDiffReportOzone::toProtobufDiffReportEntry)
-        .collect(Collectors.toList()));
+    String previousPath = null;
+    for (DiffReportEntry entry : getDiffList()) {
+      DiffReportEntryProto entryProto = toProtobufDiffReportEntry(entry);
+      if (compactPaths) {
+        final String sourcePath = entryProto.getSourcePath();
+        final int shared = previousPath == null ? 0
+            : getSharedPrefixLength(previousPath, sourcePath);
+        if (shared > 0) {
+          entryProto = entryProto.toBuilder()
+              .setSourcePath(sourcePath.substring(shared))
+              .setSharedPrefixLength(shared)
+              .build();
+        }
+        previousPath = sourcePath;
+      }
+      builder.addDiffList(entryProto);
+    }
     if (StringUtils.isNotEmpty(token)) {
       builder.setToken(token);
     }
     return builder.build();
   }
 
+  private static int getSharedPrefixLength(String previousPath, String path) {
+    final int max = Math.min(previousPath.length(), path.length());
+    int i = 0;
+    while (i < max && previousPath.charAt(i) == path.charAt(i)) {
+      i++;
+    }
+    // Do not split a surrogate pair.
+    if (i > 0 && Character.isHighSurrogate(path.charAt(i - 1))) {
+      i--;
+    }
+    return i;
+  }
+
   public static SnapshotDiffReportOzone fromProtobuf(
       final SnapshotDiffReportProto report) {
     Path bucketPath = new Path(
         OZONE_URI_DELIMITER + report.getVolumeName()
             + OZONE_URI_DELIMITER + report.getBucketName());
     OFSPath path = new OFSPath(bucketPath, new OzoneConfiguration());
+    final List<DiffReportEntry> diffList =
+        new ArrayList<>(report.getDiffListCount());
+    String previousPath = "";
+    for (DiffReportEntryProto entry : report.getDiffListList()) {
+      final String sourcePath = entry.hasSharedPrefixLength()
+          ? previousPath.substring(0, entry.getSharedPrefixLength())
+          + entry.getSourcePath()
+          : entry.getSourcePath();
+      diffList.add(fromProtobufDiffReportEntry(entry, sourcePath));
+      previousPath = sourcePath;
+    }
     return new SnapshotDiffReportOzone(path.toString(),
         report.getVolumeName(),
         report.getBucketName(),
         report.getFromSnapshot(),
         report.getToSnapshot(),
-        report.getDiffListList().stream()
-            .map(SnapshotDiffReportOzone::fromProtobufDiffReportEntry)
-            .collect(Collectors.toList()),
+        diffList,
         report.hasToken() ? report.getToken() : null);
   }
 
@@ -166,9 +213,14 @@ public static DiffReportEntry fromProtobufDiffReportEntry(
     if (entry == null) {
       return null;
     }
+    return fromProtobufDiffReportEntry(entry, entry.getSourcePath());
+  }
+
+  private static DiffReportEntry fromProtobufDiffReportEntry(
+      final DiffReportEntryProto entry, final String sourcePath) {
     DiffType type = fromProtobufDiffType(entry.getDiffType());
     return type == null ? null : new DiffReportEntry(type,
-        entry.getSourcePath().getBytes(StandardCharsets.UTF_8),
+        sourcePath.getBytes(StandardCharsets.UTF_8),
         entry.hasTargetPath() ?
             entry.getTargetPath().getBytes(StandardCharsets.UTF_8) : null);
   }
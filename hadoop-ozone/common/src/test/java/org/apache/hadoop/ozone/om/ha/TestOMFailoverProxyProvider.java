@@ -27,6 +27,7 @@
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.google.protobuf.ServiceException;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -37,6 +38,10 @@
 import java.util.StringJoiner;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.io.Text;
+import org.apache.hadoop.io.retry.RetryPolicy;
+import org.apache.hadoop.io.retry.RetryPolicy.RetryAction;
+import org.apache.hadoop.ipc_.RemoteException;
+import org.apache.hadoop.ipc_.RetriableException;
 import org.apache.hadoop.ozone.ha.ConfUtils;
 import org.apache.hadoop.ozone.om.protocolPB.OzoneManagerProtocolPB;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -145,6 +150,30 @@ public void testWaitTimeResetWhenAllNodeFailoverAndSameNode() {
     failoverToNextNode(1, waitBetweenRetries);
   }
 
+  /**
+   * An OM rejecting requests under load is retried with an increasing
+   * wait time, without failing over to the other OMs.
+   */
+  @Test
+  public void testOverloadedOmIsRetriedWithBackoff() throws Exception {
+    RetryPolicy policy = provider.getRetryPolicy(10);
+    String omNodeId = provider.getCurrentProxyOMNodeId();
+    ServiceException overloaded = new ServiceException(new RemoteException(
+        RetriableException.class.getName(), "OM is overloaded, retry later."));
+    assertTrue(OMFailoverProxyProviderBase.isOverloaded(overloaded));
+
+    provider.performFailover(null);
+    for (int attempt = 1; attempt <= 3; attempt++) {
+      RetryAction action = policy.shouldRetry(overloaded, attempt, attempt - 1, true);
+      assertEquals(RetryAction.RetryDecision.FAILOVER_AND_RETRY, action.action);
+      assertEquals(attempt * waitBetweenRetries, action.delayMillis);
+      provider.performFailover(null);
+      assertEquals(omNodeId, provider.getCurrentProxyOMNodeId());
+    }
+    assertFalse(OMFailoverProxyProviderBase.isOverloaded(
+        new ServiceException(new RemoteException(IOException.class.getName(), "failed"))));
+  }
+
   /**
    * Ensure listener nodes are excluded from provider's proxy list.
    */
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.helpers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.ipc_.ProcessingDetails;
+import org.apache.hadoop.ipc_.ProcessingDetails.Timing;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link OzoneRequestCostProvider}.
+ */
+public class TestOzoneRequestCostProvider {
+
+  private static final String NAMESPACE = "ipc.9862";
+
+  private OzoneRequestCostProvider costProvider;
+
+  @BeforeEach
+  public void setup() {
+    Configuration conf = new Configuration(false);
+    conf.setDouble(NAMESPACE + OzoneRequestCostProvider.SMOOTHING_CONFIG, 0.5);
+    costProvider = new OzoneRequestCostProvider();
+    costProvider.init(NAMESPACE, conf);
+  }
+
+  private static ProcessingDetails details(String requestType,
+      long lockFree, long lockWait) {
+    ProcessingDetails details = mock(ProcessingDetails.class);
+    when(details.getRequestType()).thenReturn(requestType);
+    when(details.get(Timing.LOCKFREE)).thenReturn(lockFree);
+    when(details.get(Timing.LOCKWAIT)).thenReturn(lockWait);
+    return details;
+  }
+
+  @Test
+  public void testCostOfRequestType() {
+    assertEquals(1000, costProvider.getCost(details("ListKeys", 1000, 0)));
+    assertEquals(2000, costProvider.getCost(details("ListKeys", 3000, 0)));
+    // a cheap listing is still charged as a listing
+    assertEquals(1010, costProvider.getCost(details("ListKeys", 20, 0)));
+    assertEquals(1010, costProvider.getAverageCost("ListKeys"));
+
+    // lock wait is not charged
+    assertEquals(10, costProvider.getCost(details("LookupKey", 10, 5000)));
+    assertEquals(-1, costProvider.getAverageCost("GetKeyInfo"));
+  }
+
+  @Test
+  public void testCallWithoutRequestType() {
+    assertEquals(100, costProvider.getCost(details(null, 100, 0)));
+    assertEquals(200, costProvider.getCost(details(null, 200, 0)));
+  }
+
+  @Test
+  public void testInvalidSmoothing() {
+    Configuration conf = new Configuration(false);
+    conf.setDouble(NAMESPACE + OzoneRequestCostProvider.SMOOTHING_CONFIG, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> new OzoneRequestCostProvider().init(NAMESPACE, conf));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.snapshot;
+
+import static org.apache.hadoop.ozone.snapshot.SnapshotDiffReportOzone.getDiffReportEntry;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.Arrays;
+import java.util.List;
+import org.apache.hadoop.hdfs.protocol.SnapshotDiffReport.DiffReportEntry;
+import org.apache.hadoop.hdfs.protocol.SnapshotDiffReport.DiffType;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.SnapshotDiffReportProto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Tests the protobuf conversion of {@link SnapshotDiffReportOzone}.
+ */
+class TestSnapshotDiffReportOzone {
+
+  private static final List<DiffReportEntry> ENTRIES = Arrays.asList(
+      getDiffReportEntry(DiffType.CREATE, "dir1/dir2/key1"),
+      getDiffReportEntry(DiffType.CREATE, "dir1/dir2/key2"),
+      getDiffReportEntry(DiffType.CREATE, "dir1/key3"),
+      getDiffReportEntry(DiffType.MODIFY, "other"),
+      getDiffReportEntry(DiffType.RENAME, "other/key4", "dir1/key5"),
+      // the paths differ in the low surrogate of the last character
+      getDiffReportEntry(DiffType.DELETE, "dir3/😀"),
+      getDiffReportEntry(DiffType.DELETE, "dir3/😁"),
+      getDiffReportEntry(DiffType.DELETE, "dir3"));
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void testProtobufRoundTrip(boolean compactPaths) throws Exception {
+    SnapshotDiffReportProto proto = createReport().toProtobuf(compactPaths);
+    assertEquals(compactPaths,
+        proto.getDiffList(1).hasSharedPrefixLength());
+
+    SnapshotDiffReportOzone report = SnapshotDiffReportOzone.fromProtobuf(
+        SnapshotDiffReportProto.parseFrom(proto.toByteArray()));
+    assertEquals(ENTRIES, report.getDiffList());
+    assertEquals("token", report.getToken());
+  }
+
+  @Test
+  void testCompactPaths() {
+    SnapshotDiffReportOzone report = createReport();
+    SnapshotDiffReportProto proto = report.toProtobuf(true);
+
+    assertFalse(proto.getDiffList(0).hasSharedPrefixLength());
+    assertEquals("2", proto.getDiffList(1).getSourcePath());
+    assertEquals(13, proto.getDiffList(1).getSharedPrefixLength());
+    assertEquals("key3", proto.getDiffList(2).getSourcePath());
+    assertFalse(proto.getDiffList(3).hasSharedPrefixLength());
+    assertEquals("dir1/key5", proto.getDiffList(4).getTargetPath());
+    assertEquals("😁", proto.getDiffList(6).getSourcePath());
+    assertEquals("", proto.getDiffList(7).getSourcePath());
+    assertThat(proto.getSerializedSize())
+        .isLessThan(report.toProtobuf().getSerializedSize());
+  }
+
+  private static SnapshotDiffReportOzone createReport() {
+    return new SnapshotDiffReportOzone("snapshotRoot", "vol", "bucket",
+        "fromSnap", "toSnap", ENTRIES, "token");
+  }
+}
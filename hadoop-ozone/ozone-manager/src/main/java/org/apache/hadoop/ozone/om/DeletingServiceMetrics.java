@@ -127,6 +127,16 @@ public final class DeletingServiceMetrics {
   @Metric("Snapshot: sub-files in the last DirectoryDeletingService run")
   private MutableGaugeLong ddsSnapSubFilesLast;
 
+  /*
+   * Directory Deleting Service progress metrics.
+   */
+  @Metric("AOS: estimated no. of deleted directories pending purge")
+  private MutableGaugeLong ddsPendingDirsEstimate;
+  @Metric("AOS: estimated no. of sub-files under the deleted directories pending purge")
+  private MutableGaugeLong ddsPendingSubFilesEstimate;
+  @Metric("No. of sub-directories queued for traversal by the DirectoryDeletingService workers")
+  private MutableGaugeLong ddsQueuedSubDirs;
+
   /**
    * Metric to track the term ID of the last key that was purged from the
    * Active Object Store (AOS). This term ID represents the state of the
@@ -258,6 +268,33 @@ public void updateSnapDdsLastRunMetrics(long dirsSentForPurge, long subDirs, lon
     this.ddsSnapSubFilesLast.set(subFiles);
   }
 
+  /**
+   * Update the estimate of the remaining work of the DirectoryDeletingService in the active object store.
+   * The number of sub-files is extrapolated from the sub-files found per deleted directory in the last run.
+   * @param pendingDirs estimated no. of entries in the deleted directory table
+   */
+  public void updateDdsPendingEstimate(long pendingDirs) {
+    this.ddsPendingDirsEstimate.set(pendingDirs);
+    long dirs = ddsAosDirsSentForPurgeLast.value() + ddsAosSubDirsLast.value();
+    this.ddsPendingSubFilesEstimate.set(dirs == 0 ? 0 : pendingDirs * ddsAosSubFilesLast.value() / dirs);
+  }
+
+  public long getDdsPendingDirsEstimate() {
+    return ddsPendingDirsEstimate.value();
+  }
+
+  public long getDdsPendingSubFilesEstimate() {
+    return ddsPendingSubFilesEstimate.value();
+  }
+
+  public void incrDdsQueuedSubDirs(long delta) {
+    this.ddsQueuedSubDirs.incr(delta);
+  }
+
+  public long getDdsQueuedSubDirs() {
+    return ddsQueuedSubDirs.value();
+  }
+
   private void resetMetrics() {
     this.keysReclaimedInInterval.set(0);
     this.reclaimedSizeInInterval.set(0);
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+
+/**
+ * Caches the object IDs of FSO directories by parent object ID and name,
+ * so that resolving a deep path does not read the directory table for each
+ * of its components.
+ * <p>
+ * Entries are added when a directory is read from the directory table, and
+ * removed when a request deletes or renames the directory, after it updated
+ * the table cache. Object IDs are never reused, so an entry can only become
+ * stale by such a removal. A lookup that read the directory table before a
+ * concurrent removal does not add its result, see {@link #getStamp()}.
+ */
+public final class DirectoryTreeCache {
+
+  /** Cache of metadata managers without one, e.g. of snapshots. */
+  public static final DirectoryTreeCache DISABLED = new DirectoryTreeCache(0);
+
+  private final Cache<DirKey, Long> objectIds;
+  private final boolean enabled;
+  /** Number of removals, to detect the ones concurrent to a lookup. */
+  private final AtomicLong removals = new AtomicLong();
+
+  public DirectoryTreeCache(long maxSize) {
+    this.enabled = maxSize > 0;
+    this.objectIds = CacheBuilder.newBuilder()
+        .maximumSize(Math.max(maxSize, 0))
+        .build();
+  }
+
+  /**
+   * @return the cache of the metadata manager, or {@link #DISABLED}
+   */
+  public static DirectoryTreeCache of(OMMetadataManager metadataManager) {
+    if (metadataManager instanceof OmMetadataManagerImpl) {
+      final DirectoryTreeCache cache =
+          ((OmMetadataManagerImpl) metadataManager).getDirectoryTreeCache();
+      if (cache != null) {
+        return cache;
+      }
+    }
+    return DISABLED;
+  }
+
+  /**
+   * Get the object ID of a directory from the cache, or else from the
+   * directory table.
+   * @param parentObjectId object ID of the parent
+   * @param name name of the directory
+   * @param dbKey key of the directory in the directory table
+   * @return object ID of the directory, or null if it does not exist
+   */
+  public Long getObjectId(long parentObjectId, String name, String dbKey,
+      Table<String, OmDirectoryInfo> dirTable) throws IOException {
+    if (!enabled) {
+      final OmDirectoryInfo dirInfo = dirTable.get(dbKey);
+      return dirInfo == null ? null : dirInfo.getObjectID();
+    }
+    final DirKey key = new DirKey(parentObjectId, name);
+    final Long cached = objectIds.getIfPresent(key);
+    if (cached != null) {
+      return cached;
+    }
+    final long stamp = getStamp();
+    final OmDirectoryInfo dirInfo = dirTable.get(dbKey);
+    if (dirInfo == null) {
+      return null;
+    }
+    put(stamp, key, dirInfo.getObjectID());
+    return dirInfo.getObjectID();
+  }
+
+  /**
+   * @return stamp to take before reading the directory table; the result
+   * is only cached if no directory was removed since
+   */
+  long getStamp() {
+    return removals.get();
+  }
+
+  private synchronized void put(long stamp, DirKey key, long objectId) {
+    if (removals.get() == stamp) {
+      objectIds.put(key, objectId);
+    }
+  }
+
+  /**
+   * Remove a directory that is deleted or renamed. Must be called after the
+   * directory table cache is updated.
+   */
+  public void remove(long parentObjectId, String name) {
+    if (!enabled) {
+      return;
+    }
+    synchronized (this) {
+      removals.incrementAndGet();
+      objectIds.invalidate(new DirKey(parentObjectId, name));
+    }
+  }
+
+  /**
+   * Remove all directories, e.g. when the DB is reloaded.
+   */
+  public void clear() {
+    if (!enabled) {
+      return;
+    }
+    synchronized (this) {
+      removals.incrementAndGet();
+      objectIds.invalidateAll();
+    }
+  }
+
+  long size() {
+    return objectIds.size();
+  }
+
+  private static final class DirKey {
+    private final long parentObjectId;
+    private final String name;
+
+    private DirKey(long parentObjectId, String name) {
+      this.parentObjectId = parentObjectId;
+      this.name = name;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof DirKey)) {
+        return false;
+      }
+      DirKey that = (DirKey) o;
+      return parentObjectId == that.parentObjectId && name.equals(that.name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Long.hashCode(parentObjectId) * 31 + name.hashCode();
+    }
+  }
+}
@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+
+/**
+ * Order in which the key deleting service drains the entries of the
+ * deleted table.
+ * <p>
+ * With any policy other than {@link #KEY_ORDER}, a bounded window of entries
+ * is read from the deleted table in key order, and the entries to delete in
+ * the current run are picked from that window in the order of the policy.
+ * The order only applies within that window: an entry beyond it is not
+ * picked in the current run, however high it would rank.
+ */
+public enum KeyDeletionPolicy {
+
+  /** Entries are deleted in the order of their keys. */
+  KEY_ORDER,
+
+  /** Entries freeing the most replicated space are deleted first. */
+  SIZE,
+
+  /** Entries that were deleted earliest are deleted first. */
+  AGE,
+
+  /**
+   * Buckets take turns, so that a bucket with many pending deletions does
+   * not hold back the others.
+   */
+  BUCKET_FAIR;
+
+  /**
+   * @return a selector picking at most {@code count} entries in the order
+   *         of this policy
+   */
+  public Selector newSelector(int count) {
+    return new Selector(this, count);
+  }
+
+  /**
+   * @return replicated size of all versions queued in the entry
+   */
+  static long replicatedSize(RepeatedOmKeyInfo value) {
+    long size = 0;
+    for (OmKeyInfo info : value.getOmKeyInfoList()) {
+      size += info.getReplicatedSize();
+    }
+    return size;
+  }
+
+  /**
+   * Keys moved to the deleted table get the index of the transaction
+   * deleting them as update ID, so the smallest one is the earliest delete.
+   */
+  static long deleteTransaction(RepeatedOmKeyInfo value) {
+    long transaction = Long.MAX_VALUE;
+    for (OmKeyInfo info : value.getOmKeyInfoList()) {
+      transaction = Math.min(transaction, info.getUpdateID());
+    }
+    return transaction;
+  }
+
+  /**
+   * Picks the first entries in the order of a policy, out of the entries
+   * offered to it in key order.
+   * <p>
+   * Only the key and the rank of the best {@code count} entries seen so far
+   * are kept in a bounded heap, so the memory used does not depend on the
+   * number of entries offered, nor on the size of their values.
+   */
+  public static final class Selector {
+    private static final Comparator<Candidate> ORDER = Comparator
+        .comparingLong((Candidate c) -> c.rank)
+        .thenComparingLong(c -> c.tieBreak)
+        .thenComparingLong(c -> c.sequence);
+
+    private final KeyDeletionPolicy policy;
+    private final int count;
+    /** The worst of the selected entries is at the head. */
+    private final PriorityQueue<Candidate> selected = new PriorityQueue<>(ORDER.reversed());
+    /** Bucket ID to its order of appearance and number of entries offered so far. */
+    private final Map<Long, long[]> buckets = new HashMap<>();
+    private long sequence;
+
+    private Selector(KeyDeletionPolicy policy, int count) {
+      this.policy = policy;
+      this.count = count;
+    }
+
+    /**
+     * Offers the next entry in key order.
+     */
+    public void offer(String key, RepeatedOmKeyInfo value) {
+      Candidate candidate = newCandidate(key, value);
+      if (selected.size() < count) {
+        selected.add(candidate);
+      } else if (count > 0 && ORDER.compare(candidate, selected.peek()) < 0) {
+        selected.poll();
+        selected.add(candidate);
+      }
+    }
+
+    /**
+     * @return the keys of the selected entries in the order they should be
+     *         deleted
+     */
+    public List<String> getSelectedKeys() {
+      List<Candidate> ordered = new ArrayList<>(selected);
+      ordered.sort(ORDER);
+      List<String> keys = new ArrayList<>(ordered.size());
+      for (Candidate candidate : ordered) {
+        keys.add(candidate.key);
+      }
+      return keys;
+    }
+
+    private Candidate newCandidate(String key, RepeatedOmKeyInfo value) {
+      long seq = sequence++;
+      switch (policy) {
+      case SIZE:
+        // ties stay in key order
+        return new Candidate(key, -replicatedSize(value), 0, seq);
+      case AGE:
+        return new Candidate(key, deleteTransaction(value), 0, seq);
+      case BUCKET_FAIR:
+        // the n-th entry of each bucket goes in round n, buckets take
+        // their turn in the order they first appeared
+        long[] bucket = buckets.computeIfAbsent(value.getBucketId(), id -> new long[] {buckets.size(), 0});
+        return new Candidate(key, bucket[1]++, bucket[0], seq);
+      default:
+        return new Candidate(key, 0, 0, seq);
+      }
+    }
+  }
+
+  private static final class Candidate {
+    private final String key;
+    private final long rank;
+    private final long tieBreak;
+    private final long sequence;
+
+    private Candidate(String key, long rank, long tieBreak, long sequence) {
+      this.key = key;
+      this.rank = rank;
+      this.tieBreak = tieBreak;
+      this.sequence = sequence;
+    }
+  }
+}
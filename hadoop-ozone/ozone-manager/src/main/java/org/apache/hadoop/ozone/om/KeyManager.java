@@ -177,6 +177,26 @@ PendingKeysDeletion getPendingDeletionKeys(
       CheckedFunction<Table.KeyValue<String, OmKeyInfo>, Boolean, IOException> filter, int count)
       throws IOException;
 
+  /**
+   * Retrieves the keys that are pending deletion, picked in the order of the given policy from the first
+   * {@code scanLimit} entries of the deleted table. The order only applies within that window, entries beyond
+   * it are not picked even if the policy would rank them first.
+   *
+   * @param volume the name of the volume, or null for all volumes.
+   * @param bucket the name of the bucket, or null for all buckets.
+   * @param filter a filter function to determine which keys should be included
+   *               in the pending deletion list.
+   * @param count the maximum number of keys to retrieve that are pending deletion.
+   * @param policy order in which the entries are picked.
+   * @param scanLimit the maximum number of entries to pick from, if the policy is not in key order.
+   * @throws IOException if an I/O error occurs during the operation.
+   */
+  PendingKeysDeletion getPendingDeletionKeys(
+      String volume, String bucket,
+      CheckedFunction<Table.KeyValue<String, OmKeyInfo>, Boolean, IOException> filter, int count,
+      KeyDeletionPolicy policy, int scanLimit)
+      throws IOException;
+
   /**
    * Returns a list rename entries from the snapshotRenamedTable.
    *
@@ -231,6 +231,8 @@ public class KeyManagerImpl implements KeyManager {
   private DNSToSwitchMapping dnsToSwitchMapping;
   private CompactionService compactionService;
   private KeyLifecycleService keyLifecycleService;
+  // null if disabled, or if this is the key manager of a snapshot
+  private final ListStatusCursorCache listStatusCursors;
 
   public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
       OzoneConfiguration conf, OMPerformanceMetrics metrics) {
@@ -256,6 +258,18 @@ public KeyManagerImpl(OzoneManager om, ScmClient scmClient,
     this.secretManager = secretManager;
     this.kmsProvider = kmsProvider;
     this.metrics = metrics;
+
+    // snapshot DBs may be closed independently of their key manager, so
+    // only keep iterators open on the active DB
+    final OmConfig omConfig = conf.getObject(OmConfig.class);
+    if (omConfig.getListStatusCursorCacheSize() > 0
+        && (om == null || om.getMetadataManager() == metadataManager)) {
+      this.listStatusCursors = new ListStatusCursorCache(
+          omConfig.getListStatusCursorCacheSize(),
+          omConfig.getListStatusCursorIdleTimeout());
+    } else {
+      this.listStatusCursors = null;
+    }
   }
 
   @Override
@@ -538,6 +552,9 @@ public void stop() {
       keyLifecycleService.shutdown();
       keyLifecycleService = null;
     }
+    if (listStatusCursors != null) {
+      listStatusCursors.closeAll();
+    }
   }
 
   /**
@@ -856,9 +873,7 @@ public PendingKeysDeletion getPendingDeletionKeys(
       String volume, String bucket, String startKey,
       CheckedFunction<KeyValue<String, OmKeyInfo>, Boolean, IOException> filter,
       int count) throws IOException {
-    Map<String, PurgedKey> purgedKeys = Maps.newHashMap();
-    Map<String, RepeatedOmKeyInfo> keysToModify = new HashMap<>();
-    int notReclaimableKeyCount = 0;
+    PendingKeysDeletionBuilder pending = new PendingKeysDeletionBuilder(filter);
 
     // Bucket prefix would be empty if volume is empty i.e. either null or "".
     Table<String, RepeatedOmKeyInfo> deletedTable = metadataManager.getDeletedTable();
@@ -872,55 +887,114 @@ public PendingKeysDeletion getPendingDeletionKeys(
       if (startKey != null) {
         delKeyIter.seek(startKey);
       }
-      int currentCount = 0;
-      while (delKeyIter.hasNext() && currentCount < count) {
+      while (delKeyIter.hasNext() && pending.currentCount < count) {
         KeyValue<String, RepeatedOmKeyInfo> kv = delKeyIter.next();
         if (kv != null) {
-          RepeatedOmKeyInfo notReclaimableKeyInfo = new RepeatedOmKeyInfo(kv.getValue().getBucketId());
-          Map<String, PurgedKey> reclaimableKeys = Maps.newHashMap();
-          // Multiple keys with the same path can be queued in one DB entry
-          RepeatedOmKeyInfo infoList = kv.getValue();
-          long bucketId = infoList.getBucketId();
-          int reclaimableKeyCount = 0;
-          for (OmKeyInfo info : infoList.getOmKeyInfoList()) {
-
-            // Skip the key if the filter doesn't allow the file to be deleted.
-            if (filter == null || filter.apply(Table.newKeyValue(kv.getKey(), info))) {
-              List<DeletedBlock> deletedBlocks = info.getKeyLocationVersions().stream()
-                  .flatMap(versionLocations -> versionLocations.getLocationList().stream()
-                      .map(b -> new DeletedBlock(
-                          new BlockID(b.getContainerID(), b.getLocalID()),
-                          b.getLength(),
-                          QuotaUtil.getReplicatedSize(b.getLength(), info.getReplicationConfig()),
-                          QuotaUtil.getSizePerReplica(b.getLength(), info.getReplicationConfig())
-                      ))).collect(Collectors.toList());
-              String blockGroupName = kv.getKey() + "/" + reclaimableKeyCount++;
-
-              BlockGroup keyBlocks = BlockGroup.newBuilder().setKeyName(blockGroupName)
-                  .addAllDeletedBlocks(deletedBlocks)
-                  .build();
-              reclaimableKeys.put(blockGroupName,
-                  new PurgedKey(info.getVolumeName(), info.getBucketName(), bucketId,
-                  keyBlocks, kv.getKey(), OMKeyRequest.sumBlockLengths(info), info.isDeletedKeyCommitted()));
-              currentCount++;
-            } else {
-              notReclaimableKeyInfo.addOmKeyInfo(info);
-            }
-          }
+          pending.add(kv);
+        }
+      }
+    }
+    return pending.build();
+  }
 
-          List<OmKeyInfo> notReclaimableKeyInfoList = notReclaimableKeyInfo.getOmKeyInfoList();
+  @Override
+  public PendingKeysDeletion getPendingDeletionKeys(
+      String volume, String bucket,
+      CheckedFunction<KeyValue<String, OmKeyInfo>, Boolean, IOException> filter,
+      int count, KeyDeletionPolicy policy, int scanLimit) throws IOException {
+    if (policy == KeyDeletionPolicy.KEY_ORDER) {
+      return getPendingDeletionKeys(volume, bucket, null, filter, count);
+    }
+    KeyDeletionPolicy.Selector selector = policy.newSelector(count);
+    Table<String, RepeatedOmKeyInfo> deletedTable = metadataManager.getDeletedTable();
+    Optional<String> bucketPrefix = getBucketPrefix(volume, bucket, deletedTable);
+    try (TableIterator<String, Table.KeyValue<String, RepeatedOmKeyInfo>>
+             delKeyIter = deletedTable.iterator(bucketPrefix.orElse(""))) {
+      int scanned = 0;
+      while (delKeyIter.hasNext() && scanned < Math.max(scanLimit, count)) {
+        KeyValue<String, RepeatedOmKeyInfo> kv = delKeyIter.next();
+        if (kv != null) {
+          selector.offer(kv.getKey(), kv.getValue());
+          scanned++;
+        }
+      }
+    }
 
-          // If all the versions are not reclaimable, then modify key by just purging the key that can be purged.
-          if (!notReclaimableKeyInfoList.isEmpty() &&
-              notReclaimableKeyInfoList.size() != infoList.getOmKeyInfoList().size()) {
-            keysToModify.put(kv.getKey(), notReclaimableKeyInfo);
-          }
-          purgedKeys.putAll(reclaimableKeys);
-          notReclaimableKeyCount += notReclaimableKeyInfoList.size();
+    // Only the keys of the selected entries are kept while scanning, read their values again.
+    PendingKeysDeletionBuilder pending = new PendingKeysDeletionBuilder(filter);
+    for (String key : selector.getSelectedKeys()) {
+      if (pending.currentCount >= count) {
+        break;
+      }
+      RepeatedOmKeyInfo value = deletedTable.get(key);
+      if (value != null) {
+        pending.add(Table.newKeyValue(key, value));
+      }
+    }
+    return pending.build();
+  }
+
+  /**
+   * Collects the reclaimable keys of deleted table entries.
+   */
+  private static final class PendingKeysDeletionBuilder {
+    private final CheckedFunction<KeyValue<String, OmKeyInfo>, Boolean, IOException> filter;
+    private final Map<String, PurgedKey> purgedKeys = Maps.newHashMap();
+    private final Map<String, RepeatedOmKeyInfo> keysToModify = new HashMap<>();
+    private int notReclaimableKeyCount = 0;
+    private int currentCount = 0;
+
+    private PendingKeysDeletionBuilder(CheckedFunction<KeyValue<String, OmKeyInfo>, Boolean, IOException> filter) {
+      this.filter = filter;
+    }
+
+    private void add(KeyValue<String, RepeatedOmKeyInfo> kv) throws IOException {
+      RepeatedOmKeyInfo notReclaimableKeyInfo = new RepeatedOmKeyInfo(kv.getValue().getBucketId());
+      Map<String, PurgedKey> reclaimableKeys = Maps.newHashMap();
+      // Multiple keys with the same path can be queued in one DB entry
+      RepeatedOmKeyInfo infoList = kv.getValue();
+      long bucketId = infoList.getBucketId();
+      int reclaimableKeyCount = 0;
+      for (OmKeyInfo info : infoList.getOmKeyInfoList()) {
+
+        // Skip the key if the filter doesn't allow the file to be deleted.
+        if (filter == null || filter.apply(Table.newKeyValue(kv.getKey(), info))) {
+          List<DeletedBlock> deletedBlocks = info.getKeyLocationVersions().stream()
+              .flatMap(versionLocations -> versionLocations.getLocationList().stream()
+                  .map(b -> new DeletedBlock(
+                      new BlockID(b.getContainerID(), b.getLocalID()),
+                      b.getLength(),
+                      QuotaUtil.getReplicatedSize(b.getLength(), info.getReplicationConfig()),
+                      QuotaUtil.getSizePerReplica(b.getLength(), info.getReplicationConfig())
+                  ))).collect(Collectors.toList());
+          String blockGroupName = kv.getKey() + "/" + reclaimableKeyCount++;
+
+          BlockGroup keyBlocks = BlockGroup.newBuilder().setKeyName(blockGroupName)
+              .addAllDeletedBlocks(deletedBlocks)
+              .build();
+          reclaimableKeys.put(blockGroupName,
+              new PurgedKey(info.getVolumeName(), info.getBucketName(), bucketId,
+              keyBlocks, kv.getKey(), OMKeyRequest.sumBlockLengths(info), info.isDeletedKeyCommitted()));
+          currentCount++;
+        } else {
+          notReclaimableKeyInfo.addOmKeyInfo(info);
         }
       }
+
+      List<OmKeyInfo> notReclaimableKeyInfoList = notReclaimableKeyInfo.getOmKeyInfoList();
+
+      // If all the versions are not reclaimable, then modify key by just purging the key that can be purged.
+      if (!notReclaimableKeyInfoList.isEmpty() &&
+          notReclaimableKeyInfoList.size() != infoList.getOmKeyInfoList().size()) {
+        keysToModify.put(kv.getKey(), notReclaimableKeyInfo);
+      }
+      purgedKeys.putAll(reclaimableKeys);
+      notReclaimableKeyCount += notReclaimableKeyInfoList.size();
+    }
+
+    private PendingKeysDeletion build() {
+      return new PendingKeysDeletion(purgedKeys, keysToModify, notReclaimableKeyCount);
     }
-    return new PendingKeysDeletion(purgedKeys, keysToModify, notReclaimableKeyCount);
   }
 
   private <V, R> List<KeyValue<String, R>> getTableEntries(String startKey,
@@ -1584,6 +1658,67 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
     return getOzoneFileStatus(args, clientAddress);
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> argsList,
+      String clientAddress) throws IOException {
+    Objects.requireNonNull(argsList, "Key args can not be null");
+    if (argsList.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final String volumeName = argsList.get(0).getVolumeName();
+    final String bucketName = argsList.get(0).getBucketName();
+    final boolean fso = isBucketFSOptimized(volumeName, bucketName);
+
+    final List<OzoneFileStatus> statuses = new ArrayList<>(argsList.size());
+    metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
+        bucketName);
+    try {
+      final BucketLayout layout = fso ? null
+          : getBucketLayout(metadataManager, volumeName, bucketName);
+      for (OmKeyArgs args : argsList) {
+        final String keyName = args.getKeyName();
+        if (keyName.isEmpty()) {
+          OMFileRequest.validateBucket(metadataManager, volumeName, bucketName);
+          statuses.add(new OzoneFileStatus());
+        } else if (fso) {
+          statuses.add(OMFileRequest.getOMKeyInfoIfExists(metadataManager,
+              volumeName, bucketName, keyName, scmBlockSize,
+              ozoneManager.getDefaultReplicationConfig()));
+        } else {
+          statuses.add(getOzoneFileStatusIfExists(volumeName, bucketName,
+              keyName, layout));
+        }
+      }
+    } finally {
+      metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
+          bucketName);
+    }
+
+    // refresh the pipelines of all files with a single request to SCM
+    final List<OmKeyInfo> toRefresh = new ArrayList<>();
+    final List<OmKeyInfo> toSort = new ArrayList<>();
+    for (int i = 0; i < statuses.size(); i++) {
+      final OzoneFileStatus status = statuses.get(i);
+      if (status == null || !status.isFile()) {
+        continue;
+      }
+      final OmKeyArgs args = argsList.get(i);
+      final OmKeyInfo fileKeyInfo = status.getKeyInfo();
+      if (args.getLatestVersionLocation()) {
+        slimLocationVersion(fileKeyInfo);
+      }
+      if (!args.isHeadOp()) {
+        toRefresh.add(fileKeyInfo);
+        if (args.getSortDatanodes()) {
+          toSort.add(fileKeyInfo);
+        }
+      }
+    }
+    refreshPipeline(toRefresh);
+    sortDatanodes(clientAddress, toSort);
+    return statuses;
+  }
+
   private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
       String clientAddress) throws IOException {
 
@@ -1592,9 +1727,7 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
     final String bucketName = args.getBucketName();
     final String keyName = args.getKeyName();
 
-    OmKeyInfo fileKeyInfo = null;
-    OmKeyInfo dirKeyInfo = null;
-    OmKeyInfo fakeDirKeyInfo = null;
+    OzoneFileStatus fileStatus;
     metadataManager.getLock().acquireReadLock(BUCKET_LOCK, volumeName,
         bucketName);
     try {
@@ -1604,30 +1737,20 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
         return new OzoneFileStatus();
       }
 
-      // Check if the key is a file.
-      String fileKeyBytes = metadataManager.getOzoneKey(
-              volumeName, bucketName, keyName);
       BucketLayout layout =
           getBucketLayout(metadataManager, volumeName, bucketName);
-      fileKeyInfo = metadataManager.getKeyTable(layout).get(fileKeyBytes);
-      String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
-
-      // Check if the key is a directory.
-      if (fileKeyInfo == null) {
-        String dirKeyBytes = metadataManager.getOzoneKey(
-                volumeName, bucketName, dirKey);
-        dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
-        if (dirKeyInfo == null) {
-          fakeDirKeyInfo =
-              createFakeDirIfShould(volumeName, bucketName, keyName, layout);
-        }
-      }
+      fileStatus = getOzoneFileStatusIfExists(volumeName, bucketName, keyName,
+          layout);
     } finally {
       metadataManager.getLock().releaseReadLock(BUCKET_LOCK, volumeName,
               bucketName);
-      if (fileKeyInfo != null) {
+    }
+
+    if (fileStatus != null) {
+      if (fileStatus.isFile()) {
         // if the key is a file
         // then do refresh pipeline info in OM by asking SCM
+        OmKeyInfo fileKeyInfo = fileStatus.getKeyInfo();
         if (args.getLatestVersionLocation()) {
           slimLocationVersion(fileKeyInfo);
         }
@@ -1643,29 +1766,53 @@ private OzoneFileStatus getOzoneFileStatus(OmKeyArgs args,
           }
         }
       }
+      return fileStatus;
+    }
+
+    // Key is not found, throws exception
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Unable to get file status for the key: volume: {}, bucket:" +
+                      " {}, key: {}, with error: No such file exists.",
+              volumeName, bucketName, keyName);
     }
+    throw new OMException("Unable to get file status: volume: " +
+            volumeName + " bucket: " + bucketName + " key: " + keyName,
+            FILE_NOT_FOUND);
+  }
 
+  /**
+   * Look up a key of a bucket that is not FSO as a file, then as a
+   * directory. The caller must hold the bucket read lock.
+   *
+   * @return status of the key, or null if it does not exist
+   */
+  private OzoneFileStatus getOzoneFileStatusIfExists(String volumeName,
+      String bucketName, String keyName, BucketLayout layout)
+      throws IOException {
+    // Check if the key is a file.
+    String fileKeyBytes = metadataManager.getOzoneKey(
+            volumeName, bucketName, keyName);
+    OmKeyInfo fileKeyInfo =
+        metadataManager.getKeyTable(layout).get(fileKeyBytes);
     if (fileKeyInfo != null) {
       return new OzoneFileStatus(fileKeyInfo, scmBlockSize, false);
     }
 
+    // Check if the key is a directory.
+    String dirKey = OzoneFSUtils.addTrailingSlashIfNeeded(keyName);
+    String dirKeyBytes = metadataManager.getOzoneKey(
+            volumeName, bucketName, dirKey);
+    OmKeyInfo dirKeyInfo = metadataManager.getKeyTable(layout).get(dirKeyBytes);
     if (dirKeyInfo != null) {
       return new OzoneFileStatus(dirKeyInfo, scmBlockSize, true);
     }
 
+    OmKeyInfo fakeDirKeyInfo =
+        createFakeDirIfShould(volumeName, bucketName, keyName, layout);
     if (fakeDirKeyInfo != null) {
       return new OzoneFileStatus(fakeDirKeyInfo, scmBlockSize, true);
     }
-
-    // Key is not found, throws exception
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("Unable to get file status for the key: volume: {}, bucket:" +
-                      " {}, key: {}, with error: No such file exists.",
-              volumeName, bucketName, keyName);
-    }
-    throw new OMException("Unable to get file status: volume: " +
-            volumeName + " bucket: " + bucketName + " key: " + keyName,
-            FILE_NOT_FOUND);
+    return null;
   }
 
   /**
@@ -2003,7 +2150,7 @@ public List<OzoneFileStatus> listStatus(OmKeyArgs args, boolean recursive,
       OzoneListStatusHelper statusHelper =
           new OzoneListStatusHelper(metadataManager, scmBlockSize,
               this::getOzoneFileStatusFSO,
-              ozoneManager.getDefaultReplicationConfig());
+              ozoneManager.getDefaultReplicationConfig(), listStatusCursors);
       Collection<OzoneFileStatus> statuses =
           statusHelper.listStatusFSO(args, startKey, numEntries,
           clientAddress, allowPartialPrefixes);
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.utils.IOUtils;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+
+/**
+ * Keeps the iterators of FSO listStatus calls open between pages.
+ * <p>
+ * Clients list a large directory page by page, passing the last entry of a
+ * page as the start key of the next one. Without a cursor, every page
+ * creates a new {@link ListIterator.MinHeapIterator}, which seeks the
+ * directory and file tables again and copies the matching entries of their
+ * table caches. When a page is complete, its iterator is kept here, keyed by
+ * the directory and the DB key of the last entry, so that the next page
+ * continues the same iteration.
+ * <p>
+ * A resumed listing sees the directory as it was when the first page was
+ * read. Cursors are closed when idle for too long, or when too many of them
+ * are open. Idle cursors are closed periodically, so that their iterators do
+ * not keep obsolete SST files and memtables of the DB alive.
+ */
+class ListStatusCursorCache {
+
+  /**
+   * Iterator of a listing, positioned after the last entry returned.
+   */
+  static final class Cursor {
+    private final ListIterator.MinHeapIterator iterator;
+    private final OzoneFileStatus lastStatus;
+
+    Cursor(ListIterator.MinHeapIterator iterator,
+        OzoneFileStatus lastStatus) {
+      this.iterator = iterator;
+      this.lastStatus = lastStatus;
+    }
+
+    ListIterator.MinHeapIterator getIterator() {
+      return iterator;
+    }
+
+    /**
+     * @return status of the last entry returned, which is the first entry of
+     * the next page, as the start key is inclusive
+     */
+    OzoneFileStatus getLastStatus() {
+      return lastStatus;
+    }
+  }
+
+  private final Cache<CursorKey, Cursor> cursors;
+  private final ScheduledExecutorService cleaner;
+  private volatile boolean closed;
+
+  ListStatusCursorCache(int maxCursors, long idleTimeoutMillis) {
+    this.cursors = CacheBuilder.newBuilder()
+        .maximumSize(maxCursors)
+        .expireAfterAccess(idleTimeoutMillis, TimeUnit.MILLISECONDS)
+        .<CursorKey, Cursor>removalListener(notification -> {
+          // cursors taken for use are removed explicitly, and closed by the
+          // caller
+          if (closed || notification.getCause() != RemovalCause.EXPLICIT) {
+            IOUtils.closeQuietly(notification.getValue().getIterator());
+          }
+        })
+        .build();
+    // the cache only evicts expired entries when it is accessed
+    this.cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "ListStatusCursorCleaner");
+      t.setDaemon(true);
+      return t;
+    });
+    final long cleanupInterval = Math.max(idleTimeoutMillis, 1);
+    cleaner.scheduleWithFixedDelay(cursors::cleanUp, cleanupInterval,
+        cleanupInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Remove the cursor continuing from the given start key, if any.
+   * The caller is responsible for closing or returning it.
+   * @param prefixPath path of the directory being listed
+   * @param dbPrefixKey DB key prefix of the children of the directory
+   * @param startKey DB key of the first entry of the page
+   */
+  Cursor take(String prefixPath, String dbPrefixKey, String startKey) {
+    cursors.cleanUp();
+    return cursors.asMap().remove(
+        new CursorKey(prefixPath, dbPrefixKey, startKey));
+  }
+
+  /**
+   * Keep the cursor for the page starting at its last entry.
+   * @param lastKey DB key of the last entry returned
+   */
+  void put(String prefixPath, String dbPrefixKey, String lastKey,
+      Cursor cursor) {
+    cursors.put(new CursorKey(prefixPath, dbPrefixKey, lastKey), cursor);
+  }
+
+  long size() {
+    return cursors.size();
+  }
+
+  /**
+   * Close all cursors, e.g. before the DB is closed.
+   */
+  void closeAll() {
+    closed = true;
+    cleaner.shutdownNow();
+    cursors.invalidateAll();
+  }
+
+  private static final class CursorKey {
+    private final String prefixPath;
+    private final String dbPrefixKey;
+    private final String startKey;
+
+    private CursorKey(String prefixPath, String dbPrefixKey,
+        String startKey) {
+      this.prefixPath = prefixPath;
+      this.dbPrefixKey = dbPrefixKey;
+      this.startKey = startKey;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof CursorKey)) {
+        return false;
+      }
+      CursorKey that = (CursorKey) o;
+      return Objects.equals(prefixPath, that.prefixPath)
+          && dbPrefixKey.equals(that.dbPrefixKey)
+          && startKey.equals(that.startKey);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(prefixPath, dbPrefixKey, startKey);
+    }
+  }
+}
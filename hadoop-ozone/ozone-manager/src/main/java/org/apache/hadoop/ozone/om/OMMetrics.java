@@ -29,6 +29,7 @@
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
 import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeInt;
+import org.apache.hadoop.metrics2.lib.MutableRate;
 import org.apache.hadoop.ozone.om.snapshot.OMSnapshotDirectoryMetrics;
 import org.apache.hadoop.util.Time;
 
@@ -88,6 +89,10 @@ public class OMMetrics implements OmMetadataReaderMetrics {
   private @Metric MutableCounterLong numListSnapshotDiffJobs;
 
   private @Metric MutableGaugeInt numSnapshotCacheSize;
+  @Metric(about = "Loading a snapshot into the snapshot cache in nanoseconds")
+  private MutableRate snapshotLoadLatencyNs;
+  @Metric(about = "Closing a snapshot evicted from the snapshot cache in nanoseconds")
+  private MutableRate snapshotCloseLatencyNs;
   private @Metric MutableCounterLong numGetFileStatus;
   private @Metric MutableCounterLong numCreateDirectory;
   private @Metric MutableCounterLong numCreateFile;
@@ -629,6 +634,19 @@ public void decNumSnapshotCacheSize() {
     numSnapshotCacheSize.decr();
   }
 
+  public void addSnapshotLoadLatency(long latencyNs) {
+    snapshotLoadLatencyNs.add(latencyNs);
+  }
+
+  public void addSnapshotCloseLatency(long latencyNs) {
+    snapshotCloseLatencyNs.add(latencyNs);
+  }
+
+  @VisibleForTesting
+  public MutableRate getSnapshotLoadLatencyNs() {
+    return snapshotLoadLatencyNs;
+  }
+
   public void incNumCompleteMultipartUploadFails() {
     numCompleteMultipartUploadFails.incr();
   }
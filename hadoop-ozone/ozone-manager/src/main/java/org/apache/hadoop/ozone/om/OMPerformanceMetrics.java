@@ -20,6 +20,7 @@
 import org.apache.hadoop.metrics2.MetricsSystem;
 import org.apache.hadoop.metrics2.annotation.Metric;
 import org.apache.hadoop.metrics2.lib.DefaultMetricsSystem;
+import org.apache.hadoop.metrics2.lib.MutableCounterLong;
 import org.apache.hadoop.metrics2.lib.MutableGaugeFloat;
 import org.apache.hadoop.metrics2.lib.MutableGaugeLong;
 import org.apache.hadoop.metrics2.lib.MutableRate;
@@ -79,6 +80,12 @@ public class OMPerformanceMetrics {
   @Metric(about = "Client requests forcing container info cache refresh")
   private MutableRate forceContainerCacheRefresh;
 
+  @Metric(about = "Load signal of admission control, 1 meaning saturated")
+  private MutableGaugeFloat admissionControlLoad;
+
+  @Metric(about = "Write requests rejected by admission control")
+  private MutableCounterLong admissionControlRejections;
+
   @Metric(about = "checkAccess latency in nanoseconds")
   private MutableRate checkAccessLatencyNs;
 
@@ -253,6 +260,18 @@ MutableRate getAllocateBlockSortDatanodesLatencyNs() {
     return allocateBlockSortDatanodesLatencyNs;
   }
 
+  public void setAdmissionControlLoad(float load) {
+    admissionControlLoad.set(load);
+  }
+
+  public void incAdmissionControlRejections() {
+    admissionControlRejections.incr();
+  }
+
+  public long getAdmissionControlRejections() {
+    return admissionControlRejections.value();
+  }
+
   public void setForceContainerCacheRefresh(boolean value) {
     forceContainerCacheRefresh.add(value ? 1L : 0L);
   }
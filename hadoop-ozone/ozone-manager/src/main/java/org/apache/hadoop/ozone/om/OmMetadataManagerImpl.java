@@ -22,8 +22,13 @@
 import static org.apache.hadoop.ozone.OzoneConsts.OM_DB_NAME;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_CHECKPOINT_DIR;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_BLOB_FILES_MIN_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_BLOB_FILES_MIN_SIZE_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_BLOB_FILES_TABLES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_MAX_OPEN_FILES_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DIRECTORY_TREE_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DIRECTORY_TREE_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_ROCKSDB_METRICS_ENABLED;
@@ -76,6 +81,7 @@
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.hdds.client.BlockID;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.utils.TableCacheMetrics;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.BatchOperation;
@@ -142,6 +148,8 @@
 import org.apache.hadoop.util.Time;
 import org.apache.ozone.compaction.log.CompactionLogEntry;
 import org.apache.ratis.util.ExitUtils;
+import org.rocksdb.Cache;
+import org.rocksdb.RateLimiter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -206,6 +214,7 @@ public class OmMetadataManagerImpl implements OMMetadataManager,
       new HashMap<>();
   private SnapshotChainManager snapshotChainManager;
   private final OMPerformanceMetrics perfMetrics;
+  private final DirectoryTreeCache directoryTreeCache;
   private final S3Batcher s3Batcher = new S3SecretBatcher();
 
   /**
@@ -226,6 +235,9 @@ public OmMetadataManagerImpl(OzoneConfiguration conf,
     this.lock = new OzoneManagerLock(conf);
     this.hierarchicalLockManager = new PoolBasedHierarchicalResourceLockManager(conf);
     this.omEpoch = OmUtils.getOMEpoch();
+    this.directoryTreeCache = new DirectoryTreeCache(conf.getLong(
+        OZONE_OM_DIRECTORY_TREE_CACHE_SIZE,
+        OZONE_OM_DIRECTORY_TREE_CACHE_SIZE_DEFAULT));
     start(conf);
   }
 
@@ -238,6 +250,7 @@ protected OmMetadataManagerImpl() {
     this.hierarchicalLockManager = new PoolBasedHierarchicalResourceLockManager(conf);
     this.omEpoch = 0;
     perfMetrics = null;
+    directoryTreeCache = DirectoryTreeCache.DISABLED;
   }
 
   public static OmMetadataManagerImpl createCheckpointMetadataManager(
@@ -253,6 +266,16 @@ public static OmMetadataManagerImpl createCheckpointMetadataManager(
   public static OmMetadataManagerImpl createCheckpointMetadataManager(
       OzoneConfiguration conf, DBCheckpoint checkpoint, boolean readOnly,
       boolean enableRocksDbMetrics) throws IOException {
+    return createCheckpointMetadataManager(conf, checkpoint, readOnly, enableRocksDbMetrics, null);
+  }
+
+  /**
+   * @param rateLimiter limits the flush and compaction writes of the
+   *     checkpoint DB, or null for no limit.
+   */
+  public static OmMetadataManagerImpl createCheckpointMetadataManager(
+      OzoneConfiguration conf, DBCheckpoint checkpoint, boolean readOnly,
+      boolean enableRocksDbMetrics, RateLimiter rateLimiter) throws IOException {
     Path path = checkpoint.getCheckpointLocation();
     Path parent = path.getParent();
     if (parent == null) {
@@ -266,7 +289,7 @@ public static OmMetadataManagerImpl createCheckpointMetadataManager(
           + "have been null. Checkpoint path is " + path);
     }
     return new OmMetadataManagerImpl(
-        conf, dir, name.toString(), readOnly, enableRocksDbMetrics);
+        conf, dir, name.toString(), readOnly, enableRocksDbMetrics, rateLimiter);
   }
 
   protected OmMetadataManagerImpl(OzoneConfiguration conf, File dir, String name) throws IOException {
@@ -301,9 +324,16 @@ public OmMetadataManagerImpl(OzoneConfiguration conf, File dir, String name, boo
   protected OmMetadataManagerImpl(OzoneConfiguration conf, File dir,
       String name, boolean readOnly, boolean enableRocksDbMetrics)
       throws IOException {
+    this(conf, dir, name, readOnly, enableRocksDbMetrics, null);
+  }
+
+  private OmMetadataManagerImpl(OzoneConfiguration conf, File dir,
+      String name, boolean readOnly, boolean enableRocksDbMetrics,
+      RateLimiter rateLimiter) throws IOException {
     lock = new OmReadOnlyLock();
     hierarchicalLockManager = new ReadOnlyHierarchicalResourceLockManager();
     omEpoch = 0;
+    directoryTreeCache = DirectoryTreeCache.DISABLED;
     int maxOpenFiles = conf.getInt(OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES, OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT);
 
     this.store = newDBStoreBuilder(conf, name, dir)
@@ -313,6 +343,7 @@ protected OmMetadataManagerImpl(OzoneConfiguration conf, File dir,
         .setEnableCompactionDag(false, null)
         .setCreateCheckpointDirs(false)
         .setEnableRocksDbMetrics(enableRocksDbMetrics)
+        .setRateLimiter(rateLimiter)
         .build();
     initializeOmTables(CacheType.PARTIAL_CACHE, false);
     perfMetrics = null;
@@ -320,10 +351,22 @@ protected OmMetadataManagerImpl(OzoneConfiguration conf, File dir,
 
   // metadata constructor for snapshots
   OmMetadataManagerImpl(OzoneConfiguration conf, String snapshotDirName, int maxOpenFiles) throws IOException {
+    this(conf, snapshotDirName, maxOpenFiles, null);
+  }
+
+  /**
+   * Metadata constructor for snapshots.
+   *
+   * @param blockCache block cache shared with the other snapshot DBs, or
+   *     null to open the DB with a block cache of its own.
+   */
+  OmMetadataManagerImpl(OzoneConfiguration conf, String snapshotDirName, int maxOpenFiles,
+      Cache blockCache) throws IOException {
     try {
       lock = new OmReadOnlyLock();
       hierarchicalLockManager = new ReadOnlyHierarchicalResourceLockManager();
       omEpoch = 0;
+      directoryTreeCache = DirectoryTreeCache.DISABLED;
       String snapshotDir = OMStorage.getOmDbDir(conf) +
           OM_KEY_PREFIX + OM_SNAPSHOT_CHECKPOINT_DIR;
       File metaDir = new File(snapshotDir);
@@ -339,6 +382,7 @@ protected OmMetadataManagerImpl(OzoneConfiguration conf, File dir,
           .setEnableCompactionDag(false, null)
           .setCreateCheckpointDirs(false)
           .setEnableRocksDbMetrics(enableRocksDBMetrics)
+          .setSharedBlockCache(blockCache)
           .build();
 
       initializeOmTables(CacheType.PARTIAL_CACHE, false);
@@ -432,6 +476,8 @@ public void start(OzoneConfiguration configuration) throws IOException {
     // We need to create the DB here, as when during restart, stop closes the
     // db, so we need to create the store object and initialize DB.
     if (store == null) {
+      // the DB may have been replaced, e.g. by a checkpoint of the leader
+      directoryTreeCache.clear();
       File metaDir = OMStorage.getOmDbDir(configuration);
 
       // Check if there is a DB Inconsistent Marker in the metaDir. This
@@ -481,7 +527,13 @@ public static DBStore loadDB(OzoneConfiguration configuration, File metaDir, int
   }
 
   private static DBStoreBuilder newDBStoreBuilder(OzoneConfiguration conf, String name, File dir) {
-    return DBStoreBuilder.newBuilder(conf, OMDBDefinition.get(), name, dir.toPath());
+    final DBStoreBuilder builder = DBStoreBuilder.newBuilder(conf, OMDBDefinition.get(), name, dir.toPath());
+    final Collection<String> blobFileTables = conf.getTrimmedStringCollection(OZONE_OM_DB_BLOB_FILES_TABLES);
+    if (!blobFileTables.isEmpty()) {
+      builder.setBlobFiles(blobFileTables, (long) conf.getStorageSize(OZONE_OM_DB_BLOB_FILES_MIN_SIZE,
+          OZONE_OM_DB_BLOB_FILES_MIN_SIZE_DEFAULT, StorageUnit.BYTES));
+    }
+    return builder;
   }
 
   /**
@@ -739,6 +791,10 @@ public long getOmEpoch() {
     return omEpoch;
   }
 
+  public DirectoryTreeCache getDirectoryTreeCache() {
+    return directoryTreeCache;
+  }
+
   /**
    * Given a volume, check if it is empty, i.e there are no buckets inside it.
    * We iterate in the bucket table and see if there is any key that starts with
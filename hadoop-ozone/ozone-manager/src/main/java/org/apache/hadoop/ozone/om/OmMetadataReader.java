@@ -22,6 +22,7 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_MAX;
+import static org.apache.hadoop.ozone.OzoneConsts.OM_KEY_PREFIX;
 import static org.apache.hadoop.ozone.om.OzoneManager.getS3Auth;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import static org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes.INVALID_REQUEST;
@@ -29,6 +30,8 @@
 
 import java.io.IOException;
 import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
@@ -324,6 +327,54 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> argsList)
+      throws IOException {
+    if (argsList.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final OmKeyArgs first = argsList.get(0);
+    ResolvedBucket bucket = ozoneManager.resolveBucketLink(first);
+
+    boolean auditSuccess = true;
+    Map<String, String> auditMap = bucket.audit();
+    auditMap.put(OzoneConsts.KEY, argsList.stream()
+        .map(OmKeyArgs::getKeyName)
+        .collect(Collectors.joining(",")));
+
+    List<OmKeyArgs> resolvedArgs = new ArrayList<>(argsList.size());
+    try {
+      for (OmKeyArgs args : argsList) {
+        if (!first.getVolumeName().equals(args.getVolumeName())
+            || !first.getBucketName().equals(args.getBucketName())) {
+          throw new OMException("All keys must be in the same bucket, found "
+              + args.getVolumeName() + OM_KEY_PREFIX + args.getBucketName()
+              + " and " + first.getVolumeName() + OM_KEY_PREFIX
+              + first.getBucketName(), INVALID_REQUEST);
+        }
+        args = bucket.update(args);
+        if (isAclEnabled) {
+          checkAcls(getResourceType(args), StoreType.OZONE, ACLType.READ,
+              bucket, args.getKeyName());
+        }
+        metrics.incNumGetFileStatus();
+        resolvedArgs.add(args);
+      }
+      return keyManager.getFileStatuses(resolvedArgs, getClientAddress());
+    } catch (Exception ex) {
+      metrics.incNumGetFileStatusFails();
+      auditSuccess = false;
+      audit.logReadFailure(buildAuditMessageForFailure(
+          OMAction.GET_FILE_STATUSES, auditMap, ex));
+      throw ex;
+    } finally {
+      if (auditSuccess) {
+        audit.logReadSuccess(
+            buildAuditMessageForSuccess(OMAction.GET_FILE_STATUSES, auditMap));
+      }
+    }
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     ResolvedBucket bucket = ozoneManager.resolveBucketLink(args);
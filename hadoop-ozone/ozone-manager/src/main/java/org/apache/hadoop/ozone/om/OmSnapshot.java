@@ -149,6 +149,17 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
         omMetadataReader.getFileStatus(normalizeOmKeyArgs(args)));
   }
 
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args)
+      throws IOException {
+    return omMetadataReader.getFileStatuses(args.stream()
+            .map(this::normalizeOmKeyArgs)
+            .collect(Collectors.toList()))
+        .stream()
+        .map(this::denormalizeOzoneFileStatus)
+        .collect(Collectors.toList());
+  }
+
   @Override
   public OmKeyInfo lookupFile(OmKeyArgs args) throws IOException {
     return denormalizeOmKeyInfo(omMetadataReader
@@ -72,6 +72,10 @@ public class OmSnapshotInternalMetrics {
   private MutableCounterLong numSnapshotIncDefragFails;
   @Metric("Total no. of delta files processed during incremental defragmentation")
   private MutableCounterLong numSnapshotIncDefragDeltaFilesProcessed;
+  @Metric("Total bytes of SST files written and ingested by defragmentation")
+  private MutableCounterLong snapshotDefragBytesWritten;
+  @Metric("Total reduction of the snapshot DB size by defragmentation in bytes")
+  private MutableCounterLong snapshotDefragBytesReclaimed;
 
   public OmSnapshotInternalMetrics() {
     this.registry = new MetricsRegistry(METRICS_SOURCE_NAME);
@@ -174,6 +178,14 @@ public void incNumSnapshotIncDefragDeltaFilesProcessed(long count) {
     numSnapshotIncDefragDeltaFilesProcessed.incr(count);
   }
 
+  public void incSnapshotDefragBytesWritten(long bytes) {
+    snapshotDefragBytesWritten.incr(bytes);
+  }
+
+  public void incSnapshotDefragBytesReclaimed(long bytes) {
+    snapshotDefragBytesReclaimed.incr(bytes);
+  }
+
   public long getNumSnapshotDefrag() {
     return numSnapshotDefrag.value();
   }
@@ -209,4 +221,12 @@ public long getNumSnapshotIncDefragFails() {
   public long getNumSnapshotIncDefragDeltaFilesProcessed() {
     return numSnapshotIncDefragDeltaFilesProcessed.value();
   }
+
+  public long getSnapshotDefragBytesWritten() {
+    return snapshotDefragBytesWritten.value();
+  }
+
+  public long getSnapshotDefragBytesReclaimed() {
+    return snapshotDefragBytesReclaimed.value();
+  }
 }
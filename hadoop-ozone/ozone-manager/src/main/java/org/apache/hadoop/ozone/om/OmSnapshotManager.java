@@ -36,6 +36,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_CACHE_MAX_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_COMPACT_NON_SNAPSHOT_DIFF_TABLES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_COMPACT_NON_SNAPSHOT_DIFF_TABLES_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_CLEANUP_SERVICE_RUN_INTERVAL;
@@ -81,6 +83,7 @@
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.ratis.RatisHelper;
 import org.apache.hadoop.hdds.server.ServerUtils;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
@@ -94,6 +97,7 @@
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedColumnFamilyOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedDBOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedLRUCache;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksDB;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
@@ -115,6 +119,7 @@
 import org.apache.ozone.rocksdiff.RocksDBCheckpointDiffer;
 import org.apache.ratis.util.function.CheckedFunction;
 import org.apache.ratis.util.function.UncheckedAutoCloseableSupplier;
+import org.rocksdb.Cache;
 import org.rocksdb.ColumnFamilyDescriptor;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
@@ -146,6 +151,8 @@ public final class OmSnapshotManager implements AutoCloseable {
 
   private final long diffCleanupServiceInterval;
   private final int maxOpenSstFilesInSnapshotDb;
+  // Block cache shared by the snapshot DBs, null if each has its own.
+  private final ManagedLRUCache snapshotDbBlockCache;
   private final ManagedColumnFamilyOptions columnFamilyOptions;
   private final ManagedDBOptions options;
   private final List<ColumnFamilyDescriptor> columnFamilyDescriptors;
@@ -192,9 +199,12 @@ public OmSnapshotManager(OzoneManager ozoneManager) throws IOException {
         OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES,
         OZONE_OM_SNAPSHOT_DB_MAX_OPEN_FILES_DEFAULT
     );
+    final long snapshotDbBlockCacheSize = (long) ozoneManager.getConfiguration().getStorageSize(
+        OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE, OZONE_OM_SNAPSHOT_DB_BLOCK_CACHE_SIZE_DEFAULT, StorageUnit.BYTES);
+    this.snapshotDbBlockCache = snapshotDbBlockCacheSize > 0 ? new ManagedLRUCache(snapshotDbBlockCacheSize) : null;
     CheckedFunction<SnapshotInfo, OmMetadataManagerImpl, IOException> defaultSnapDBProvider = snapshotInfo ->
         getSnapshotOmMetadataManager(snapshotInfo, 0, maxOpenSstFilesInSnapshotDb,
-            ozoneManager.getConfiguration());
+            snapshotDbBlockCache, ozoneManager.getConfiguration());
     this.snapshotLocalDataManager = new OmSnapshotLocalDataManager(ozoneManager.getMetadataManager(),
         omMetadataManager.getSnapshotChainManager(), ozoneManager.getVersionManager(), defaultSnapDBProvider,
         ozoneManager.getConfiguration());
@@ -327,9 +337,9 @@ public boolean canDisableFsSnapshot(OMMetadataManager ommm) {
   }
 
   private static OmMetadataManagerImpl getSnapshotOmMetadataManager(SnapshotInfo snapshotInfo, int version,
-      int maxOpenSstFilesInSnapshotDb, OzoneConfiguration conf) throws IOException {
+      int maxOpenSstFilesInSnapshotDb, Cache blockCache, OzoneConfiguration conf) throws IOException {
     return new OmMetadataManagerImpl(conf, snapshotInfo.getCheckpointDirName(version),
-        maxOpenSstFilesInSnapshotDb);
+        maxOpenSstFilesInSnapshotDb, blockCache);
   }
 
   private CacheLoader<UUID, OmSnapshot> createCacheLoader() {
@@ -389,7 +399,7 @@ public OmSnapshot load(@Nonnull UUID snapshotId) throws IOException {
               throw new OMException("Snapshot local metadata is missing for snapshotId: " + snapshotId, FILE_NOT_FOUND);
             }
             snapshotMetadataManager = getSnapshotOmMetadataManager(snapshotInfo,
-                snapshotMeta.getVersion(), maxOpenSstFilesInSnapshotDb, conf);
+                snapshotMeta.getVersion(), maxOpenSstFilesInSnapshotDb, snapshotDbBlockCache, conf);
           }
         } catch (IOException e) {
           LOG.error("Failed to retrieve snapshot: {}", snapshotTableKey, e);
@@ -1172,6 +1182,9 @@ public void close() {
     if (snapshotLocalDataManager != null) {
       snapshotLocalDataManager.close();
     }
+    if (snapshotDbBlockCache != null) {
+      snapshotDbBlockCache.close();
+    }
   }
 
   public long getDiffCleanupServiceInterval() {
@@ -59,17 +59,21 @@ public class OzoneListStatusHelper {
   private final long scmBlockSize;
   private final GetFileStatusHelper getStatusHelper;
   private final ReplicationConfig omDefaultReplication;
+  // null if listing cursors are disabled
+  private final ListStatusCursorCache cursors;
 
   OzoneListStatusHelper(
       OMMetadataManager metadataManager,
       long scmBlockSize,
       GetFileStatusHelper func,
-      ReplicationConfig omDefaultReplication
+      ReplicationConfig omDefaultReplication,
+      ListStatusCursorCache cursors
   ) {
     this.metadataManager = metadataManager;
     this.scmBlockSize = scmBlockSize;
     this.getStatusHelper = func;
     this.omDefaultReplication = omDefaultReplication;
+    this.cursors = cursors;
   }
 
   /**
@@ -219,6 +223,7 @@ private String getStartKeyPrefixIfPresent(OmKeyArgs args, String startKey,
    *  fetch the sorted output using a min heap iterator where
    *  every remove from the heap will give the smallest entry and return
    *  a treemap.
+   *  The iterator is resumed from, and kept in, the cursor cache if enabled.
    */
   private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
       String prefixKey, String dbPrefixKey, String startKeyPrefix,
@@ -232,27 +237,51 @@ private TreeMap<String, OzoneFileStatus> getSortedEntries(long numEntries,
             .orElse(omDefaultReplication);
 
     TreeMap<String, OzoneFileStatus> map = new TreeMap<>();
-    try (
-        ListIterator.MinHeapIterator heapIterator = new ListIterator.MinHeapIterator(
-            metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
-            volumeName, bucketName)) {
+    String lastKey = null;
+    OzoneFileStatus lastStatus = null;
+    ListStatusCursorCache.Cursor cursor = null;
+    if (cursors != null && !startKeyPrefix.isEmpty()) {
+      cursor = cursors.take(prefixKey, dbPrefixKey, startKeyPrefix);
+    }
+    final ListIterator.MinHeapIterator heapIterator;
+    if (cursor != null) {
+      heapIterator = cursor.getIterator();
+      lastKey = startKeyPrefix;
+      lastStatus = cursor.getLastStatus();
+      map.put(lastKey, lastStatus);
+    } else {
+      heapIterator = new ListIterator.MinHeapIterator(
+          metadataManager, dbPrefixKey, bucketLayout, startKeyPrefix,
+          volumeName, bucketName);
+    }
 
-      try {
-        while (map.size() < numEntries && heapIterator.hasNext()) {
-          ListIterator.HeapEntry entry = heapIterator.next();
-          OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
-                  replication, entry);
-          // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
-          // the value with `status` when the existing value in the map is null.
-          if (!map.containsKey(entry.getKey())) {
-            map.put(entry.getKey(), status);
-          }
+    boolean keepCursor = false;
+    try {
+      while (map.size() < numEntries && heapIterator.hasNext()) {
+        ListIterator.HeapEntry entry = heapIterator.next();
+        OzoneFileStatus status = getStatus(prefixKey, scmBlockSize, volumeName, bucketName,
+                replication, entry);
+        // Caution: DO NOT use putIfAbsent. putIfAbsent undesirably overwrites
+        // the value with `status` when the existing value in the map is null.
+        if (!map.containsKey(entry.getKey())) {
+          map.put(entry.getKey(), status);
+          lastKey = entry.getKey();
+          lastStatus = status;
         }
-        return map;
-      } catch (NoSuchElementException e) {
-        throw new IOException(e);
-      } catch (UncheckedIOException e) {
-        throw e.getCause();
+      }
+      if (cursors != null && lastStatus != null && heapIterator.hasNext()) {
+        cursors.put(prefixKey, dbPrefixKey, lastKey,
+            new ListStatusCursorCache.Cursor(heapIterator, lastStatus));
+        keepCursor = true;
+      }
+      return map;
+    } catch (NoSuchElementException e) {
+      throw new IOException(e);
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    } finally {
+      if (!keepCursor) {
+        heapIterator.close();
       }
     }
   }
@@ -37,6 +37,8 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_BLACKLIST_USERS;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FLEXIBLE_FQDN_RESOLUTION_ENABLED;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FLEXIBLE_FQDN_RESOLUTION_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_MAX;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_KEY_PREALLOCATION_BLOCKS_MAX;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_KEY_PREALLOCATION_BLOCKS_MAX_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_READONLY_ADMINISTRATORS;
@@ -4155,6 +4157,58 @@ public OzoneFileStatus getFileStatus(OmKeyArgs args) throws IOException {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args)
+      throws IOException {
+    final int maxBatchSize = configuration.getInt(
+        OZONE_FS_LISTING_PAGE_SIZE_MAX, OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    if (args.size() > maxBatchSize) {
+      throw new OMException("Cannot get the status of " + args.size()
+          + " keys with one request, the limit is " + maxBatchSize
+          + " (" + OZONE_FS_LISTING_PAGE_SIZE_MAX + ")", INVALID_REQUEST);
+    }
+
+    // keys of the bucket and of each of its snapshots are looked up by
+    // different readers, so group them by snapshot name
+    final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < args.size(); i++) {
+      groups.computeIfAbsent(getSnapshotName(args.get(i).getKeyName()),
+          k -> new ArrayList<>()).add(i);
+    }
+
+    final List<OzoneFileStatus> statuses =
+        new ArrayList<>(Collections.nCopies(args.size(), null));
+    for (List<Integer> indexes : groups.values()) {
+      final List<OmKeyArgs> group = indexes.stream()
+          .map(args::get)
+          .collect(Collectors.toList());
+      final List<OzoneFileStatus> result;
+      try (UncheckedAutoCloseableSupplier<IOmMetadataReader> rcReader =
+          getReader(group.get(0))) {
+        result = rcReader.get().getFileStatuses(group);
+      }
+      for (int i = 0; i < indexes.size(); i++) {
+        statuses.set(indexes.get(i), result.get(i));
+      }
+    }
+    return statuses;
+  }
+
+  /**
+   * @return name of the snapshot the key refers to, or empty string for a
+   * key of the active bucket
+   */
+  private static String getSnapshotName(String keyName) {
+    if (keyName == null) {
+      return "";
+    }
+    final String[] keyParts = keyName.split(OM_KEY_PREFIX);
+    return OmSnapshotManager.isSnapshotKey(keyParts) ? keyParts[1] : "";
+  }
+
   /**
    * {@inheritDoc}
    */
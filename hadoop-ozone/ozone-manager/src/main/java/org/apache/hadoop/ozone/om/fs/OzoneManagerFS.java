@@ -50,6 +50,21 @@ public interface OzoneManagerFS extends IOzoneAcl {
   OzoneFileStatus getFileStatus(OmKeyArgs args, String clientAddress)
           throws IOException;
 
+  /**
+   * Get file status for several files or directories of the same bucket,
+   * looked up while holding the bucket lock once.
+   *
+   * @param args          the args of the keys provided by client, all in the
+   *                      same bucket.
+   * @param clientAddress a hint to key manager, order the datanode in returned
+   *                      pipeline by distance between client and datanode.
+   * @return file status of each key in the order of the args, null for keys
+   *         that do not exist.
+   * @throws IOException if bucket or volume does not exist
+   */
+  List<OzoneFileStatus> getFileStatuses(List<OmKeyArgs> args,
+      String clientAddress) throws IOException;
+
   /**
    * Look up a file. Return the info of the file to client side.
    *
@@ -0,0 +1,174 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_KEY;
+
+import com.google.common.base.Preconditions;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleSupplier;
+import java.util.function.LongSupplier;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.ipc_.RetriableException;
+import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
+import org.apache.hadoop.util.Time;
+
+/**
+ * Rejects write requests early when OM is overloaded, so that clients back
+ * off and retry instead of holding RPC handlers that would wait for the
+ * backlog to drain.
+ * <p>
+ * The load is the highest of:
+ * <ul>
+ *   <li>the use of the unflushed transaction limit of the double buffer,</li>
+ *   <li>the number of write requests in progress, relative to the number of
+ *       RPC handlers, which bounds it,</li>
+ *   <li>the average lock wait time of requests, relative to a target. The
+ *       average decays while no request completes, so that it does not stay
+ *       high when all write requests are rejected.</li>
+ * </ul>
+ * Above the threshold, write requests of callers that the RPC scheduler
+ * deprioritized are rejected. Callers at the highest priority level, which
+ * are all the callers unless FairCallQueue is in use, see a share of their
+ * write requests rejected, growing from none at the threshold to all at full
+ * load.
+ */
+public class OMAdmissionController {
+
+  /** Weight of a new sample in the average lock wait time, as a shift. */
+  private static final int LOCK_WAIT_SMOOTHING_SHIFT = 4;
+  /** Time for the average lock wait time to halve without new samples. */
+  private static final long LOCK_WAIT_HALF_LIFE_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+  private final DoubleSupplier doubleBufferLoad;
+  private final int handlerCount;
+  private final long lockWaitTargetNanos;
+  private final double loadThreshold;
+  private final OMPerformanceMetrics metrics;
+  private final DoubleSupplier random;
+  private final LongSupplier clock;
+
+  private final AtomicInteger writesInProgress = new AtomicInteger();
+  private final AtomicLong avgLockWaitNanos = new AtomicLong();
+  private volatile long lastLockWaitNanos;
+
+  public OMAdmissionController(ConfigurationSource conf,
+      DoubleSupplier doubleBufferLoad, OMPerformanceMetrics metrics) {
+    this(conf, doubleBufferLoad, metrics,
+        () -> ThreadLocalRandom.current().nextDouble(), Time::monotonicNowNanos);
+  }
+
+  OMAdmissionController(ConfigurationSource conf,
+      DoubleSupplier doubleBufferLoad, OMPerformanceMetrics metrics,
+      DoubleSupplier random, LongSupplier clock) {
+    this.doubleBufferLoad = doubleBufferLoad;
+    this.metrics = metrics;
+    this.random = random;
+    this.clock = clock;
+    this.handlerCount = conf.getInt(OZONE_OM_HANDLER_COUNT_KEY,
+        OZONE_OM_HANDLER_COUNT_DEFAULT);
+    this.lockWaitTargetNanos = conf.getTimeDuration(
+        OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET,
+        OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET_DEFAULT,
+        TimeUnit.NANOSECONDS);
+    this.loadThreshold = conf.getDouble(
+        OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD,
+        OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD_DEFAULT);
+    Preconditions.checkArgument(handlerCount > 0,
+        OZONE_OM_HANDLER_COUNT_KEY + " must be positive.");
+    Preconditions.checkArgument(lockWaitTargetNanos > 0,
+        OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET + " must be positive.");
+    Preconditions.checkArgument(loadThreshold > 0 && loadThreshold <= 1,
+        OZONE_OM_ADMISSION_CONTROL_LOAD_THRESHOLD
+            + " must be in the range (0, 1].");
+    this.lastLockWaitNanos = clock.getAsLong();
+  }
+
+  /**
+   * Admit a write request, which must be followed by {@link #writeDone()}.
+   * @param priorityLevel priority level of the caller assigned by the RPC
+   *                      scheduler, 0 being the highest
+   * @throws RetriableException if OM is too loaded to accept the request
+   */
+  public void admitWrite(int priorityLevel) throws RetriableException {
+    final double load = getLoad();
+    metrics.setAdmissionControlLoad((float) load);
+    if (shouldReject(load, priorityLevel)) {
+      metrics.incAdmissionControlRejections();
+      throw new RetriableException(String.format(
+          "OM is overloaded (load %.2f), retry later.", load));
+    }
+    writesInProgress.incrementAndGet();
+  }
+
+  private boolean shouldReject(double load, int priorityLevel) {
+    if (load >= 1) {
+      return true;
+    }
+    if (load < loadThreshold) {
+      return false;
+    }
+    if (priorityLevel > 0) {
+      return true;
+    }
+    // loadThreshold < 1 here, as load < 1
+    return random.getAsDouble() < (load - loadThreshold) / (1 - loadThreshold);
+  }
+
+  public void writeDone() {
+    writesInProgress.decrementAndGet();
+  }
+
+  /**
+   * Add the lock wait time of a completed request to the average.
+   */
+  public void recordLockWait(long waitNanos) {
+    final long now = clock.getAsLong();
+    final double decay = getLockWaitDecay(now);
+    lastLockWaitNanos = now;
+    avgLockWaitNanos.updateAndGet(avg -> {
+      final long decayed = (long) (avg * decay);
+      return decayed + ((waitNanos - decayed) >> LOCK_WAIT_SMOOTHING_SHIFT);
+    });
+  }
+
+  public double getLoad() {
+    double load = doubleBufferLoad.getAsDouble();
+    load = Math.max(load, writesInProgress.get() / (double) handlerCount);
+    load = Math.max(load, avgLockWaitNanos.get() * getLockWaitDecay(clock.getAsLong())
+        / lockWaitTargetNanos);
+    return load;
+  }
+
+  /**
+   * @return the factor the average lock wait time decayed by since the
+   *         last sample
+   */
+  private double getLockWaitDecay(long now) {
+    final long idleNanos = now - lastLockWaitNanos;
+    return idleNanos <= 0 ? 1 : Math.pow(0.5, idleNanos / (double) LOCK_WAIT_HALF_LIFE_NANOS);
+  }
+}
@@ -18,6 +18,7 @@
 package org.apache.hadoop.ozone.om.ratis;
 
 import static org.apache.hadoop.ozone.OzoneConsts.TRANSACTION_INFO_KEY;
+import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
 
 import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
@@ -25,10 +26,12 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Queue;
+import java.util.Set;
 import java.util.TreeMap;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
@@ -44,8 +47,10 @@
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.S3SecretManager;
 import org.apache.hadoop.ozone.om.codec.OMDBDefinition;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.response.CleanupTableInfo;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCommitResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.util.Daemon;
@@ -78,6 +83,7 @@ public final class OzoneManagerDoubleBuffer {
    * Limit the number of un-flushed transactions for {@link OzoneManagerStateMachine}.
    */
   private final Semaphore unFlushedTransactions;
+  private final int maxUnFlushedTransactionCount;
 
   /** To flush the buffers. */
   private final Daemon daemon;
@@ -198,6 +204,7 @@ private OzoneManagerDoubleBuffer(Builder b) {
     this.updateLastAppliedIndex = b.updateLastAppliedIndex;
     this.flushNotifier = b.flushNotifier;
     this.unFlushedTransactions = newSemaphore(b.maxUnFlushedTransactionCount);
+    this.maxUnFlushedTransactionCount = b.maxUnFlushedTransactionCount;
 
     this.isTracingEnabled = b.isTracingEnabled;
 
@@ -236,6 +243,17 @@ public void acquireUnFlushedTransactions(int n) throws InterruptedException {
     unFlushedTransactions.acquire(n);
   }
 
+  /**
+   * @return the fraction of the unflushed transaction limit in use,
+   * 1 meaning that new transactions wait for a flush
+   */
+  public double getUnFlushedTransactionLoad() {
+    if (unFlushedTransactions == null) {
+      return 0;
+    }
+    return 1 - unFlushedTransactions.availablePermits() / (double) maxUnFlushedTransactionCount;
+  }
+
   /**
    * Releases the given number of permits,
    * returning them to the unFlushedTransactions.
@@ -400,6 +418,7 @@ private void flushBatch(Queue<Entry> buffer) throws IOException {
   }
 
   private String addToBatch(Queue<Entry> buffer, BatchOperation batchOperation) {
+    coalesceBucketUpdates(buffer);
     String lastTraceId = null;
     for (Entry entry: buffer) {
       OMClientResponse response = entry.getResponse();
@@ -421,6 +440,41 @@ private String addToBatch(Queue<Entry> buffer, BatchOperation batchOperation) {
     return lastTraceId;
   }
 
+  /**
+   * Every key commit writes a copy of its bucket info with the updated
+   * usedBytes and namespace. Entries are in transaction order, and the
+   * copies are taken under the bucket lock, so the last commit of a bucket
+   * in the batch writes a copy that includes the updates of all the
+   * previous ones. Only that one is written, which saves encoding the
+   * bucket info for every commit when many keys are committed to one
+   * bucket.
+   */
+  private void coalesceBucketUpdates(Queue<Entry> buffer) {
+    final List<OMKeyCommitResponse> commits = new ArrayList<>();
+    for (Entry entry : buffer) {
+      if (entry.getResponse() instanceof OMKeyCommitResponse
+          && entry.getResponse().getOMResponse().getStatus() == OK) {
+        commits.add((OMKeyCommitResponse) entry.getResponse());
+      }
+    }
+    if (commits.size() < 2) {
+      return;
+    }
+    final Set<Long> writtenBuckets = new HashSet<>();
+    long coalesced = 0;
+    for (int i = commits.size() - 1; i >= 0; i--) {
+      final OMKeyCommitResponse commit = commits.get(i);
+      final OmBucketInfo bucketInfo = commit.getUpdatedBucketInfo();
+      if (bucketInfo != null && !writtenBuckets.add(bucketInfo.getObjectID())) {
+        commit.setBucketInfoSuperseded();
+        coalesced++;
+      }
+    }
+    if (coalesced > 0) {
+      metrics.incrCoalescedBucketUpdates(coalesced);
+    }
+  }
+
   /**
    * Splits the readyBuffer around the create snapshot request.
    * Returns, the list of queue split by create snapshot requests.
@@ -59,6 +59,10 @@ public class OzoneManagerDoubleBufferMetrics {
   @Metric(about = "DoubleBuffer queue size.", valueName = "Size")
   private MutableStat queueSize;
 
+  @Metric(about = "Number of bucket info writes of key commits skipped " +
+      "because a later commit in the same flush wrote the same bucket.")
+  private MutableCounterLong coalescedBucketUpdates;
+
   public static synchronized OzoneManagerDoubleBufferMetrics create() {
     if (instance != null) {
       return instance;
@@ -138,6 +142,14 @@ public void updateFlush(int flushedTransactionsInOneIteration) {
     updateQueueSize(flushedTransactionsInOneIteration);
   }
 
+  public void incrCoalescedBucketUpdates(long count) {
+    coalescedBucketUpdates.incr(count);
+  }
+
+  public long getCoalescedBucketUpdates() {
+    return coalescedBucketUpdates.value();
+  }
+
   MutableStat getQueueSize() {
     return queueSize;
   }
@@ -44,6 +44,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.OzoneAcl;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.DirectoryTreeCache;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.exceptions.OMException;
@@ -665,6 +666,8 @@ public static OzoneFileStatus getOMKeyInfoIfExists(
 
     long lastKnownParentId = omBucketInfo.getObjectID();
     OmDirectoryInfo omDirInfo = null;
+    final DirectoryTreeCache dirTreeCache =
+        DirectoryTreeCache.of(omMetadataMgr);
     while (elements.hasNext()) {
       String fileName = elements.next().toString();
 
@@ -676,6 +679,17 @@ public static OzoneFileStatus getOMKeyInfoIfExists(
       String dbNodeName = omMetadataMgr.getOzonePathKey(
               volumeId, omBucketInfo.getObjectID(),
               lastKnownParentId, fileName);
+      if (elements.hasNext()) {
+        // only the object ID of intermediate directories is needed
+        final Long dirObjectId = dirTreeCache.getObjectId(lastKnownParentId,
+            fileName, dbNodeName, omMetadataMgr.getDirectoryTable());
+        if (dirObjectId == null) {
+          // Missing intermediate directory and just return null;
+          return null;
+        }
+        lastKnownParentId = dirObjectId;
+        continue;
+      }
       omDirInfo = omMetadataMgr.getDirectoryTable().get(dbNodeName);
 
       if (omDirInfo != null) {
@@ -1016,7 +1030,8 @@ public static long getParentID(long volumeId, long bucketId, String keyName,
     if (StringUtils.isBlank(errMsg)) {
       errMsg = "Failed to find parent directory of " + keyName;
     }
-    OmDirectoryInfo omDirectoryInfo;
+    final DirectoryTreeCache dirTreeCache =
+        DirectoryTreeCache.of(omMetadataManager);
     while (pathComponents.hasNext()) {
       String nodeName = pathComponents.next().toString();
       boolean reachedLastPathComponent = !pathComponents.hasNext();
@@ -1024,16 +1039,15 @@ public static long getParentID(long volumeId, long bucketId, String keyName,
               omMetadataManager.getOzonePathKey(volumeId, bucketId,
                       lastKnownParentId, nodeName);
 
-
-      omDirectoryInfo = omMetadataManager.
-              getDirectoryTable().get(dbNodeName);
-      if (omDirectoryInfo != null) {
+      final Long dirObjectId = dirTreeCache.getObjectId(lastKnownParentId,
+          nodeName, dbNodeName, omMetadataManager.getDirectoryTable());
+      if (dirObjectId != null) {
         if (reachedLastPathComponent) {
           throw new OMException("Can not create file: " + keyName +
                   " as there is already directory in the given path",
                   NOT_A_FILE);
         }
-        lastKnownParentId = omDirectoryInfo.getObjectID();
+        lastKnownParentId = dirObjectId;
       } else {
         // One of the sub-dir doesn't exists in DB. Immediate parent should
         // exists for committing the key, otherwise will fail the operation.
@@ -158,6 +158,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
                 processed.keyInfo.getFileName());
             omMetadataManager.getDirectoryTable().addCacheEntry(new CacheKey<>(ozoneDbKey),
                 CacheValue.get(context.getIndex()));
+            omMetadataManager.getDirectoryTreeCache().remove(
+                processed.keyInfo.getParentObjectID(), processed.keyInfo.getFileName());
             volBucketInfoMap.putIfAbsent(processed.volBucketPair, omBucketInfo);
           }
         }
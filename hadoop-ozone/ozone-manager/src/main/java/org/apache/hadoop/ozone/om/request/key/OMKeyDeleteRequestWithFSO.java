@@ -32,6 +32,7 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.OMAction;
+import org.apache.hadoop.ozone.om.DirectoryTreeCache;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
@@ -150,6 +151,8 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
         omMetadataManager.getDirectoryTable().addCacheEntry(
                 new CacheKey<>(ozonePathKey),
                 CacheValue.get(trxnLogIndex));
+        DirectoryTreeCache.of(omMetadataManager).remove(
+            omKeyInfo.getParentObjectID(), omKeyInfo.getFileName());
       } else {
         // Update table cache.
         omMetadataManager.getKeyTable(getBucketLayout()).addCacheEntry(
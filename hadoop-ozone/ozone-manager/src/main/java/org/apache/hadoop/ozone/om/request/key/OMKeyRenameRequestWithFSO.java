@@ -31,6 +31,7 @@
 import org.apache.hadoop.ozone.OzoneConsts;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.OMAction;
+import org.apache.hadoop.ozone.om.DirectoryTreeCache;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.ozone.om.OzoneManager;
@@ -281,8 +282,10 @@ private OMClientResponse renameKey(OmKeyInfo toKeyParent, String toKeyName,
     final long bucketId = ommm.getBucketId(fromKeyValue.getVolumeName(),
             fromKeyValue.getBucketName());
     OmBucketInfo omBucketInfo = null;
+    final long fromParentObjectId = fromKeyValue.getParentObjectID();
+    final String fromFileName = fromKeyValue.getFileName();
     final String dbFromKey = ommm.getOzonePathKey(volumeId, bucketId,
-            fromKeyValue.getParentObjectID(), fromKeyValue.getFileName());
+            fromParentObjectId, fromFileName);
     String toKeyFileName;
     if (toKeyName.isEmpty()) {
       // if toKeyName is empty we use the source key name.
@@ -332,6 +335,8 @@ private OMClientResponse renameKey(OmKeyInfo toKeyParent, String toKeyName,
     if (isRenameDirectory) {
       dirTable.addCacheEntry(new CacheKey<>(dbFromKey),
               CacheValue.get(trxnLogIndex));
+      DirectoryTreeCache.of(metadataMgr).remove(fromParentObjectId,
+          fromFileName);
 
       dirTable.addCacheEntry(new CacheKey<>(dbToKey),
           CacheValue.get(trxnLogIndex,
@@ -19,6 +19,8 @@
 
 import static org.apache.hadoop.ozone.OzoneConsts.RENAMED_KEYS_MAP;
 import static org.apache.hadoop.ozone.OzoneConsts.UNRENAMED_KEYS_MAP;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_RENAME_PREFIX_BATCH_SIZE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_RENAME_PREFIX_BATCH_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.lock.OzoneManagerLock.LeveledResource.BUCKET_LOCK;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.OK;
 import static org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Status.PARTIAL_RENAME;
@@ -30,10 +32,12 @@
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.OMAction;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
@@ -51,12 +55,14 @@
 import org.apache.hadoop.ozone.om.request.validation.ValidationContext;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.om.response.key.OMKeysRenameResponse;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysMap;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenamePrefixArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.Type;
 import org.apache.hadoop.ozone.request.validation.RequestProcessingPhase;
 import org.apache.hadoop.ozone.security.acl.IAccessAuthorizer;
@@ -77,6 +83,64 @@ public OMKeysRenameRequest(OMRequest omRequest, BucketLayout bucketLayout) {
     super(omRequest, bucketLayout);
   }
 
+  @Override
+  public OMRequest preExecute(OzoneManager ozoneManager) throws IOException {
+    RenameKeysRequest renameKeysRequest = super.preExecute(ozoneManager)
+        .getRenameKeysRequest();
+    Objects.requireNonNull(renameKeysRequest, "renameKeysRequest == null");
+
+    RenameKeysArgs renameKeysArgs = renameKeysRequest.getRenameKeysArgs();
+    if (!renameKeysArgs.hasRenamePrefixArgs()) {
+      return getOmRequest();
+    }
+
+    RenamePrefixArgs prefixArgs = renameKeysArgs.getRenamePrefixArgs();
+    String fromPrefix = prefixArgs.getFromPrefix();
+    String toPrefix = prefixArgs.getToPrefix();
+    // Renamed keys must leave the prefix, so that a retried or the next
+    // request continues with the remaining keys.
+    if (fromPrefix.isEmpty() || toPrefix.isEmpty()
+        || toPrefix.startsWith(fromPrefix)) {
+      throw new OMException("Cannot rename prefix " + fromPrefix + " to "
+          + toPrefix, OMException.ResultCodes.INVALID_KEY_NAME);
+    }
+    if (ozoneManager.getConfig().isKeyNameCharacterCheckEnabled()) {
+      OmUtils.validateKeyName(toPrefix);
+    }
+
+    int maxKeys = ozoneManager.getConfiguration().getInt(
+        OZONE_OM_RENAME_PREFIX_BATCH_SIZE,
+        OZONE_OM_RENAME_PREFIX_BATCH_SIZE_DEFAULT);
+    if (prefixArgs.hasMaxKeys() && prefixArgs.getMaxKeys() > 0) {
+      maxKeys = Math.min(maxKeys, prefixArgs.getMaxKeys());
+    }
+
+    // List the next batch on the leader, so that all OMs rename the same keys.
+    ResolvedBucket bucket = ozoneManager.resolveBucketLink(
+        Pair.of(renameKeysArgs.getVolumeName(),
+            renameKeysArgs.getBucketName()), this);
+    checkBucketAcls(ozoneManager, bucket.realVolume(), bucket.realBucket(),
+        fromPrefix, IAccessAuthorizer.ACLType.LIST);
+    List<OmKeyInfo> keys = ozoneManager.getMetadataManager().listKeys(
+        bucket.realVolume(), bucket.realBucket(), null, fromPrefix, maxKeys)
+        .getKeys();
+
+    RenameKeysArgs.Builder newArgs = renameKeysArgs.toBuilder()
+        .clearRenameKeysMap()
+        .setRenamePrefixArgs(prefixArgs.toBuilder().setMaxKeys(maxKeys));
+    for (OmKeyInfo key : keys) {
+      newArgs.addRenameKeysMap(RenameKeysMap.newBuilder()
+          .setFromKeyName(key.getKeyName())
+          .setToKeyName(
+              toPrefix + key.getKeyName().substring(fromPrefix.length())));
+    }
+
+    return getOmRequest().toBuilder()
+        .setRenameKeysRequest(renameKeysRequest.toBuilder()
+            .setRenameKeysArgs(newArgs))
+        .build();
+  }
+
   @Override
   @SuppressWarnings("methodlength")
   public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, ExecutionContext context) {
@@ -111,6 +175,11 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
     String toKeyName = null;
     boolean acquiredLock = false;
     boolean renameStatus = true;
+    // The layout version is set by the leader, so that all OMs apply the
+    // request the same way during an upgrade.
+    boolean skipExistingKeys = getOmRequest().hasLayoutVersion()
+        && getOmRequest().getLayoutVersion().getVersion()
+        >= OMLayoutFeature.RENAME_PREFIX.layoutVersion();
 
     try {
       ResolvedBucket bucket = ozoneManager.resolveBucketLink(
@@ -177,6 +246,9 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
                   .build());
           LOG.error("Received a request name of new key {} already exists",
               toKeyName);
+          if (skipExistingKeys) {
+            continue;
+          }
         }
 
         // fromKeyName should exist
@@ -214,12 +286,22 @@ public OMClientResponse validateAndUpdateCache(OzoneManager ozoneManager, Execut
         fromKeyAndToKeyInfo.put(fromKeyName, fromKeyValue);
       }
 
+      RenameKeysResponse.Builder renameKeysResponse =
+          RenameKeysResponse.newBuilder()
+              .setStatus(renameStatus)
+              .addAllUnRenamedKeys(unRenamedKeys);
+      if (renameKeysArgs.hasRenamePrefixArgs()) {
+        // A full batch may have left more keys under the prefix.
+        int maxKeys = renameKeysArgs.getRenamePrefixArgs().getMaxKeys();
+        renameKeysResponse.setRenamedKeyCount(renamedKeys.size())
+            .setHasMoreKeys(maxKeys > 0
+                && renameKeysArgs.getRenameKeysMapCount() >= maxKeys);
+      }
+
       OmRenameKeys newOmRenameKeys =
           new OmRenameKeys(volumeName, bucketName, null, fromKeyAndToKeyInfo);
       omClientResponse = new OMKeysRenameResponse(omResponse
-          .setRenameKeysResponse(RenameKeysResponse.newBuilder()
-              .setStatus(renameStatus)
-              .addAllUnRenamedKeys(unRenamedKeys))
+          .setRenameKeysResponse(renameKeysResponse)
           .setStatus(renameStatus ? OK : PARTIAL_RENAME)
           .setSuccess(renameStatus).build(),
           newOmRenameKeys);
@@ -314,4 +396,22 @@ public static OMRequest blockRenameKeysWithBucketLayoutFromOldClient(
     }
     return req;
   }
+
+  @RequestFeatureValidator(
+      conditions = ValidationCondition.CLUSTER_NEEDS_FINALIZATION,
+      processingPhase = RequestProcessingPhase.PRE_PROCESS,
+      requestType = Type.RenameKeys
+  )
+  public static OMRequest disallowRenamePrefixBeforeFinalization(
+      OMRequest req, ValidationContext ctx) throws OMException {
+    if (!ctx.versionManager().isAllowed(OMLayoutFeature.RENAME_PREFIX)
+        && req.getRenameKeysRequest().getRenameKeysArgs()
+            .hasRenamePrefixArgs()) {
+      throw new OMException("Cluster does not have the prefix rename feature"
+          + " finalized yet. Rejecting the request, please finalize the"
+          + " cluster upgrade and then try again.",
+          OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION);
+    }
+    return req;
+  }
 }
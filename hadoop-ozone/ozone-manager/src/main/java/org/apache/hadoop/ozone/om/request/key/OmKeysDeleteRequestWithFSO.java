@@ -31,6 +31,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.DirectoryTreeCache;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
@@ -150,6 +151,7 @@ protected Pair<Long, Integer> markKeysAsDeletedInCache(
       omMetadataManager.getDirectoryTable()
           .addCacheEntry(new CacheKey<>(dbDirKey),
             CacheValue.get(trxnLogIndex));
+      DirectoryTreeCache.of(omMetadataManager).remove(parentId, dirName);
 
       final OmKeyInfo updatedDirInfo = dirInfo.toBuilder()
           .setUpdateID(trxnLogIndex)
@@ -51,6 +51,7 @@ public class OMKeyCommitResponse extends OmKeyResponse {
   private OmKeyInfo newOpenKeyInfo;
   private OmKeyInfo openKeyToUpdate;
   private String openKeyNameToUpdate;
+  private boolean bucketInfoSuperseded;
 
   @SuppressWarnings("checkstyle:ParameterNumber")
   public OMKeyCommitResponse(
@@ -101,10 +102,36 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
     updateDeletedTable(omMetadataManager, batchOperation);
     handleOpenKeyToUpdate(omMetadataManager, batchOperation);
 
-    // update bucket usedBytes.
-    omMetadataManager.getBucketTable().putWithBatch(batchOperation,
-        omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
-            omBucketInfo.getBucketName()), omBucketInfo);
+    updateBucketInfo(omMetadataManager, batchOperation);
+  }
+
+  /**
+   * Write the bucket info with the updated usedBytes, unless a later
+   * response of the same batch writes a newer copy of it.
+   */
+  protected void updateBucketInfo(OMMetadataManager omMetadataManager,
+      BatchOperation batchOperation) throws IOException {
+    if (!bucketInfoSuperseded) {
+      omMetadataManager.getBucketTable().putWithBatch(batchOperation,
+          omMetadataManager.getBucketKey(omBucketInfo.getVolumeName(),
+              omBucketInfo.getBucketName()), omBucketInfo);
+    }
+  }
+
+  /**
+   * @return the bucket whose info this response writes, or null if the
+   * request failed
+   */
+  public OmBucketInfo getUpdatedBucketInfo() {
+    return omBucketInfo;
+  }
+
+  /**
+   * Skip writing the bucket info, because a later response of the same
+   * batch writes a copy taken after this one.
+   */
+  public void setBucketInfoSuperseded() {
+    this.bucketInfoSuperseded = true;
   }
 
   protected String getOpenKeyName() {
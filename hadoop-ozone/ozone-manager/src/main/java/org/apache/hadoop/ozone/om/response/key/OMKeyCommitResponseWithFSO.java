@@ -87,10 +87,7 @@ public void addToDBBatch(OMMetadataManager omMetadataManager,
     updateDeletedTable(omMetadataManager, batchOperation);
     handleOpenKeyToUpdate(omMetadataManager, batchOperation);
 
-    // update bucket usedBytes.
-    omMetadataManager.getBucketTable().putWithBatch(batchOperation,
-        omMetadataManager.getBucketKey(getOmBucketInfo().getVolumeName(),
-            getOmBucketInfo().getBucketName()), getOmBucketInfo());
+    updateBucketInfo(omMetadataManager, batchOperation);
   }
 
   @Override
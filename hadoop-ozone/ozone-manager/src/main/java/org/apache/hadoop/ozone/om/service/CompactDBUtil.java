@@ -17,9 +17,15 @@
 
 package org.apache.hadoop.ozone.om.service;
 
+import com.google.common.primitives.UnsignedBytes;
 import java.io.IOException;
+import java.util.Comparator;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.function.LongPredicate;
+import java.util.stream.Collectors;
+import org.apache.hadoop.hdds.StringUtils;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.utils.db.RDBStore;
 import org.apache.hadoop.hdds.utils.db.RocksDatabase;
@@ -27,6 +33,8 @@
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.util.Time;
+import org.rocksdb.LiveFileMetaData;
+import org.rocksdb.SstFileMetaData;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -65,6 +73,90 @@ public static void compactTable(OMMetadataManager omMetadataManager, String tabl
     }
   }
 
+  /**
+   * Compact the key ranges of the SST files of a column family with the
+   * most tombstones, e.g. of a bucket with mass deletes, instead of the whole
+   * column family. See {@link #selectTombstoneFiles}.
+   *
+   * Compacting a key range rewrites every SST file of the column family
+   * which overlaps it, including the files of the lower levels, so that is
+   * what a range is charged with. The bytes of a range are reserved before
+   * it is compacted, ranges which do not fit in the budget are skipped.
+   *
+   * @param reserveBytes reserves the given number of bytes of the budget,
+   *     returns false if they do not fit
+   * @return total size of the SST files overlapping the compacted key ranges
+   */
+  public static long compactTombstoneRanges(OMMetadataManager omMetadataManager, String tableName,
+      ManagedCompactRangeOptions.BottommostLevelCompaction compactionType, double minDeletionRatio,
+      LongPredicate reserveBytes) throws IOException {
+    long startTime = Time.monotonicNow();
+    RocksDatabase rocksDatabase =
+        ((RDBStore) omMetadataManager.getStore()).getDb();
+    RocksDatabase.ColumnFamily columnFamily =
+        rocksDatabase.getColumnFamily(tableName);
+    if (columnFamily == null) {
+      throw new IOException("Column family \"" + tableName + "\" not found.");
+    }
+    List<LiveFileMetaData> files = rocksDatabase.getLiveFilesMetaData().stream()
+        .filter(file -> tableName.equals(StringUtils.bytes2String(file.columnFamilyName())))
+        .collect(Collectors.toList());
+    List<LiveFileMetaData> candidates = selectTombstoneFiles(files, minDeletionRatio);
+    if (candidates.isEmpty()) {
+      LOG.debug("No SST file of column family: {} has a deletion ratio of {}", tableName, minDeletionRatio);
+      return 0;
+    }
+    int ranges = 0;
+    long bytes = 0;
+    try (ManagedCompactRangeOptions options = new ManagedCompactRangeOptions()) {
+      options.setBottommostLevelCompaction(compactionType);
+      for (LiveFileMetaData file : candidates) {
+        long rangeBytes = getOverlappingBytes(file, files);
+        if (!reserveBytes.test(rangeBytes)) {
+          continue;
+        }
+        rocksDatabase.compactRange(columnFamily, file.smallestKey(), file.largestKey(), options);
+        ranges++;
+        bytes += rangeBytes;
+      }
+    }
+    LOG.info("Compaction of {} key ranges of column family: {} with {} bytes of SST files completed in {} ms",
+        ranges, tableName, bytes, Time.monotonicNow() - startTime);
+    return bytes;
+  }
+
+  /**
+   * Select the SST files whose ratio of deletions to entries is at least
+   * {@code minDeletionRatio}. The files with the most sampled reads, which
+   * pay for the tombstones, come first, then the ones with the most
+   * deletions. Files being compacted are skipped.
+   */
+  static <T extends SstFileMetaData> List<T> selectTombstoneFiles(List<T> files, double minDeletionRatio) {
+    return files.stream()
+        .filter(file -> !file.beingCompacted() && file.numEntries() > 0)
+        .filter(file -> file.numDeletions() >= minDeletionRatio * file.numEntries())
+        .sorted(Comparator.comparingLong(SstFileMetaData::numReadsSampled)
+            .thenComparingLong(SstFileMetaData::numDeletions)
+            .reversed())
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * @return total size of the files whose key range overlaps the key range
+   *     of the given file, including the file itself
+   */
+  static <T extends SstFileMetaData> long getOverlappingBytes(T file, List<T> files) {
+    Comparator<byte[]> comparator = UnsignedBytes.lexicographicalComparator();
+    long bytes = 0;
+    for (T other : files) {
+      if (comparator.compare(other.smallestKey(), file.largestKey()) <= 0
+          && comparator.compare(file.smallestKey(), other.largestKey()) <= 0) {
+        bytes += other.size();
+      }
+    }
+    return bytes;
+  }
+
   public static CompletableFuture<Void> compactTableAsync(OMMetadataManager metadataManager, String tableName,
       ManagedCompactRangeOptions.BottommostLevelCompaction compactionType) {
     return CompletableFuture.runAsync(() -> {
@@ -17,6 +17,11 @@
 
 package org.apache.hadoop.ozone.om.service;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO_DEFAULT;
+
 import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.util.ArrayList;
@@ -28,6 +33,9 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongPredicate;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.utils.BackgroundService;
 import org.apache.hadoop.hdds.utils.BackgroundTask;
 import org.apache.hadoop.hdds.utils.BackgroundTaskQueue;
@@ -40,6 +48,9 @@
 
 /**
  * This is the background service to compact OM rocksdb tables.
+ * The tables are compacted fully, or only the key ranges with many
+ * tombstones if {@link org.apache.hadoop.ozone.om.OMConfigKeys#OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO}
+ * is set.
  */
 public class CompactionService extends BackgroundService {
   private static final Logger LOG =
@@ -55,6 +66,10 @@ public class CompactionService extends BackgroundService {
   // list of tables that can be compacted
   private final List<String> compactableTables;
   private final ManagedCompactRangeOptions.BottommostLevelCompaction bottommostLevelCompaction;
+  // minimum ratio of deletions of the SST files whose range is compacted,
+  // 0 to compact the tables fully
+  private final double minDeletionRatio;
+  private final long maxBytesPerRun;
 
   public CompactionService(OzoneManager ozoneManager, TimeUnit unit, long interval, long timeout,
                            List<String> tables) {
@@ -67,7 +82,12 @@ public CompactionService(OzoneManager ozoneManager, TimeUnit unit, long interval
     this.numCompactions = new AtomicLong(0);
     this.suspended = new AtomicBoolean(false);
     this.compactableTables = validateTables(tables);
-    this.bottommostLevelCompaction = CompactDBUtil.getBottommostLevelCompaction(ozoneManager.getConfiguration());
+    OzoneConfiguration conf = ozoneManager.getConfiguration();
+    this.bottommostLevelCompaction = CompactDBUtil.getBottommostLevelCompaction(conf);
+    this.minDeletionRatio = conf.getDouble(OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO,
+        OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO_DEFAULT);
+    this.maxBytesPerRun = (long) conf.getStorageSize(OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN,
+        OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN_DEFAULT, StorageUnit.BYTES);
   }
 
   private List<String> validateTables(List<String> tables) {
@@ -128,8 +148,10 @@ public long getNumCompactions() {
   @Override
   public synchronized BackgroundTaskQueue getTasks() {
     BackgroundTaskQueue queue = new BackgroundTaskQueue();
+    // shared by the tasks of this run
+    AtomicLong remainingBytes = new AtomicLong(maxBytesPerRun);
     for (String tableName : compactableTables) {
-      queue.add(new CompactTask(tableName));
+      queue.add(new CompactTask(tableName, remainingBytes));
     }
     return queue;
   }
@@ -155,11 +177,40 @@ protected void compactFully(String tableName) throws IOException {
     CompactDBUtil.compactTable(omMetadataManager, tableName, bottommostLevelCompaction);
   }
 
+  /**
+   * @param reserveBytes reserves bytes of the budget of the run before a
+   *     key range is compacted
+   * @return total size of the files overlapping the compacted key ranges
+   */
+  protected long compactTombstoneRanges(String tableName, LongPredicate reserveBytes) throws IOException {
+    return CompactDBUtil.compactTombstoneRanges(omMetadataManager, tableName, bottommostLevelCompaction,
+        minDeletionRatio, reserveBytes);
+  }
+
+  /**
+   * Reserve bytes of the budget of a run. The tasks of a run share the
+   * budget and may run concurrently, so the bytes are taken atomically.
+   *
+   * @return false if the remaining budget is smaller than the bytes
+   */
+  private static boolean reserve(AtomicLong remainingBytes, long bytes) {
+    long remaining;
+    do {
+      remaining = remainingBytes.get();
+      if (remaining < bytes) {
+        return false;
+      }
+    } while (!remainingBytes.compareAndSet(remaining, remaining - bytes));
+    return true;
+  }
+
   private class CompactTask implements BackgroundTask {
     private final String tableName;
+    private final AtomicLong remainingBytes;
 
-    CompactTask(String tableName) {
+    CompactTask(String tableName, AtomicLong remainingBytes) {
       this.tableName = tableName;
+      this.remainingBytes = remainingBytes;
     }
 
     @Override
@@ -175,7 +226,15 @@ public BackgroundTaskResult call() throws Exception {
       }
       LOG.debug("Running CompactTask");
 
-      compactFully(tableName);
+      if (minDeletionRatio <= 0) {
+        compactFully(tableName);
+      } else if (maxBytesPerRun <= 0) {
+        compactTombstoneRanges(tableName, bytes -> true);
+      } else if (remainingBytes.get() > 0) {
+        compactTombstoneRanges(tableName, bytes -> reserve(remainingBytes, bytes));
+      } else {
+        return BackgroundTaskResult.EmptyTaskResult.newResult();
+      }
       numCompactions.incrementAndGet();
       return () -> 1;
     }
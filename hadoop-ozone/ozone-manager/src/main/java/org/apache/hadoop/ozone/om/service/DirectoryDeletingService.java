@@ -29,11 +29,14 @@
 import com.google.protobuf.ServiceException;
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -128,6 +131,8 @@
  * <h2>Threading and Parallelism</h2>
  * <ul>
  *   <li>Uses a configurable thread pool for parallel deletion tasks within each store/snapshot.</li>
+ *   <li>Workers of a store share the sub-directories of large subtrees with idle workers, in a round-robin order
+ *       across buckets.</li>
  *   <li>Each snapshot and AOS get a separate background task for deletion.</li>
  * </ul>
  *
@@ -228,6 +233,13 @@ public DeletingServiceTaskQueue getTasks() {
     resetDdsRoundStats();
     ddsRunStartMs = System.currentTimeMillis();
     getMetrics().setDdsCurRunTimestamp(ddsRunStartMs);
+    try {
+      OMMetadataManager metadataManager = getOzoneManager().getMetadataManager();
+      getMetrics().updateDdsPendingEstimate(
+          metadataManager.countEstimatedRowsInTable(metadataManager.getDeletedDirTable()));
+    } catch (IOException e) {
+      LOG.warn("Failed to estimate the number of pending deleted directories.", e);
+    }
     DeletingServiceTaskQueue queue = new DeletingServiceTaskQueue();
     queue.add(new DirDeletingTask(null));
     if (deepCleanSnapshots) {
@@ -320,8 +332,13 @@ ThreadPoolExecutor getDeletionThreadPool() {
     return (ThreadPoolExecutor) deletionThreadPool;
   }
 
+  /**
+   * Prepares requests for the sub-directories found so far, as far as the limit allows, and submits them along with
+   * the given requests.
+   * @return true if all requests were submitted successfully
+   */
   @SuppressWarnings("checkstyle:ParameterNumber")
-  void optimizeDirDeletesAndSubmitRequest(
+  boolean optimizeDirDeletesAndSubmitRequest(
       long dirNum, long subDirNum, long subFileNum,
       List<Pair<String, OmKeyInfo>> allSubDirList,
       List<PurgePathRequest> purgePathRequestList,
@@ -361,8 +378,10 @@ void optimizeDirDeletesAndSubmitRequest(
         break;
       }
     }
+    boolean submitted = true;
     if (!purgePathRequestList.isEmpty()) {
-      submitPurgePathsWithBatching(purgePathRequestList, snapTableKey, expectedPreviousSnapshotId, bucketNameInfoMap);
+      submitted = !submitPurgePathsWithBatching(purgePathRequestList, snapTableKey, expectedPreviousSnapshotId,
+          bucketNameInfoMap).isEmpty();
     }
 
     if (dirNum != 0 || subDirNum != 0 || subFileNum != 0) {
@@ -382,28 +401,153 @@ void optimizeDirDeletesAndSubmitRequest(
       addDdsRoundContribution(snapTableKey, dirNum + subdirDelNum, subDirNum, subFileNum);
       getPerfMetrics().setDirectoryDeletingServiceLatencyMs(timeTakenInIteration);
     }
+    return submitted;
   }
 
-  private static final class DeletedDirSupplier implements Closeable {
+  /**
+   * Work queue shared by the workers processing the deleted directories of one store.
+   * <p>
+   * Besides the entries of the deleted directory table, it holds the sub-directories published by the workers.
+   * A worker traverses the subtree of a deleted directory by itself, until other workers become idle. It then submits
+   * its pending requests, which mark the sub-directories it found as deleted, and publishes those sub-directories here
+   * so that the idle workers can continue the traversal in parallel. Published sub-directories are served round-robin
+   * across buckets, alternating with the entries of the deleted directory table, so that a large subtree in one bucket
+   * does not hold back the deleted directories of the other buckets.
+   */
+  private final class DeletedDirSupplier implements Closeable {
     private final TableIterator<String, Table.KeyValue<String, OmKeyInfo>> deleteTableIterator;
+    private final Map<VolumeBucketId, Deque<KeyValue<String, OmKeyInfo>>> subDirsByBucket = new LinkedHashMap<>();
+    private long queuedSubDirs;
+    private boolean fromTable;
+    private int workers;
+    private int waitingWorkers;
+    private boolean exhausted;
 
     private DeletedDirSupplier(TableIterator<String, Table.KeyValue<String, OmKeyInfo>> deleteTableIterator) {
       this.deleteTableIterator = deleteTableIterator;
     }
 
-    private synchronized Table.KeyValue<String, OmKeyInfo> get() {
+    private synchronized void register() {
+      workers++;
+    }
+
+    private synchronized void unregister() {
+      workers--;
+      notifyAll();
+    }
+
+    /**
+     * @return the next directory to process, or null if none is available now
+     */
+    private synchronized Table.KeyValue<String, OmKeyInfo> poll() {
+      fromTable = !fromTable;
+      Table.KeyValue<String, OmKeyInfo> next = fromTable ? nextFromTable() : nextSubDir();
+      if (next == null) {
+        next = fromTable ? nextSubDir() : nextFromTable();
+      }
+      return next;
+    }
+
+    /**
+     * Waits until a directory is available, or until all workers are waiting, which means that no more directories
+     * will be published.
+     * @return the next directory to process, or null if there are none left
+     */
+    private synchronized Table.KeyValue<String, OmKeyInfo> take() throws InterruptedException {
+      waitingWorkers++;
+      try {
+        while (true) {
+          Table.KeyValue<String, OmKeyInfo> next = poll();
+          if (next != null || exhausted) {
+            return next;
+          }
+          if (waitingWorkers >= workers) {
+            exhausted = true;
+            notifyAll();
+            return null;
+          }
+          wait();
+        }
+      } finally {
+        waitingWorkers--;
+      }
+    }
+
+    private synchronized boolean hasWaitingWorkers() {
+      return waitingWorkers > 0;
+    }
+
+    /**
+     * Publish sub-directories for other workers. The requests marking them as deleted must have been submitted.
+     */
+    private synchronized void publish(VolumeBucketId bucket, Collection<KeyValue<String, OmKeyInfo>> subDirs) {
+      if (subDirs.isEmpty()) {
+        return;
+      }
+      subDirsByBucket.computeIfAbsent(bucket, k -> new ArrayDeque<>()).addAll(subDirs);
+      queuedSubDirs += subDirs.size();
+      getMetrics().incrDdsQueuedSubDirs(subDirs.size());
+      notifyAll();
+    }
+
+    private Table.KeyValue<String, OmKeyInfo> nextFromTable() {
       if (deleteTableIterator.hasNext()) {
         return deleteTableIterator.next();
       }
       return null;
     }
 
+    private Table.KeyValue<String, OmKeyInfo> nextSubDir() {
+      Iterator<Map.Entry<VolumeBucketId, Deque<KeyValue<String, OmKeyInfo>>>> buckets =
+          subDirsByBucket.entrySet().iterator();
+      if (!buckets.hasNext()) {
+        return null;
+      }
+      Map.Entry<VolumeBucketId, Deque<KeyValue<String, OmKeyInfo>>> bucket = buckets.next();
+      buckets.remove();
+      Table.KeyValue<String, OmKeyInfo> next = bucket.getValue().poll();
+      if (!bucket.getValue().isEmpty()) {
+        // move the bucket to the end of the rotation
+        subDirsByBucket.put(bucket.getKey(), bucket.getValue());
+      }
+      queuedSubDirs--;
+      getMetrics().incrDdsQueuedSubDirs(-1);
+      return next;
+    }
+
     @Override
     public synchronized void close() {
+      // sub-directories not processed in this run are found again in the deleted directory table in the next run
+      getMetrics().incrDdsQueuedSubDirs(-queuedSubDirs);
+      queuedSubDirs = 0;
+      subDirsByBucket.clear();
       IOUtils.closeQuietly(deleteTableIterator);
     }
   }
 
+  /**
+   * Purge requests prepared by a worker, not submitted yet.
+   */
+  private static final class PurgeBatch {
+    private final List<PurgePathRequest> requests = new ArrayList<>();
+    private final long startTime = Time.monotonicNow();
+    private long dirNum;
+    private long subDirNum;
+    private long subFileNum;
+    private long bytes;
+
+    private void add(PurgePathRequest request) {
+      requests.add(request);
+      // Count up the purgeDeletedDir, subDirs and subFiles
+      if (request.hasDeletedDir() && !StringUtils.isBlank(request.getDeletedDir())) {
+        dirNum++;
+      }
+      subDirNum += request.getMarkDeletedSubDirsCount();
+      subFileNum += request.getDeletedSubFilesCount();
+      bytes += request.getSerializedSize();
+    }
+  }
+
   /**
    * Returns the number of dirs deleted by the background service.
    *
@@ -547,7 +691,7 @@ private List<OzoneManagerProtocolProtos.OMResponse> submitPurgePathsWithBatching
       if (batchBytes + reqSize > ratisByteLimit && !purgePathRequestBatch.isEmpty()) {
         OzoneManagerProtocolProtos.OMResponse resp =
             submitPurgeRequest(snapTableKey, expectedPreviousSnapshotId, bucketNameInfoMap, purgePathRequestBatch);
-        if (!resp.getSuccess()) {
+        if (resp == null || !resp.getSuccess()) {
           return Collections.emptyList();
         }
         responses.add(resp);
@@ -564,7 +708,7 @@ private List<OzoneManagerProtocolProtos.OMResponse> submitPurgePathsWithBatching
     if (!purgePathRequestBatch.isEmpty()) {
       OzoneManagerProtocolProtos.OMResponse resp =
           submitPurgeRequest(snapTableKey, expectedPreviousSnapshotId, bucketNameInfoMap, purgePathRequestBatch);
-      if (!resp.getSuccess()) {
+      if (resp == null || !resp.getSuccess()) {
         return Collections.emptyList();
       }
       responses.add(resp);
@@ -723,51 +867,73 @@ private boolean processDeletedDirectories(SnapshotInfo currentSnapshotInfo, KeyM
           omSnapshotManager, snapshotChainManager, currentSnapshotInfo, keyManager, lock);
           ReclaimableKeyFilter reclaimableFileFilter = new ReclaimableKeyFilter(getOzoneManager(),
               omSnapshotManager, snapshotChainManager, currentSnapshotInfo, keyManager, lock)) {
-        long startTime = Time.monotonicNow();
-        long dirNum = 0L;
-        long subDirNum = 0L;
-        long subFileNum = 0L;
-        List<PurgePathRequest> purgePathRequestList = new ArrayList<>();
+        PurgeBatch batch = new PurgeBatch();
+        boolean submittedAny = false;
         Map<VolumeBucketId, BucketNameInfo> bucketNameInfos = new HashMap<>();
         AtomicInteger remainNum = new AtomicInteger(remaining);
 
-        List<Pair<String, OmKeyInfo>> allSubDirList = new ArrayList<>();
-        while (remainNum.get() > 0) {
-          KeyValue<String, OmKeyInfo> pendingDeletedDirInfo = dirSupplier.get();
-          if (pendingDeletedDirInfo == null) {
-            break;
-          }
-          OmKeyInfo deletedDirInfo = pendingDeletedDirInfo.getValue();
-          VolumeBucketId volumeBucketId =
-              keyManager.getMetadataManager().getVolumeBucketIdPairFSO(pendingDeletedDirInfo.getKey());
-          bucketNameInfos.computeIfAbsent(volumeBucketId,
-              (k) -> BucketNameInfo.newBuilder().setVolumeId(volumeBucketId.getVolumeId())
-              .setBucketId(volumeBucketId.getBucketId())
-              .setVolumeName(deletedDirInfo.getVolumeName())
-              .setBucketName(deletedDirInfo.getBucketName())
-              .build());
-
-          boolean isDirReclaimable = reclaimableDirFilter.apply(pendingDeletedDirInfo);
-          Optional<PurgePathRequest> request = prepareDeleteDirRequest(
-              pendingDeletedDirInfo.getValue(),
-              pendingDeletedDirInfo.getKey(), isDirReclaimable, allSubDirList,
-              getOzoneManager().getKeyManager(), reclaimableFileFilter, remainNum);
-          if (!request.isPresent()) {
-            continue;
-          }
-          PurgePathRequest purgePathRequest = request.get();
-          purgePathRequestList.add(purgePathRequest);
-          // Count up the purgeDeletedDir, subDirs and subFiles
-          if (purgePathRequest.hasDeletedDir() && !StringUtils.isBlank(purgePathRequest.getDeletedDir())) {
-            dirNum++;
+        // sub-directories found by this worker, whose parents are in the current batch
+        Deque<KeyValue<String, OmKeyInfo>> localSubDirs = new ArrayDeque<>();
+        List<Pair<String, OmKeyInfo>> subDirList = new ArrayList<>();
+        dirSupplier.register();
+        try {
+          while (remainNum.get() > 0) {
+            if (!batch.requests.isEmpty() && (batch.bytes >= ratisByteLimit
+                || (!localSubDirs.isEmpty() && dirSupplier.hasWaitingWorkers()))) {
+              // Submit the batch, so that its sub-directories can be shared with the idle workers.
+              boolean submitted = submitBatch(batch, Collections.emptyList(), snapshotTableKey, keyManager,
+                  reclaimableDirFilter, reclaimableFileFilter, bucketNameInfos, expectedPreviousSnapshotId,
+                  runCount, remainNum);
+              if (submitted) {
+                publishSubDirs(dirSupplier, keyManager, localSubDirs);
+              }
+              localSubDirs.clear();
+              batch = new PurgeBatch();
+              submittedAny = true;
+            }
+            KeyValue<String, OmKeyInfo> pendingDeletedDirInfo = localSubDirs.poll();
+            if (pendingDeletedDirInfo == null) {
+              pendingDeletedDirInfo = dirSupplier.take();
+            }
+            if (pendingDeletedDirInfo == null) {
+              break;
+            }
+            OmKeyInfo deletedDirInfo = pendingDeletedDirInfo.getValue();
+            VolumeBucketId volumeBucketId =
+                keyManager.getMetadataManager().getVolumeBucketIdPairFSO(pendingDeletedDirInfo.getKey());
+            bucketNameInfos.computeIfAbsent(volumeBucketId,
+                (k) -> BucketNameInfo.newBuilder().setVolumeId(volumeBucketId.getVolumeId())
+                .setBucketId(volumeBucketId.getBucketId())
+                .setVolumeName(deletedDirInfo.getVolumeName())
+                .setBucketName(deletedDirInfo.getBucketName())
+                .build());
+
+            boolean isDirReclaimable = reclaimableDirFilter.apply(pendingDeletedDirInfo);
+            subDirList.clear();
+            Optional<PurgePathRequest> request = prepareDeleteDirRequest(
+                pendingDeletedDirInfo.getValue(),
+                pendingDeletedDirInfo.getKey(), isDirReclaimable, subDirList,
+                getOzoneManager().getKeyManager(), reclaimableFileFilter, remainNum);
+            for (Pair<String, OmKeyInfo> subDir : subDirList) {
+              localSubDirs.add(Table.newKeyValue(subDir.getKey(), subDir.getValue()));
+            }
+            if (!request.isPresent()) {
+              continue;
+            }
+            batch.add(request.get());
           }
-          subDirNum += purgePathRequest.getMarkDeletedSubDirsCount();
-          subFileNum += purgePathRequest.getDeletedSubFilesCount();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          dirSupplier.unregister();
         }
 
-        optimizeDirDeletesAndSubmitRequest(dirNum, subDirNum,
-            subFileNum, allSubDirList, purgePathRequestList, snapshotTableKey,
-            startTime, getOzoneManager().getKeyManager(),
+        List<Pair<String, OmKeyInfo>> allSubDirList = new ArrayList<>(localSubDirs.size());
+        for (KeyValue<String, OmKeyInfo> subDir : localSubDirs) {
+          allSubDirList.add(Pair.of(subDir.getKey(), subDir.getValue()));
+        }
+        boolean batchEmpty = batch.requests.isEmpty();
+        submitBatch(batch, allSubDirList, snapshotTableKey, getOzoneManager().getKeyManager(),
             reclaimableDirFilter, reclaimableFileFilter, bucketNameInfos, expectedPreviousSnapshotId,
             runCount, remainNum);
         Map<UUID, Long> exclusiveReplicatedSizeMap = reclaimableFileFilter.getExclusiveReplicatedSizeMap();
@@ -786,7 +952,7 @@ startTime, getOzoneManager().getKeyManager(),
           });
         }
 
-        return purgePathRequestList.isEmpty();
+        return !submittedAny && batchEmpty;
       } catch (IOException e) {
         LOG.error("Error while running delete directories for store : {} and files background task. " +
                 "Will retry at next run. ", snapshotTableKey, e);
@@ -794,6 +960,28 @@ startTime, getOzoneManager().getKeyManager(),
       }
     }
 
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private boolean submitBatch(PurgeBatch batch, List<Pair<String, OmKeyInfo>> subDirs, String snapshotTableKey,
+        KeyManager keyManager, ReclaimableDirFilter reclaimableDirFilter, ReclaimableKeyFilter reclaimableFileFilter,
+        Map<VolumeBucketId, BucketNameInfo> bucketNameInfos, UUID expectedPreviousSnapshotId, long runCount,
+        AtomicInteger remainNum) {
+      return optimizeDirDeletesAndSubmitRequest(batch.dirNum, batch.subDirNum,
+          batch.subFileNum, subDirs, batch.requests, snapshotTableKey,
+          batch.startTime, keyManager,
+          reclaimableDirFilter, reclaimableFileFilter, bucketNameInfos, expectedPreviousSnapshotId,
+          runCount, remainNum);
+    }
+
+    private void publishSubDirs(DeletedDirSupplier dirSupplier, KeyManager keyManager,
+        Collection<KeyValue<String, OmKeyInfo>> subDirs) throws IOException {
+      Map<VolumeBucketId, List<KeyValue<String, OmKeyInfo>>> subDirsByBucket = new LinkedHashMap<>();
+      for (KeyValue<String, OmKeyInfo> subDir : subDirs) {
+        VolumeBucketId bucket = keyManager.getMetadataManager().getVolumeBucketIdPairFSO(subDir.getKey());
+        subDirsByBucket.computeIfAbsent(bucket, k -> new ArrayList<>()).add(subDir);
+      }
+      subDirsByBucket.forEach(dirSupplier::publish);
+    }
+
     @Override
     public BackgroundTaskResult call() {
       // Check if this is the Leader OM. If not leader, no need to execute this
@@ -19,6 +19,10 @@
 
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_POLICY;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_POLICY_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_POLICY_SCAN_LIMIT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_KEY_DELETING_POLICY_SCAN_LIMIT_DEFAULT;
 import static org.apache.hadoop.ozone.util.ProtobufUtils.computeLongSizeWithTag;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -51,6 +55,7 @@
 import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.ClientVersion;
 import org.apache.hadoop.ozone.common.DeleteBlockGroupResult;
+import org.apache.hadoop.ozone.om.KeyDeletionPolicy;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
@@ -90,6 +95,8 @@ public class KeyDeletingService extends AbstractKeyDeletingService {
   private final ScmBlockLocationProtocol scmClient;
 
   private int keyLimitPerTask;
+  private final KeyDeletionPolicy deletionPolicy;
+  private final int policyScanLimit;
   private final AtomicLong deletedKeyCount;
   private final boolean deepCleanSnapshots;
   private final SnapshotChainManager snapshotChainManager;
@@ -112,6 +119,10 @@ public KeyDeletingService(OzoneManager ozoneManager,
         OZONE_KEY_DELETING_LIMIT_PER_TASK_DEFAULT);
     Preconditions.checkArgument(keyLimitPerTask >= 0,
         OZONE_KEY_DELETING_LIMIT_PER_TASK + " cannot be negative.");
+    this.deletionPolicy = conf.getEnum(OZONE_KEY_DELETING_POLICY,
+        KeyDeletionPolicy.valueOf(OZONE_KEY_DELETING_POLICY_DEFAULT));
+    this.policyScanLimit = conf.getInt(OZONE_KEY_DELETING_POLICY_SCAN_LIMIT,
+        OZONE_KEY_DELETING_POLICY_SCAN_LIMIT_DEFAULT);
     this.deletedKeyCount = new AtomicLong(0);
     this.deepCleanSnapshots = deepCleanSnapshots;
     this.snapshotChainManager = ((OmMetadataManagerImpl)ozoneManager.getMetadataManager()).getSnapshotChainManager();
@@ -600,9 +611,15 @@ private void processDeletedKeysForStore(SnapshotInfo currentSnapshotInfo, KeyMan
           remainNum -= renamedTableEntries.size();
 
           // Get pending keys that can be deleted
-          PendingKeysDeletion pendingKeysDeletion = currentSnapshotInfo == null
-              ? keyManager.getPendingDeletionKeys(reclaimableKeyFilter, remainNum)
-              : keyManager.getPendingDeletionKeys(volume, bucket, null, reclaimableKeyFilter, remainNum);
+          PendingKeysDeletion pendingKeysDeletion;
+          if (deletionPolicy != KeyDeletionPolicy.KEY_ORDER) {
+            pendingKeysDeletion = keyManager.getPendingDeletionKeys(volume, bucket, reclaimableKeyFilter, remainNum,
+                deletionPolicy, policyScanLimit);
+          } else {
+            pendingKeysDeletion = currentSnapshotInfo == null
+                ? keyManager.getPendingDeletionKeys(reclaimableKeyFilter, remainNum)
+                : keyManager.getPendingDeletionKeys(volume, bucket, null, reclaimableKeyFilter, remainNum);
+          }
           Map<String, PurgedKey> purgedKeys = pendingKeysDeletion.getPurgedKeys();
 
           // Keep the snapshot GC locks until the OM requests below complete, but release all snapshot DB read locks
@@ -30,6 +30,15 @@
 
   void put(K key, V value);
 
+  /**
+   * Put all entries of the given map. Implementations may write them in a
+   * single batch.
+   * @throws java.io.UncheckedIOException if the entries cannot be written
+   */
+  default void putAll(Map<K, V> entries) {
+    entries.forEach(this::put);
+  }
+
   void remove(K key);
 
   default ClosableIterator<Map.Entry<K, V>> iterator() {
@@ -19,14 +19,18 @@
 
 import jakarta.annotation.Nonnull;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import org.apache.hadoop.hdds.utils.db.CodecRegistry;
+import org.apache.hadoop.hdds.utils.db.RocksDatabaseException;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedReadOptions;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksDB;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedRocksIterator;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedSlice;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteBatch;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedWriteOptions;
 import org.apache.hadoop.ozone.util.ClosableIterator;
 import org.rocksdb.ColumnFamilyHandle;
 import org.rocksdb.RocksDBException;
@@ -77,6 +81,24 @@ public void put(K key, V value) {
     }
   }
 
+  @Override
+  public void putAll(Map<K, V> entries) {
+    try (ManagedWriteBatch writeBatch = new ManagedWriteBatch();
+         ManagedWriteOptions writeOptions = new ManagedWriteOptions()) {
+      for (Map.Entry<K, V> entry : entries.entrySet()) {
+        writeBatch.put(columnFamilyHandle,
+            codecRegistry.asRawData(entry.getKey()),
+            codecRegistry.asRawData(entry.getValue()));
+      }
+      db.get().write(writeOptions, writeBatch);
+    } catch (IOException exception) {
+      throw new UncheckedIOException(exception);
+    } catch (RocksDBException exception) {
+      throw new UncheckedIOException(new RocksDatabaseException(
+          "Failed to write " + entries.size() + " entries", exception));
+    }
+  }
+
   @Override
   public void remove(K key) {
     try {
@@ -40,6 +40,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.lock.IOzoneManagerLock;
 import org.apache.hadoop.ozone.om.lock.OMLockDetails;
+import org.apache.hadoop.util.Time;
 import org.apache.ratis.util.BatchLogger;
 import org.apache.ratis.util.TimeDuration;
 import org.apache.ratis.util.function.UncheckedAutoCloseableSupplier;
@@ -158,7 +159,7 @@ public void invalidate(UUID key) {
         LOG.debug("SnapshotId: '{}' does not exist in snapshot cache.", k);
       } else {
         try {
-          v.get().close();
+          closeSnapshot(v.get());
         } catch (IOException e) {
           throw new IllegalStateException("Failed to close snapshotId: " + key, e);
         }
@@ -169,6 +170,12 @@ public void invalidate(UUID key) {
     });
   }
 
+  private void closeSnapshot(OmSnapshot snapshot) throws IOException {
+    final long startNs = Time.monotonicNowNanos();
+    snapshot.close();
+    omMetrics.addSnapshotCloseLatency(Time.monotonicNowNanos() - startNs);
+  }
+
   /**
    * Immediately invalidate all entries and close their DB instances in cache.
    */
@@ -226,7 +233,9 @@ public UncheckedAutoCloseableSupplier<OmSnapshot> get(UUID key) throws IOExcepti
         if (v == null) {
           LOG.info("Loading SnapshotId: '{}'", k);
           try {
+            final long startNs = Time.monotonicNowNanos();
             v = new ReferenceCounted<>(cacheLoader.load(key), false, this);
+            omMetrics.addSnapshotLoadLatency(Time.monotonicNowNanos() - startNs);
           } catch (OMException omEx) {
             // Return null if the snapshot is no longer active
             if (!omEx.getResult().equals(OMException.ResultCodes.FILE_NOT_FOUND)) {
@@ -404,7 +413,7 @@ private synchronized Void cleanup(UUID evictionKey, boolean expectKeyToBePresent
         LOG.debug("Closing SnapshotId {}. It is not being referenced anymore.", k);
         // Close the instance, which also closes its DB handle.
         try {
-          v.get().close();
+          closeSnapshot(v.get());
         } catch (IOException ex) {
           throw new IllegalStateException("Error while closing snapshot DB for snapshotId " + k, ex);
         }
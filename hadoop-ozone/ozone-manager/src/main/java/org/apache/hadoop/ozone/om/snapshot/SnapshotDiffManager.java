@@ -35,6 +35,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF;
@@ -74,6 +76,7 @@
 import java.io.BufferedWriter;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -85,6 +88,7 @@
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -93,7 +97,10 @@
 import java.util.UUID;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -166,6 +173,9 @@ public class SnapshotDiffManager implements AutoCloseable, SnapshotDiffManagerMX
       LoggerFactory.getLogger(SnapshotDiffManager.class);
   private static final Map<DiffType, String> DIFF_TYPE_STRING_MAP =
       new EnumMap<>(ImmutableMap.of(DELETE, "1", RENAME, "2", CREATE, "3", MODIFY, "4"));
+  private static final double PROGRESS_STEP = 0.1;
+  /** Number of keys whose object IDs are written to the maps at once. */
+  private static final int OBJECT_ID_MAP_BATCH_SIZE = 1000;
 
   private final ManagedRocksDB db;
   private final OzoneManager ozoneManager;
@@ -192,6 +202,9 @@ public class SnapshotDiffManager implements AutoCloseable, SnapshotDiffManagerMX
    */
   private final PersistentMap<String, SnapshotDiffJob> snapDiffJobTable;
   private final ExecutorService snapDiffExecutor;
+  /** Generates the partitions of object ID maps, null if not partitioned. */
+  private final ExecutorService objectIdMapExecutor;
+  private final int objectIdMapPartitions;
   private ObjectName snapshotDiffManagerBeanName;
 
   /**
@@ -276,6 +289,26 @@ public SnapshotDiffManager(ManagedRocksDB db,
             .build()
     );
 
+    int objectIdMapThreads = ozoneManager.getConfiguration().getInt(
+        OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS,
+        OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS_DEFAULT);
+    if (objectIdMapThreads > 1) {
+      this.objectIdMapPartitions = objectIdMapThreads;
+      this.objectIdMapExecutor = new ThreadPoolExecutor(objectIdMapThreads,
+          objectIdMapThreads,
+          0,
+          TimeUnit.MILLISECONDS,
+          new LinkedBlockingQueue<>(),
+          new ThreadFactoryBuilder()
+              .setNameFormat(ozoneManager.getThreadNamePrefix() +
+                  "snapshot-diff-object-id-map-thread-id-%d")
+              .build()
+      );
+    } else {
+      this.objectIdMapPartitions = 1;
+      this.objectIdMapExecutor = null;
+    }
+
     RDBStore rdbStore = (RDBStore) ozoneManager.getMetadataManager().getStore();
     Objects.requireNonNull(rdbStore, "DBStore can't be null.");
     Path path = Paths.get(rdbStore.getSnapshotMetadataDir(), "snapDiff");
@@ -1254,8 +1287,10 @@ private void getDeltaFilesAndDiffKeysToObjectIdToKeyMap(
         fsTable.getName().equals(FILE_TABLE) ? OBJECT_ID_MAP_GEN_FSO_FILE
             : fsTable.getName().equals(DIRECTORY_TABLE) ? OBJECT_ID_MAP_GEN_FSO_DIR
             : OBJECT_ID_MAP_GEN_OBS);
+    List<String> splitKeys = getPartitionSplitKeys(
+        deltaFiles.stream().map(Pair::getRight).collect(Collectors.toList()), objectIdMapPartitions);
     addToObjectIdMap(fsTable, tsTable, deltaFiles.stream().map(Pair::getLeft).collect(Collectors.toList()),
-        !skipNativeDiff, oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap, oldParentIds,
+        splitKeys, !skipNativeDiff, oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap, oldParentIds,
         newParentIds, tablePrefixes, jobKey, jobId);
   }
 
@@ -1263,7 +1298,8 @@ private void getDeltaFilesAndDiffKeysToObjectIdToKeyMap(
   @SuppressWarnings("checkstyle:ParameterNumber")
   void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
       Table<String, ? extends WithParentObjectId> tsTable,
-      Collection<Path> deltaFiles, boolean nativeRocksToolsLoaded,
+      Collection<Path> deltaFiles, List<String> splitKeys,
+      boolean nativeRocksToolsLoaded,
       PersistentMap<byte[], byte[]> oldObjIdToKeyMap,
       PersistentMap<byte[], byte[]> newObjIdToKeyMap,
       PersistentMap<byte[], Boolean> objectIdToIsDirMap,
@@ -1281,73 +1317,243 @@ void addToObjectIdMap(Table<String, ? extends WithParentObjectId> fsTable,
     }
     updateProgress(jobKey, 0.0);
     long objectIdMapStart = Time.monotonicNow();
-    AtomicLong keysProcessed = new AtomicLong(0);
     String tablePrefix = tablePrefixes.getTablePrefix(fsTable.getName());
-    boolean isDirectoryTable = fsTable.getName().equals(DIRECTORY_TABLE);
     SstFileSetReader sstFileReader = new SstFileSetReader(deltaFiles);
     validateEstimatedKeyChangesAreInLimits(sstFileReader);
-    long totalEstimatedKeysToProcess = sstFileReader.getEstimatedTotalKeys();
     String sstFileReaderLowerBound = tablePrefix;
     String sstFileReaderUpperBound = null;
-    double stepIncreasePct = 0.1;
-    double checkpoint = stepIncreasePct;
     if (Strings.isNotEmpty(tablePrefix)) {
       sstFileReaderUpperBound = getLexicographicallyHigherString(tablePrefix);
     }
-    try (ClosableIterator<String> keysToCheck = nativeRocksToolsLoaded ?
-        sstFileReader.getKeyStreamWithTombstone(sstFileReaderLowerBound, sstFileReaderUpperBound)
-        : sstFileReader.getKeyStream(sstFileReaderLowerBound, sstFileReaderUpperBound);
-         TableMergeIterator<String, WithParentObjectId> tableMergeIterator = new TableMergeIterator<>(keysToCheck,
-             tablePrefix, (Table<String, WithParentObjectId>) fsTable, (Table<String, WithParentObjectId>) tsTable)) {
-      while (tableMergeIterator.hasNext()) {
-        Table.KeyValue<String, List<WithParentObjectId>> kvs = tableMergeIterator.next();
-        String key = kvs.getKey();
-        if (totalEstimatedKeysToProcess > 0) {
-          double progressPct = (double) keysProcessed.get() / totalEstimatedKeysToProcess;
-          if (progressPct >= checkpoint) {
-            updateProgress(jobKey, progressPct);
-            checkpoint += stepIncreasePct;
-          }
-        }
 
-        try {
+    // Partition boundaries: [lowerBound, splitKey_1), ..., [splitKey_n, upperBound)
+    List<String> bounds = new ArrayList<>();
+    bounds.add(sstFileReaderLowerBound);
+    for (String splitKey : splitKeys) {
+      if ((sstFileReaderLowerBound == null || splitKey.compareTo(sstFileReaderLowerBound) > 0)
+          && (sstFileReaderUpperBound == null || splitKey.compareTo(sstFileReaderUpperBound) < 0)) {
+        bounds.add(splitKey);
+      }
+    }
+    bounds.add(sstFileReaderUpperBound);
+
+    ObjectIdMapGenerator generator = new ObjectIdMapGenerator(
+        (Table<String, WithParentObjectId>) fsTable, (Table<String, WithParentObjectId>) tsTable,
+        sstFileReader, nativeRocksToolsLoaded, oldObjIdToKeyMap, newObjIdToKeyMap, objectIdToIsDirMap,
+        tablePrefix, jobKey, jobId);
+    int partitions = bounds.size() - 1;
+    if (partitions == 1 || objectIdMapExecutor == null) {
+      for (int i = 0; i < partitions; i++) {
+        generator.generate(bounds.get(i), bounds.get(i + 1), oldParentIds, newParentIds);
+      }
+    } else {
+      List<Future<?>> futures = new ArrayList<>(partitions);
+      List<Pair<Optional<Set<Long>>, Optional<Set<Long>>>> parentIds = new ArrayList<>(partitions);
+      for (int i = 0; i < partitions; i++) {
+        String lowerBound = bounds.get(i);
+        String upperBound = bounds.get(i + 1);
+        Optional<Set<Long>> partitionOldParentIds = oldParentIds.map(set -> new HashSet<>());
+        Optional<Set<Long>> partitionNewParentIds = newParentIds.map(set -> new HashSet<>());
+        parentIds.add(Pair.of(partitionOldParentIds, partitionNewParentIds));
+        futures.add(objectIdMapExecutor.submit((Callable<Void>) () -> {
+          generator.generate(lowerBound, upperBound, partitionOldParentIds, partitionNewParentIds);
+          return null;
+        }));
+      }
+      waitForPartitions(futures);
+      for (Pair<Optional<Set<Long>>, Optional<Set<Long>>> ids : parentIds) {
+        ids.getLeft().ifPresent(ids0 -> oldParentIds.ifPresent(set -> set.addAll(ids0)));
+        ids.getRight().ifPresent(ids0 -> newParentIds.ifPresent(set -> set.addAll(ids0)));
+      }
+    }
+    updateProgress(jobKey, 1.0);
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("Generated object ID map for table '{}', partitions: {}, keys scanned: {}, elapsed: {}ms, jobId: {}",
+          fsTable.getName(), partitions, generator.getKeysProcessed(), Time.monotonicNow() - objectIdMapStart, jobId);
+    }
+  }
+
+  private static void waitForPartitions(List<Future<?>> futures) throws IOException {
+    try {
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while generating object ID map", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof IOException) {
+        throw (IOException) cause;
+      }
+      if (cause instanceof UncheckedIOException) {
+        throw ((UncheckedIOException) cause).getCause();
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new IOException(cause);
+    } finally {
+      futures.forEach(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Choose keys to split the key range of the delta SST files into
+   * partitions, which are processed in parallel. The start keys of the
+   * files are used, so that the partitions cover similar numbers of files.
+   */
+  @VisibleForTesting
+  static List<String> getPartitionSplitKeys(Collection<SstFileInfo> sstFiles,
+      int partitions) {
+    if (partitions <= 1) {
+      return Collections.emptyList();
+    }
+    List<String> startKeys = sstFiles.stream()
+        .map(SstFileInfo::getStartKey)
+        .filter(Objects::nonNull)
+        .distinct()
+        .sorted()
+        .collect(Collectors.toList());
+    int count = Math.min(partitions, startKeys.size());
+    List<String> splitKeys = new ArrayList<>(Math.max(count - 1, 0));
+    for (int i = 1; i < count; i++) {
+      splitKeys.add(startKeys.get(i * startKeys.size() / count));
+    }
+    return splitKeys;
+  }
+
+  /**
+   * Fills the object ID maps from the keys of a partition of the delta SST
+   * files. Partitions may run concurrently; each writes to the maps in
+   * batches. The job has a single progress, so the processed keys of all
+   * partitions are added up and reported against the estimated keys of
+   * all delta files.
+   */
+  private final class ObjectIdMapGenerator {
+    private final Table<String, WithParentObjectId> fsTable;
+    private final Table<String, WithParentObjectId> tsTable;
+    private final SstFileSetReader sstFileReader;
+    private final boolean nativeRocksToolsLoaded;
+    private final PersistentMap<byte[], byte[]> oldObjIdToKeyMap;
+    private final PersistentMap<byte[], byte[]> newObjIdToKeyMap;
+    private final PersistentMap<byte[], Boolean> objectIdToIsDirMap;
+    private final String tablePrefix;
+    private final boolean isDirectoryTable;
+    private final String jobKey;
+    private final String jobId;
+    private final long totalEstimatedKeysToProcess;
+    private final AtomicLong keysProcessed = new AtomicLong(0);
+    private double checkpoint = PROGRESS_STEP;
+
+    @SuppressWarnings("checkstyle:ParameterNumber")
+    private ObjectIdMapGenerator(Table<String, WithParentObjectId> fsTable,
+        Table<String, WithParentObjectId> tsTable,
+        SstFileSetReader sstFileReader, boolean nativeRocksToolsLoaded,
+        PersistentMap<byte[], byte[]> oldObjIdToKeyMap,
+        PersistentMap<byte[], byte[]> newObjIdToKeyMap,
+        PersistentMap<byte[], Boolean> objectIdToIsDirMap,
+        String tablePrefix, String jobKey, String jobId) throws IOException {
+      this.fsTable = fsTable;
+      this.tsTable = tsTable;
+      this.sstFileReader = sstFileReader;
+      this.nativeRocksToolsLoaded = nativeRocksToolsLoaded;
+      this.oldObjIdToKeyMap = oldObjIdToKeyMap;
+      this.newObjIdToKeyMap = newObjIdToKeyMap;
+      this.objectIdToIsDirMap = objectIdToIsDirMap;
+      this.tablePrefix = tablePrefix;
+      this.isDirectoryTable = fsTable.getName().equals(DIRECTORY_TABLE);
+      this.jobKey = jobKey;
+      this.jobId = jobId;
+      this.totalEstimatedKeysToProcess = sstFileReader.getEstimatedTotalKeys();
+    }
+
+    long getKeysProcessed() {
+      return keysProcessed.get();
+    }
+
+    void generate(String lowerBound, String upperBound,
+        Optional<Set<Long>> oldParentIds, Optional<Set<Long>> newParentIds)
+        throws IOException {
+      long partitionStart = Time.monotonicNow();
+      Map<byte[], byte[]> oldBatch = new LinkedHashMap<>();
+      Map<byte[], byte[]> newBatch = new LinkedHashMap<>();
+      Map<byte[], Boolean> isDirBatch = new LinkedHashMap<>();
+      long partitionKeys = 0;
+      long unreportedKeys = 0;
+      try (ClosableIterator<String> keysToCheck = nativeRocksToolsLoaded ?
+          sstFileReader.getKeyStreamWithTombstone(lowerBound, upperBound)
+          : sstFileReader.getKeyStream(lowerBound, upperBound);
+           TableMergeIterator<String, WithParentObjectId> tableMergeIterator = new TableMergeIterator<>(keysToCheck,
+               tablePrefix, fsTable, tsTable)) {
+        while (tableMergeIterator.hasNext()) {
+          Table.KeyValue<String, List<WithParentObjectId>> kvs = tableMergeIterator.next();
+          String key = kvs.getKey();
           final WithParentObjectId fromObjectId = kvs.getValue().get(0);
           final WithParentObjectId toObjectId = kvs.getValue().get(1);
-          if (areKeysEqual(fromObjectId, toObjectId)) {
-            keysProcessed.getAndIncrement();
-            continue;
-          }
-          if (fromObjectId != null) {
-            byte[] rawObjId = codecRegistry.asRawData(fromObjectId.getObjectID());
+          if (!areKeysEqual(fromObjectId, toObjectId)) {
             // Removing volume bucket info by removing the table bucket Prefix
             // from the key.
             // For FSO buckets will be left with the parent id/keyname.
             // For OBS buckets will be left with the complete path
-            byte[] rawValue = codecRegistry.asRawData(
-                key.substring(tablePrefix.length()));
-            oldObjIdToKeyMap.put(rawObjId, rawValue);
-            objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
-            oldParentIds.ifPresent(set -> set.add(
-                fromObjectId.getParentObjectID()));
-          }
-          if (toObjectId != null) {
-            byte[] rawObjId = codecRegistry.asRawData(toObjectId.getObjectID());
             byte[] rawValue = codecRegistry.asRawData(key.substring(tablePrefix.length()));
-            newObjIdToKeyMap.put(rawObjId, rawValue);
-            objectIdToIsDirMap.put(rawObjId, isDirectoryTable);
-            newParentIds.ifPresent(set -> set.add(toObjectId
-                .getParentObjectID()));
+            if (fromObjectId != null) {
+              byte[] rawObjId = codecRegistry.asRawData(fromObjectId.getObjectID());
+              oldBatch.put(rawObjId, rawValue);
+              isDirBatch.put(rawObjId, isDirectoryTable);
+              oldParentIds.ifPresent(set -> set.add(fromObjectId.getParentObjectID()));
+            }
+            if (toObjectId != null) {
+              byte[] rawObjId = codecRegistry.asRawData(toObjectId.getObjectID());
+              newBatch.put(rawObjId, rawValue);
+              isDirBatch.put(rawObjId, isDirectoryTable);
+              newParentIds.ifPresent(set -> set.add(toObjectId.getParentObjectID()));
+            }
+          }
+          partitionKeys++;
+          if (++unreportedKeys >= OBJECT_ID_MAP_BATCH_SIZE) {
+            flush(oldBatch, newBatch, isDirBatch, unreportedKeys);
+            unreportedKeys = 0;
           }
-          keysProcessed.getAndIncrement();
-        } catch (IOException e) {
-          throw new RuntimeException(e);
         }
       }
+      flush(oldBatch, newBatch, isDirBatch, unreportedKeys);
+      if (LOG.isDebugEnabled()) {
+        LOG.debug("Generated object ID map for partition [{}, {}) of table '{}', keys scanned: {}, elapsed: {}ms, " +
+            "jobId: {}", lowerBound, upperBound, fsTable.getName(), partitionKeys,
+            Time.monotonicNow() - partitionStart, jobId);
+      }
     }
-    updateProgress(jobKey, 1.0);
-    if (LOG.isDebugEnabled()) {
-      LOG.debug("Generated object ID map for table '{}', keys scanned: {}, elapsed: {}ms, jobId: {}",
-          fsTable.getName(), keysProcessed.get(), Time.monotonicNow() - objectIdMapStart, jobId);
+
+    private void flush(Map<byte[], byte[]> oldBatch,
+        Map<byte[], byte[]> newBatch, Map<byte[], Boolean> isDirBatch,
+        long processed) {
+      if (!oldBatch.isEmpty()) {
+        oldObjIdToKeyMap.putAll(oldBatch);
+        oldBatch.clear();
+      }
+      if (!newBatch.isEmpty()) {
+        newObjIdToKeyMap.putAll(newBatch);
+        newBatch.clear();
+      }
+      if (!isDirBatch.isEmpty()) {
+        objectIdToIsDirMap.putAll(isDirBatch);
+        isDirBatch.clear();
+      }
+      reportProgress(keysProcessed.addAndGet(processed));
+    }
+
+    private synchronized void reportProgress(long processed) {
+      if (totalEstimatedKeysToProcess <= 0) {
+        return;
+      }
+      double progressPct = (double) processed / totalEstimatedKeysToProcess;
+      if (progressPct >= checkpoint) {
+        updateProgress(jobKey, progressPct);
+        while (checkpoint <= progressPct) {
+          checkpoint += PROGRESS_STEP;
+        }
+      }
     }
   }
 
@@ -1859,6 +2065,9 @@ public void close() {
     if (snapDiffExecutor != null) {
       closeExecutorService(snapDiffExecutor, "SnapDiffExecutor");
     }
+    if (objectIdMapExecutor != null) {
+      closeExecutorService(objectIdMapExecutor, "SnapDiffObjectIdMapExecutor");
+    }
   }
 
   private void closeExecutorService(ExecutorService executorService,
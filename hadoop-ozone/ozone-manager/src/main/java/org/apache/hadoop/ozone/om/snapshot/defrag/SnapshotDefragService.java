@@ -23,6 +23,8 @@
 import static org.apache.hadoop.hdds.utils.db.RDBCheckpointManager.RDB_CHECKPOINT_DIR_PREFIX;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.SNAPSHOT_DEFRAG_LIMIT_PER_TASK;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.SNAPSHOT_DEFRAG_LIMIT_PER_TASK_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC_DEFAULT;
 import static org.apache.hadoop.ozone.om.OmSnapshotManager.COLUMN_FAMILIES_TO_TRACK_IN_SNAPSHOT;
 import static org.apache.hadoop.ozone.om.lock.DAGLeveledResource.BOOTSTRAP_LOCK;
 import static org.apache.hadoop.ozone.om.lock.DAGLeveledResource.SNAPSHOT_DB_CONTENT_LOCK;
@@ -49,6 +51,7 @@
 import java.util.stream.Stream;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.conf.StorageUnit;
 import org.apache.hadoop.hdds.utils.BackgroundService;
 import org.apache.hadoop.hdds.utils.BackgroundTask;
 import org.apache.hadoop.hdds.utils.BackgroundTaskQueue;
@@ -70,6 +73,7 @@
 import org.apache.hadoop.hdds.utils.db.TableIterator;
 import org.apache.hadoop.hdds.utils.db.TablePrefixInfo;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedCompactRangeOptions;
+import org.apache.hadoop.hdds.utils.db.managed.ManagedRateLimiter;
 import org.apache.hadoop.ozone.lock.BootstrapStateHandler;
 import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
@@ -109,6 +113,10 @@
  * performs a full defragmentation by copying all keys. For subsequent snapshots,
  * it uses incremental defragmentation based on diffs from the previous defragmented
  * snapshot.
+ * <p>
+ * The disk writes of defragmentation, i.e. the compactions of the rewritten DB and the
+ * SST files it ingests, are rate limited so that they do not starve the active OM DB
+ * sharing the disk, see {@link org.apache.hadoop.ozone.om.OMConfigKeys#SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC}.
  */
 public class SnapshotDefragService extends BackgroundService
     implements BootstrapStateHandler {
@@ -118,6 +126,8 @@ public class SnapshotDefragService extends BackgroundService
 
   // Use only a single thread for snapshot defragmentation to avoid conflicts
   private static final int DEFRAG_CORE_POOL_SIZE = 1;
+  // Number of bytes written to a delta file between two requests to the rate limiter.
+  private static final long THROTTLE_CHUNK_BYTES = 1 << 20;
 
   private final OzoneManager ozoneManager;
   private final AtomicLong runCount = new AtomicLong(0);
@@ -140,6 +150,8 @@ public class SnapshotDefragService extends BackgroundService
   private final Path differTmpDir;
   private final OmSnapshotInternalMetrics snapshotMetrics;
   private final OMPerformanceMetrics perfMetrics;
+  // Limits the disk writes of defragmentation, null if unlimited.
+  private final ManagedRateLimiter rateLimiter;
 
   public SnapshotDefragService(long interval, TimeUnit unit, long serviceTimeout,
       OzoneManager ozoneManager, OzoneConfiguration configuration) throws IOException {
@@ -174,6 +186,9 @@ public SnapshotDefragService(long interval, TimeUnit unit, long serviceTimeout,
     this.lockIds = new ArrayList<>(1);
     this.snapshotMetrics = ozoneManager.getOmSnapshotIntMetrics();
     this.perfMetrics = ozoneManager.getPerfMetrics();
+    long maxBytesPerSec = (long) configuration.getStorageSize(SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC,
+        SNAPSHOT_DEFRAG_MAX_BYTES_PER_SEC_DEFAULT, StorageUnit.BYTES);
+    this.rateLimiter = maxBytesPerSec > 0 ? new ManagedRateLimiter(maxBytesPerSec) : null;
   }
 
   @Override
@@ -208,6 +223,40 @@ private boolean isRocksToolsNativeLibAvailable() {
     }
   }
 
+  /**
+   * Blocks until the rate limiter allows writing the given number of bytes.
+   */
+  private void throttle(long bytes) {
+    if (rateLimiter == null) {
+      return;
+    }
+    // A single request must not exceed the burst size of the rate limiter.
+    long burst = rateLimiter.getSingleBurstBytes();
+    for (long remaining = bytes; remaining > 0; remaining -= burst) {
+      rateLimiter.request(Math.min(remaining, burst));
+    }
+  }
+
+  /**
+   * Returns the total size of the files in a DB directory, or 0 if it cannot be listed.
+   */
+  private static long getDirSize(Path dir) {
+    long size = 0;
+    try (Stream<Path> files = Files.list(dir)) {
+      Iterator<Path> it = files.iterator();
+      while (it.hasNext()) {
+        Path file = it.next();
+        if (Files.isRegularFile(file)) {
+          size += Files.size(file);
+        }
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to get the size of {}", dir, e);
+      return 0;
+    }
+    return size;
+  }
+
   /**
    * Determines whether the specified snapshot requires defragmentation and returns
    * a pair indicating the need for defragmentation and the corresponding version of the snapshot.
@@ -335,6 +384,7 @@ private Pair<Path, Boolean> spillTableDiffIntoSstFile(List<Path> deltaFilePaths,
     Path fileToBeIngested = differTmpDir.resolve(snapshotTable.getName() + "-" + UUID.randomUUID()
         + SST_FILE_EXTENSION);
     int deltaEntriesCount = 0;
+    long unthrottledBytes = 0;
     try (ClosableIterator<String> keysToCheck =
              sstFileSetReader.getKeyStreamWithTombstone(tableKeyPrefix, sstFileReaderUpperBound);
          TableMergeIterator<String, CodecBuffer> tableMergeIterator = new TableMergeIterator<>(keysToCheck,
@@ -359,12 +409,19 @@ private Pair<Path, Boolean> spillTableDiffIntoSstFile(List<Path> deltaFilePaths,
               rdbSstFileWriter.delete(key);
             } else {
               rdbSstFileWriter.put(key, snapValue);
+              unthrottledBytes += snapValue.readableBytes();
             }
+            unthrottledBytes += key.readableBytes();
           }
           deltaEntriesCount++;
+          if (unthrottledBytes >= THROTTLE_CHUNK_BYTES) {
+            throttle(unthrottledBytes);
+            unthrottledBytes = 0;
+          }
         }
       }
     }
+    throttle(unthrottledBytes);
     // If there are no delta entries then delete the delta file. No need to ingest the file as a diff.
     return Pair.of(fileToBeIngested, deltaEntriesCount != 0);
   }
@@ -427,6 +484,7 @@ void performIncrementalDefragmentation(SnapshotInfo previousSnapshotInfo, Snapsh
           if (!fileToBeIngested.toFile().exists()) {
             throw new IOException("Delta file does not exist: " + fileToBeIngested);
           }
+          snapshotMetrics.incSnapshotDefragBytesWritten(Files.size(fileToBeIngested));
           Table checkpointTable = checkpointStore.getTable(table);
           checkpointTable.loadFromFile(fileToBeIngested.toFile());
         }
@@ -477,6 +535,10 @@ void ingestNonIncrementalTables(DBStore checkpointDBStore, SnapshotInfo snapshot
                 CodecBufferCodec.get(true), CodecBufferCodec.get(true));
             snapshotTableBytes.dumpToFileWithPrefix(tmpSstFile.toFile(), prefixBytes);
           }
+          // The dump is not written through the rate limiter, so pace the ingestion of the tables instead.
+          long dumpSize = tmpSstFile.toFile().length();
+          throttle(dumpSize);
+          snapshotMetrics.incSnapshotDefragBytesWritten(dumpSize);
           Table<CodecBuffer, CodecBuffer> checkpointTable = checkpointDBStore.getTable(snapshotTableName,
               CodecBufferCodec.get(true), CodecBufferCodec.get(true));
           checkpointTable.loadFromFile(tmpSstFile.toFile());
@@ -511,6 +573,8 @@ int atomicSwitchSnapshotDB(UUID snapshotId, Path checkpointPath) throws IOExcept
     try (WritableOmSnapshotLocalDataProvider snapshotLocalDataProvider =
              snapshotLocalDataManager.getWritableOmSnapshotLocalData(snapshotId)) {
       OmSnapshotLocalData localData = snapshotLocalDataProvider.getSnapshotLocalData();
+      long currentVersionSize = getDirSize(OmSnapshotManager.getSnapshotPath(ozoneManager.getMetadataManager(),
+          snapshotId, localData.getVersion()));
       Path nextVersionPath = OmSnapshotManager.getSnapshotPath(ozoneManager.getMetadataManager(), snapshotId,
           localData.getVersion() + 1);
       // Remove the directory if it exists.
@@ -528,6 +592,7 @@ int atomicSwitchSnapshotDB(UUID snapshotId, Path checkpointPath) throws IOExcept
         snapshotLocalDataProvider.addSnapshotVersion(newVersionCheckpointStore);
         snapshotLocalDataProvider.commit();
       }
+      snapshotMetrics.incSnapshotDefragBytesReclaimed(Math.max(0, currentVersionSize - getDirSize(nextVersionPath)));
       return localData.getVersion() - 1;
     }
   }
@@ -552,7 +617,7 @@ OmMetadataManagerImpl createDefragCheckpointMetadataManager(
     // Generic RocksDB metrics are not useful for them and can race with CF handle
     // lifetime changes while the checkpoint is being rewritten.
     return OmMetadataManagerImpl.createCheckpointMetadataManager(
-        conf, checkpoint, readOnly, false);
+        conf, checkpoint, readOnly, false, rateLimiter);
   }
 
   /**
@@ -902,6 +967,9 @@ public void shutdown() {
     } catch (IOException e) {
       LOG.error("Error while closing delta diff computer.", e);
     }
+    if (rateLimiter != null) {
+      rateLimiter.close();
+    }
     Path tmpDirPath =  Paths.get(tmpDefragDir);
     if (tmpDirPath.toFile().exists()) {
       try {
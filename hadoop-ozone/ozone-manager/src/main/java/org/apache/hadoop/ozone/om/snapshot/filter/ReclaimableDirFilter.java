@@ -56,6 +56,9 @@ protected String getBucketName(Table.KeyValue<String, OmKeyInfo> keyValue) throw
 
   @Override
   protected Boolean isReclaimable(Table.KeyValue<String, OmKeyInfo> deletedDirInfo) throws IOException {
+    if (isCreatedAfterPreviousSnapshot(0, deletedDirInfo.getValue().getObjectID())) {
+      return true;
+    }
     UncheckedAutoCloseableSupplier<OmSnapshot> previousSnapshot = getPreviousOmSnapshot(0);
     KeyManager prevKeyManager = previousSnapshot == null ? null : previousSnapshot.get().getKeyManager();
     return isDirReclaimable(getVolumeId(), getBucketInfo(), deletedDirInfo.getValue(), getKeyManager(), prevKeyManager);
@@ -27,7 +27,9 @@
 import java.util.Objects;
 import java.util.UUID;
 import org.apache.hadoop.hdds.utils.IOUtils;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OmSnapshot;
 import org.apache.hadoop.ozone.om.OmSnapshotManager;
@@ -61,6 +63,8 @@
   private final List<SnapshotInfo> tmpValidationSnapshotInfos;
   private final List<UUID> lockedSnapshotIds;
   private final List<SnapshotInfo> previousSnapshotInfos;
+  // Index of the transaction which created each previous snapshot, Long.MAX_VALUE if unknown.
+  private final List<Long> previousSnapshotTransactionIndexes;
   private final List<UncheckedAutoCloseableSupplier<OmSnapshot>> previousOmSnapshots;
   private final MultiSnapshotLocks snapshotIdLocks;
   private Long volumeId;
@@ -96,6 +100,7 @@ public ReclaimableFilter(
     this.numberOfPreviousSnapshotsFromChain = numberOfPreviousSnapshotsFromChain;
     this.previousOmSnapshots = new ArrayList<>(numberOfPreviousSnapshotsFromChain);
     this.previousSnapshotInfos = new ArrayList<>(numberOfPreviousSnapshotsFromChain);
+    this.previousSnapshotTransactionIndexes = new ArrayList<>(numberOfPreviousSnapshotsFromChain);
     this.tmpValidationSnapshotInfos = new ArrayList<>(numberOfPreviousSnapshotsFromChain);
     this.lockedSnapshotIds = new ArrayList<>(numberOfPreviousSnapshotsFromChain + 1);
   }
@@ -165,9 +170,12 @@ private void initializePreviousSnapshotsFromChain(String volume, String bucket)
           previousOmSnapshots.add(omSnapshotManager.getActiveSnapshot(snapshotInfo.getVolumeName(),
               snapshotInfo.getBucketName(), snapshotInfo.getName()));
           previousSnapshotInfos.add(snapshotInfo);
+          previousSnapshotTransactionIndexes.add(snapshotInfo.getCreateTransactionInfo() == null ? Long.MAX_VALUE :
+              TransactionInfo.fromByteString(snapshotInfo.getCreateTransactionInfo()).getTransactionIndex());
         } else {
           previousOmSnapshots.add(null);
           previousSnapshotInfos.add(null);
+          previousSnapshotTransactionIndexes.add(Long.MAX_VALUE);
         }
       }
       // NOTE: Getting volumeId and bucket from active OM.
@@ -232,6 +240,7 @@ private void cleanup() {
     this.snapshotIdLocks.releaseLock();
     closeSnapshotDbHandles();
     previousSnapshotInfos.clear();
+    previousSnapshotTransactionIndexes.clear();
     lockedSnapshotIds.clear();
   }
 
@@ -255,6 +264,18 @@ protected SnapshotInfo getPreviousSnapshotInfo(int index) {
     return previousSnapshotInfos.get(index);
   }
 
+  /**
+   * Checks if an object was created after the previous snapshot at the given index, without reading the snapshot.
+   * Object IDs are derived from the index of the Ratis transaction creating the object, and the double buffer flushes
+   * a snapshot's checkpoint right after its create transaction, so such an object cannot be present in the snapshot.
+   * Object IDs generated before Ratis was enabled carry a different epoch and are never considered newer.
+   * @return true if the object is definitely absent from the previous snapshot, false if it has to be looked up.
+   */
+  protected boolean isCreatedAfterPreviousSnapshot(int index, long objectId) {
+    return objectId >>> OmUtils.EPOCH_ID_SHIFT == OmUtils.EPOCH_WHEN_RATIS_ENABLED &&
+        OmUtils.getTxIdFromObjectId(objectId) > previousSnapshotTransactionIndexes.get(index);
+  }
+
   protected OzoneManager getOzoneManager() {
     return ozoneManager;
   }
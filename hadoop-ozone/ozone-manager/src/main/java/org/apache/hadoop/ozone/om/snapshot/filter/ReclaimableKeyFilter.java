@@ -85,6 +85,10 @@ protected String getBucketName(Table.KeyValue<String, OmKeyInfo> keyValue) throw
    * @throws IOException If an error occurs while accessing snapshot data or key information.
    */
   protected Boolean isReclaimable(Table.KeyValue<String, OmKeyInfo> deletedKeyInfo) throws IOException {
+    // Keys created after the previous snapshot need no lookup in it, nor in the previous to previous snapshot.
+    if (isCreatedAfterPreviousSnapshot(1, deletedKeyInfo.getValue().getObjectID())) {
+      return true;
+    }
     UncheckedAutoCloseableSupplier<OmSnapshot> previousSnapshot = getPreviousOmSnapshot(1);
 
 
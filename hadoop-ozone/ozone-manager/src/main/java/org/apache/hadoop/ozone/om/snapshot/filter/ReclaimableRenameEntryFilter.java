@@ -53,6 +53,10 @@ public ReclaimableRenameEntryFilter(OzoneManager ozoneManager,
    */
   @Override
   protected Boolean isReclaimable(Table.KeyValue<String, String> renameEntry) throws IOException {
+    long objectId = Long.parseLong(getKeyManager().getMetadataManager().splitRenameKey(renameEntry.getKey())[2]);
+    if (isCreatedAfterPreviousSnapshot(0, objectId)) {
+      return true;
+    }
     UncheckedAutoCloseableSupplier<OmSnapshot> previousSnapshot = getPreviousOmSnapshot(0);
     Table<String, OmKeyInfo> previousKeyTable = null;
     Table<String, OmDirectoryInfo> prevDirTable = null;
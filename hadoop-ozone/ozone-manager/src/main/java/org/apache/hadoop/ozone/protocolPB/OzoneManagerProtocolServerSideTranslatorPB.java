@@ -17,6 +17,8 @@
 
 package org.apache.hadoop.ozone.protocolPB;
 
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_ENABLED_DEFAULT;
 import static org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus.LEADER_AND_READY;
 import static org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus.NOT_LEADER;
 import static org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils.createErrorResponse;
@@ -31,6 +33,7 @@
 import org.apache.hadoop.hdds.server.OzoneProtocolMessageDispatcher;
 import org.apache.hadoop.hdds.utils.ProtocolMessageMetrics;
 import org.apache.hadoop.ipc_.ProcessingDetails.Timing;
+import org.apache.hadoop.ipc_.RetriableException;
 import org.apache.hadoop.ipc_.Server;
 import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
@@ -39,6 +42,7 @@
 import org.apache.hadoop.ozone.om.exceptions.OMException.ResultCodes;
 import org.apache.hadoop.ozone.om.exceptions.OMLeaderNotReadyException;
 import org.apache.hadoop.ozone.om.protocolPB.OzoneManagerProtocolPB;
+import org.apache.hadoop.ozone.om.ratis.OMAdmissionController;
 import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer;
 import org.apache.hadoop.ozone.om.ratis.OzoneManagerRatisServer.RaftServerStatus;
 import org.apache.hadoop.ozone.om.ratis.utils.OzoneManagerRatisUtils;
@@ -79,6 +83,7 @@ public class OzoneManagerProtocolServerSideTranslatorPB implements OzoneManagerP
       OzoneManagerProtocolProtos.Type> dispatcher;
   private final RequestValidations requestValidations;
   private final OMPerformanceMetrics perfMetrics;
+  private final OMAdmissionController admissionController;
 
   private OMRequest lastRequestToSubmit;
 
@@ -106,6 +111,14 @@ public OzoneManagerProtocolServerSideTranslatorPB(
         .load();
     maxResponseLength = ozoneManager.getConfiguration()
         .getInt(MAXIMUM_RESPONSE_LENGTH, MAXIMUM_RESPONSE_LENGTH_DEFAULT);
+    if (ozoneManager.getConfiguration().getBoolean(OZONE_OM_ADMISSION_CONTROL_ENABLED,
+        OZONE_OM_ADMISSION_CONTROL_ENABLED_DEFAULT)) {
+      admissionController = new OMAdmissionController(ozoneManager.getConfiguration(),
+          () -> omRatisServer.getOmStateMachine().getOzoneManagerDoubleBuffer().getUnFlushedTransactionLoad(),
+          perfMetrics);
+    } else {
+      admissionController = null;
+    }
   }
 
   /**
@@ -137,11 +150,18 @@ public OMResponse submitRequest(RpcController controller,
 
   @VisibleForTesting
   public OMResponse processRequest(OMRequest request) throws ServiceException {
+    Server.Call call = Server.getCurCall().get();
+    if (call != null) {
+      // set before processing, so that the cost of failed requests is known
+      call.getProcessingDetails().setRequestType(request.getCmdType().name());
+    }
     OMResponse response = internalProcessRequest(request);
     if (response.hasOmLockDetails()) {
       OzoneManagerProtocolProtos.OMLockDetailsProto omLockDetailsProto =
           response.getOmLockDetails();
-      Server.Call call = Server.getCurCall().get();
+      if (admissionController != null) {
+        admissionController.recordLockWait(omLockDetailsProto.getWaitLockNanos());
+      }
       if (call != null) {
         call.getProcessingDetails().add(Timing.LOCKWAIT,
             omLockDetailsProto.getWaitLockNanos(), TimeUnit.NANOSECONDS);
@@ -207,7 +227,20 @@ private OMResponse internalProcessRequest(OMRequest request) throws ServiceExcep
       }
 
       this.lastRequestToSubmit = request;
-      return ozoneManager.getOmExecutionFlow().submit(request, true);
+      if (admissionController == null) {
+        return ozoneManager.getOmExecutionFlow().submit(request, true);
+      }
+      final Server.Call call = Server.getCurCall().get();
+      try {
+        admissionController.admitWrite(call == null ? 0 : call.getPriorityLevel());
+      } catch (RetriableException e) {
+        throw new ServiceException(e);
+      }
+      try {
+        return ozoneManager.getOmExecutionFlow().submit(request, true);
+      } finally {
+        admissionController.writeDone();
+      }
     } finally {
       OzoneManager.setS3Auth(null);
     }
@@ -109,12 +109,15 @@
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.CheckVolumeAccessResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.EchoRPCResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FileStatusesEntry;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.FinalizeUpgradeProgressResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetBucketTaggingResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetFileStatusesResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetKeyInfoResponse;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.GetLifecycleConfigurationRequest;
@@ -280,6 +283,11 @@ public OMResponse handleReadRequest(OMRequest request) {
             request.getGetFileStatusRequest(), request.getVersion());
         responseBuilder.setGetFileStatusResponse(getFileStatusResponse);
         break;
+      case GetFileStatuses:
+        GetFileStatusesResponse getFileStatusesResponse = getOzoneFileStatuses(
+            request.getGetFileStatusesRequest(), request.getVersion());
+        responseBuilder.setGetFileStatusesResponse(getFileStatusesResponse);
+        break;
       case LookupFile:
         LookupFileResponse lookupFileResponse =
             lookupFile(request.getLookupFileRequest(), request.getVersion());
@@ -1098,9 +1106,42 @@ private GetFileStatusResponse getOzoneFileStatus(
         .build();
 
     GetFileStatusResponse.Builder rb = GetFileStatusResponse.newBuilder();
-    OzoneFileStatusProto status =
-        impl.getFileStatus(omKeyArgs).getProtobuf(clientVersion);
-    if (keyArgs.getHeadOp() && status.hasKeyInfo()) {
+    rb.setStatus(toFileStatusProto(impl.getFileStatus(omKeyArgs),
+        keyArgs.getHeadOp(), clientVersion));
+
+    return rb.build();
+  }
+
+  private GetFileStatusesResponse getOzoneFileStatuses(
+      GetFileStatusesRequest request, int clientVersion) throws IOException {
+    List<OmKeyArgs> omKeyArgs = new ArrayList<>(request.getKeyArgsCount());
+    for (KeyArgs keyArgs : request.getKeyArgsList()) {
+      omKeyArgs.add(new OmKeyArgs.Builder()
+          .setVolumeName(keyArgs.getVolumeName())
+          .setBucketName(keyArgs.getBucketName())
+          .setKeyName(keyArgs.getKeyName())
+          .setHeadOp(keyArgs.getHeadOp())
+          .build());
+    }
+
+    List<OzoneFileStatus> statuses = impl.getFileStatuses(omKeyArgs);
+    GetFileStatusesResponse.Builder rb = GetFileStatusesResponse.newBuilder();
+    for (int i = 0; i < statuses.size(); i++) {
+      FileStatusesEntry.Builder entry = FileStatusesEntry.newBuilder();
+      if (statuses.get(i) != null) {
+        entry.setStatus(toFileStatusProto(statuses.get(i),
+            omKeyArgs.get(i).isHeadOp(), clientVersion));
+      }
+      rb.addStatuses(entry);
+    }
+
+    return rb.build();
+  }
+
+  private static OzoneFileStatusProto toFileStatusProto(
+      OzoneFileStatus fileStatus, boolean headOp, int clientVersion) {
+    OzoneFileStatusProto status = fileStatus.getProtobuf(clientVersion);
+    if (headOp && status.hasKeyInfo()) {
       // A head op only needs the entry type. The block locations are not
       // refreshed for a head op (they carry no pipeline) and the caller does
       // not use them, so drop them to keep the response small (HDDS-15678).
@@ -1108,9 +1149,7 @@ private GetFileStatusResponse getOzoneFileStatus(
           .setKeyInfo(status.getKeyInfo().toBuilder().clearKeyLocationList())
           .build();
     }
-    rb.setStatus(status);
-
-    return rb.build();
+    return status;
   }
 
   private RangerBGSyncResponse triggerRangerBGSync(
@@ -1479,8 +1518,8 @@ private SnapshotDiffResponse snapshotDiff(
       builder.setReason(response.getReason());
     }
     if (response.getSnapshotDiffReport() != null) {
-      builder.setSnapshotDiffReport(
-          response.getSnapshotDiffReport().toProtobuf());
+      builder.setSnapshotDiffReport(response.getSnapshotDiffReport()
+          .toProtobuf(snapshotDiffRequest.getCompactPaths()));
     }
     if (response.getSubStatus() != null) {
       builder.setSubStatus(response.getSubStatus().toProtoBuf());
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
+import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmDirectoryInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.request.file.OMFileRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests FSO path resolution with {@link DirectoryTreeCache}.
+ */
+public class TestDirectoryTreeCache {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+
+  @TempDir
+  private File folder;
+  private OzoneConfiguration conf;
+  private OmMetadataManagerImpl metadataManager;
+  private DirectoryTreeCache cache;
+  private long volumeId;
+  private long bucketId;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    conf = new OzoneConfiguration();
+    conf.set(OZONE_OM_DB_DIRS, folder.getAbsolutePath());
+    metadataManager = new OmMetadataManagerImpl(conf, null);
+    cache = metadataManager.getDirectoryTreeCache();
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, BUCKET,
+        metadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    volumeId = metadataManager.getVolumeId(VOLUME);
+    bucketId = metadataManager.getBucketId(VOLUME, BUCKET);
+    // a/b/c
+    addDir("a", bucketId + 1, bucketId);
+    addDir("b", bucketId + 2, bucketId + 1);
+    addDir("c", bucketId + 3, bucketId + 2);
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    metadataManager.stop();
+  }
+
+  private void addDir(String name, long objectId, long parentId)
+      throws Exception {
+    OmDirectoryInfo dirInfo =
+        OMRequestTestUtils.createOmDirectoryInfo(name, objectId, parentId);
+    OMRequestTestUtils.addDirKeyToDirTable(false, dirInfo, VOLUME, BUCKET, 1,
+        metadataManager);
+  }
+
+  private long getParentId(String keyName) throws Exception {
+    return OMFileRequest.getParentID(volumeId, bucketId, keyName,
+        metadataManager);
+  }
+
+  @Test
+  public void testParentIdFromCache() throws Exception {
+    assertEquals(bucketId + 3, getParentId("a/b/c/file"));
+    assertEquals(3, cache.size());
+    assertEquals(bucketId + 3, getParentId("a/b/c/file"));
+
+    // remove b as a delete request would, so c is no longer reachable
+    String dbKey = metadataManager.getOzonePathKey(volumeId, bucketId,
+        bucketId + 1, "b");
+    metadataManager.getDirectoryTable().addCacheEntry(new CacheKey<>(dbKey),
+        CacheValue.get(2));
+    cache.remove(bucketId + 1, "b");
+
+    assertEquals(2, cache.size());
+    OMException e = assertThrows(OMException.class,
+        () -> getParentId("a/b/c/file"));
+    assertEquals(OMException.ResultCodes.DIRECTORY_NOT_FOUND, e.getResult());
+    assertEquals(bucketId + 1, getParentId("a/file"));
+  }
+
+  @Test
+  public void testRemovalDuringLookupIsNotCached() throws Exception {
+    OmDirectoryInfo dirInfo =
+        OMRequestTestUtils.createOmDirectoryInfo("x", 100, bucketId);
+    @SuppressWarnings("unchecked")
+    Table<String, OmDirectoryInfo> dirTable = mock(Table.class);
+    when(dirTable.get(anyString())).thenAnswer(invocation -> {
+      // the directory is removed after it was read
+      cache.remove(bucketId, "x");
+      return dirInfo;
+    });
+
+    assertEquals(100L, cache.getObjectId(bucketId, "x", "key", dirTable));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testObjectIdWithEpoch() throws Exception {
+    // object IDs generated with the Ratis epoch are negative
+    long objectId = (2L << 62) | 5;
+    addDir("y", objectId, bucketId);
+    assertEquals(objectId, getParentId("y/file"));
+    assertEquals(objectId, getParentId("y/file"));
+    assertEquals(1, cache.size());
+  }
+
+  @Test
+  public void testClearedOnRestart() throws Exception {
+    getParentId("a/b/c/file");
+    assertEquals(3, cache.size());
+    metadataManager.stop();
+    metadataManager.start(conf);
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  public void testDisabledForOtherMetadataManagers() {
+    assertSame(DirectoryTreeCache.DISABLED,
+        DirectoryTreeCache.of(mock(OMMetadataManager.class)));
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.THREE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.hdds.utils.db.Table.KeyValue;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the orders of {@link KeyDeletionPolicy}.
+ */
+public class TestKeyDeletionPolicy {
+
+  /** Entries in key order. */
+  private final List<KeyValue<String, RepeatedOmKeyInfo>> entries = Arrays.asList(
+      entry("a", 1, 100, 30),
+      entry("b", 1, 300, 20),
+      entry("c", 1, 200, 10),
+      entry("d", 2, 50, 40),
+      entry("e", 3, 300, 50));
+
+  private static KeyValue<String, RepeatedOmKeyInfo> entry(String key, long bucketId, long dataSize,
+      long deleteTransaction) {
+    OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo("vol", "bucket" + bucketId, key,
+            RatisReplicationConfig.getInstance(THREE))
+        .setDataSize(dataSize)
+        .setUpdateID(deleteTransaction)
+        .build();
+    return Table.newKeyValue(key, new RepeatedOmKeyInfo(keyInfo, bucketId));
+  }
+
+  private List<String> keys(KeyDeletionPolicy policy, int count) {
+    KeyDeletionPolicy.Selector selector = policy.newSelector(count);
+    for (KeyValue<String, RepeatedOmKeyInfo> kv : entries) {
+      selector.offer(kv.getKey(), kv.getValue());
+    }
+    return selector.getSelectedKeys();
+  }
+
+  @Test
+  public void testOrders() {
+    assertEquals(Arrays.asList("a", "b", "c", "d", "e"), keys(KeyDeletionPolicy.KEY_ORDER, entries.size()));
+    // ties stay in key order
+    assertEquals(Arrays.asList("b", "e", "c", "a", "d"), keys(KeyDeletionPolicy.SIZE, entries.size()));
+    assertEquals(Arrays.asList("c", "b", "a", "d", "e"), keys(KeyDeletionPolicy.AGE, entries.size()));
+    assertEquals(Arrays.asList("a", "d", "e", "b", "c"), keys(KeyDeletionPolicy.BUCKET_FAIR, entries.size()));
+  }
+
+  @Test
+  public void testSelectsFirstEntriesOfOrder() {
+    assertEquals(Arrays.asList("a", "b"), keys(KeyDeletionPolicy.KEY_ORDER, 2));
+    assertEquals(Arrays.asList("b", "e"), keys(KeyDeletionPolicy.SIZE, 2));
+    assertEquals(Arrays.asList("c", "b", "a"), keys(KeyDeletionPolicy.AGE, 3));
+    assertEquals(Arrays.asList("a", "d", "e", "b"), keys(KeyDeletionPolicy.BUCKET_FAIR, 4));
+    assertEquals(Collections.emptyList(), keys(KeyDeletionPolicy.SIZE, 0));
+  }
+
+  @Test
+  public void testSizeOfAllVersions() {
+    RepeatedOmKeyInfo value = entries.get(0).getValue();
+    value.addOmKeyInfo(entries.get(1).getValue().getOmKeyInfoList().get(0));
+    assertEquals(3 * 400, KeyDeletionPolicy.replicatedSize(value));
+    assertEquals(20, KeyDeletionPolicy.deleteTransaction(value));
+  }
+}
@@ -19,12 +19,18 @@
 
 import static com.google.common.collect.Sets.newHashSet;
 import static java.util.Collections.singletonList;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_MAX;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.anyList;
 import static org.mockito.Mockito.anySet;
+import static org.mockito.Mockito.argThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.times;
@@ -64,6 +70,7 @@
 import org.apache.hadoop.hdds.utils.db.cache.CacheKey;
 import org.apache.hadoop.hdds.utils.db.cache.CacheValue;
 import org.apache.hadoop.ozone.OzoneConsts;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
@@ -80,6 +87,7 @@
 import org.apache.hadoop.ozone.om.helpers.OpenKeySession;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
 import org.apache.hadoop.ozone.om.helpers.OzoneFileStatusLight;
+import org.apache.hadoop.ozone.om.helpers.RepeatedOmKeyInfo;
 import org.apache.hadoop.ozone.om.protocol.OzoneManagerProtocol;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.security.UserGroupInformation;
@@ -769,6 +777,132 @@ public void listStatus() throws Exception {
     verify(containerClient, times(1)).getContainerWithPipelineBatch(anySet());
   }
 
+  @Test
+  public void getFileStatuses() throws Exception {
+    String volume = volumeName();
+    String bucket = "bucket";
+    String client = "client.host";
+
+    OMRequestTestUtils.addVolumeToDB(volume, OzoneConsts.OZONE,
+        metadataManager);
+    OMRequestTestUtils.addBucketToDB(volume, bucket, metadataManager);
+
+    final Pipeline pipeline = MockPipeline.createPipeline(3);
+    Set<Long> containerIDs = new HashSet<>();
+    List<ContainerWithPipeline> containersWithPipeline = new ArrayList<>();
+    for (String keyName : Arrays.asList("key1", "key2", "dir/key3")) {
+      final long containerID = CONTAINER_ID.incrementAndGet();
+      final OmKeyLocationInfo keyLocationInfo = new OmKeyLocationInfo.Builder()
+          .setBlockID(new BlockID(containerID, 1L))
+          .setPipeline(pipeline)
+          .setOffset(0)
+          .setLength(256000)
+          .build();
+      if (!keyName.startsWith("dir/")) {
+        containersWithPipeline.add(new ContainerWithPipeline(
+            new ContainerInfo.Builder().setContainerID(containerID).build(),
+            pipeline));
+        containerIDs.add(containerID);
+      }
+
+      OmKeyInfo keyInfo = new OmKeyInfo.Builder()
+          .setVolumeName(volume)
+          .setBucketName(bucket)
+          .setCreationTime(Time.now())
+          .setOmKeyLocationInfos(singletonList(
+              new OmKeyLocationInfoGroup(0, new ArrayList<>())))
+          .setReplicationConfig(RatisReplicationConfig
+              .getInstance(ReplicationFactor.THREE))
+          .setKeyName(keyName)
+          .setObjectID(containerID)
+          .setUpdateID(containerID)
+          .build();
+      keyInfo.appendNewBlocks(singletonList(keyLocationInfo), false);
+      OMRequestTestUtils.addKeyToOM(metadataManager, keyInfo);
+    }
+
+    when(containerClient.getContainerWithPipelineBatch(anyList()))
+        .thenReturn(containersWithPipeline);
+
+    List<OmKeyArgs> args = new ArrayList<>();
+    for (String keyName : Arrays.asList("key1", "missing", "dir", "key2", "")) {
+      args.add(new OmKeyArgs.Builder()
+          .setVolumeName(volume)
+          .setBucketName(bucket)
+          .setKeyName(keyName)
+          .setSortDatanodesInPipeline(true)
+          .build());
+    }
+    List<OzoneFileStatus> statuses = keyManager.getFileStatuses(args, client);
+
+    assertEquals(5, statuses.size());
+    assertTrue(statuses.get(0).isFile());
+    assertEquals("key1", statuses.get(0).getKeyInfo().getKeyName());
+    assertNull(statuses.get(1));
+    assertTrue(statuses.get(2).isDirectory());
+    assertEquals("dir/", statuses.get(2).getKeyInfo().getKeyName());
+    assertTrue(statuses.get(3).isFile());
+    assertEquals("key2", statuses.get(3).getKeyInfo().getKeyName());
+    assertTrue(statuses.get(4).isDirectory());
+    assertNull(statuses.get(4).getKeyInfo());
+    // the pipelines of all files are refreshed with a single call
+    verify(containerClient, times(1)).getContainerWithPipelineBatch(anyList());
+    verify(containerClient).getContainerWithPipelineBatch(
+        argThat(ids -> newHashSet(ids).equals(containerIDs)));
+  }
+
+  @Test
+  public void getFileStatusesRejectsOversizedBatch() throws Exception {
+    int maxBatchSize = om.getConfiguration().getInt(
+        OZONE_FS_LISTING_PAGE_SIZE_MAX, OZONE_FS_MAX_LISTING_PAGE_SIZE);
+    List<OmKeyArgs> args = new ArrayList<>();
+    for (int i = 0; i <= maxBatchSize; i++) {
+      args.add(new OmKeyArgs.Builder()
+          .setVolumeName(volumeName())
+          .setBucketName("bucket")
+          .setKeyName("key" + i)
+          .build());
+    }
+
+    OMException e = assertThrows(OMException.class,
+        () -> om.getFileStatuses(args));
+    assertEquals(OMException.ResultCodes.INVALID_REQUEST, e.getResult());
+  }
+
+  @Test
+  public void pendingDeletionKeysAreOrderedWithinScanLimit() throws Exception {
+    String volume = volumeName();
+    String bucket = "bucket-deleted";
+    long[] sizes = {100, 200, 300};
+    List<String> deletedKeys = new ArrayList<>();
+    for (int i = 0; i < sizes.length; i++) {
+      OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(volume, bucket, "key" + i,
+              RatisReplicationConfig.getInstance(ReplicationFactor.THREE))
+          .setDataSize(sizes[i])
+          .build();
+      String deletedKey = metadataManager.getOzoneDeletePathKey(i, metadataManager.getOzoneKey(volume, bucket,
+          keyInfo.getKeyName()));
+      metadataManager.getDeletedTable().put(deletedKey, new RepeatedOmKeyInfo(keyInfo, 1));
+      deletedKeys.add(deletedKey);
+    }
+
+    // the largest entry lies beyond the window, so the largest one within it is picked
+    assertEquals(newHashSet(deletedKeys.get(1)),
+        deleteKeyNames(keyManager.getPendingDeletionKeys(volume, bucket, null, 1, KeyDeletionPolicy.SIZE, 2)));
+    assertEquals(newHashSet(deletedKeys.get(2)),
+        deleteKeyNames(keyManager.getPendingDeletionKeys(volume, bucket, null, 1, KeyDeletionPolicy.SIZE, 3)));
+    assertEquals(newHashSet(deletedKeys.get(1), deletedKeys.get(2)),
+        deleteKeyNames(keyManager.getPendingDeletionKeys(volume, bucket, null, 2, KeyDeletionPolicy.SIZE, 3)));
+  }
+
+  private static Set<String> deleteKeyNames(PendingKeysDeletion pendingKeysDeletion) {
+    Set<String> names = new HashSet<>();
+    for (PendingKeysDeletion.PurgedKey purgedKey : pendingKeysDeletion.getPurgedKeys().values()) {
+      names.add(purgedKey.getDeleteKeyName());
+    }
+    return names;
+  }
+
   @Test
   public void listStatusLightDoesNotRefreshPipeline() throws Exception {
     String volume = volumeName();
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om;
+
+import static org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor.ONE;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmKeyArgs;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.helpers.OzoneFileStatus;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.ozone.test.GenericTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * Tests FSO listing by {@link OzoneListStatusHelper}.
+ */
+public class TestOzoneListStatusHelper {
+
+  private static final String VOLUME = "vol";
+  private static final String BUCKET = "bucket";
+  private static final int NUM_FILES = 10;
+
+  @TempDir
+  private File folder;
+  private OMMetadataManager metadataManager;
+  private OmKeyArgs rootArgs;
+
+  @BeforeEach
+  public void setup() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.set(OZONE_OM_DB_DIRS, folder.getAbsolutePath());
+    metadataManager = new OmMetadataManagerImpl(conf, null);
+    OMRequestTestUtils.addVolumeAndBucketToDB(VOLUME, BUCKET,
+        metadataManager, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    long bucketId = metadataManager.getBucketId(VOLUME, BUCKET);
+    for (int i = 0; i < NUM_FILES; i++) {
+      String fileName = "file-" + i;
+      OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo(VOLUME, BUCKET,
+              fileName, RatisReplicationConfig.getInstance(ONE))
+          .setObjectID(bucketId + 1 + i)
+          .setParentObjectID(bucketId)
+          .build();
+      OMRequestTestUtils.addFileToKeyTable(false, false, fileName, keyInfo,
+          -1, 1, metadataManager);
+    }
+    rootArgs = new OmKeyArgs.Builder()
+        .setVolumeName(VOLUME)
+        .setBucketName(BUCKET)
+        .setKeyName("")
+        .build();
+  }
+
+  @AfterEach
+  public void cleanup() throws Exception {
+    metadataManager.stop();
+  }
+
+  private OzoneListStatusHelper newHelper(ListStatusCursorCache cursors) {
+    // every lookup resolves to the bucket root, the parent of all files
+    return new OzoneListStatusHelper(metadataManager, 0,
+        (args, clientAddress, skipFileNotFoundError) -> new OzoneFileStatus(),
+        RatisReplicationConfig.getInstance(ONE), cursors);
+  }
+
+  private static List<String> names(Iterable<OzoneFileStatus> statuses) {
+    List<String> names = new ArrayList<>();
+    for (OzoneFileStatus status : statuses) {
+      names.add(status.getKeyInfo().getKeyName());
+    }
+    return names;
+  }
+
+  private List<List<String>> listPages(OzoneListStatusHelper helper,
+      int pageSize, Runnable afterPage) throws IOException {
+    List<List<String>> pages = new ArrayList<>();
+    String startKey = "";
+    while (true) {
+      List<String> page = names(helper.listStatusFSO(rootArgs, startKey,
+          pageSize, null, false));
+      afterPage.run();
+      pages.add(page);
+      if (page.size() < pageSize) {
+        return pages;
+      }
+      startKey = page.get(page.size() - 1);
+    }
+  }
+
+  @Test
+  public void testCursorContinuesListing() throws IOException {
+    ListStatusCursorCache cursors =
+        new ListStatusCursorCache(10, TimeUnit.MINUTES.toMillis(1));
+    List<Long> openCursors = new ArrayList<>();
+
+    List<List<String>> expected = listPages(newHelper(null), 4, () -> { });
+    List<List<String>> actual = listPages(newHelper(cursors), 4,
+        () -> openCursors.add(cursors.size()));
+
+    // the start key is inclusive, so pages overlap by one entry
+    assertEquals(4, expected.size());
+    assertEquals("file-3", expected.get(1).get(0));
+    assertEquals(expected, actual);
+    // the iteration is kept open until the directory is exhausted
+    assertEquals(4, openCursors.size());
+    assertEquals(1, openCursors.get(0));
+    assertEquals(1, openCursors.get(1));
+    assertEquals(0, openCursors.get(2));
+    assertEquals(0, openCursors.get(3));
+    cursors.closeAll();
+  }
+
+  @Test
+  public void testIdleCursorIsClosedWithoutAccess() throws Exception {
+    ListStatusCursorCache cursors = new ListStatusCursorCache(10, 100);
+    try {
+      newHelper(cursors).listStatusFSO(rootArgs, "", 4, null, false);
+      assertEquals(1, cursors.size());
+
+      GenericTestUtils.waitFor(() -> cursors.size() == 0, 100, 10_000);
+    } finally {
+      cursors.closeAll();
+    }
+  }
+
+  @Test
+  public void testDifferentStartKeyDoesNotUseCursor() throws IOException {
+    ListStatusCursorCache cursors =
+        new ListStatusCursorCache(10, TimeUnit.MINUTES.toMillis(1));
+    OzoneListStatusHelper helper = newHelper(cursors);
+
+    helper.listStatusFSO(rootArgs, "", 4, null, false);
+    assertEquals(1, cursors.size());
+
+    List<String> page = names(helper.listStatusFSO(rootArgs, "file-5", 2,
+        null, false));
+    assertEquals(2, page.size());
+    assertEquals("file-5", page.get(0));
+    assertEquals("file-6", page.get(1));
+    assertEquals(2, cursors.size());
+
+    cursors.closeAll();
+    assertEquals(0, cursors.size());
+  }
+}
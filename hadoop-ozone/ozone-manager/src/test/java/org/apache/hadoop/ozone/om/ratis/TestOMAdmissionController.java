@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.ozone.om.ratis;
+
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_HANDLER_COUNT_KEY;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ipc_.RetriableException;
+import org.apache.hadoop.ozone.om.OMPerformanceMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link OMAdmissionController}.
+ */
+public class TestOMAdmissionController {
+
+  private final AtomicReference<Double> doubleBufferLoad =
+      new AtomicReference<>(0.0);
+  private final AtomicReference<Double> random = new AtomicReference<>(0.99);
+  private final AtomicLong clock = new AtomicLong();
+  private OMPerformanceMetrics metrics;
+  private OMAdmissionController controller;
+
+  @BeforeEach
+  public void setup() {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setInt(OZONE_OM_HANDLER_COUNT_KEY, 10);
+    conf.set(OZONE_OM_ADMISSION_CONTROL_LOCK_WAIT_TARGET, "1ms");
+    metrics = mock(OMPerformanceMetrics.class);
+    controller = new OMAdmissionController(conf, doubleBufferLoad::get,
+        metrics, random::get, clock::get);
+  }
+
+  @Test
+  public void testLowPriorityRejectedAboveThreshold() throws Exception {
+    doubleBufferLoad.set(0.9);
+    assertThrows(RetriableException.class, () -> controller.admitWrite(1));
+    controller.admitWrite(0);
+    controller.writeDone();
+
+    doubleBufferLoad.set(1.0);
+    assertThrows(RetriableException.class, () -> controller.admitWrite(0));
+    verify(metrics, times(2)).incAdmissionControlRejections();
+
+    doubleBufferLoad.set(0.5);
+    controller.admitWrite(1);
+    controller.writeDone();
+  }
+
+  @Test
+  public void testHighestPriorityShedAboveThreshold() throws Exception {
+    // without FairCallQueue every caller has the highest priority, a share
+    // of them is rejected above the threshold, half of them at 0.9
+    doubleBufferLoad.set(0.9);
+    random.set(0.4);
+    assertThrows(RetriableException.class, () -> controller.admitWrite(0));
+    random.set(0.6);
+    controller.admitWrite(0);
+    controller.writeDone();
+
+    doubleBufferLoad.set(0.7);
+    random.set(0.0);
+    controller.admitWrite(0);
+    controller.writeDone();
+  }
+
+  @Test
+  public void testWritesInProgress() throws Exception {
+    // the writes in progress are bounded by the number of handlers
+    for (int i = 0; i < 8; i++) {
+      controller.admitWrite(0);
+    }
+    assertEquals(0.8, controller.getLoad(), 1e-9);
+    assertThrows(RetriableException.class, () -> controller.admitWrite(1));
+
+    for (int i = 0; i < 8; i++) {
+      controller.writeDone();
+    }
+    assertEquals(0, controller.getLoad());
+    controller.admitWrite(1);
+  }
+
+  @Test
+  public void testLockWaitDecays() throws Exception {
+    for (int i = 0; i < 100; i++) {
+      controller.recordLockWait(10_000_000);
+    }
+    double load = controller.getLoad();
+    assertTrue(load >= 1);
+
+    // rejected requests do not change the load
+    for (int i = 0; i < 10; i++) {
+      assertThrows(RetriableException.class, () -> controller.admitWrite(0));
+    }
+    assertEquals(load, controller.getLoad());
+
+    // while no request completes, the average lock wait time decays
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+    assertEquals(load / 2, controller.getLoad(), 1e-9);
+    assertThrows(RetriableException.class, () -> controller.admitWrite(0));
+    clock.addAndGet(TimeUnit.SECONDS.toNanos(3));
+    controller.admitWrite(0);
+    controller.writeDone();
+
+    // a new sample is added to the decayed average
+    controller.recordLockWait(0);
+    assertTrue(controller.getLoad() < load / 16);
+  }
+}
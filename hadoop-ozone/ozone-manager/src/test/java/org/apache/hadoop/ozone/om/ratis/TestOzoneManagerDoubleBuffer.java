@@ -29,7 +29,9 @@
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.File;
@@ -44,20 +46,29 @@
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
+import org.apache.hadoop.hdds.client.RatisReplicationConfig;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.protocol.proto.HddsProtos.ReplicationFactor;
 import org.apache.hadoop.hdds.utils.TransactionInfo;
+import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.ozone.audit.AuditLogger;
 import org.apache.hadoop.ozone.audit.AuditMessage;
 import org.apache.hadoop.ozone.om.OMConfigKeys;
+import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OMMetrics;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.S3SecretCache;
 import org.apache.hadoop.ozone.om.S3SecretLockedManager;
 import org.apache.hadoop.ozone.om.S3SecretManagerImpl;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
+import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
+import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
+import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
 import org.apache.hadoop.ozone.om.request.s3.security.S3GetSecretRequest;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
 import org.apache.hadoop.ozone.om.response.bucket.OMBucketCreateResponse;
+import org.apache.hadoop.ozone.om.response.key.OMKeyCommitResponse;
 import org.apache.hadoop.ozone.om.response.key.OMKeyCreateResponse;
 import org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotCreateResponse;
 import org.apache.hadoop.ozone.om.response.snapshot.OMSnapshotPurgeResponse;
@@ -292,6 +303,74 @@ public void testOzoneManagerDoubleBuffer(
     bufferMetrics.setMaxNumberOfTransactionsFlushedInOneIteration(0);
   }
 
+  @Test
+  public void testCoalesceBucketUpdatesOfKeyCommits() throws IOException {
+    OMMetadataManager omMetadataManager = ozoneManager.getMetadataManager();
+    // each commit carries a copy of its bucket taken after its quota update
+    List<OMKeyCommitResponse> commits = Arrays.asList(
+        keyCommitResponse(omMetadataManager, "bucket1", 1, "key0", 100, 1),
+        keyCommitResponse(omMetadataManager, "bucket2", 2, "key1", 50, 1),
+        keyCommitResponse(omMetadataManager, "bucket1", 1, "key2", 300, 2),
+        keyCommitResponse(omMetadataManager, "bucket1", 1, "key3", 600, 3));
+    long coalescedBefore = doubleBuffer.getMetrics().getCoalescedBucketUpdates();
+
+    doubleBuffer.stopDaemon();
+    int transactionIndex = 0;
+    for (OMClientResponse response : commits) {
+      doubleBuffer.add(response, TransactionInfo.getTermIndex(transactionIndex++));
+    }
+    doubleBuffer.add(omBucketCreateResponse, TransactionInfo.getTermIndex(transactionIndex));
+    doubleBuffer.flushCurrentBuffer();
+
+    // only the last commit of each bucket writes the bucket info
+    verify(commits.get(0)).setBucketInfoSuperseded();
+    verify(commits.get(1), never()).setBucketInfoSuperseded();
+    verify(commits.get(2)).setBucketInfoSuperseded();
+    verify(commits.get(3), never()).setBucketInfoSuperseded();
+    assertEquals(2, doubleBuffer.getMetrics().getCoalescedBucketUpdates() - coalescedBefore);
+
+    // the key writes of every commit are flushed
+    Table<String, OmKeyInfo> keyTable = omMetadataManager.getKeyTable(BucketLayout.OBJECT_STORE);
+    Table<String, OmKeyInfo> openKeyTable = omMetadataManager.getOpenKeyTable(BucketLayout.OBJECT_STORE);
+    for (int i = 0; i < commits.size(); i++) {
+      String bucket = commits.get(i).getUpdatedBucketInfo().getBucketName();
+      assertNotNull(keyTable.get(omMetadataManager.getOzoneKey("vol", bucket, "key" + i)));
+      assertNull(openKeyTable.get(omMetadataManager.getOpenKey("vol", bucket, "key" + i, i)));
+    }
+    // the buckets written to the DB have the usage of all the commits of the batch
+    OmBucketInfo bucket1 = omMetadataManager.getBucketTable()
+        .getSkipCache(omMetadataManager.getBucketKey("vol", "bucket1"));
+    assertEquals(600, bucket1.getUsedBytes());
+    assertEquals(3, bucket1.getUsedNamespace());
+    OmBucketInfo bucket2 = omMetadataManager.getBucketTable()
+        .getSkipCache(omMetadataManager.getBucketKey("vol", "bucket2"));
+    assertEquals(50, bucket2.getUsedBytes());
+    assertEquals(1, bucket2.getUsedNamespace());
+  }
+
+  private static OMKeyCommitResponse keyCommitResponse(OMMetadataManager omMetadataManager, String bucket,
+      long bucketId, String key, long usedBytes, long usedNamespace) throws IOException {
+    OmBucketInfo bucketInfo = OmBucketInfo.newBuilder()
+        .setVolumeName("vol")
+        .setBucketName(bucket)
+        .setObjectID(bucketId)
+        .setBucketLayout(BucketLayout.OBJECT_STORE)
+        .setUsedBytes(usedBytes)
+        .setUsedNamespace(usedNamespace)
+        .build();
+    OmKeyInfo keyInfo = OMRequestTestUtils.createOmKeyInfo("vol", bucket, key,
+        RatisReplicationConfig.getInstance(ReplicationFactor.THREE)).build();
+    long clientId = Long.parseLong(key.substring("key".length()));
+    String openKey = omMetadataManager.getOpenKey("vol", bucket, key, clientId);
+    omMetadataManager.getOpenKeyTable(BucketLayout.OBJECT_STORE).put(openKey, keyInfo);
+    OMResponse omResponse = OMResponse.newBuilder()
+        .setCmdType(OzoneManagerProtocolProtos.Type.CommitKey)
+        .setStatus(OzoneManagerProtocolProtos.Status.OK)
+        .build();
+    return spy(new OMKeyCommitResponse(omResponse, keyInfo, omMetadataManager.getOzoneKey("vol", bucket, key),
+        openKey, bucketInfo, null, false, null, null, null));
+  }
+
   @Test
   public void testAwaitFlush() throws Exception {
     List<OMClientResponse> omClientResponses =
@@ -22,20 +22,30 @@
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import org.apache.hadoop.hdds.client.RatisReplicationConfig;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.request.OMRequestTestUtils;
+import org.apache.hadoop.ozone.om.request.validation.ValidationContext;
 import org.apache.hadoop.ozone.om.response.OMClientResponse;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutFeature;
+import org.apache.hadoop.ozone.om.upgrade.OMLayoutVersionManager;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.LayoutVersion;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.OMRequest;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysArgs;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysMap;
 import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysRequest;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenameKeysResponse;
+import org.apache.hadoop.ozone.protocol.proto.OzoneManagerProtocolProtos.RenamePrefixArgs;
 import org.junit.jupiter.api.Test;
 
 /**
@@ -110,6 +120,167 @@ public void testKeysRenameRequestFail() throws Exception {
     assertEquals("testKey", unRenamedKeys.getFromKeyName());
   }
 
+  @Test
+  public void testRenamePrefixInBatches() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    for (int i = 0; i < 5; i++) {
+      addKey("dir/key" + i);
+    }
+    addKey("dir2/key");
+
+    RenameKeysResponse response = renamePrefix("dir/", "new/", 3, 100L);
+    assertTrue(response.getStatus());
+    assertEquals(3, response.getRenamedKeyCount());
+    assertTrue(response.getHasMoreKeys());
+
+    // the next request continues with the keys left under the prefix
+    response = renamePrefix("dir/", "new/", 3, 101L);
+    assertEquals(2, response.getRenamedKeyCount());
+    assertFalse(response.getHasMoreKeys());
+
+    for (int i = 0; i < 5; i++) {
+      assertNull(getKey("dir/key" + i));
+      assertNotNull(getKey("new/key" + i));
+    }
+    assertNotNull(getKey("dir2/key"));
+  }
+
+  @Test
+  public void testRenamePrefixDoesNotOverwrite() throws Exception {
+    when(ozoneManager.getVersionManager().getMetadataLayoutVersion())
+        .thenReturn(OMLayoutFeature.RENAME_PREFIX.layoutVersion());
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    addKey("dir/key0");
+    addKey("dir/key1");
+    addKey("new/key0");
+
+    OMRequest request = createRenamePrefixRequest("dir/", "new/", 0);
+    OMKeysRenameRequest omKeysRenameRequest = new OMKeysRenameRequest(
+        new OMKeysRenameRequest(request, getBucketLayout())
+            .preExecute(ozoneManager), getBucketLayout());
+    OMClientResponse omClientResponse =
+        omKeysRenameRequest.validateAndUpdateCache(ozoneManager, 100L);
+
+    assertEquals(OzoneManagerProtocolProtos.Status.PARTIAL_RENAME,
+        omClientResponse.getOMResponse().getStatus());
+    RenameKeysResponse response =
+        omClientResponse.getOMResponse().getRenameKeysResponse();
+    assertEquals(1, response.getRenamedKeyCount());
+    assertEquals("dir/key0", response.getUnRenamedKeys(0).getFromKeyName());
+    assertNotNull(getKey("dir/key0"));
+    assertNull(getKey("dir/key1"));
+    assertNotNull(getKey("new/key1"));
+  }
+
+  @Test
+  public void testExistingKeyIsOverwrittenBeforeFinalization()
+      throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    addKey("key0");
+    addKey("key1");
+
+    // requests of an older layout version are applied as before
+    OMRequest request = OMRequest.newBuilder()
+        .setClientId(UUID.randomUUID().toString())
+        .setLayoutVersion(LayoutVersion.newBuilder().setVersion(
+            OMLayoutFeature.MPU_PARTS_TABLE_SPLIT.layoutVersion()))
+        .setRenameKeysRequest(RenameKeysRequest.newBuilder()
+            .setRenameKeysArgs(RenameKeysArgs.newBuilder()
+                .setVolumeName(volumeName)
+                .setBucketName(bucketName)
+                .addRenameKeysMap(RenameKeysMap.newBuilder()
+                    .setFromKeyName("key0")
+                    .setToKeyName("key1"))))
+        .setCmdType(OzoneManagerProtocolProtos.Type.RenameKeys).build();
+    OMClientResponse omClientResponse =
+        new OMKeysRenameRequest(request, getBucketLayout())
+            .validateAndUpdateCache(ozoneManager, 100L);
+
+    assertEquals(OzoneManagerProtocolProtos.Status.PARTIAL_RENAME,
+        omClientResponse.getOMResponse().getStatus());
+    assertNull(getKey("key0"));
+    assertNotNull(getKey("key1"));
+  }
+
+  @Test
+  public void testRenamePrefixRejectedBeforeFinalization() throws Exception {
+    OMLayoutVersionManager versionManager = mock(OMLayoutVersionManager.class);
+    ValidationContext ctx = mock(ValidationContext.class);
+    when(ctx.versionManager()).thenReturn(versionManager);
+    OMRequest request = createRenamePrefixRequest("dir/", "new/", 0);
+
+    OMException e = assertThrows(OMException.class, () -> OMKeysRenameRequest
+        .disallowRenamePrefixBeforeFinalization(request, ctx));
+    assertEquals(
+        OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION,
+        e.getResult());
+
+    when(versionManager.isAllowed(OMLayoutFeature.RENAME_PREFIX))
+        .thenReturn(true);
+    assertEquals(request, OMKeysRenameRequest
+        .disallowRenamePrefixBeforeFinalization(request, ctx));
+  }
+
+  @Test
+  public void testRenamePrefixIntoItself() throws Exception {
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        omMetadataManager);
+    OMKeysRenameRequest omKeysRenameRequest = new OMKeysRenameRequest(
+        createRenamePrefixRequest("dir/", "dir/sub/", 0), getBucketLayout());
+
+    OMException e = assertThrows(OMException.class,
+        () -> omKeysRenameRequest.preExecute(ozoneManager));
+    assertEquals(OMException.ResultCodes.INVALID_KEY_NAME, e.getResult());
+  }
+
+  private RenameKeysResponse renamePrefix(String fromPrefix, String toPrefix,
+      int maxKeys, long trxnLogIndex) throws Exception {
+    OMRequest request = createRenamePrefixRequest(fromPrefix, toPrefix,
+        maxKeys);
+    OMRequest modifiedOmRequest =
+        new OMKeysRenameRequest(request, getBucketLayout())
+            .preExecute(ozoneManager);
+    OMClientResponse omClientResponse =
+        new OMKeysRenameRequest(modifiedOmRequest, getBucketLayout())
+            .validateAndUpdateCache(ozoneManager, trxnLogIndex);
+    assertEquals(OzoneManagerProtocolProtos.Status.OK,
+        omClientResponse.getOMResponse().getStatus());
+    return omClientResponse.getOMResponse().getRenameKeysResponse();
+  }
+
+  private void addKey(String keyName) throws Exception {
+    OMRequestTestUtils.addKeyToTableCache(volumeName, bucketName, keyName,
+        RatisReplicationConfig.getInstance(THREE), omMetadataManager);
+  }
+
+  private OmKeyInfo getKey(String keyName) throws Exception {
+    return omMetadataManager.getKeyTable(getBucketLayout()).get(
+        omMetadataManager.getOzoneKey(volumeName, bucketName, keyName));
+  }
+
+  private OMRequest createRenamePrefixRequest(String fromPrefix,
+      String toPrefix, int maxKeys) {
+    RenamePrefixArgs.Builder prefixArgs = RenamePrefixArgs.newBuilder()
+        .setFromPrefix(fromPrefix)
+        .setToPrefix(toPrefix);
+    if (maxKeys > 0) {
+      prefixArgs.setMaxKeys(maxKeys);
+    }
+    RenameKeysArgs renameKeyArgs = RenameKeysArgs.newBuilder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setRenamePrefixArgs(prefixArgs)
+        .build();
+    return OMRequest.newBuilder()
+        .setClientId(UUID.randomUUID().toString())
+        .setRenameKeysRequest(RenameKeysRequest.newBuilder()
+            .setRenameKeysArgs(renameKeyArgs))
+        .setCmdType(OzoneManagerProtocolProtos.Type.RenameKeys).build();
+  }
+
   /**
    * Create OMRequest which encapsulates RenameKeyRequest.
    *
@@ -21,13 +21,22 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_BOTTOMMOSTLEVELCOMPACTION_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_DB_DIRS;
 import static org.apache.hadoop.ozone.om.service.CompactDBUtil.getBottommostLevelCompaction;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.hdds.utils.db.Table;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedCompactRangeOptions;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmMetadataManagerImpl;
@@ -37,6 +46,7 @@
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.rocksdb.SstFileMetaData;
 
 /**
  * Tests for {@link CompactDBUtil}.
@@ -89,4 +99,81 @@ void testConfigKeyIsReadFromOzoneConfiguration(String compactionType) {
     conf.set(OZONE_OM_COMPACTION_SERVICE_BOTTOMMOSTLEVELCOMPACTION, compactionType);
     assertEquals(ManagedCompactRangeOptions.BottommostLevelCompaction.kForce, getBottommostLevelCompaction(conf));
   }
+
+  @Test
+  void testSelectTombstoneFiles() {
+    SstFileMetaData noDeletes = mockFile(100, 0, 100, 10);
+    SstFileMetaData fewReads = mockFile(100, 80, 100, 1);
+    SstFileMetaData manyReads = mockFile(100, 60, 100, 5);
+    SstFileMetaData large = mockFile(100, 90, 1000, 5);
+    List<SstFileMetaData> files = Arrays.asList(noDeletes, fewReads, manyReads, large);
+
+    assertEquals(Arrays.asList(large, manyReads, fewReads),
+        CompactDBUtil.selectTombstoneFiles(files, 0.5));
+    assertEquals(Arrays.asList(large, fewReads),
+        CompactDBUtil.selectTombstoneFiles(files, 0.7));
+  }
+
+  @Test
+  void testOverlappingBytes() {
+    SstFileMetaData upper = mockRange("key3", "key5", 10);
+    SstFileMetaData lowerBefore = mockRange("key0", "key2", 100);
+    SstFileMetaData lowerOverlapping = mockRange("key2", "key4", 200);
+    SstFileMetaData lowerTouching = mockRange("key5", "key7", 400);
+    SstFileMetaData lowerAfter = mockRange("key8", "key9", 800);
+    List<SstFileMetaData> files = Arrays.asList(upper, lowerBefore, lowerOverlapping, lowerTouching, lowerAfter);
+
+    // compacting the key range of the upper file rewrites the lower files
+    // overlapping it as well
+    assertEquals(610, CompactDBUtil.getOverlappingBytes(upper, files));
+    assertEquals(100, CompactDBUtil.getOverlappingBytes(lowerBefore, Arrays.asList(lowerBefore, lowerAfter)));
+  }
+
+  private static SstFileMetaData mockFile(long entries, long deletions, long size, long reads) {
+    SstFileMetaData file = mock(SstFileMetaData.class);
+    when(file.numEntries()).thenReturn(entries);
+    when(file.numDeletions()).thenReturn(deletions);
+    when(file.size()).thenReturn(size);
+    when(file.numReadsSampled()).thenReturn(reads);
+    return file;
+  }
+
+  private static SstFileMetaData mockRange(String smallestKey, String largestKey, long size) {
+    SstFileMetaData file = mock(SstFileMetaData.class);
+    when(file.smallestKey()).thenReturn(smallestKey.getBytes(StandardCharsets.UTF_8));
+    when(file.largestKey()).thenReturn(largestKey.getBytes(StandardCharsets.UTF_8));
+    when(file.size()).thenReturn(size);
+    return file;
+  }
+
+  @Test
+  void testCompactTombstoneRanges() throws Exception {
+    Table<byte[], byte[]> table = omMetadataManager.getStore().getTable("keyTable");
+    for (int i = 0; i < 100; i++) {
+      table.put(("key" + i).getBytes(StandardCharsets.UTF_8), new byte[100]);
+    }
+    omMetadataManager.getStore().flushDB();
+    assertEquals(0, CompactDBUtil.compactTombstoneRanges(omMetadataManager, "keyTable",
+        ManagedCompactRangeOptions.BottommostLevelCompaction.kForce, 0.5, bytes -> true));
+
+    for (int i = 0; i < 90; i++) {
+      table.delete(("key" + i).getBytes(StandardCharsets.UTF_8));
+    }
+    omMetadataManager.getStore().flushDB();
+    // a range which does not fit in the budget is not compacted
+    List<Long> rejected = new ArrayList<>();
+    assertEquals(0, CompactDBUtil.compactTombstoneRanges(omMetadataManager, "keyTable",
+        ManagedCompactRangeOptions.BottommostLevelCompaction.kForce, 0.5, bytes -> {
+          rejected.add(bytes);
+          return false;
+        }));
+    assertEquals(1, rejected.size());
+    assertThat(rejected.get(0)).isPositive();
+    // the range is charged with the file of the deletes and the file below it
+    assertEquals(rejected, Collections.singletonList(CompactDBUtil.compactTombstoneRanges(omMetadataManager,
+        "keyTable", ManagedCompactRangeOptions.BottommostLevelCompaction.kForce, 0.5, bytes -> true)));
+    // the tombstones are compacted away
+    assertEquals(0, CompactDBUtil.compactTombstoneRanges(omMetadataManager, "keyTable",
+        ManagedCompactRangeOptions.BottommostLevelCompaction.kForce, 0.5, bytes -> true));
+  }
 }
@@ -19,7 +19,9 @@
 
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_BOTTOMMOSTLEVELCOMPACTION;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_ENABLED;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_RUN_INTERVAL;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -33,12 +35,16 @@
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.LongPredicate;
 import org.apache.hadoop.hdds.conf.OzoneConfiguration;
 import org.apache.hadoop.hdds.server.ServerUtils;
+import org.apache.hadoop.hdds.utils.BackgroundTask;
+import org.apache.hadoop.hdds.utils.BackgroundTaskQueue;
 import org.apache.hadoop.hdds.utils.db.DBConfigFromFile;
 import org.apache.hadoop.hdds.utils.db.TypedTable;
 import org.apache.hadoop.hdds.utils.db.managed.ManagedCompactRangeOptions;
@@ -61,6 +67,7 @@ class TestCompactionService {
   private static final int SERVICE_INTERVAL = 1;
   private static final int WAIT_TIME = (int) Duration.ofSeconds(10).toMillis();
   private OzoneManager ozoneManager;
+  private OzoneConfiguration serviceConf;
 
   @BeforeAll
   void setup(@TempDir Path tempDir) {
@@ -73,6 +80,7 @@ void setup(@TempDir Path tempDir) {
     conf.setTimeDuration(OZONE_OM_COMPACTION_SERVICE_RUN_INTERVAL,
         SERVICE_INTERVAL, TimeUnit.MILLISECONDS);
     conf.setQuietMode(false);
+    serviceConf = conf;
 
     ozoneManager = mock(OzoneManager.class);
     OMMetadataManager metadataManager = mock(OMMetadataManager.class);
@@ -192,6 +200,51 @@ public void testInvalidCompactionLevelFallsBackToDefault() {
         compactionService.getBottommostLevelCompaction());
   }
 
+  @Test
+  public void testCompactTombstoneRangesWithinLimit() throws Exception {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setDouble(OZONE_OM_COMPACTION_SERVICE_TOMBSTONE_RATIO, 0.5);
+    conf.set(OZONE_OM_COMPACTION_SERVICE_MAX_BYTES_PER_RUN, "1KB");
+    when(ozoneManager.getConfiguration()).thenReturn(conf);
+
+    List<Long> reserved = Collections.synchronizedList(new ArrayList<>());
+    CompactionService compactionService = new CompactionService(ozoneManager, TimeUnit.MILLISECONDS,
+        TimeUnit.SECONDS.toMillis(SERVICE_INTERVAL), TimeUnit.SECONDS.toMillis(60),
+        Arrays.asList("deletedTable", "keyTable", "fileTable")) {
+
+      @Override
+      public void compactFully(String tableName) {
+        throw new AssertionError("Unexpected full compaction of " + tableName);
+      }
+
+      @Override
+      protected long compactTombstoneRanges(String tableName, LongPredicate reserveBytes) {
+        long bytes = 0;
+        for (long rangeBytes : new long[] {600, 20}) {
+          if (reserveBytes.test(rangeBytes)) {
+            reserved.add(rangeBytes);
+            bytes += rangeBytes;
+          }
+        }
+        return bytes;
+      }
+    };
+
+    BackgroundTaskQueue queue = compactionService.getTasks();
+    try {
+      for (BackgroundTask task = queue.poll(); task != null; task = queue.poll()) {
+        task.call();
+      }
+    } finally {
+      when(ozoneManager.getConfiguration()).thenReturn(serviceConf);
+    }
+    // the tables share the limit of the run, only one of them fits the
+    // large range, the small ones fit in what remains
+    reserved.sort(null);
+    assertEquals(Arrays.asList(20L, 20L, 20L, 600L), reserved);
+    assertEquals(3, compactionService.getNumCompactions());
+  }
+
   private CompactionService getCompactionService(List<String> compactTables) {
     CompactionService compactionService = new CompactionService(ozoneManager, TimeUnit.MILLISECONDS,
         TimeUnit.SECONDS.toMillis(SERVICE_INTERVAL), TimeUnit.SECONDS.toMillis(60), compactTables) {
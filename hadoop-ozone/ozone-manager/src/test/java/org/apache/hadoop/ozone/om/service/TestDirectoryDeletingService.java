@@ -21,6 +21,7 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_DIR_DELETING_SERVICE_INTERVAL;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_THREAD_NUMBER_DIR_DELETION;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -231,6 +232,81 @@ public void testMultithreadedDirectoryDeletion() throws Exception {
     }
   }
 
+  @Test
+  public void testParallelDeletionOfDeepTree() throws Exception {
+    int threadCount = 4;
+    OzoneConfiguration conf = createConfAndInitValues(threadCount);
+    OmTestManagers omTestManagers = new OmTestManagers(conf);
+    KeyManager keyManager = omTestManagers.getKeyManager();
+    om = omTestManagers.getOzoneManager();
+    DirectoryDeletingService service = (DirectoryDeletingService) keyManager.getDirDeletingService();
+    service.suspend();
+
+    OMRequestTestUtils.addVolumeAndBucketToDB(volumeName, bucketName,
+        om.getMetadataManager(), BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    long bucketObjectId = om.getMetadataManager().getBucketTable()
+        .get(om.getMetadataManager().getBucketKey(volumeName, bucketName)).getObjectID();
+
+    // root/dir-i/dir-i-j, with files in each leaf
+    long objectId = 100;
+    long rootId = objectId++;
+    addDir("root", rootId, bucketObjectId);
+    int numFiles = 0;
+    for (int i = 0; i < 4; i++) {
+      long dirId = objectId++;
+      addDir("dir-" + i, dirId, rootId);
+      for (int j = 0; j < 4; j++) {
+        long subDirId = objectId++;
+        addDir("dir-" + i + "-" + j, subDirId, dirId);
+        for (int k = 0; k < 3; k++) {
+          String keyName = "key-" + i + "-" + j + "-" + k;
+          OmKeyInfo omKeyInfo = OMRequestTestUtils.createOmKeyInfo(volumeName, bucketName, keyName,
+                  RatisReplicationConfig.getInstance(ONE))
+              .setObjectID(objectId++)
+              .setParentObjectID(subDirId)
+              .setUpdateID(100L)
+              .build();
+          OMRequestTestUtils.addFileToKeyTable(false, true, keyName,
+              omKeyInfo, 1234L, objectId, om.getMetadataManager());
+          numFiles++;
+        }
+      }
+    }
+
+    OmKeyArgs delArgs = new OmKeyArgs.Builder()
+        .setVolumeName(volumeName)
+        .setBucketName(bucketName)
+        .setKeyName("root")
+        .setReplicationConfig(StandaloneReplicationConfig.getInstance(ONE))
+        .setDataSize(0).setRecursive(true)
+        .build();
+    omTestManagers.getWriteClient().deleteKey(delArgs);
+    om.awaitDoubleBufferFlush();
+
+    DirectoryDeletingService.DirDeletingTask task = service.new DirDeletingTask(null);
+    for (int run = 0; run < 5 && service.getMovedFilesCount() < numFiles; run++) {
+      task.processDeletedDirsForStore(null, keyManager, run, Integer.MAX_VALUE);
+      om.awaitDoubleBufferFlush();
+    }
+
+    assertEquals(numFiles, service.getMovedFilesCount());
+    assertEquals(21, service.getDeletedDirsCount());
+    assertEquals(0, service.getMetrics().getDdsQueuedSubDirs());
+  }
+
+  private void addDir(String name, long objectId, long parentObjectId) throws Exception {
+    OmDirectoryInfo dir = OmDirectoryInfo.newBuilder()
+        .setName(name)
+        .setCreationTime(Time.now())
+        .setModificationTime(Time.now())
+        .setObjectID(objectId)
+        .setParentObjectID(parentObjectId)
+        .setUpdateID(0)
+        .build();
+    OMRequestTestUtils.addDirKeyToDirTable(true, dir, volumeName, bucketName,
+        objectId, om.getMetadataManager());
+  }
+
   @Test
   void testUpdateAndRestart() throws Exception {
     int threadCount = 2;
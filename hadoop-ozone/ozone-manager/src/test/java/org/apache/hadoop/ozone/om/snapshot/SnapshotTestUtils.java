@@ -95,17 +95,17 @@ public StubbedPersistentMap() {
     }
 
     @Override
-    public V get(K key) {
+    public synchronized V get(K key) {
       return this.map.get(key);
     }
 
     @Override
-    public void put(K key, V value) {
+    public synchronized void put(K key, V value) {
       this.map.put(key, value);
     }
 
     @Override
-    public void remove(K key) {
+    public synchronized void remove(K key) {
       this.map.remove(key);
     }
 
@@ -147,6 +147,39 @@ public void testRocksDBPersistentMap() throws IOException, RocksDBException {
     }
   }
 
+  @Test
+  public void testPutAll() throws IOException, RocksDBException {
+    ColumnFamilyHandle columnFamily = null;
+    try {
+      final CodecRegistry codecRegistry = CodecRegistry.newBuilder().build();
+      columnFamily = db.get().createColumnFamily(new ColumnFamilyDescriptor(
+          codecRegistry.asRawData("testMap" + id.incrementAndGet()),
+          columnFamilyOptions));
+
+      PersistentMap<String, String> persistentMap = new RocksDbPersistentMap<>(
+          db,
+          columnFamily,
+          codecRegistry,
+          String.class,
+          String.class
+      );
+      persistentMap.put("Key1", "value1");
+
+      Map<String, String> entries = new HashMap<>();
+      entries.put("Key1", "Value1");
+      entries.put("Key2", "Value2");
+      persistentMap.putAll(entries);
+
+      assertEquals("Value1", persistentMap.get("Key1"));
+      assertEquals("Value2", persistentMap.get("Key2"));
+    } finally {
+      if (columnFamily != null) {
+        db.get().dropColumnFamily(columnFamily);
+        columnFamily.close();
+      }
+    }
+  }
+
   /**
    * Test cases for testRocksDBPersistentMapIterator.
    */
@@ -145,6 +145,7 @@ void testGet() throws IOException {
     assertInstanceOf(OmSnapshot.class, omSnapshot.get());
     assertEquals(1, snapshotCache.size());
     assertEquals(1, omMetrics.getNumSnapshotCacheSize());
+    assertEquals(1, omMetrics.getSnapshotLoadLatencyNs().lastStat().numSamples());
   }
 
   @Test
@@ -26,6 +26,8 @@
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_JOB_DEFAULT_WAIT_TIME_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_MAX_ALLOWED_KEYS_CHANGED_PER_DIFF_JOB_DEFAULT;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS;
+import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_DIFF_THREAD_POOL_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.om.OMConfigKeys.OZONE_OM_SNAPSHOT_FORCE_FULL_DIFF;
@@ -55,6 +57,7 @@
 import static org.apache.hadoop.ozone.snapshot.SnapshotDiffResponse.JobStatus.REJECTED;
 import static org.apache.ratis.util.JavaUtils.attempt;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
@@ -147,6 +150,7 @@
 import org.apache.hadoop.ozone.util.ClosableIterator;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.apache.hadoop.util.ExitUtil;
+import org.apache.ozone.rocksdb.util.SstFileInfo;
 import org.apache.ratis.util.ExitUtils;
 import org.apache.ratis.util.TimeDuration;
 import org.junit.jupiter.api.AfterEach;
@@ -501,7 +505,7 @@ public void testObjectIdMapWithTombstoneEntries(boolean nativeLibraryLoaded,
 
       snapshotDiffManager.addToObjectIdMap(toSnapshotTable,
           fromSnapshotTable, Sets.newHashSet(Paths.get("dummy.sst")),
-          nativeLibraryLoaded, oldObjectIdKeyMap, newObjectIdKeyMap,
+          Collections.emptyList(), nativeLibraryLoaded, oldObjectIdKeyMap, newObjectIdKeyMap,
           objectIdsToCheck, Optional.of(oldParentIds),
           Optional.of(newParentIds),
           new TablePrefixInfo(ImmutableMap.of(DIRECTORY_TABLE, "0", KEY_TABLE, "0", FILE_TABLE, "0")), "", "");
@@ -550,6 +554,89 @@ public void testObjectIdMapWithTombstoneEntries(boolean nativeLibraryLoaded,
     }
   }
 
+  /**
+   * The key range is split into partitions, which are processed in parallel
+   * and must together produce the same maps as a single partition.
+   */
+  @Test
+  public void testObjectIdMapWithPartitions() throws Exception {
+    when(configuration.getInt(OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS,
+        OZONE_OM_SNAPSHOT_DIFF_OBJECT_ID_MAP_THREADS_DEFAULT)).thenReturn(4);
+    snapshotDiffManager.close();
+    snapshotDiffManager = new SnapshotDiffManager(db, ozoneManager,
+        snapDiffJobTable, snapDiffReportTable, columnFamilyHandles.get(3),
+        columnFamilyOptions, codecRegistry);
+    SnapshotDiffJob dummyJob = new SnapshotDiffJob(System.currentTimeMillis(),
+        "", IN_PROGRESS, VOLUME_NAME, BUCKET_NAME, "from", "to", false, false, 0, null, 0.0, "");
+    db.get().put(snapDiffJobTable, codecRegistry.asRawData(""), codecRegistry.asRawData(dummyJob));
+
+    List<String> keys = IntStream.range(0, 200).boxed()
+        .map(i -> "0" + (i + 100) + "/key" + i).sorted().collect(Collectors.toList());
+    Table<String, WithParentObjectId> fromSnapshotTable = new StringInMemoryTestTable<>(
+        IntStream.range(0, 100).boxed().collect(Collectors.toMap(i -> keys.get(i),
+            i -> getKeyInfo(i, i, i + 100, KEY_TABLE))), KEY_TABLE);
+    Table<String, WithParentObjectId> toSnapshotTable = new StringInMemoryTestTable<>(
+        IntStream.range(50, 200).boxed().collect(Collectors.toMap(i -> keys.get(i),
+            i -> getKeyInfo(i, i, i + 100, KEY_TABLE))), KEY_TABLE);
+    List<SstFileInfo> sstFiles = IntStream.range(0, 10)
+        .mapToObj(i -> new SstFileInfo("file" + i, keys.get(i * 20), keys.get(i * 20 + 19), KEY_TABLE))
+        .collect(Collectors.toList());
+    List<String> splitKeys = SnapshotDiffManager.getPartitionSplitKeys(sstFiles, 4);
+    assertEquals(3, splitKeys.size());
+
+    PersistentMap<byte[], byte[]> oldObjectIdKeyMap = new StubbedPersistentMap<>();
+    PersistentMap<byte[], byte[]> newObjectIdKeyMap = new StubbedPersistentMap<>();
+    PersistentMap<byte[], Boolean> objectIdsToCheck = new StubbedPersistentMap<>();
+    try (MockedConstruction<SstFileSetReader> ignored = mockConstruction(SstFileSetReader.class,
+        (mock, context) -> when(mock.getKeyStream(any(), any())).thenAnswer(i -> {
+          String lowerBound = i.getArgument(0);
+          String upperBound = i.getArgument(1);
+          return getNewIterator(keys.stream()
+              .filter(k -> lowerBound == null || k.compareTo(lowerBound) >= 0)
+              .filter(k -> upperBound == null || k.compareTo(upperBound) < 0)
+              .iterator());
+        }))) {
+      snapshotDiffManager.addToObjectIdMap(fromSnapshotTable, toSnapshotTable,
+          Sets.newHashSet(Paths.get("dummy.sst")), splitKeys, false,
+          oldObjectIdKeyMap, newObjectIdKeyMap, objectIdsToCheck,
+          Optional.empty(), Optional.empty(),
+          new TablePrefixInfo(ImmutableMap.of(KEY_TABLE, "0")), "", "");
+    }
+
+    // Unchanged keys 50-99 are skipped.
+    assertEquals(50, countEntries(oldObjectIdKeyMap));
+    assertEquals(100, countEntries(newObjectIdKeyMap));
+    assertEquals(150, countEntries(objectIdsToCheck));
+    assertArrayEquals(codecRegistry.asRawData("299/key199"),
+        newObjectIdKeyMap.get(codecRegistry.asRawData(199L)));
+  }
+
+  private static <K, V> int countEntries(PersistentMap<K, V> map) {
+    int count = 0;
+    try (ClosableIterator<Map.Entry<K, V>> iterator = map.iterator()) {
+      while (iterator.hasNext()) {
+        iterator.next();
+        count++;
+      }
+    }
+    return count;
+  }
+
+  @Test
+  public void testPartitionSplitKeys() {
+    List<SstFileInfo> sstFiles = Arrays.asList(
+        new SstFileInfo("1", "/vol/bucket/d", "/vol/bucket/f", KEY_TABLE),
+        new SstFileInfo("2", "/vol/bucket/a", "/vol/bucket/c", KEY_TABLE),
+        new SstFileInfo("3", "/vol/bucket/a", "/vol/bucket/z", KEY_TABLE),
+        new SstFileInfo("4", "/vol/bucket/g", "/vol/bucket/h", KEY_TABLE));
+    assertEquals(Collections.emptyList(), SnapshotDiffManager.getPartitionSplitKeys(sstFiles, 1));
+    assertEquals(Arrays.asList("/vol/bucket/d", "/vol/bucket/g"),
+        SnapshotDiffManager.getPartitionSplitKeys(sstFiles, 3));
+    // No more partitions than distinct start keys
+    assertEquals(Arrays.asList("/vol/bucket/d", "/vol/bucket/g"),
+        SnapshotDiffManager.getPartitionSplitKeys(sstFiles, 8));
+  }
+
   @Test
   public void testGenerateDiffReport() throws IOException {
     PersistentMap<byte[], byte[]> oldObjectIdKeyMap =
@@ -36,6 +36,7 @@
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.longThat;
 import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
@@ -724,6 +725,8 @@ public void testAtomicSwitchSnapshotDB() throws Exception {
     Path nextVersionPath = tempDir.resolve(snapshotId + "v2").toAbsolutePath();
     try (MockedStatic<OmSnapshotManager> mockedStatic = Mockito.mockStatic(OmSnapshotManager.class,
         CALLS_REAL_METHODS)) {
+      mockedStatic.when(() -> OmSnapshotManager.getSnapshotPath(eq(metadataManager), eq(snapshotId), eq(1)))
+          .thenReturn(tempDir.resolve(snapshotId + "v1").toAbsolutePath());
       mockedStatic.when(() -> OmSnapshotManager.getSnapshotPath(eq(metadataManager), eq(snapshotId), eq(2)))
           .thenReturn(nextVersionPath);
       Map<String, Map<String, String>> existingVersionContents = createTableContents(nextVersionPath, "_cp2_");
@@ -733,6 +736,8 @@ public void testAtomicSwitchSnapshotDB() throws Exception {
       assertContents(checkpointContent, nextVersionPath);
       assertEquals(1, result);
       assertEquals(2, version.get());
+      // the current version does not exist, so no space is reclaimed
+      verify(snapshotMetrics).incSnapshotDefragBytesReclaimed(0);
     }
     assertNull(verify(provider).getSnapshotLocalData());
   }
@@ -836,6 +841,7 @@ public String next() {
 
       assertEquals(currentValue, checkpointStore.getTable(
           tableName, StringCodec.get(), StringCodec.get()).get(key));
+      verify(snapshotMetrics).incSnapshotDefragBytesWritten(longThat(bytes -> bytes > 0));
     }
   }
 
@@ -19,8 +19,12 @@
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -28,13 +32,16 @@
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
+import org.apache.hadoop.hdds.utils.TransactionInfo;
 import org.apache.hadoop.hdds.utils.db.Table;
+import org.apache.hadoop.ozone.OmUtils;
 import org.apache.hadoop.ozone.om.KeyManager;
 import org.apache.hadoop.ozone.om.OMMetadataManager;
 import org.apache.hadoop.ozone.om.OmSnapshot;
 import org.apache.hadoop.ozone.om.OmSnapshotManager;
 import org.apache.hadoop.ozone.om.OzoneManager;
 import org.apache.hadoop.ozone.om.SnapshotChainManager;
+import org.apache.hadoop.ozone.om.helpers.BucketLayout;
 import org.apache.hadoop.ozone.om.helpers.OmBucketInfo;
 import org.apache.hadoop.ozone.om.helpers.OmKeyInfo;
 import org.apache.hadoop.ozone.om.helpers.SnapshotInfo;
@@ -386,4 +393,37 @@ public void testKeyReclaimableWhenChainDurablyEmpty() throws IOException, RocksD
     assertTrue(getReclaimableFilter().apply(Table.newKeyValue("deletedKey", keyInfo)),
         "with no snapshot in the chain and none on disk, the AOS deleted key is reclaimable");
   }
+
+  /**
+   * Keys with an object ID generated after the previous snapshot was created are reclaimable without reading the
+   * previous snapshot, while older keys are still looked up in it.
+   */
+  @Test
+  public void testKeyCreatedAfterPreviousSnapshot() throws IOException, RocksDBException {
+    setup(2, 2, 2, 1, 1, info -> {
+      try {
+        info.setCreateTransactionInfo(TransactionInfo.valueOf(1, 10).toByteString());
+      } catch (IOException e) {
+        throw new RuntimeException(e);
+      }
+      return info;
+    }, BucketLayout.FILE_SYSTEM_OPTIMIZED);
+    String volume = getVolumes().get(0);
+    String bucket = getBuckets().get(0);
+    KeyManager keyManager = getKeyManager();
+    mockOmSnapshot(getOmSnapshotManager().getActiveSnapshot(volume, bucket, "snap1"));
+
+    OmKeyInfo newKeyInfo = getMockedOmKeyInfo(OmUtils.getObjectIdFromTxId(OmUtils.EPOCH_WHEN_RATIS_ENABLED, 11));
+    when(newKeyInfo.getVolumeName()).thenReturn(volume);
+    when(newKeyInfo.getBucketName()).thenReturn(bucket);
+    assertTrue(getReclaimableFilter().apply(Table.newKeyValue("newKey", newKeyInfo)));
+    verify(keyManager, never()).getPreviousSnapshotOzoneKeyInfo(anyLong(), any(), any());
+
+    OmKeyInfo oldKeyInfo = getMockedOmKeyInfo(OmUtils.getObjectIdFromTxId(OmUtils.EPOCH_WHEN_RATIS_ENABLED, 10));
+    when(oldKeyInfo.getVolumeName()).thenReturn(volume);
+    when(oldKeyInfo.getBucketName()).thenReturn(bucket);
+    when(keyManager.getPreviousSnapshotOzoneKeyInfo(anyLong(), any(), eq(oldKeyInfo))).thenReturn(km -> null);
+    assertTrue(getReclaimableFilter().apply(Table.newKeyValue("oldKey", oldKeyInfo)));
+    verify(keyManager).getPreviousSnapshotOzoneKeyInfo(anyLong(), any(), eq(oldKeyInfo));
+  }
 }
@@ -322,6 +322,14 @@ public void renameKey(String key, String newKeyName) throws IOException {
     bucket.renameKey(key, newKeyName);
   }
 
+  @Override
+  public long renamePrefix(String prefix, String newPrefix)
+      throws IOException {
+    long renamed = bucket.renamePrefix(prefix, newPrefix);
+    incrementCounter(Statistic.OBJECTS_RENAMED, renamed);
+    return renamed;
+  }
+
   @Override
   public void rename(String pathStr, String newPath) throws IOException {
     throw new IOException("Please use renameKey instead for o3fs.");
@@ -435,6 +443,21 @@ public FileStatusAdapter getFileStatus(String key, URI uri,
     }
   }
 
+  @Override
+  public List<FileStatusAdapter> getFileStatuses(List<String> keys, URI uri,
+      List<Path> qualifiedPaths, String userName, boolean headOp)
+      throws IOException {
+    incrementCounter(Statistic.OBJECTS_QUERY, 1);
+    List<OzoneFileStatus> statuses = bucket.getFileStatuses(keys, headOp);
+    List<FileStatusAdapter> result = new ArrayList<>(statuses.size());
+    for (int i = 0; i < statuses.size(); i++) {
+      OzoneFileStatus status = statuses.get(i);
+      result.add(status == null ? null
+          : toFileStatusAdapter(status, userName, uri, qualifiedPaths.get(i)));
+    }
+    return result;
+  }
+
   @Override
   public Iterator<BasicKeyInfo> listKeys(String pathKey) throws IOException {
     incrementCounter(Statistic.OBJECTS_LIST, 1);
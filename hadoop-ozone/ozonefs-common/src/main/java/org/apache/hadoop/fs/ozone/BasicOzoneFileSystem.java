@@ -484,14 +484,50 @@ public boolean rename(Path src, Path dst) throws IOException {
         return false;
       }
     }
-    RenameIterator iterator = new RenameIterator(src, dst);
-    boolean result = iterator.iterate();
+    boolean result;
+    if (srcStatus.isDirectory()) {
+      result = renameDirectory(src, dst);
+    } else {
+      result = new RenameIterator(src, dst).iterate();
+    }
     if (result) {
       createFakeParentDirectory(src);
     }
     return result;
   }
 
+  /**
+   * Rename the keys of a directory on the server, which lists and renames
+   * them in batches. Falls back to renaming them one by one if the server
+   * does not support it.
+   */
+  private boolean renameDirectory(Path src, Path dst) throws IOException {
+    String srcKey = addTrailingSlashIfNeeded(pathToKey(src));
+    String dstKey = addTrailingSlashIfNeeded(pathToKey(dst));
+    try {
+      long renamed = adapter.renamePrefix(srcKey, dstKey);
+      LOG.trace("Renamed {} keys from {} to {}", renamed, srcKey, dstKey);
+      return true;
+    } catch (OMException ome) {
+      if (OMException.ResultCodes.NOT_SUPPORTED_OPERATION == ome.getResult()
+          || OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION
+          == ome.getResult()) {
+        LOG.debug("Prefix rename is not supported, renaming keys of {} " +
+            "one by one.", src);
+        return new RenameIterator(src, dst).iterate();
+      }
+      LOG.error("Prefix rename failed for source: {} to destination: {}.",
+          srcKey, dstKey, ome);
+      if (OMException.ResultCodes.KEY_ALREADY_EXISTS == ome.getResult() ||
+          OMException.ResultCodes.PARTIAL_RENAME == ome.getResult() ||
+          OMException.ResultCodes.KEY_RENAME_ERROR == ome.getResult() ||
+          OMException.ResultCodes.KEY_NOT_FOUND == ome.getResult()) {
+        return false;
+      }
+      throw ome;
+    }
+  }
+
   private boolean renameFSO(String srcPath, String dstPath)
       throws IOException {
     try {
@@ -872,6 +908,32 @@ private FileStatus getFileStatus(Path f, boolean headOp) throws IOException {
     return fileStatus;
   }
 
+  /**
+   * Get the status of several paths, looking them up with a single call to
+   * OM.
+   * @return status of each path in the order of the paths, null for paths
+   *         that do not exist
+   */
+  public List<FileStatus> getFileStatuses(List<Path> paths)
+      throws IOException {
+    incrementCounter(Statistic.INVOCATION_GET_FILE_STATUS, paths.size());
+    statistics.incrementReadOps(1);
+    List<Path> qualifiedPaths = new ArrayList<>(paths.size());
+    List<String> keys = new ArrayList<>(paths.size());
+    for (Path path : paths) {
+      Path qualifiedPath = path.makeQualified(uri, workingDir);
+      qualifiedPaths.add(qualifiedPath);
+      keys.add(pathToKey(qualifiedPath));
+    }
+    List<FileStatusAdapter> statuses = adapter.getFileStatuses(keys, uri,
+        qualifiedPaths, getUsername(), false);
+    List<FileStatus> result = new ArrayList<>(statuses.size());
+    for (FileStatusAdapter status : statuses) {
+      result.add(status == null ? null : convertFileStatus(status));
+    }
+    return result;
+  }
+
   @Override
   public BlockLocation[] getFileBlockLocations(FileStatus fileStatus,
                                                long start, long len)
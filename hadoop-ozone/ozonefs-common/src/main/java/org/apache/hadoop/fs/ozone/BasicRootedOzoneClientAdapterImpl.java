@@ -35,11 +35,14 @@
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import org.apache.commons.collections4.CollectionUtils;
@@ -463,6 +466,34 @@ public void renameKey(String key, String newKeyName) throws IOException {
     throw new IOException("OFS doesn't support renameKey, use rename instead.");
   }
 
+  /**
+   * Rename the keys under a directory on the server, in batches.
+   *
+   * Like {@link #rename(String, String)}, the parameters are full paths
+   * containing volume and bucket.
+   *
+   * @param path Source directory path
+   * @param newPath Target directory path
+   * @return number of renamed keys
+   * @throws IOException
+   */
+  @Override
+  public long renamePrefix(String path, String newPath) throws IOException {
+    OFSPath ofsPath = new OFSPath(path, config);
+    OFSPath ofsNewPath = new OFSPath(newPath, config);
+    if (!ofsPath.isInSameBucketAs(ofsNewPath)) {
+      throw new IOException("Can't rename a key to a different bucket.");
+    }
+
+    OzoneBucket bucket = getBucket(ofsPath, false);
+    String prefix = OzoneFSUtils.addTrailingSlashIfNeeded(ofsPath.getKeyName());
+    String newPrefix =
+        OzoneFSUtils.addTrailingSlashIfNeeded(ofsNewPath.getKeyName());
+    long renamed = bucket.renamePrefix(prefix, newPrefix);
+    incrementCounter(Statistic.OBJECTS_RENAMED, renamed);
+    return renamed;
+  }
+
   /**
    * Rename a path into another.
    *
@@ -716,6 +747,58 @@ private FileStatusAdapter getFileStatusForKeyOrSnapshot(
     }
   }
 
+  @Override
+  public List<FileStatusAdapter> getFileStatuses(List<String> paths, URI uri,
+      List<Path> qualifiedPaths, String userName, boolean headOp)
+      throws IOException {
+    final FileStatusAdapter[] statuses = new FileStatusAdapter[paths.size()];
+    final List<OFSPath> ofsPaths = new ArrayList<>(paths.size());
+    // keys are looked up with one call per bucket, other paths one by one
+    final Map<String, List<Integer>> keysByBucket = new LinkedHashMap<>();
+    for (int i = 0; i < paths.size(); i++) {
+      OFSPath ofsPath = new OFSPath(paths.get(i), config);
+      ofsPaths.add(ofsPath);
+      if (ofsPath.isRoot() || ofsPath.isVolume() || ofsPath.isSnapshotPath()) {
+        try {
+          statuses[i] = getFileStatus(paths.get(i), uri, qualifiedPaths.get(i),
+              userName, headOp);
+        } catch (FileNotFoundException e) {
+          statuses[i] = null;
+        }
+      } else {
+        keysByBucket.computeIfAbsent(ofsPath.getNonKeyPath(),
+            k -> new ArrayList<>()).add(i);
+      }
+    }
+
+    for (List<Integer> indexes : keysByBucket.values()) {
+      incrementCounter(Statistic.OBJECTS_QUERY, 1);
+      final OFSPath bucketPath = ofsPaths.get(indexes.get(0));
+      final List<String> keys = new ArrayList<>(indexes.size());
+      for (int i : indexes) {
+        keys.add(ofsPaths.get(i).getKeyName());
+      }
+      final List<OzoneFileStatus> result;
+      try {
+        result = getBucket(bucketPath, false).getFileStatuses(keys, headOp);
+      } catch (OMException e) {
+        if (e.getResult() == OMException.ResultCodes.BUCKET_NOT_FOUND
+            || e.getResult() == OMException.ResultCodes.VOLUME_NOT_FOUND) {
+          continue;
+        }
+        throw e;
+      }
+      for (int j = 0; j < indexes.size(); j++) {
+        final int i = indexes.get(j);
+        if (result.get(j) != null) {
+          statuses[i] = toFileStatusAdapter(result.get(j), userName, uri,
+              qualifiedPaths.get(i), bucketPath.getNonKeyPath());
+        }
+      }
+    }
+    return Arrays.asList(statuses);
+  }
+
   /**
    * Get trash roots for current user or all users.
    *
@@ -25,6 +25,12 @@
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_LISTING_PAGE_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_MAX_LISTING_PAGE_SIZE;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_ENABLED;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_ENABLED_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_MAX_ENTRIES;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_MAX_ENTRIES_DEFAULT;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_TTL;
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_TTL_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE;
 import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_SCM_BLOCK_SIZE_DEFAULT;
 import static org.apache.hadoop.ozone.OzoneConsts.OM_SNAPSHOT_INDICATOR;
@@ -52,6 +58,7 @@
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
@@ -127,6 +134,8 @@ public class BasicRootedOzoneFileSystem extends FileSystem {
   private boolean isRatisStreamingEnabled
       = OzoneConfigKeys.OZONE_FS_DATASTREAM_ENABLED_DEFAULT;
   private int streamingAutoThreshold;
+  // null if the metadata cache is disabled
+  private OzoneFSMetadataCache metadataCache;
 
   private static final String URI_EXCEPTION_TEXT =
       "URL should be one of the following formats: " +
@@ -206,6 +215,15 @@ public void initialize(URI name, Configuration conf) throws IOException {
         OzoneConfigKeys.OZONE_FS_DATASTREAM_AUTO_THRESHOLD,
         OzoneConfigKeys.OZONE_FS_DATASTREAM_AUTO_THRESHOLD_DEFAULT,
         StorageUnit.BYTES);
+    if (ozoneConfiguration.getBoolean(OZONE_FS_METADATA_CACHE_ENABLED,
+        OZONE_FS_METADATA_CACHE_ENABLED_DEFAULT)) {
+      metadataCache = new OzoneFSMetadataCache(
+          ozoneConfiguration.getTimeDuration(OZONE_FS_METADATA_CACHE_TTL,
+              OZONE_FS_METADATA_CACHE_TTL_DEFAULT, TimeUnit.MILLISECONDS),
+          ozoneConfiguration.getInt(OZONE_FS_METADATA_CACHE_MAX_ENTRIES,
+              OZONE_FS_METADATA_CACHE_MAX_ENTRIES_DEFAULT),
+          listingPageSize);
+    }
   }
 
   protected OzoneClientAdapter createAdapter(ConfigurationSource conf,
@@ -308,12 +326,31 @@ private FSDataOutputStream createOutputStream(String key, short replication,
       final CheckedFunction<Integer, OutputStream, IOException> selector
           = byteWritten -> selectOutputStream(
           key, replication, overwrite, recursive, byteWritten);
-      return new FSDataOutputStream(new SelectorOutputStream<>(
-          streamingAutoThreshold, selector), statistics);
+      return newFSDataOutputStream(key, new SelectorOutputStream<>(
+          streamingAutoThreshold, selector));
     }
-    return new FSDataOutputStream(createFSOutputStream(
+    return newFSDataOutputStream(key, createFSOutputStream(
             adapter.createFile(key,
-        replication, overwrite, recursive)), statistics);
+        replication, overwrite, recursive)));
+  }
+
+  private FSDataOutputStream newFSDataOutputStream(String key,
+      OutputStream out) throws IOException {
+    if (metadataCache == null) {
+      return new FSDataOutputStream(out, statistics);
+    }
+    invalidateMetadata(key, false);
+    // the length of the file is only known when the stream is closed
+    return new FSDataOutputStream(out, statistics) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          invalidateMetadata(key, false);
+        }
+      }
+    };
   }
 
   protected OzoneFSOutputStream createFSOutputStream(
@@ -390,8 +427,19 @@ boolean processKeyPath(List<String> keyPathList) throws IOException {
    */
   @Override
   public boolean rename(Path src, Path dst) throws IOException {
-    return TracingUtil.executeInNewSpan("ofs rename",
-        () -> renameInSpan(src, dst));
+    if (metadataCache == null) {
+      return TracingUtil.executeInNewSpan("ofs rename",
+          () -> renameInSpan(src, dst));
+    }
+    invalidateMetadata(src, true);
+    invalidateMetadata(dst, true);
+    try {
+      return TracingUtil.executeInNewSpan("ofs rename",
+          () -> renameInSpan(src, dst));
+    } finally {
+      invalidateMetadata(src, true);
+      invalidateMetadata(dst, true);
+    }
   }
 
   private boolean renameInSpan(Path src, Path dst) throws IOException {
@@ -493,14 +541,50 @@ private boolean renameInSpan(Path src, Path dst) throws IOException {
         return false;
       }
     }
-    RenameIterator iterator = new RenameIterator(src, dst);
-    boolean result = iterator.iterate();
+    boolean result;
+    if (srcStatus.isDirectory()) {
+      result = renameDirectory(src, dst);
+    } else {
+      result = new RenameIterator(src, dst).iterate();
+    }
     if (result) {
       createFakeParentDirectory(src);
     }
     return result;
   }
 
+  /**
+   * Rename the keys of a directory on the server, which lists and renames
+   * them in batches. Falls back to renaming them one by one if the server
+   * does not support it.
+   */
+  private boolean renameDirectory(Path src, Path dst) throws IOException {
+    String srcPath = pathToKey(src);
+    String dstPath = pathToKey(dst);
+    try {
+      long renamed = adapter.renamePrefix(srcPath, dstPath);
+      LOG.trace("Renamed {} keys from {} to {}", renamed, srcPath, dstPath);
+      return true;
+    } catch (OMException ome) {
+      if (OMException.ResultCodes.NOT_SUPPORTED_OPERATION == ome.getResult()
+          || OMException.ResultCodes.NOT_SUPPORTED_OPERATION_PRIOR_FINALIZATION
+          == ome.getResult()) {
+        LOG.debug("Prefix rename is not supported, renaming keys of {} " +
+            "one by one.", src);
+        return new RenameIterator(src, dst).iterate();
+      }
+      LOG.error("Prefix rename failed for source: {} to destination: {}.",
+          srcPath, dstPath, ome);
+      if (OMException.ResultCodes.KEY_ALREADY_EXISTS == ome.getResult() ||
+          OMException.ResultCodes.PARTIAL_RENAME == ome.getResult() ||
+          OMException.ResultCodes.KEY_RENAME_ERROR == ome.getResult() ||
+          OMException.ResultCodes.KEY_NOT_FOUND == ome.getResult()) {
+        return false;
+      }
+      throw ome;
+    }
+  }
+
   private boolean renameFSO(OzoneBucket bucket,
       OFSPath srcPath, OFSPath dstPath) throws IOException {
     // construct src and dst key paths
@@ -553,6 +637,7 @@ public Path createSnapshot(Path path, String snapshotName)
           throws IOException {
     String snapshot = TracingUtil.executeInNewSpan("ofs createSnapshot",
         () -> getAdapter().createSnapshot(pathToKey(path), snapshotName));
+    invalidateSnapshotMetadata(path);
     return new Path(OzoneFSUtils.trimPathToDepth(path, PATH_DEPTH_TO_BUCKET),
         OM_SNAPSHOT_INDICATOR + OZONE_URI_DELIMITER + snapshot);
   }
@@ -561,6 +646,7 @@ public Path createSnapshot(Path path, String snapshotName)
   public void renameSnapshot(Path path, String snapshotOldName, String snapshotNewName)
       throws IOException {
     getAdapter().renameSnapshot(pathToKey(path), snapshotOldName, snapshotNewName);
+    invalidateSnapshotMetadata(path);
   }
 
   @Override
@@ -568,6 +654,14 @@ public void deleteSnapshot(Path path, String snapshotName)
       throws IOException {
     TracingUtil.executeInNewSpan("ofs deleteSnapshot",
         () -> adapter.deleteSnapshot(pathToKey(path), snapshotName));
+    invalidateSnapshotMetadata(path);
+  }
+
+  private void invalidateSnapshotMetadata(Path path) {
+    if (metadataCache != null) {
+      Path bucketPath = OzoneFSUtils.trimPathToDepth(path, PATH_DEPTH_TO_BUCKET);
+      invalidateMetadata(new Path(bucketPath, OM_SNAPSHOT_INDICATOR), true);
+    }
   }
 
   private class DeleteIterator extends OzoneListingIterator {
@@ -698,8 +792,17 @@ private boolean innerDelete(Path f, boolean recursive) throws IOException {
    */
   @Override
   public boolean delete(Path f, boolean recursive) throws IOException {
-    return TracingUtil.executeInNewSpan("ofs delete",
-        () -> deleteInSpan(f, recursive));
+    if (metadataCache == null) {
+      return TracingUtil.executeInNewSpan("ofs delete",
+          () -> deleteInSpan(f, recursive));
+    }
+    invalidateMetadata(f, true);
+    try {
+      return TracingUtil.executeInNewSpan("ofs delete",
+          () -> deleteInSpan(f, recursive));
+    } finally {
+      invalidateMetadata(f, true);
+    }
   }
 
   private boolean deleteInSpan(Path f, boolean recursive) throws IOException {
@@ -936,6 +1039,15 @@ private List<FileStatusAdapter> listStatusAdapter(Path f, boolean lite) throws I
     incrementCounter(Statistic.INVOCATION_LIST_STATUS, 1);
     statistics.incrementReadOps(1);
     LOG.trace("listStatus() path:{}", f);
+    final boolean cacheable = metadataCache != null && lite;
+    if (cacheable) {
+      List<FileStatusAdapter> cached = metadataCache.getListing(pathToKey(f));
+      if (cached != null) {
+        incrementCounter(Statistic.METADATA_CACHE_HITS);
+        return cached;
+      }
+      incrementCounter(Statistic.METADATA_CACHE_MISSES);
+    }
     int numEntries = listingPageSize;
     LinkedList<FileStatusAdapter> statuses = new LinkedList<>();
     List<FileStatusAdapter> tmpStatusList;
@@ -962,6 +1074,9 @@ private List<FileStatusAdapter> listStatusAdapter(Path f, boolean lite) throws I
       // exhausted.
     } while (entriesAdded > 0);
 
+    if (cacheable) {
+      metadataCache.putListing(pathToKey(f), statuses);
+    }
     return statuses;
   }
 
@@ -1052,8 +1167,12 @@ public boolean mkdirs(Path f, FsPermission permission) throws IOException {
     if (isEmpty(key)) {
       return false;
     }
-    return TracingUtil.executeInNewSpan("ofs mkdirs",
-        () -> mkdir(f));
+    try {
+      return TracingUtil.executeInNewSpan("ofs mkdirs",
+          () -> mkdir(f));
+    } finally {
+      invalidateMetadata(f, false);
+    }
   }
 
   @Override
@@ -1089,6 +1208,18 @@ public FileStatusAdapter getFileStatusAdapter(Path f, boolean headOp)
     if (key.equals("NONE")) {
       throw new FileNotFoundException("File not found. path /NONE.");
     }
+    if (metadataCache != null) {
+      OzoneFSMetadataCache.CachedStatus cached =
+          metadataCache.getStatus(key, headOp);
+      if (cached != null) {
+        incrementCounter(Statistic.METADATA_CACHE_HITS);
+        if (!cached.exists()) {
+          throw new FileNotFoundException("File not found. path:" + f);
+        }
+        return cached.getStatus();
+      }
+      incrementCounter(Statistic.METADATA_CACHE_MISSES);
+    }
     FileStatusAdapter fileStatus = null;
     try {
       fileStatus =
@@ -1099,14 +1230,78 @@ public FileStatusAdapter getFileStatusAdapter(Path f, boolean headOp)
         if (ex.getResult().equals(OMException.ResultCodes.KEY_NOT_FOUND) ||
             ex.getResult().equals(OMException.ResultCodes.BUCKET_NOT_FOUND) ||
             ex.getResult().equals(OMException.ResultCodes.VOLUME_NOT_FOUND)) {
+          if (metadataCache != null) {
+            metadataCache.putNotFound(key);
+          }
           throw new FileNotFoundException("File not found. path:" + f);
         }
       }
       throw e;
     }
+    if (metadataCache != null) {
+      metadataCache.putStatus(key, fileStatus, headOp);
+    }
     return fileStatus;
   }
 
+  /**
+   * Get the status of several paths, looking up the keys of each bucket with
+   * a single call to OM.
+   * @return status of each path in the order of the paths, null for paths
+   *         that do not exist
+   */
+  public List<FileStatus> getFileStatuses(List<Path> paths)
+      throws IOException {
+    incrementCounter(Statistic.INVOCATION_GET_FILE_STATUS, paths.size());
+    statistics.incrementReadOps(1);
+    final FileStatusAdapter[] statuses = new FileStatusAdapter[paths.size()];
+    final List<Integer> toLookup = new ArrayList<>();
+    final List<Path> qualifiedPaths = new ArrayList<>();
+    final List<String> keys = new ArrayList<>();
+    for (int i = 0; i < paths.size(); i++) {
+      Path qualifiedPath = paths.get(i).makeQualified(uri, workingDir);
+      String key = pathToKey(qualifiedPath);
+      // Handle DistCp /NONE path
+      if (key.equals("NONE")) {
+        continue;
+      }
+      if (metadataCache != null) {
+        OzoneFSMetadataCache.CachedStatus cached =
+            metadataCache.getStatus(key, false);
+        if (cached != null) {
+          incrementCounter(Statistic.METADATA_CACHE_HITS);
+          statuses[i] = cached.getStatus();
+          continue;
+        }
+        incrementCounter(Statistic.METADATA_CACHE_MISSES);
+      }
+      toLookup.add(i);
+      qualifiedPaths.add(qualifiedPath);
+      keys.add(key);
+    }
+
+    if (!keys.isEmpty()) {
+      List<FileStatusAdapter> found = adapter.getFileStatuses(keys, uri,
+          qualifiedPaths, getUsername(), false);
+      for (int j = 0; j < found.size(); j++) {
+        statuses[toLookup.get(j)] = found.get(j);
+        if (metadataCache != null) {
+          if (found.get(j) == null) {
+            metadataCache.putNotFound(keys.get(j));
+          } else {
+            metadataCache.putStatus(keys.get(j), found.get(j), false);
+          }
+        }
+      }
+    }
+
+    List<FileStatus> result = new ArrayList<>(statuses.length);
+    for (FileStatusAdapter status : statuses) {
+      result.add(status == null ? null : convertFileStatus(status));
+    }
+    return result;
+  }
+
   @Override
   public BlockLocation[] getFileBlockLocations(FileStatus fileStatus,
       long start, long len)
@@ -1685,8 +1880,28 @@ public void setTimes(Path f, long mtime, long atime) throws IOException {
     if (key.equals("NONE")) {
       throw new FileNotFoundException("File not found. path /NONE.");
     }
-    TracingUtil.executeInNewSpan("ofs setTimes",
-        () -> adapter.setTimes(key, mtime, atime));
+    try {
+      TracingUtil.executeInNewSpan("ofs setTimes",
+          () -> adapter.setTimes(key, mtime, atime));
+    } finally {
+      invalidateMetadata(key, false);
+    }
+  }
+
+  /**
+   * Invalidate the cached metadata affected by a change to the path.
+   * @param subtree whether the change affects the descendants of the path
+   */
+  private void invalidateMetadata(Path path, boolean subtree) {
+    if (metadataCache != null) {
+      invalidateMetadata(pathToKey(path), subtree);
+    }
+  }
+
+  private void invalidateMetadata(String key, boolean subtree) {
+    if (metadataCache != null) {
+      metadataCache.invalidate(key, subtree);
+    }
   }
 
   protected boolean setSafeModeUtil(SafeModeAction action,
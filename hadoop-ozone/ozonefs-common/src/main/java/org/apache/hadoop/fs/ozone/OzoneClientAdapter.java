@@ -17,9 +17,11 @@
 
 package org.apache.hadoop.fs.ozone;
 
+import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import org.apache.hadoop.crypto.key.KeyProvider;
@@ -55,6 +57,13 @@ OzoneFSDataStreamOutput createStreamFile(String key, short replication,
 
   void renameKey(String key, String newKeyName) throws IOException;
 
+  /**
+   * Renames all keys with the prefix on the server, in bounded batches.
+   * In OFS the parameters are full paths, see {@link #rename}.
+   * @return number of renamed keys
+   */
+  long renamePrefix(String prefix, String newPrefix) throws IOException;
+
   // Users should use rename instead of renameKey in OFS.
   void rename(String pathStr, String newPath) throws IOException;
 
@@ -100,6 +109,27 @@ default FileStatusAdapter getFileStatus(String key, URI uri,
     return getFileStatus(key, uri, qualifiedPath, userName);
   }
 
+  /**
+   * Get the status of several paths, looking up the keys of a bucket with a
+   * single call where the implementation supports it.
+   * @return status of each key in the order of the keys, null for keys that
+   *         do not exist
+   */
+  default List<FileStatusAdapter> getFileStatuses(List<String> keys, URI uri,
+      List<Path> qualifiedPaths, String userName, boolean headOp)
+      throws IOException {
+    List<FileStatusAdapter> statuses = new ArrayList<>(keys.size());
+    for (int i = 0; i < keys.size(); i++) {
+      try {
+        statuses.add(getFileStatus(keys.get(i), uri, qualifiedPaths.get(i),
+            userName, headOp));
+      } catch (FileNotFoundException e) {
+        statuses.add(null);
+      }
+    }
+    return statuses;
+  }
+
   boolean isFSOptimizedBucket();
 
   FileChecksum getFileChecksum(String keyName, long length) throws IOException;
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import static org.apache.hadoop.ozone.OzoneConsts.OZONE_URI_DELIMITER;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Client side cache of file statuses and directory listings of an Ozone
+ * file system instance.
+ * <p>
+ * Entries are valid for a fixed time after being loaded from OM, so changes
+ * made by other clients become visible after at most that time. Changes made
+ * through the owning file system invalidate the affected entries right away.
+ * Entries are keyed by the Ozone key of the path, without leading or
+ * trailing delimiter.
+ */
+final class OzoneFSMetadataCache {
+
+  /** Cached result of a file status lookup. */
+  static final class CachedStatus {
+    private final FileStatusAdapter status;
+    private final boolean headOp;
+
+    private CachedStatus(FileStatusAdapter status, boolean headOp) {
+      this.status = status;
+      this.headOp = headOp;
+    }
+
+    /**
+     * @return the status, or null if the path was not found
+     */
+    FileStatusAdapter getStatus() {
+      return status;
+    }
+
+    boolean exists() {
+      return status != null;
+    }
+  }
+
+  private final Cache<String, CachedStatus> statuses;
+  private final Cache<String, List<FileStatusAdapter>> listings;
+  private final int maxListingSize;
+
+  OzoneFSMetadataCache(long ttlMillis, long maxEntries, int maxListingSize) {
+    this.statuses = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+        .maximumSize(maxEntries)
+        .build();
+    this.listings = CacheBuilder.newBuilder()
+        .expireAfterWrite(ttlMillis, TimeUnit.MILLISECONDS)
+        .maximumSize(maxEntries)
+        .build();
+    this.maxListingSize = maxListingSize;
+  }
+
+  /**
+   * @param headOp whether a metadata-only status is sufficient for the
+   *               caller; a status loaded by a metadata-only lookup does not
+   *               satisfy a full lookup
+   * @return the cached status of the key, or null if it is not cached
+   */
+  CachedStatus getStatus(String key, boolean headOp) {
+    final CachedStatus cached = statuses.getIfPresent(key);
+    if (cached == null || (cached.headOp && !headOp)) {
+      return null;
+    }
+    return cached;
+  }
+
+  void putStatus(String key, FileStatusAdapter status, boolean headOp) {
+    statuses.put(key, new CachedStatus(status, headOp));
+  }
+
+  void putNotFound(String key) {
+    statuses.put(key, new CachedStatus(null, false));
+  }
+
+  /**
+   * @return the cached listing of the directory, or null if it is not cached
+   */
+  List<FileStatusAdapter> getListing(String key) {
+    return listings.getIfPresent(key);
+  }
+
+  /**
+   * Cache the listing of the directory, unless it is too large to be kept.
+   */
+  void putListing(String key, List<FileStatusAdapter> listing) {
+    if (listing.size() <= maxListingSize) {
+      listings.put(key, Collections.unmodifiableList(new ArrayList<>(listing)));
+    }
+  }
+
+  /**
+   * Invalidate the entries affected by a change to the given key: its own
+   * entries and those of its ancestors, whose listings and implicit
+   * existence may change with it.
+   * @param subtree whether the entries of descendants are affected too,
+   *                as for a delete or rename of a directory
+   */
+  void invalidate(String key, boolean subtree) {
+    String ancestor = key;
+    while (true) {
+      statuses.invalidate(ancestor);
+      listings.invalidate(ancestor);
+      final int index = ancestor.lastIndexOf(OZONE_URI_DELIMITER);
+      if (index < 0) {
+        break;
+      }
+      ancestor = ancestor.substring(0, index);
+    }
+    // the root of the file system
+    statuses.invalidate("");
+    listings.invalidate("");
+
+    if (subtree) {
+      final String prefix = key.isEmpty() ? "" : key + OZONE_URI_DELIMITER;
+      statuses.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+      listings.asMap().keySet().removeIf(k -> k.startsWith(prefix));
+    }
+  }
+}
@@ -39,6 +39,12 @@ public enum Statistic {
       "Total number of objects queried from the object store."),
   OBJECTS_LIST("objects_list",
       "Total number of object list query from the object store."),
+  METADATA_CACHE_HITS("metadata_cache_hits",
+      "Total number of file status and listing lookups served by the client"
+          + " metadata cache."),
+  METADATA_CACHE_MISSES("metadata_cache_misses",
+      "Total number of file status and listing lookups sent to the object"
+          + " store with the client metadata cache enabled."),
   INVOCATION_COPY_FROM_LOCAL_FILE(CommonStatisticNames.OP_COPY_FROM_LOCAL_FILE,
       "Calls of copyFromLocalFile()"),
   INVOCATION_CREATE(CommonStatisticNames.OP_CREATE,
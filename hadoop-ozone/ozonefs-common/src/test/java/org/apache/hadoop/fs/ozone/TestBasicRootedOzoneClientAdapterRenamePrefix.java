@@ -0,0 +1,69 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import org.apache.hadoop.ozone.OFSPath;
+import org.apache.hadoop.ozone.client.OzoneBucket;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that {@link BasicRootedOzoneClientAdapterImpl#renamePrefix} resolves
+ * the bucket of the paths and renames their keys on the server.
+ */
+public class TestBasicRootedOzoneClientAdapterRenamePrefix {
+
+  private BasicRootedOzoneClientAdapterImpl adapter;
+  private OzoneBucket bucket;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    adapter = mock(BasicRootedOzoneClientAdapterImpl.class, CALLS_REAL_METHODS);
+    bucket = mock(OzoneBucket.class);
+    doReturn(bucket).when(adapter).getBucket(any(OFSPath.class), eq(false));
+  }
+
+  @Test
+  public void keysOfDirectoryAreRenamedInBucket() throws IOException {
+    when(bucket.renamePrefix("dir/sub/", "new/")).thenReturn(3L);
+
+    assertEquals(3, adapter.renamePrefix("/vol/bucket/dir/sub",
+        "/vol/bucket/new"));
+    verify(bucket).renamePrefix("dir/sub/", "new/");
+  }
+
+  @Test
+  public void renameToDifferentBucketIsRejected() throws IOException {
+    assertThrows(IOException.class, () -> adapter.renamePrefix(
+        "/vol/bucket/dir", "/vol/bucket2/dir"));
+    verify(bucket, never()).renamePrefix(anyString(), anyString());
+  }
+}
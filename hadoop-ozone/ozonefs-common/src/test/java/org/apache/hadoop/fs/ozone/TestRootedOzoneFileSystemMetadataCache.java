@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hadoop.fs.ozone;
+
+import static org.apache.hadoop.ozone.OzoneConfigKeys.OZONE_FS_METADATA_CACHE_ENABLED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import org.apache.hadoop.fs.BlockLocation;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hdds.conf.ConfigurationSource;
+import org.apache.hadoop.hdds.conf.OzoneConfiguration;
+import org.apache.hadoop.ozone.om.exceptions.OMException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for the client side metadata cache of OFS. Uses a mock adapter
+ * so no cluster is required.
+ */
+public class TestRootedOzoneFileSystemMetadataCache {
+
+  private BasicRootedOzoneClientAdapterImpl adapter;
+  private final OzoneFSStorageStatistics storageStatistics =
+      new OzoneFSStorageStatistics();
+
+  /** Test FS that injects a mock adapter instead of connecting to OM. */
+  private final class MockAdapterFs extends BasicRootedOzoneFileSystem {
+    @Override
+    protected OzoneClientAdapter createAdapter(ConfigurationSource conf,
+        String omHost, int omPort) {
+      return adapter;
+    }
+
+    @Override
+    protected void incrementCounter(Statistic statistic, long count) {
+      storageStatistics.incrementCounter(statistic, count);
+    }
+  }
+
+  @BeforeEach
+  public void setUp() throws IOException {
+    adapter = mock(BasicRootedOzoneClientAdapterImpl.class);
+    when(adapter.getFileStatus(anyString(), any(URI.class), any(Path.class),
+        anyString(), anyBoolean()))
+        .thenAnswer(inv -> status(inv.getArgument(2), true));
+    when(adapter.listStatus(anyString(), anyBoolean(), anyString(), anyLong(),
+        any(URI.class), any(Path.class), anyString(), anyBoolean()))
+        .thenAnswer(inv -> Collections.singletonList(
+            status(new Path("/vol/bucket/dir/child"), false)));
+    when(adapter.createDirectory(anyString())).thenReturn(true);
+  }
+
+  private BasicRootedOzoneFileSystem newFileSystem(boolean cacheEnabled)
+      throws IOException {
+    OzoneConfiguration conf = new OzoneConfiguration();
+    conf.setBoolean(OZONE_FS_METADATA_CACHE_ENABLED, cacheEnabled);
+    BasicRootedOzoneFileSystem fs = new MockAdapterFs();
+    fs.initialize(URI.create("ofs://om/"), conf);
+    return fs;
+  }
+
+  private static FileStatusAdapter status(Path path, boolean isDir) {
+    return new FileStatusAdapter(0L, 0L, path, isDir, (short) 3, 0L, 0L, 0L,
+        (short) 0, "user", "group", null, new BlockLocation[0], false, false);
+  }
+
+  private long counter(Statistic statistic) {
+    return storageStatistics.getLong(statistic.getSymbol());
+  }
+
+  @Test
+  public void disabledByDefault() throws IOException {
+    BasicRootedOzoneFileSystem fs = newFileSystem(false);
+    Path dir = new Path("/vol/bucket/dir");
+
+    fs.getFileStatus(dir);
+    fs.getFileStatus(dir);
+
+    verify(adapter, times(2)).getFileStatus(anyString(), any(URI.class),
+        any(Path.class), anyString(), anyBoolean());
+    assertEquals(0, counter(Statistic.METADATA_CACHE_HITS));
+    assertEquals(0, counter(Statistic.METADATA_CACHE_MISSES));
+  }
+
+  @Test
+  public void repeatedLookupsAreServedFromCache() throws IOException {
+    BasicRootedOzoneFileSystem fs = newFileSystem(true);
+    Path dir = new Path("/vol/bucket/dir");
+
+    // a metadata-only status does not satisfy a full lookup
+    assertTrue(fs.isDirectory(dir));
+    fs.getFileStatus(dir);
+    // a full status satisfies both
+    fs.getFileStatus(dir);
+    assertTrue(fs.isDirectory(dir));
+
+    verify(adapter).getFileStatus(anyString(), any(URI.class),
+        any(Path.class), anyString(), eq(true));
+    verify(adapter).getFileStatus(anyString(), any(URI.class),
+        any(Path.class), anyString(), eq(false));
+    assertEquals(2, counter(Statistic.METADATA_CACHE_HITS));
+    assertEquals(2, counter(Statistic.METADATA_CACHE_MISSES));
+  }
+
+  @Test
+  public void missingPathIsCachedUntilCreated() throws IOException {
+    BasicRootedOzoneFileSystem fs = newFileSystem(true);
+    Path dir = new Path("/vol/bucket/dir");
+    when(adapter.getFileStatus(anyString(), any(URI.class), any(Path.class),
+        anyString(), anyBoolean()))
+        .thenThrow(new OMException("not found",
+            OMException.ResultCodes.KEY_NOT_FOUND))
+        .thenAnswer(inv -> status(inv.getArgument(2), true));
+
+    assertFalse(fs.exists(dir));
+    assertFalse(fs.exists(dir));
+    assertEquals(1, counter(Statistic.METADATA_CACHE_HITS));
+
+    assertTrue(fs.mkdirs(dir));
+    assertTrue(fs.exists(dir));
+    verify(adapter, times(2)).getFileStatus(anyString(), any(URI.class),
+        any(Path.class), anyString(), anyBoolean());
+  }
+
+  @Test
+  public void listingIsInvalidatedByChangeOfChild() throws IOException {
+    BasicRootedOzoneFileSystem fs = newFileSystem(true);
+    Path dir = new Path("/vol/bucket/dir");
+
+    assertEquals(1, fs.listStatus(dir).length);
+    assertEquals(1, fs.listStatus(dir).length);
+    assertEquals(1, counter(Statistic.METADATA_CACHE_HITS));
+
+    fs.mkdirs(new Path(dir, "other"));
+    fs.listStatus(dir);
+    assertEquals(1, counter(Statistic.METADATA_CACHE_HITS));
+    assertEquals(2, counter(Statistic.METADATA_CACHE_MISSES));
+  }
+}
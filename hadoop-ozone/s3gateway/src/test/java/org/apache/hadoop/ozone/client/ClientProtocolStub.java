@@ -359,6 +359,13 @@ public void renameKeys(String volumeName, String bucketName,
 
   }
 
+  @Override
+  public long renamePrefix(String volumeName, String bucketName,
+                           String fromPrefix, String toPrefix)
+      throws IOException {
+    return 0;
+  }
+
   @Override
   public List<OzoneKey> listKeys(String volumeName, String bucketName,
                                  String keyPrefix, String prevKey,
@@ -596,6 +603,13 @@ public OzoneFileStatus getOzoneFileStatus(String volumeName,
     return null;
   }
 
+  @Override
+  public List<OzoneFileStatus> getOzoneFileStatuses(String volumeName,
+      String bucketName, List<String> keyNames, boolean headOp)
+      throws IOException {
+    return null;
+  }
+
   @Override
   public void createDirectory(String volumeName, String bucketName,
                               String keyName) throws IOException {